@@ -0,0 +1,118 @@
+package com.indigo.framework.auth.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.auth.jwt.JwksKeySource;
+import com.indigo.framework.auth.jwt.JwtVerifier;
+import com.indigo.framework.auth.jwt.KeySource;
+import com.indigo.framework.auth.jwt.VerifiedTokenCache;
+import com.indigo.framework.auth.permission.PermissionEngine;
+import com.indigo.framework.auth.permission.PermissionSource;
+import com.indigo.framework.auth.ratelimit.GcraRateLimiter;
+import com.indigo.framework.auth.ratelimit.JdbcTokenStore;
+import com.indigo.framework.auth.ratelimit.LeasedRateLimiter;
+import com.indigo.framework.auth.ratelimit.RateLimitRule;
+import com.indigo.framework.auth.ratelimit.RateLimiter;
+import com.indigo.framework.auth.ratelimit.RateLimiterRegistry;
+import com.indigo.framework.auth.ratelimit.TokenStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title AuthAutoConfiguration
+ * @description 认证自动配置
+ * @create 2026-10-20 09:00
+ */
+@AutoConfiguration(afterName = "org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration")
+@EnableConfigurationProperties(AuthProperties.class)
+public class AuthAutoConfiguration {
+
+    /**
+     * 配置 indigo.auth.jwt.jwks-uri 后启用令牌校验
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "indigo.auth.jwt", name = "jwks-uri")
+    static class JwtConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public KeySource keySource(AuthProperties authProperties, ObjectProvider<ObjectMapper> objectMapper) {
+            AuthProperties.Jwt jwt = authProperties.getJwt();
+            return new JwksKeySource(URI.create(jwt.getJwksUri()), objectMapper.getIfAvailable(ObjectMapper::new),
+                    jwt.getRefreshInterval(), jwt.getMinRefreshInterval());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public JwtVerifier jwtVerifier(KeySource keySource, AuthProperties authProperties,
+                                       ObjectProvider<ObjectMapper> objectMapper) {
+            AuthProperties.Jwt jwt = authProperties.getJwt();
+            VerifiedTokenCache cache = jwt.getCacheSize() > 0 ? new VerifiedTokenCache(jwt.getCacheSize()) : null;
+            return new JwtVerifier(keySource, cache, objectMapper.getIfAvailable(ObjectMapper::new).getFactory(),
+                    jwt);
+        }
+    }
+
+    /**
+     * 容器中存在 {@link PermissionSource} 时启用权限引擎
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(PermissionSource.class)
+    public PermissionEngine permissionEngine(PermissionSource permissionSource, AuthProperties authProperties) {
+        AuthProperties.Permission permission = authProperties.getPermission();
+        return new PermissionEngine(permissionSource, permission.getMaxCachedRoleSets(),
+                permission.getRefreshInterval());
+    }
+
+    /**
+     * indigo.auth.rate-limit.enabled=true 时按 indigo.auth.rate-limit.rules 创建限流器
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "indigo.auth.rate-limit", name = "enabled", havingValue = "true")
+    static class RateLimitConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RateLimiterRegistry rateLimiterRegistry(AuthProperties authProperties,
+                                                       ObjectProvider<TokenStore> tokenStore) {
+            AuthProperties.RateLimit rateLimit = authProperties.getRateLimit();
+            TokenStore store = rateLimit.getMode() == AuthProperties.RateLimit.Mode.DISTRIBUTED
+                    ? tokenStore.getObject() : null;
+            Map<String, RateLimiter> limiters = new LinkedHashMap<>();
+            rateLimit.getRules().forEach((name, config) -> {
+                RateLimitRule rule = new RateLimitRule(config.getRate(),
+                        config.getBurst() > 0 ? config.getBurst() : (int) Math.max(1, Math.ceil(config.getRate())));
+                limiters.put(name, store == null ? new GcraRateLimiter(rule, rateLimit.getMaxKeys())
+                        : new LeasedRateLimiter(store, rule, rateLimit.getLeaseBatch(),
+                        rateLimit.getLeaseTtl().toMillis(), rateLimit.getMaxKeys()));
+            });
+            return new RateLimiterRegistry(limiters);
+        }
+
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnClass(JdbcTemplate.class)
+        @ConditionalOnProperty(prefix = "indigo.auth.rate-limit", name = "mode", havingValue = "distributed")
+        static class JdbcTokenStoreConfiguration {
+
+            @Bean
+            @ConditionalOnMissingBean
+            @ConditionalOnBean(JdbcTemplate.class)
+            public TokenStore tokenStore(JdbcTemplate jdbcTemplate, AuthProperties authProperties) {
+                return new JdbcTokenStore(jdbcTemplate, authProperties.getRateLimit().getTable());
+            }
+        }
+    }
+}
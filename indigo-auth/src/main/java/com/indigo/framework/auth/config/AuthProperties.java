@@ -0,0 +1,173 @@
+package com.indigo.framework.auth.config;
+
+import com.indigo.framework.auth.jwt.JwtAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title AuthProperties
+ * @description 认证配置
+ * @create 2026-10-20 09:00
+ */
+@Data
+@ConfigurationProperties("indigo.auth")
+public class AuthProperties {
+
+    /**
+     * 令牌校验配置
+     */
+    private Jwt jwt = new Jwt();
+
+    /**
+     * 权限引擎配置
+     */
+    private Permission permission = new Permission();
+
+    /**
+     * 限流配置
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    @Data
+    public static class Jwt {
+
+        /**
+         * JWKS 地址，配置后启用令牌校验
+         */
+        private String jwksUri;
+
+        /**
+         * 期望的签发方，为空时不校验
+         */
+        private String issuer;
+
+        /**
+         * 可接受的受众，令牌的 aud 包含其中之一即可，为空时不校验
+         */
+        private List<String> audiences = new ArrayList<>();
+
+        /**
+         * 允许的签名算法
+         */
+        private Set<JwtAlgorithm> algorithms = EnumSet.allOf(JwtAlgorithm.class);
+
+        /**
+         * 需要从令牌中读取的自定义声明，其余字段解析时直接跳过
+         */
+        private List<String> claims = new ArrayList<>();
+
+        /**
+         * 校验 exp、nbf 时允许的时钟偏差
+         */
+        private Duration clockSkew = Duration.ofSeconds(30);
+
+        /**
+         * JWKS 后台刷新间隔
+         */
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        /**
+         * 未知 kid 触发刷新的最小间隔
+         */
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+
+        /**
+         * 已校验令牌缓存的槽位数，0 表示不缓存
+         */
+        private int cacheSize = 65536;
+
+        /**
+         * 已校验令牌的最长缓存时间，令牌更早过期时以令牌为准
+         */
+        private Duration cacheTtl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Permission {
+
+        /**
+         * 缓存的角色组合数上限，超出后清空重建
+         */
+        private int maxCachedRoleSets = 10000;
+
+        /**
+         * 定时检查权限数据版本的间隔，0 表示只在手动刷新时重新加载
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * 是否开启限流
+         */
+        private boolean enabled = false;
+
+        /**
+         * 限流模式
+         */
+        private Mode mode = Mode.LOCAL;
+
+        /**
+         * 规则名称 -> 规则，如 user、tenant
+         */
+        private Map<String, Rule> rules = new LinkedHashMap<>();
+
+        /**
+         * 每条规则保存状态的最大 key 数
+         */
+        private int maxKeys = 100_000;
+
+        /**
+         * 分布式模式每次领取的令牌数
+         */
+        private int leaseBatch = 20;
+
+        /**
+         * 分布式模式领到的令牌有效期
+         */
+        private Duration leaseTtl = Duration.ofSeconds(1);
+
+        /**
+         * 分布式模式的令牌表
+         */
+        private String table = "indigo_rate_limit";
+
+        public enum Mode {
+
+            /**
+             * 单节点限流
+             */
+            LOCAL,
+
+            /**
+             * 多节点共享配额
+             */
+            DISTRIBUTED
+        }
+
+        @Data
+        public static class Rule {
+
+            /**
+             * 每秒许可数
+             */
+            private double rate;
+
+            /**
+             * 突发量，为 0 时等于每秒许可数
+             */
+            private int burst;
+        }
+    }
+}
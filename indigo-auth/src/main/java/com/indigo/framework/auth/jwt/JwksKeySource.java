@@ -0,0 +1,199 @@
+package com.indigo.framework.auth.jwt;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author 史偕成
+ * @title JwksKeySource
+ * @description JWKS 公钥来源
+ * 公钥在刷新时连同 JWK 的 alg、crv 解析为 {@link JwtKey} 并整体替换，查找只读一个不可变 Map；后台按固定间隔刷新，
+ * 遇到未知 kid（密钥轮换）时同步刷新一次，两次按需刷新之间至少间隔 minRefreshInterval，伪造 kid 的请求不会打满 JWKS 服务。
+ * 刷新失败时保留上一版公钥。
+ * @create 2026-10-20 09:00
+ */
+@Slf4j
+public class JwksKeySource implements KeySource, DisposableBean {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final URI jwksUri;
+
+    private final ObjectMapper objectMapper;
+
+    private final long minRefreshIntervalNanos;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("indigo-jwks-refresh-", true));
+
+    /**
+     * 刷新期间阻塞在 HTTP 请求上，用 ReentrantLock 而不是 synchronized，虚拟线程等待时不占用载体线程
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<String, JwtKey> keys = Map.of();
+
+    private volatile long lastRefreshNanos;
+
+    /**
+     * @param jwksUri            JWKS 地址
+     * @param objectMapper       JSON 解析
+     * @param refreshInterval    后台刷新间隔
+     * @param minRefreshInterval 未知 kid 触发刷新的最小间隔
+     */
+    public JwksKeySource(URI jwksUri, ObjectMapper objectMapper, Duration refreshInterval,
+                         Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.objectMapper = objectMapper;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.lastRefreshNanos = System.nanoTime() - minRefreshIntervalNanos;
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public JwtKey resolve(String kid) {
+        JwtKey key = lookup(keys, kid);
+        if (key != null) {
+            return key;
+        }
+        refreshLock.lock();
+        try {
+            // 等锁期间其他线程可能已刷新
+            key = lookup(keys, kid);
+            if (key == null && System.nanoTime() - lastRefreshNanos >= minRefreshIntervalNanos) {
+                refreshQuietly();
+                key = lookup(keys, kid);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+        return key;
+    }
+
+    public Map<String, JwtKey> keys() {
+        return keys;
+    }
+
+    /**
+     * 拉取并解析 JWKS，跳过不支持的密钥类型、曲线或 alg，以及用途不是签名的密钥
+     */
+    public void refresh() throws IOException, InterruptedException {
+        refreshLock.lock();
+        try {
+            lastRefreshNanos = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(jwksUri)
+                    .timeout(Duration.ofSeconds(10)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("unexpected status " + response.statusCode() + " from " + jwksUri);
+            }
+            Map<String, JwtKey> parsed = new HashMap<>();
+            for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+                if (jwk.has("use") && !"sig".equals(jwk.path("use").asText())) {
+                    continue;
+                }
+                try {
+                    JwtKey key = parse(jwk);
+                    if (key != null) {
+                        parsed.put(jwk.path("kid").asText(""), key);
+                    }
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    log.warn("skip invalid jwk {} from {}", jwk.path("kid").asText(), jwksUri, e);
+                }
+            }
+            keys = Map.copyOf(parsed);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("refresh jwks from {} failed, keep {} cached key(s)", jwksUri, keys.size(), e);
+        }
+    }
+
+    private static JwtKey lookup(Map<String, JwtKey> keys, String kid) {
+        if (kid == null) {
+            return keys.size() == 1 ? keys.values().iterator().next() : null;
+        }
+        return keys.get(kid);
+    }
+
+    static JwtKey parse(JsonNode jwk) throws GeneralSecurityException {
+        JwtAlgorithm algorithm = null;
+        if (jwk.hasNonNull("alg")) {
+            // 声明了本组件不支持的 alg（如 HS256、PS256）的密钥不能用于任何支持的算法
+            algorithm = JwtAlgorithm.of(jwk.path("alg").asText());
+            if (algorithm == null) {
+                return null;
+            }
+        }
+        switch (jwk.path("kty").asText()) {
+            case "RSA" -> {
+                return new JwtKey(KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                        unsigned(jwk, "n"), unsigned(jwk, "e"))), algorithm, null);
+            }
+            case "EC" -> {
+                String crv = jwk.path("crv").asText();
+                String curve = switch (crv) {
+                    case "P-256" -> "secp256r1";
+                    case "P-384" -> "secp384r1";
+                    case "P-521" -> "secp521r1";
+                    default -> null;
+                };
+                if (curve == null) {
+                    return null;
+                }
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curve));
+                return new JwtKey(KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                        new ECPoint(unsigned(jwk, "x"), unsigned(jwk, "y")),
+                        parameters.getParameterSpec(ECParameterSpec.class))), algorithm, crv);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static BigInteger unsigned(JsonNode jwk, String field) {
+        return new BigInteger(1, DECODER.decode(jwk.path(field).asText()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.indigo.framework.auth.jwt;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Objects;
+
+/**
+ * @author 史偕成
+ * @title JwtAlgorithm
+ * @description 支持的签名算法
+ * ECDSA 使用 JDK 的 P1363 格式，JWS 中的 R||S 签名无需再转换为 DER；ES256/ES384/ES512 分别只接受 P-256/P-384/P-521 曲线的公钥
+ * @create 2026-10-20 09:00
+ */
+public enum JwtAlgorithm {
+
+    RS256("SHA256withRSA", RSAPublicKey.class, null),
+
+    RS384("SHA384withRSA", RSAPublicKey.class, null),
+
+    RS512("SHA512withRSA", RSAPublicKey.class, null),
+
+    ES256("SHA256withECDSAinP1363Format", ECPublicKey.class, "P-256"),
+
+    ES384("SHA384withECDSAinP1363Format", ECPublicKey.class, "P-384"),
+
+    ES512("SHA512withECDSAinP1363Format", ECPublicKey.class, "P-521");
+
+    private final String jcaName;
+
+    private final Class<? extends PublicKey> keyType;
+
+    private final String curve;
+
+    JwtAlgorithm(String jcaName, Class<? extends PublicKey> keyType, String curve) {
+        this.jcaName = jcaName;
+        this.keyType = keyType;
+        this.curve = curve;
+    }
+
+    public String getJcaName() {
+        return jcaName;
+    }
+
+    /**
+     * 公钥是否可用于该算法：密钥类型一致、JWK 声明了 alg 时与之相同、EC 公钥的曲线与算法对应，
+     * 防止用 RSA 公钥或其他曲线、其他用途的公钥校验声明为该算法的令牌
+     *
+     * @param key 公钥
+     * @return 是否匹配
+     */
+    public boolean accepts(JwtKey key) {
+        return keyType.isInstance(key.publicKey())
+                && (key.algorithm() == null || key.algorithm() == this)
+                && Objects.equals(curve, key.curve());
+    }
+
+    /**
+     * 按 JWS alg 查找
+     *
+     * @param name alg
+     * @return 算法，不支持时返回 null
+     */
+    public static JwtAlgorithm of(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (JwtAlgorithm algorithm : values()) {
+            if (algorithm.name().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.indigo.framework.auth.jwt;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title JwtClaims
+ * @description 已校验令牌的声明，时间为秒级时间戳，缺失时为 0；claims 只包含配置中声明需要的自定义字段
+ * @create 2026-10-20 09:00
+ */
+public record JwtClaims(String issuer, String subject, List<String> audience, long expiresAt, long notBefore,
+                        long issuedAt, String jwtId, Map<String, Object> claims) {
+
+    @SuppressWarnings("unchecked")
+    public <T> T claim(String name) {
+        return (T) claims.get(name);
+    }
+}
@@ -0,0 +1,27 @@
+package com.indigo.framework.auth.jwt;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.UNAUTHORIZED;
+
+/**
+ * @author 史偕成
+ * @title JwtException
+ * @description 令牌校验失败
+ * @create 2026-10-20 09:00
+ */
+public class JwtException extends BaseUnCheckException {
+
+    public JwtException(String message) {
+        super(message, UNAUTHORIZED.getCode());
+    }
+
+    public JwtException(final String format, Object... args) {
+        super(format, UNAUTHORIZED.getCode(), args);
+    }
+
+    @Override
+    public String toString() {
+        return "JwtException [msg=" + getMessage() + ", code = " + getErrorCode() + "]";
+    }
+}
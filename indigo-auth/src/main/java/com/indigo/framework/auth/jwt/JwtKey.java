@@ -0,0 +1,33 @@
+package com.indigo.framework.auth.jwt;
+
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+
+/**
+ * @author 史偕成
+ * @title JwtKey
+ * @description 已解析的校验公钥及其 JWK 限定：algorithm 为 JWK 的 alg，未声明时为 null，表示可用于任一匹配密钥类型的算法；
+ * curve 为 EC 公钥的 crv（P-256、P-384、P-521），RSA 公钥为 null
+ * @create 2026-10-21 10:00
+ */
+public record JwtKey(PublicKey publicKey, JwtAlgorithm algorithm, String curve) {
+
+    /**
+     * 未声明 alg 的公钥，EC 公钥的曲线按密钥参数推断
+     *
+     * @param publicKey 公钥
+     * @return 校验公钥
+     */
+    public static JwtKey of(PublicKey publicKey) {
+        String curve = null;
+        if (publicKey instanceof ECPublicKey ec) {
+            curve = switch (ec.getParams().getCurve().getField().getFieldSize()) {
+                case 256 -> "P-256";
+                case 384 -> "P-384";
+                case 521 -> "P-521";
+                default -> null;
+            };
+        }
+        return new JwtKey(publicKey, null, curve);
+    }
+}
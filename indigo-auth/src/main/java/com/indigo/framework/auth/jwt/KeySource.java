@@ -0,0 +1,35 @@
+package com.indigo.framework.auth.jwt;
+
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title KeySource
+ * @description 校验公钥来源，返回已解析好的公钥，校验过程中不再解析密钥
+ * @create 2026-10-20 09:00
+ */
+public interface KeySource {
+
+    /**
+     * 查找公钥
+     *
+     * @param kid 令牌头中的 kid，可能为 null
+     * @return 公钥，找不到时返回 null
+     */
+    JwtKey resolve(String kid);
+
+    /**
+     * 固定公钥，未限定 alg，EC 公钥按曲线限定算法
+     *
+     * @param keys kid -> 公钥
+     * @return 公钥来源
+     */
+    static KeySource of(Map<String, PublicKey> keys) {
+        Map<String, JwtKey> parsed = new HashMap<>();
+        keys.forEach((kid, key) -> parsed.put(kid, JwtKey.of(key)));
+        Map<String, JwtKey> copy = Map.copyOf(parsed);
+        return kid -> kid == null ? (copy.size() == 1 ? copy.values().iterator().next() : null) : copy.get(kid);
+    }
+}
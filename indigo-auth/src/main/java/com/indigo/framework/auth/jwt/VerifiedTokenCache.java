@@ -0,0 +1,107 @@
+package com.indigo.framework.auth.jwt;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author 史偕成
+ * @title VerifiedTokenCache
+ * @description 已校验令牌缓存
+ * 固定容量的二路组相联数组，按令牌的 64 位哈希定位槽位，命中时再比较完整令牌，哈希碰撞不会让未校验的令牌通过。
+ * 写入时占用空槽或过期槽，否则替换较早过期的一个；条目在令牌过期或达到最长缓存时间后失效。
+ * 查找不加锁、不分配对象，容量固定，不需要后台清理。
+ * @create 2026-10-20 09:00
+ */
+public class VerifiedTokenCache {
+
+    private final AtomicReferenceArray<Entry> slots;
+
+    private final int mask;
+
+    /**
+     * @param capacity 槽位数，向上取整为 2 的幂
+     */
+    public VerifiedTokenCache(int capacity) {
+        AssertUtil.isTrue(capacity >= 2, "capacity must be at least 2: {}", capacity);
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 2;
+    }
+
+    /**
+     * 查找有效期内的已校验令牌
+     *
+     * @param token     令牌
+     * @param hash      {@link #hash(String)}
+     * @param nowMillis 当前时间
+     * @return 声明，未命中时返回 null
+     */
+    public JwtClaims get(String token, long hash, long nowMillis) {
+        int index = index(hash);
+        Entry entry = slots.get(index);
+        if (matches(entry, token, hash, nowMillis)) {
+            return entry.claims;
+        }
+        entry = slots.get(index + 1);
+        return matches(entry, token, hash, nowMillis) ? entry.claims : null;
+    }
+
+    /**
+     * 缓存已校验令牌
+     *
+     * @param token          令牌
+     * @param hash           {@link #hash(String)}
+     * @param claims         声明
+     * @param expireAtMillis 缓存失效时间
+     */
+    public void put(String token, long hash, JwtClaims claims, long expireAtMillis) {
+        int index = index(hash);
+        Entry first = slots.get(index);
+        Entry second = slots.get(index + 1);
+        long now = System.currentTimeMillis();
+        int target;
+        if (first == null || first.expireAt <= now || first.hash == hash) {
+            target = index;
+        } else if (second == null || second.expireAt <= now || second.hash == hash) {
+            target = index + 1;
+        } else {
+            target = first.expireAt <= second.expireAt ? index : index + 1;
+        }
+        slots.set(target, new Entry(hash, token, claims, expireAtMillis));
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    /**
+     * 逐字符计算令牌哈希，不需要先转换为字节数组
+     *
+     * @param token 令牌
+     * @return 64 位哈希
+     */
+    public static long hash(String token) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, length = token.length(); i < length; i++) {
+            h = (h ^ token.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private int index(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static boolean matches(Entry entry, String token, long hash, long nowMillis) {
+        return entry != null && entry.hash == hash && entry.expireAt > nowMillis && entry.token.equals(token);
+    }
+
+    private record Entry(long hash, String token, JwtClaims claims, long expireAt) {
+    }
+}
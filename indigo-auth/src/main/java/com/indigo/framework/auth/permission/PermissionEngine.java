@@ -0,0 +1,230 @@
+package com.indigo.framework.auth.permission;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author 史偕成
+ * @title PermissionEngine
+ * @description 位图权限引擎
+ * 权限编码驻留为稠密整数 ID，ID 只追加不复用，刷新后调用方持有的 ID 仍然有效；
+ * 加载时把每个角色的授权（包括前缀通配）预先展开为位图，角色组合的有效权限为各角色位图按位或，按角色集合缓存；
+ * 刷新生成新版本，旧版本的缓存随之丢弃。检查为一次哈希查找加一次位运算，逐行检查时可先取 {@link PermissionSet} 与权限 ID。
+ * <pre>
+ *     PermissionSet permissions = permissionEngine.compile(roles);
+ *     int exportId = permissionEngine.idOf("order:export");
+ *     rows.removeIf(row -&gt; !permissions.has(exportId));
+ * </pre>
+ * @create 2026-10-20 10:00
+ */
+@Slf4j
+public class PermissionEngine implements DisposableBean {
+
+    private static final String ALL = "*";
+
+    private final PermissionSource source;
+
+    private final int maxCachedRoleSets;
+
+    /**
+     * 权限编码 -> ID，只在持有 refreshLock 时修改
+     */
+    private final Map<String, Integer> interned = new HashMap<>();
+
+    private final ScheduledExecutorService refresher;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param source            权限数据来源
+     * @param maxCachedRoleSets 缓存的角色组合数上限
+     * @param refreshInterval   定时检查数据版本的间隔，为 0 时只在调用 {@link #refresh()} 时刷新
+     */
+    public PermissionEngine(PermissionSource source, int maxCachedRoleSets, Duration refreshInterval) {
+        AssertUtil.nonNull(source, "permission source must not be null");
+        AssertUtil.isTrue(maxCachedRoleSets > 0, "maxCachedRoleSets must be positive: {}", maxCachedRoleSets);
+        this.source = source;
+        this.maxCachedRoleSets = maxCachedRoleSets;
+        refresh();
+        if (refreshInterval.isZero()) {
+            this.refresher = null;
+        } else {
+            this.refresher = Executors.newSingleThreadScheduledExecutor(
+                    ThreadUtil.newNamedThreadFactory("indigo-permission-refresh-", true));
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshInterval.toMillis(),
+                    refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 权限 ID
+     *
+     * @param code 权限编码
+     * @return ID，未知编码返回 -1
+     */
+    public int idOf(String code) {
+        Integer id = snapshot.ids.get(code);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * 角色组合的有效权限
+     *
+     * @param roles 角色编码
+     * @return 有效权限
+     */
+    public PermissionSet compile(Collection<String> roles) {
+        Snapshot current = snapshot;
+        Set<String> key = roles instanceof Set<String> set ? set : Set.copyOf(roles);
+        PermissionSet cached = current.cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        PermissionSet compiled = current.compile(key);
+        if (current.cache.size() >= maxCachedRoleSets) {
+            current.cache.clear();
+        }
+        current.cache.put(Set.copyOf(key), compiled);
+        return compiled;
+    }
+
+    public boolean hasPermission(Collection<String> roles, String code) {
+        return compile(roles).has(code);
+    }
+
+    /**
+     * 当前版本
+     *
+     * @return 版本，每次刷新加一
+     */
+    public long version() {
+        return snapshot.version;
+    }
+
+    /**
+     * 重新加载权限数据并生成新版本
+     */
+    public void refresh() {
+        // 权限来源一般查库，用 ReentrantLock 而不是 synchronized，虚拟线程等待时不占用载体线程
+        refreshLock.lock();
+        try {
+            doRefresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void doRefresh() {
+        long sourceVersion = source.version();
+        Map<String, ? extends Collection<String>> rolePermissions = source.rolePermissions();
+        source.permissions().forEach(this::intern);
+        rolePermissions.values().forEach(grants -> grants.stream()
+                .filter(grant -> !grant.endsWith(ALL))
+                .forEach(this::intern));
+        TreeMap<String, Integer> sorted = new TreeMap<>(interned);
+        int words = (interned.size() + 63) >>> 6;
+        Map<String, long[]> roleWords = new HashMap<>(rolePermissions.size() * 2);
+        Set<String> superRoles = new HashSet<>();
+        rolePermissions.forEach((role, grants) -> {
+            long[] bits = new long[words];
+            for (String grant : grants) {
+                if (ALL.equals(grant)) {
+                    superRoles.add(role);
+                } else if (grant.endsWith(ALL)) {
+                    String prefix = grant.substring(0, grant.length() - 1);
+                    // 排序后同一前缀的编码连续，只遍历匹配的区间
+                    for (int id : sorted.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+                        bits[id >>> 6] |= 1L << id;
+                    }
+                } else {
+                    int id = interned.get(grant);
+                    bits[id >>> 6] |= 1L << id;
+                }
+            }
+            roleWords.put(role, bits);
+        });
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(previous == null ? 1 : previous.version + 1, sourceVersion, Map.copyOf(interned),
+                words, roleWords, Set.copyOf(superRoles));
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void intern(String code) {
+        interned.putIfAbsent(code, interned.size());
+    }
+
+    private void refreshQuietly() {
+        try {
+            if (source.version() != snapshot.sourceVersion) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.error("refresh permissions failed, keep version {}", snapshot.version, e);
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+
+        private final long sourceVersion;
+
+        private final Map<String, Integer> ids;
+
+        private final int words;
+
+        private final Map<String, long[]> roleWords;
+
+        private final Set<String> superRoles;
+
+        private final Map<Set<String>, PermissionSet> cache = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, long sourceVersion, Map<String, Integer> ids, int words,
+                         Map<String, long[]> roleWords, Set<String> superRoles) {
+            this.version = version;
+            this.sourceVersion = sourceVersion;
+            this.ids = ids;
+            this.words = words;
+            this.roleWords = roleWords;
+            this.superRoles = superRoles;
+        }
+
+        private PermissionSet compile(Set<String> roles) {
+            long[] bits = new long[words];
+            boolean all = false;
+            for (String role : roles) {
+                all |= superRoles.contains(role);
+                long[] granted = roleWords.get(role);
+                if (granted != null) {
+                    for (int i = 0; i < words; i++) {
+                        bits[i] |= granted[i];
+                    }
+                }
+            }
+            return new PermissionSet(version, bits, all, ids);
+        }
+    }
+}
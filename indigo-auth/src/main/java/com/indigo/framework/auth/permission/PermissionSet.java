@@ -0,0 +1,73 @@
+package com.indigo.framework.auth.permission;
+
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title PermissionSet
+ * @description 编译后的有效权限，按权限 ID 置位的位图，检查为一次数组访问
+ * 同一请求内逐行检查时应先取得 PermissionSet，再用 {@link PermissionEngine#idOf(String)} 得到的 ID 检查
+ * @create 2026-10-20 10:00
+ */
+public final class PermissionSet {
+
+    private final long version;
+
+    private final long[] words;
+
+    private final boolean all;
+
+    private final Map<String, Integer> ids;
+
+    PermissionSet(long version, long[] words, boolean all, Map<String, Integer> ids) {
+        this.version = version;
+        this.words = words;
+        this.all = all;
+        this.ids = ids;
+    }
+
+    /**
+     * 是否拥有权限
+     *
+     * @param id 权限 ID
+     * @return 是否拥有
+     */
+    public boolean has(int id) {
+        if (all) {
+            return true;
+        }
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * 是否拥有权限
+     *
+     * @param code 权限编码
+     * @return 是否拥有，未知编码只有全部权限时返回 true
+     */
+    public boolean has(String code) {
+        if (all) {
+            return true;
+        }
+        Integer id = ids.get(code);
+        return id != null && has(id);
+    }
+
+    /**
+     * 编译时的数据版本
+     *
+     * @return 版本
+     */
+    public long version() {
+        return version;
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.indigo.framework.auth.permission;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title PermissionSource
+ * @description 权限数据来源，由业务实现，通常从数据库加载
+ * @create 2026-10-20 10:00
+ */
+public interface PermissionSource {
+
+    /**
+     * 数据版本，版本未变化时定时刷新会跳过加载；实现方可返回权限表的最大更新时间或变更计数
+     *
+     * @return 版本
+     */
+    long version();
+
+    /**
+     * 全部权限编码，通配授权按这里的编码展开
+     *
+     * @return 权限编码
+     */
+    Collection<String> permissions();
+
+    /**
+     * 角色授权，授权项可以是权限编码，也可以是以 * 结尾的前缀通配，单独的 * 表示全部权限
+     *
+     * @return 角色编码 -> 授权项
+     */
+    Map<String, ? extends Collection<String>> rolePermissions();
+}
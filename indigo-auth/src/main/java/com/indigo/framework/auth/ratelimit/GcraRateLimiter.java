@@ -0,0 +1,56 @@
+package com.indigo.framework.auth.ratelimit;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author 史偕成
+ * @title GcraRateLimiter
+ * @description 本地限流，GCRA（通用信元速率算法）
+ * 每个 key 只保存一个理论到达时间 tat，获取许可时把 tat 向后推 permits 个间隔，推后的 tat 超出当前时间不到 burst 个间隔即放行，
+ * 状态更新为一次 CAS，无锁。tat 早于当前时间的条目与新建条目等价，可随时淘汰。
+ * @create 2026-10-20 11:00
+ */
+public class GcraRateLimiter implements RateLimiter {
+
+    private final long intervalNanos;
+
+    private final long toleranceNanos;
+
+    private final KeyedStates<AtomicLong> states;
+
+    /**
+     * @param rule    限流规则
+     * @param maxKeys 最大 key 数
+     */
+    public GcraRateLimiter(RateLimitRule rule, int maxKeys) {
+        AssertUtil.isTrue(maxKeys > 0, "maxKeys must be positive: {}", maxKeys);
+        this.intervalNanos = rule.intervalNanos();
+        this.toleranceNanos = intervalNanos * rule.burst();
+        this.states = new KeyedStates<>(maxKeys, tat -> tat.get() - System.nanoTime() <= 0);
+    }
+
+    @Override
+    public long acquire(String key, int permits) {
+        AtomicLong tat = states.get(key, k -> new AtomicLong(System.nanoTime()));
+        long increment = intervalNanos * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long next = Math.max(current - now, 0) + now + increment;
+            long overshoot = next - now - toleranceNanos;
+            if (overshoot > 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(overshoot));
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return states.size();
+    }
+}
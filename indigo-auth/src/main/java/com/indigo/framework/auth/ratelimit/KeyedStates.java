@@ -0,0 +1,76 @@
+package com.indigo.framework.auth.ratelimit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * @author 史偕成
+ * @title KeyedStates
+ * @description 按 key 保存限流状态，条目数超过上限时先清理空闲条目，仍然超出时淘汰最久未访问的十分之一
+ * @create 2026-10-20 11:00
+ */
+final class KeyedStates<S> {
+
+    private final Map<String, Entry<S>> states = new ConcurrentHashMap<>();
+
+    private final int maxKeys;
+
+    private final Predicate<S> idle;
+
+    /**
+     * @param maxKeys 最大 key 数
+     * @param idle    条目是否空闲，空闲条目与新建条目等价，淘汰后不影响限流结果
+     */
+    KeyedStates(int maxKeys, Predicate<S> idle) {
+        this.maxKeys = maxKeys;
+        this.idle = idle;
+    }
+
+    S get(String key, Function<String, S> factory) {
+        Entry<S> entry = states.get(key);
+        if (entry == null) {
+            if (states.size() >= maxKeys) {
+                evict();
+            }
+            entry = states.computeIfAbsent(key, k -> new Entry<>(factory.apply(k)));
+        }
+        entry.accessedAt = System.nanoTime();
+        return entry.state;
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    private void evict() {
+        states.values().removeIf(entry -> idle.test(entry.state));
+        int overflow = states.size() - maxKeys + Math.max(1, maxKeys / 10);
+        if (overflow <= 0) {
+            return;
+        }
+        // 先取访问时间的快照再排序，排序期间条目仍在被访问
+        long[] accessed = states.values().stream().mapToLong(entry -> entry.accessedAt).toArray();
+        if (accessed.length == 0) {
+            return;
+        }
+        Arrays.sort(accessed);
+        long threshold = accessed[Math.min(overflow, accessed.length) - 1];
+        // 快照之后被访问过的条目时间更新，不会被淘汰
+        states.values().removeIf(entry -> entry.accessedAt - threshold <= 0);
+    }
+
+    private static final class Entry<S> {
+
+        private final S state;
+
+        private volatile long accessedAt;
+
+        private Entry(S state) {
+            this.state = state;
+            this.accessedAt = System.nanoTime();
+        }
+    }
+}
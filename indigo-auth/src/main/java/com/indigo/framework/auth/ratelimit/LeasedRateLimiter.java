@@ -0,0 +1,135 @@
+package com.indigo.framework.auth.ratelimit;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author 史偕成
+ * @title LeasedRateLimiter
+ * @description 分布式限流
+ * 节点从 {@link TokenStore} 按批领取令牌放在本地，本地扣减为一次 CAS，只有批用完时才访问共享存储，同一 key 同时只有一个线程去领取；
+ * 领到的令牌在 leaseTtl 后作废，避免某个节点囤积令牌，不足一次请求的零头留在本地与下一批合并。作废的令牌已计入全局消耗，因此整体偏保守，批越大偏差越大。
+ * 共享存储不可用时放行，优先保证可用性。
+ * @create 2026-10-20 11:00
+ */
+@Slf4j
+public class LeasedRateLimiter implements RateLimiter {
+
+    private final TokenStore store;
+
+    private final RateLimitRule rule;
+
+    private final int batchSize;
+
+    private final long leaseTtlNanos;
+
+    private final KeyedStates<Lease> leases;
+
+    /**
+     * @param store      共享令牌存储
+     * @param rule       限流规则
+     * @param batchSize  每次领取的令牌数，不超过 burst
+     * @param leaseTtlMs 领到的令牌有效期（毫秒）
+     * @param maxKeys    最大 key 数
+     */
+    public LeasedRateLimiter(TokenStore store, RateLimitRule rule, int batchSize, long leaseTtlMs, int maxKeys) {
+        AssertUtil.isTrue(batchSize > 0, "batchSize must be positive: {}", batchSize);
+        this.store = store;
+        this.rule = rule;
+        this.batchSize = Math.min(batchSize, rule.burst());
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(leaseTtlMs);
+        this.leases = new KeyedStates<>(maxKeys, lease -> lease.expired(System.nanoTime()));
+    }
+
+    @Override
+    public long acquire(String key, int permits) {
+        Lease lease = leases.get(key, k -> new Lease());
+        if (lease.take(permits, System.nanoTime())) {
+            return 0;
+        }
+        // 领取会访问共享存储，用 ReentrantLock 而不是 synchronized，虚拟线程等待时不占用载体线程
+        lease.lock.lock();
+        try {
+            long now = System.nanoTime();
+            // 等锁期间其他线程可能已领取
+            if (lease.take(permits, now)) {
+                return 0;
+            }
+            if (now - lease.blockedUntil < 0) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(lease.blockedUntil - now));
+            }
+            int requested = Math.max(batchSize, permits);
+            int granted;
+            try {
+                granted = store.lease(key, rule, requested);
+            } catch (RuntimeException e) {
+                log.warn("lease tokens for {} failed, allow request", key, e);
+                return 0;
+            }
+            if (granted < requested) {
+                // 配额接近耗尽，每攒够一批才再访问一次共享存储
+                lease.blockedUntil = now + rule.intervalNanos() * batchSize;
+            }
+            // 领到的令牌不足 permits 时也留在本地，与未过期的剩余令牌合并，之后凑够了再扣减，不白白消耗全局配额
+            lease.refill(granted, now, now + leaseTtlNanos);
+            if (lease.take(permits, now)) {
+                return 0;
+            }
+            int missing = Math.max(1, permits - lease.tokens.get());
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(rule.intervalNanos() * missing));
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    public int size() {
+        return leases.size();
+    }
+
+    private static final class Lease {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final AtomicInteger tokens = new AtomicInteger();
+
+        private volatile long expiresAt = System.nanoTime();
+
+        private volatile long blockedUntil = System.nanoTime();
+
+        boolean take(int permits, long now) {
+            if (now - expiresAt >= 0) {
+                return false;
+            }
+            while (true) {
+                int current = tokens.get();
+                if (current < permits) {
+                    return false;
+                }
+                if (tokens.compareAndSet(current, current - permits)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * 补充令牌，只在持有 lock 时调用；已作废的剩余令牌丢弃，未作废的随新领取的一批续期
+         */
+        void refill(int count, long now, long expiresAt) {
+            if (now - this.expiresAt >= 0) {
+                // 已作废时 take 不会再扣减，直接覆盖
+                tokens.set(count);
+            } else {
+                tokens.addAndGet(count);
+            }
+            this.expiresAt = expiresAt;
+        }
+
+        boolean expired(long now) {
+            return now - expiresAt >= 0 && now - blockedUntil >= 0;
+        }
+    }
+}
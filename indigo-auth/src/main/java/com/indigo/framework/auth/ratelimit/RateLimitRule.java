@@ -0,0 +1,26 @@
+package com.indigo.framework.auth.ratelimit;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+/**
+ * @author 史偕成
+ * @title RateLimitRule
+ * @description 限流规则，permitsPerSecond 为持续速率，burst 为允许的突发量
+ * @create 2026-10-20 11:00
+ */
+public record RateLimitRule(double permitsPerSecond, int burst) {
+
+    public RateLimitRule {
+        AssertUtil.isTrue(permitsPerSecond > 0, "permitsPerSecond must be positive: {}", permitsPerSecond);
+        AssertUtil.isTrue(burst > 0, "burst must be positive: {}", burst);
+    }
+
+    /**
+     * 相邻两个许可的间隔（纳秒）
+     *
+     * @return 间隔
+     */
+    public long intervalNanos() {
+        return Math.max(1, (long) (1_000_000_000d / permitsPerSecond));
+    }
+}
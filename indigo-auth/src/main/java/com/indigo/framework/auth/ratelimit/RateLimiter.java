@@ -0,0 +1,23 @@
+package com.indigo.framework.auth.ratelimit;
+
+/**
+ * @author 史偕成
+ * @title RateLimiter
+ * @description 按 key 限流
+ * @create 2026-10-20 11:00
+ */
+public interface RateLimiter {
+
+    /**
+     * 尝试获取许可，不阻塞
+     *
+     * @param key     限流 key，如用户 ID、租户 ID
+     * @param permits 许可数
+     * @return 0 表示获取成功，否则为建议的等待毫秒数
+     */
+    long acquire(String key, int permits);
+
+    default boolean tryAcquire(String key) {
+        return acquire(key, 1) == 0;
+    }
+}
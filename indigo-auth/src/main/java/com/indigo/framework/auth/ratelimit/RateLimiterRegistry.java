@@ -0,0 +1,31 @@
+package com.indigo.framework.auth.ratelimit;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title RateLimiterRegistry
+ * @description 按规则名称管理限流器，如 user、tenant
+ * @create 2026-10-20 11:00
+ */
+public class RateLimiterRegistry {
+
+    private final Map<String, RateLimiter> limiters;
+
+    public RateLimiterRegistry(Map<String, RateLimiter> limiters) {
+        this.limiters = Map.copyOf(limiters);
+    }
+
+    /**
+     * @param name 规则名称
+     * @return 限流器，未配置时返回 null
+     */
+    public RateLimiter get(String name) {
+        return limiters.get(name);
+    }
+
+    public Set<String> names() {
+        return limiters.keySet();
+    }
+}
@@ -0,0 +1,20 @@
+package com.indigo.framework.auth.ratelimit;
+
+/**
+ * @author 史偕成
+ * @title TokenStore
+ * @description 多节点共享的令牌存储，节点按批领取令牌
+ * @create 2026-10-20 11:00
+ */
+public interface TokenStore {
+
+    /**
+     * 领取令牌
+     *
+     * @param key       限流 key
+     * @param rule      限流规则
+     * @param requested 希望领取的令牌数
+     * @return 实际领取的令牌数，0 到 requested 之间
+     */
+    int lease(String key, RateLimitRule rule, int requested);
+}
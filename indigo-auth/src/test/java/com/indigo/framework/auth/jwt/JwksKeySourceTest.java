@@ -0,0 +1,79 @@
+package com.indigo.framework.auth.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title JwksKeySourceTest
+ * @description JWK 解析测试：保留 alg 与 crv，按声明限定可用的算法，不支持的 alg 与曲线跳过
+ * @create 2026-10-21 10:00
+ */
+class JwksKeySourceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void ecKeyKeepsCurveAndAcceptsOnlyMatchingAlgorithm() throws Exception {
+        JwtKey key = JwksKeySource.parse(ec(JwtVerifierTest.generate("EC", "secp256r1"), "P-256", null));
+
+        assertEquals("P-256", key.curve());
+        assertNull(key.algorithm());
+        assertTrue(JwtAlgorithm.ES256.accepts(key));
+        assertFalse(JwtAlgorithm.ES384.accepts(key));
+        assertFalse(JwtAlgorithm.RS256.accepts(key));
+    }
+
+    @Test
+    void declaredAlgorithmRestrictsKey() throws Exception {
+        JwtKey key = JwksKeySource.parse(rsa(JwtVerifierTest.generate("RSA", null), "RS512"));
+
+        assertEquals(JwtAlgorithm.RS512, key.algorithm());
+        assertTrue(JwtAlgorithm.RS512.accepts(key));
+        assertFalse(JwtAlgorithm.RS256.accepts(key));
+    }
+
+    @Test
+    void unsupportedAlgorithmOrCurveIsSkipped() throws Exception {
+        assertNull(JwksKeySource.parse(rsa(JwtVerifierTest.generate("RSA", null), "PS256")));
+        assertNull(JwksKeySource.parse(ec(JwtVerifierTest.generate("EC", "secp256r1"), "secp256k1", null)));
+        // 声明的 alg 与曲线不一致时，公钥解析成功但不能用于任何算法
+        JwtKey mismatched = JwksKeySource.parse(ec(JwtVerifierTest.generate("EC", "secp384r1"), "P-384", "ES256"));
+        for (JwtAlgorithm algorithm : JwtAlgorithm.values()) {
+            assertFalse(algorithm.accepts(mismatched), algorithm.name());
+        }
+    }
+
+    private static JsonNode ec(KeyPair pair, String crv, String alg) {
+        ECPublicKey key = (ECPublicKey) pair.getPublic();
+        ObjectNode jwk = MAPPER.createObjectNode().put("kty", "EC").put("crv", crv)
+                .put("x", encode(key.getW().getAffineX())).put("y", encode(key.getW().getAffineY()));
+        if (alg != null) {
+            jwk.put("alg", alg);
+        }
+        return jwk;
+    }
+
+    private static JsonNode rsa(KeyPair pair, String alg) {
+        RSAPublicKey key = (RSAPublicKey) pair.getPublic();
+        return MAPPER.createObjectNode().put("kty", "RSA").put("alg", alg)
+                .put("n", encode(key.getModulus())).put("e", encode(key.getPublicExponent()));
+    }
+
+    private static String encode(BigInteger value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toByteArray());
+    }
+}
@@ -0,0 +1,169 @@
+package com.indigo.framework.auth.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.auth.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author 史偕成
+ * @title JwtVerifierTest
+ * @description 令牌校验测试：签名与标准声明校验、crit 头拒绝、算法与公钥不匹配拒绝、已校验缓存命中
+ * @create 2026-10-21 10:00
+ */
+class JwtVerifierTest {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final KeyPair RSA = generate("RSA", null);
+
+    private static final KeyPair P256 = generate("EC", "secp256r1");
+
+    private static final KeyPair P384 = generate("EC", "secp384r1");
+
+    private final AtomicInteger resolved = new AtomicInteger();
+
+    @Test
+    void validTokenIsVerified() {
+        JwtVerifier verifier = verifier(Map.of("rsa", JwtKey.of(RSA.getPublic())), null);
+        String token = sign("RS256", "rsa", RSA.getPrivate(), Map.of(), claims(3600));
+
+        JwtClaims claims = verifier.verify(token);
+
+        assertEquals("u1", claims.subject());
+        assertEquals("https://auth.indigo", claims.issuer());
+        assertEquals(List.of("order"), claims.audience());
+        assertEquals("t1", claims.<String>claim("tenant"));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtVerifier verifier = verifier(Map.of("rsa", JwtKey.of(RSA.getPublic())), null);
+
+        JwtException e = assertThrows(JwtException.class,
+                () -> verifier.verify(sign("RS256", "rsa", RSA.getPrivate(), Map.of(), claims(-120))));
+        assertEquals("token expired", e.getMessage());
+    }
+
+    @Test
+    void criticalHeaderIsRejected() {
+        JwtVerifier verifier = verifier(Map.of("rsa", JwtKey.of(RSA.getPublic())), null);
+        String token = sign("RS256", "rsa", RSA.getPrivate(), Map.of("crit", List.of("exp")), claims(3600));
+
+        JwtException e = assertThrows(JwtException.class, () -> verifier.verify(token));
+        assertEquals("unsupported critical header", e.getMessage());
+    }
+
+    @Test
+    void keyNotMatchingAlgorithmIsRejected() {
+        JwtVerifier verifier = verifier(Map.of(
+                "rsa", JwtKey.of(RSA.getPublic()),
+                "p384", JwtKey.of(P384.getPublic()),
+                "rs384-only", new JwtKey(RSA.getPublic(), JwtAlgorithm.RS384, null)), null);
+
+        // EC 令牌指向 RSA 公钥
+        assertThrows(JwtException.class,
+                () -> verifier.verify(sign("ES256", "rsa", P256.getPrivate(), Map.of(), claims(3600))));
+        // ES256 必须使用 P-256 曲线
+        assertThrows(JwtException.class,
+                () -> verifier.verify(sign("ES256", "p384", P384.getPrivate(), Map.of(), claims(3600))));
+        // JWK 声明了 alg 时只能用于该算法
+        assertThrows(JwtException.class,
+                () -> verifier.verify(sign("RS256", "rs384-only", RSA.getPrivate(), Map.of(), claims(3600))));
+        assertEquals("u1", verifier.verify(sign("ES384", "p384", P384.getPrivate(), Map.of(), claims(3600)))
+                .subject());
+    }
+
+    @Test
+    void signatureFromAnotherKeyIsRejected() {
+        JwtVerifier verifier = verifier(Map.of("p256", JwtKey.of(P256.getPublic())), null);
+        KeyPair other = generate("EC", "secp256r1");
+
+        JwtException e = assertThrows(JwtException.class,
+                () -> verifier.verify(sign("ES256", "p256", other.getPrivate(), Map.of(), claims(3600))));
+        assertEquals("invalid signature", e.getMessage());
+        assertThrows(JwtException.class, () -> verifier.verify(sign("ES256", "missing", P256.getPrivate(), Map.of(),
+                claims(3600))));
+    }
+
+    @Test
+    void verifiedTokenIsServedFromCache() {
+        JwtVerifier verifier = verifier(Map.of("p256", JwtKey.of(P256.getPublic())), new VerifiedTokenCache(16));
+        String token = sign("ES256", "p256", P256.getPrivate(), Map.of(), claims(3600));
+
+        JwtClaims first = verifier.verify(token);
+        JwtClaims second = verifier.verify(token);
+
+        assertEquals(first, second);
+        assertEquals(1, resolved.get());
+        // 缓存按完整令牌比较，改动签名的令牌仍需校验
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+        assertThrows(JwtException.class, () -> verifier.verify(tampered));
+        assertEquals(2, resolved.get());
+    }
+
+    private JwtVerifier verifier(Map<String, JwtKey> keys, VerifiedTokenCache cache) {
+        AuthProperties.Jwt properties = new AuthProperties.Jwt();
+        properties.setIssuer("https://auth.indigo");
+        properties.setAudiences(List.of("order"));
+        properties.setClaims(List.of("tenant"));
+        KeySource keySource = kid -> {
+            resolved.incrementAndGet();
+            return keys.get(kid);
+        };
+        return new JwtVerifier(keySource, cache, MAPPER.getFactory(), properties);
+    }
+
+    private static Map<String, Object> claims(long expiresInSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        return Map.of("iss", "https://auth.indigo", "sub", "u1", "aud", "order", "exp", now + expiresInSeconds,
+                "iat", now, "tenant", "t1", "profile", Map.of("nick", "n"));
+    }
+
+    private static String sign(String alg, String kid, PrivateKey key, Map<String, Object> extraHeader,
+                               Map<String, Object> claims) {
+        try {
+            Map<String, Object> header = new HashMap<>(extraHeader);
+            header.put("alg", alg);
+            header.put("kid", kid);
+            String signingInput = ENCODER.encodeToString(MAPPER.writeValueAsBytes(header)) + "."
+                    + ENCODER.encodeToString(MAPPER.writeValueAsBytes(claims));
+            Signature signature = Signature.getInstance(JwtAlgorithm.of(alg).getJcaName());
+            signature.initSign(key);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + ENCODER.encodeToString(signature.sign());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static KeyPair generate(String algorithm, String curve) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+            if (curve == null) {
+                generator.initialize(2048);
+            } else {
+                generator.initialize(new ECGenParameterSpec(curve));
+            }
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.indigo.framework.auth.permission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title PermissionEngineTest
+ * @description 权限引擎测试：前缀通配展开、全部权限、角色组合缓存，以及刷新后旧版本缓存失效、权限 ID 保持不变
+ * @create 2026-10-21 10:00
+ */
+class PermissionEngineTest {
+
+    private final MutableSource source = new MutableSource();
+
+    @Test
+    void wildcardGrantsExpandToMatchingPrefixOnly() {
+        source.permissions.addAll(List.of("order:view", "order:export", "orders:admin", "user:view"));
+        source.roles.put("sales", List.of("order:*"));
+        source.roles.put("admin", List.of("*"));
+        PermissionEngine engine = new PermissionEngine(source, 100, Duration.ZERO);
+
+        PermissionSet sales = engine.compile(Set.of("sales"));
+        assertTrue(sales.has("order:view"));
+        assertTrue(sales.has(engine.idOf("order:export")));
+        assertFalse(sales.has("orders:admin"));
+        assertFalse(sales.has("user:view"));
+        assertEquals(2, sales.cardinality());
+
+        assertTrue(engine.hasPermission(Set.of("admin"), "anything:else"));
+        assertFalse(engine.hasPermission(Set.of("guest"), "order:view"));
+        assertEquals(-1, engine.idOf("unknown"));
+    }
+
+    @Test
+    void rolePermissionsAreUnioned() {
+        source.permissions.addAll(List.of("order:view", "user:view", "user:edit"));
+        source.roles.put("sales", List.of("order:view"));
+        source.roles.put("support", List.of("user:*"));
+        PermissionEngine engine = new PermissionEngine(source, 100, Duration.ZERO);
+
+        PermissionSet both = engine.compile(List.of("sales", "support"));
+
+        assertEquals(3, both.cardinality());
+        assertSame(both, engine.compile(Set.of("support", "sales")));
+    }
+
+    @Test
+    void refreshInvalidatesCompiledSetsAndKeepsIds() {
+        source.permissions.addAll(List.of("order:view", "order:export"));
+        source.roles.put("sales", List.of("order:view"));
+        PermissionEngine engine = new PermissionEngine(source, 100, Duration.ZERO);
+        PermissionSet before = engine.compile(Set.of("sales"));
+        int exportId = engine.idOf("order:export");
+
+        source.permissions.add("order:refund");
+        source.roles.put("sales", List.of("order:*"));
+        source.version++;
+        engine.refresh();
+        PermissionSet after = engine.compile(Set.of("sales"));
+
+        assertEquals(2, engine.version());
+        assertEquals(1, before.version());
+        assertEquals(2, after.version());
+        assertNotSame(before, after);
+        assertFalse(before.has(exportId));
+        assertTrue(after.has(exportId));
+        assertTrue(after.has("order:refund"));
+        assertEquals(exportId, engine.idOf("order:export"));
+    }
+
+    @Test
+    void cacheIsBoundedByRoleSetCount() {
+        source.permissions.add("order:view");
+        source.roles.put("a", List.of("order:view"));
+        source.roles.put("b", List.of("order:view"));
+        PermissionEngine engine = new PermissionEngine(source, 1, Duration.ZERO);
+
+        PermissionSet a = engine.compile(Set.of("a"));
+        engine.compile(Set.of("b"));
+
+        assertNotSame(a, engine.compile(Set.of("a")));
+    }
+
+    private static final class MutableSource implements PermissionSource {
+
+        private final List<String> permissions = new ArrayList<>();
+
+        private final Map<String, List<String>> roles = new HashMap<>();
+
+        private long version = 1;
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public Collection<String> permissions() {
+            return List.copyOf(permissions);
+        }
+
+        @Override
+        public Map<String, ? extends Collection<String>> rolePermissions() {
+            return Map.copyOf(roles);
+        }
+    }
+}
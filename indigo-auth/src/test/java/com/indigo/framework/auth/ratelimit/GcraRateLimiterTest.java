@@ -0,0 +1,83 @@
+package com.indigo.framework.auth.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title GcraRateLimiterTest
+ * @description 本地 GCRA 限流测试：突发、按速率恢复、key 隔离与 key 数上限
+ * @create 2026-10-21 10:00
+ */
+class GcraRateLimiterTest {
+
+    /**
+     * 每 100ms 一个许可，最多突发 5 个
+     */
+    private final GcraRateLimiter limiter = new GcraRateLimiter(new RateLimitRule(10, 5), 100);
+
+    @Test
+    void allowsBurstThenAsksToWaitOneInterval() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.acquire("user:1", 1), "permit " + i);
+        }
+
+        long waitMs = limiter.acquire("user:1", 1);
+        assertTrue(waitMs > 0 && waitMs <= 100, "wait " + waitMs);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user:1", 1);
+        }
+        long waitMs = limiter.acquire("user:1", 1);
+
+        Thread.sleep(waitMs + 20);
+
+        assertEquals(0, limiter.acquire("user:1", 1));
+        assertTrue(limiter.acquire("user:1", 1) > 0);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumePermits() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user:1", 1);
+        }
+        long waitMs = limiter.acquire("user:1", 1);
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire("user:1", 1);
+        }
+
+        Thread.sleep(waitMs + 20);
+
+        assertEquals(0, limiter.acquire("user:1", 1));
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("user:1", 1);
+        }
+
+        assertTrue(limiter.acquire("user:1", 1) > 0);
+        assertEquals(0, limiter.acquire("user:2", 5));
+    }
+
+    @Test
+    void requestLargerThanBurstIsNeverGranted() {
+        assertTrue(limiter.acquire("user:1", 6) > 0);
+        assertEquals(0, limiter.acquire("user:1", 5));
+    }
+
+    @Test
+    void keyCountStaysBounded() {
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire("user:" + i, 1);
+        }
+
+        assertTrue(limiter.size() <= 100, "size " + limiter.size());
+    }
+}
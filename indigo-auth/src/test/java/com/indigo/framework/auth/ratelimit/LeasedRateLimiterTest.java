@@ -0,0 +1,134 @@
+package com.indigo.framework.auth.ratelimit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title LeasedRateLimiterTest
+ * @description 分布式限流测试：按批领取、部分领取、令牌作废、共享存储不可用，以及数据库令牌存储的部分发放
+ * @create 2026-10-21 10:00
+ */
+class LeasedRateLimiterTest {
+
+    /**
+     * 每毫秒一个许可，最多突发 100 个
+     */
+    private static final RateLimitRule RULE = new RateLimitRule(1000, 100);
+
+    @Test
+    void takesPermitsFromLocalBatch() {
+        ScriptedStore store = new ScriptedStore(10, 10);
+        LeasedRateLimiter limiter = new LeasedRateLimiter(store, RULE, 10, 60_000, 100);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.acquire("tenant:1", 1));
+        }
+        assertEquals(1, store.calls.size());
+
+        assertEquals(0, limiter.acquire("tenant:1", 1));
+        assertEquals(2, store.calls.size());
+    }
+
+    @Test
+    void partialGrantBacksOffBeforeAskingAgain() {
+        ScriptedStore store = new ScriptedStore(3);
+        LeasedRateLimiter limiter = new LeasedRateLimiter(store, RULE, 10, 60_000, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.acquire("tenant:1", 1));
+        }
+        long waitMs = limiter.acquire("tenant:1", 1);
+
+        assertTrue(waitMs > 0 && waitMs <= 10, "wait " + waitMs);
+        assertEquals(List.of(10), store.calls);
+    }
+
+    @Test
+    void partialGrantsAccumulateUntilRequestFits() throws InterruptedException {
+        ScriptedStore store = new ScriptedStore(3, 3);
+        LeasedRateLimiter limiter = new LeasedRateLimiter(store, RULE, 10, 60_000, 100);
+
+        assertTrue(limiter.acquire("tenant:1", 5) > 0);
+        Thread.sleep(20);
+
+        assertEquals(0, limiter.acquire("tenant:1", 5));
+        assertEquals(0, limiter.acquire("tenant:1", 1));
+        assertEquals(2, store.calls.size());
+    }
+
+    @Test
+    void expiredLeaseIsDiscarded() throws InterruptedException {
+        ScriptedStore store = new ScriptedStore(10, 10);
+        LeasedRateLimiter limiter = new LeasedRateLimiter(store, RULE, 10, 20, 100);
+
+        assertEquals(0, limiter.acquire("tenant:1", 1));
+        Thread.sleep(40);
+
+        assertEquals(0, limiter.acquire("tenant:1", 1));
+        assertEquals(2, store.calls.size());
+    }
+
+    @Test
+    void allowsRequestsWhenStoreIsUnavailable() {
+        TokenStore broken = (key, rule, requested) -> {
+            throw new IllegalStateException("database down");
+        };
+        LeasedRateLimiter limiter = new LeasedRateLimiter(broken, RULE, 10, 60_000, 100);
+
+        assertEquals(0, limiter.acquire("tenant:1", 1));
+    }
+
+    @Test
+    void jdbcStoreGrantsWhatIsLeftOfTheBurst() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE TABLE indigo_rate_limit (limit_key VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + "tat BIGINT NOT NULL)");
+        JdbcTokenStore store = new JdbcTokenStore(jdbcTemplate, "indigo_rate_limit");
+        // 每 10 秒一个许可，测试期间不会恢复
+        RateLimitRule rule = new RateLimitRule(0.1, 5);
+        try {
+            assertEquals(3, store.lease("tenant:1", rule, 3));
+            assertEquals(2, store.lease("tenant:1", rule, 3));
+            assertEquals(0, store.lease("tenant:1", rule, 3));
+            assertEquals(3, store.lease("tenant:2", rule, 3));
+        } finally {
+            jdbcTemplate.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * 按顺序返回预设的领取数，用完后不再发放
+     */
+    private static final class ScriptedStore implements TokenStore {
+
+        private final Deque<Integer> grants = new ArrayDeque<>();
+
+        private final List<Integer> calls = new CopyOnWriteArrayList<>();
+
+        private ScriptedStore(int... grants) {
+            for (int grant : grants) {
+                this.grants.add(grant);
+            }
+        }
+
+        @Override
+        public synchronized int lease(String key, RateLimitRule rule, int requested) {
+            calls.add(requested);
+            Integer grant = grants.poll();
+            return grant == null ? 0 : Math.min(grant, requested);
+        }
+    }
+}
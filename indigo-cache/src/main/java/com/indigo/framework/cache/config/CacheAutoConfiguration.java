@@ -0,0 +1,69 @@
+package com.indigo.framework.cache.config;
+
+import com.indigo.framework.cache.penetration.PenetrationGuardFactory;
+import com.indigo.framework.cache.stats.CacheMetricsBinder;
+import com.indigo.framework.cache.stats.CacheStatistics;
+import com.indigo.framework.cache.stats.CacheStatisticsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author 史偕成
+ * @title CacheAutoConfiguration
+ * @description 缓存自动配置
+ * @create 2026-10-19 09:30
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheStatistics cacheStatistics() {
+        return new CacheStatistics();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "indigo.cache.penetration", name = "enabled", havingValue = "true")
+    public PenetrationGuardFactory penetrationGuardFactory(CacheProperties cacheProperties,
+                                                           CacheStatistics cacheStatistics) {
+        return new PenetrationGuardFactory(cacheProperties.getPenetration(), cacheStatistics);
+    }
+
+    /**
+     * 存在 Micrometer 时注册缓存指标
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class CacheMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CacheMetricsBinder cacheMetricsBinder(CacheStatistics cacheStatistics) {
+            return new CacheMetricsBinder(cacheStatistics);
+        }
+    }
+
+    /**
+     * 存在 actuator 时暴露缓存统计端点
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class CacheEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint
+        public CacheStatisticsEndpoint cacheStatisticsEndpoint(CacheStatistics cacheStatistics) {
+            return new CacheStatisticsEndpoint(cacheStatistics);
+        }
+    }
+}
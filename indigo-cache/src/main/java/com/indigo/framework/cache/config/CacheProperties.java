@@ -0,0 +1,66 @@
+package com.indigo.framework.cache.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @author 史偕成
+ * @title CacheProperties
+ * @description 缓存配置
+ * @create 2026-10-19 09:30
+ */
+@Data
+@ConfigurationProperties("indigo.cache")
+public class CacheProperties {
+
+    /**
+     * 缓存穿透防护配置
+     */
+    private Penetration penetration = new Penetration();
+
+    @Data
+    public static class Penetration {
+
+        /**
+         * 是否启用穿透防护
+         */
+        private boolean enabled = false;
+
+        /**
+         * 布隆过滤器最小容量
+         */
+        private long expectedInsertions = 1_000_000;
+
+        /**
+         * 布隆过滤器期望误判率
+         */
+        private double fpp = 0.01;
+
+        /**
+         * 每次增量构建读取的 key 数量
+         */
+        private int rebuildBatchSize = 10_000;
+
+        /**
+         * 增量构建每一步之间的间隔，避免重建时持续占用数据库
+         */
+        private Duration rebuildStepDelay = Duration.ofMillis(100);
+
+        /**
+         * 过滤器定期轮换间隔，用于清除已删除的 key
+         */
+        private Duration rotateInterval = Duration.ofHours(6);
+
+        /**
+         * 空结果缓存时间
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+
+        /**
+         * 空结果缓存最大条目数（每个区域）
+         */
+        private int negativeMaximumSize = 100_000;
+    }
+}
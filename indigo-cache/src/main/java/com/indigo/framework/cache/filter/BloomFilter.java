@@ -0,0 +1,127 @@
+package com.indigo.framework.cache.filter;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 史偕成
+ * @title BloomFilter
+ * @description 基于 AtomicLongArray 的无锁布隆过滤器，读写均不加锁
+ * @create 2026-10-19 09:30
+ */
+public class BloomFilter implements MembershipFilter {
+
+    /**
+     * 位图，每个 long 存放 64 位
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * 位图总位数
+     */
+    private final long bitSize;
+
+    /**
+     * 哈希函数个数
+     */
+    private final int hashFunctions;
+
+    /**
+     * 设计容量
+     */
+    private final long expectedInsertions;
+
+    /**
+     * 写入次数
+     */
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * 根据预期容量与误判率创建布隆过滤器
+     *
+     * @param expectedInsertions 预期写入 key 数量
+     * @param fpp                期望误判率，取值 (0, 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        AssertUtil.isTrue(expectedInsertions > 0, "expectedInsertions must be positive: {}", expectedInsertions);
+        AssertUtil.isTrue(fpp > 0 && fpp < 1, "fpp must be in (0, 1): {}", fpp);
+        long numBits = (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (numBits + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @Override
+    public boolean mightContain(Object key) {
+        long hash = KeyHashing.hash64(key);
+        long h1 = hash;
+        long h2 = KeyHashing.mix64(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 & Long.MAX_VALUE) % bitSize;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            h1 += h2;
+        }
+        return true;
+    }
+
+    @Override
+    public void put(Object key) {
+        long hash = KeyHashing.hash64(key);
+        long h1 = hash;
+        long h2 = KeyHashing.mix64(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 & Long.MAX_VALUE) % bitSize;
+            setBit((int) (bit >>> 6), 1L << bit);
+            h1 += h2;
+        }
+        insertions.increment();
+    }
+
+    @Override
+    public long approximateCount() {
+        return insertions.sum();
+    }
+
+    /**
+     * 写入量是否已超过设计容量，超过后误判率会明显上升
+     *
+     * @return 是否已饱和
+     */
+    public boolean isSaturated() {
+        return insertions.sum() > expectedInsertions;
+    }
+
+    /**
+     * 设计容量
+     *
+     * @return 预期写入 key 数量
+     */
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * 位图占用的字节数
+     *
+     * @return 字节数
+     */
+    public long bitSizeInBytes() {
+        return bitSize >>> 3;
+    }
+
+    private void setBit(int index, long mask) {
+        long old;
+        do {
+            old = bits.get(index);
+            if ((old & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(index, old, old | mask));
+    }
+}
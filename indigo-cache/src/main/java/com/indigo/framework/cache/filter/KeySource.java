@@ -0,0 +1,40 @@
+package com.indigo.framework.cache.filter;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title KeySource
+ * @description 过滤器重建时的 key 来源，按游标分页读取，例如按主键顺序扫描数据库
+ * @create 2026-10-19 09:30
+ */
+public interface KeySource<K> {
+
+    /**
+     * 读取一页 key
+     *
+     * @param cursor    上一页返回的游标，首次为 null
+     * @param batchSize 每页数量
+     * @return 当前页，{@link Page#nextCursor()} 为 null 表示已读取完毕
+     */
+    Page<K> load(Object cursor, int batchSize);
+
+    /**
+     * key 总量估算，用于决定新过滤器的容量，未知时返回 -1
+     *
+     * @return key 总量估算
+     */
+    default long estimatedSize() {
+        return -1;
+    }
+
+    /**
+     * 一页 key
+     *
+     * @param keys       当前页的 key
+     * @param nextCursor 下一页游标，null 表示结束
+     * @param <K>        key 类型
+     */
+    record Page<K>(List<K> keys, Object nextCursor) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.indigo.framework.cache.filter;
+
+/**
+ * @author 史偕成
+ * @title MembershipFilter
+ * @description 成员过滤器，用于在访问缓存/数据库前快速判定 key 是否“一定不存在”
+ * @create 2026-10-19 09:30
+ */
+public interface MembershipFilter {
+
+    /**
+     * 判断 key 是否可能存在
+     * 返回 false 时 key 一定不存在；返回 true 时 key 可能存在（存在误判）
+     *
+     * @param key 缓存 key
+     * @return 是否可能存在
+     */
+    boolean mightContain(Object key);
+
+    /**
+     * 记录一个存在的 key
+     *
+     * @param key 缓存 key
+     */
+    void put(Object key);
+
+    /**
+     * 已写入的 key 数量（近似值，重复写入也会计数）
+     *
+     * @return 写入次数
+     */
+    long approximateCount();
+}
@@ -0,0 +1,184 @@
+package com.indigo.framework.cache.filter;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author 史偕成
+ * @title RotatingBloomFilter
+ * @description 可轮换的布隆过滤器
+ * 由 {@link KeySource} 分批增量构建新一代过滤器，构建完成后整体替换旧过滤器，
+ * 以此清除已删除的 key，并在写入量超过容量时按新的规模扩容。
+ * 首次构建完成前不会拒绝任何 key，保证不会出现误拒。
+ * @create 2026-10-19 09:30
+ */
+@Slf4j
+public class RotatingBloomFilter<K> implements MembershipFilter {
+
+    private final String name;
+
+    private final KeySource<K> keySource;
+
+    private final long minCapacity;
+
+    private final double fpp;
+
+    private final int batchSize;
+
+    private final long rotateIntervalNanos;
+
+    /**
+     * 当前生效与构建中的过滤器，作为一个整体替换，写入时能看到一致的两代
+     */
+    private volatile Generation generation;
+
+    /**
+     * 首次构建是否完成
+     */
+    private volatile boolean ready;
+
+    /**
+     * 上次构建完成的时间
+     */
+    private volatile long lastRotatedNanos;
+
+    /**
+     * 重建游标，只在 {@link #rebuildStep()} 中访问
+     */
+    private Object cursor;
+
+    /**
+     * @param name             过滤器名称，一般为缓存区域
+     * @param keySource        key 来源
+     * @param minCapacity      最小容量
+     * @param fpp              期望误判率
+     * @param batchSize        每次增量构建读取的 key 数量
+     * @param rotateIntervalMs 定期轮换的间隔（毫秒），用于清除已删除的 key
+     */
+    public RotatingBloomFilter(String name, KeySource<K> keySource, long minCapacity, double fpp,
+                               int batchSize, long rotateIntervalMs) {
+        AssertUtil.nonNull(keySource, "keySource must not be null");
+        AssertUtil.isTrue(batchSize > 0, "batchSize must be positive: {}", batchSize);
+        this.name = name;
+        this.keySource = keySource;
+        this.minCapacity = minCapacity;
+        this.fpp = fpp;
+        this.batchSize = batchSize;
+        this.rotateIntervalNanos = rotateIntervalMs * 1_000_000L;
+        this.generation = new Generation(new BloomFilter(minCapacity, fpp), null);
+    }
+
+    @Override
+    public boolean mightContain(Object key) {
+        return !ready || generation.active().mightContain(key);
+    }
+
+    /**
+     * 写入当前的两代过滤器，写入期间发生了开始构建或替换时重新写入新的一代，保证替换后不会误拒
+     */
+    @Override
+    public void put(Object key) {
+        Generation current;
+        do {
+            current = generation;
+            current.active().put(key);
+            if (current.building() != null) {
+                current.building().put(key);
+            }
+        } while (current != generation);
+    }
+
+    @Override
+    public long approximateCount() {
+        return generation.active().approximateCount();
+    }
+
+    /**
+     * 是否需要重建：首次构建未完成、正在重建、已饱和或到达轮换间隔
+     *
+     * @return 是否需要重建
+     */
+    public boolean isRebuildDue() {
+        Generation current = generation;
+        return !ready
+                || current.building() != null
+                || current.active().isSaturated()
+                || System.nanoTime() - lastRotatedNanos >= rotateIntervalNanos;
+    }
+
+    /**
+     * 执行一步增量构建：读取一页 key 写入新一代过滤器，读取完毕后替换当前过滤器
+     * 构建期间新写入的 key 会同时写入新旧两代，保证替换后不丢失
+     *
+     * @return 本步后是否完成了替换
+     */
+    public synchronized boolean rebuildStep() {
+        if (generation.building() == null) {
+            generation = new Generation(generation.active(), new BloomFilter(nextCapacity(), fpp));
+            cursor = null;
+        }
+        KeySource.Page<K> page;
+        try {
+            page = keySource.load(cursor, batchSize);
+        } catch (RuntimeException e) {
+            // 放弃本轮构建，下次从头开始
+            generation = new Generation(generation.active(), null);
+            cursor = null;
+            throw e;
+        }
+        BloomFilter next = generation.building();
+        for (K key : page.keys()) {
+            next.put(key);
+        }
+        cursor = page.nextCursor();
+        if (cursor != null) {
+            return false;
+        }
+        generation = new Generation(next, null);
+        ready = true;
+        lastRotatedNanos = System.nanoTime();
+        log.info("bloom filter [{}] rotated, keys: {}, capacity: {}", name, next.approximateCount(),
+                next.getExpectedInsertions());
+        return true;
+    }
+
+    /**
+     * 首次构建是否完成
+     *
+     * @return 是否已就绪
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 当前占用内存（字节），包括构建中的过滤器
+     *
+     * @return 字节数
+     */
+    public long bitSizeInBytes() {
+        Generation current = generation;
+        return current.active().bitSizeInBytes()
+                + (current.building() == null ? 0 : current.building().bitSizeInBytes());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 新一代过滤器容量：取来源估算、当前写入量的两倍与最小容量中的最大值
+     */
+    private long nextCapacity() {
+        long estimated = keySource.estimatedSize();
+        long current = ready ? generation.active().approximateCount() * 2 : 0;
+        return Math.max(minCapacity, Math.max(estimated + (estimated >> 1), current));
+    }
+
+    /**
+     * @param active   当前生效的过滤器
+     * @param building 构建中的过滤器，未在重建时为 null
+     */
+    private record Generation(BloomFilter active, BloomFilter building) {
+    }
+}
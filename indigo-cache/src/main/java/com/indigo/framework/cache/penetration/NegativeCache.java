@@ -0,0 +1,97 @@
+package com.indigo.framework.cache.penetration;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 史偕成
+ * @title NegativeCache
+ * @description 空结果缓存，记录短时间内确认不存在的 key，避免重复查询数据库
+ * @create 2026-10-19 09:30
+ */
+public class NegativeCache {
+
+    /**
+     * key -> 过期时间（System.nanoTime）
+     */
+    private final Map<Object, Long> entries = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maximumSize;
+
+    /**
+     * @param ttlMillis   空结果保留时间（毫秒）
+     * @param maximumSize 最大条目数，超过后先清理过期条目，仍超出则随机淘汰
+     */
+    public NegativeCache(long ttlMillis, int maximumSize) {
+        AssertUtil.isTrue(ttlMillis > 0, "ttlMillis must be positive: {}", ttlMillis);
+        AssertUtil.isTrue(maximumSize > 0, "maximumSize must be positive: {}", maximumSize);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * key 是否在有效期内被标记为不存在
+     *
+     * @param key 缓存 key
+     * @return 是否确认不存在
+     */
+    public boolean isAbsent(Object key) {
+        Long expireAt = entries.get(key);
+        if (expireAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expireAt >= 0) {
+            entries.remove(key, expireAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 标记 key 不存在
+     *
+     * @param key 缓存 key
+     */
+    public void markAbsent(Object key) {
+        if (entries.size() >= maximumSize) {
+            evict();
+        }
+        entries.put(key, System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * key 已被创建时清除标记
+     *
+     * @param key 缓存 key
+     */
+    public void invalidate(Object key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 先清理过期条目，仍然超出容量时按迭代顺序淘汰十分之一
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(expireAt -> now - expireAt >= 0);
+        int overflow = entries.size() - maximumSize + Math.max(1, maximumSize / 10);
+        Iterator<Object> it = entries.keySet().iterator();
+        while (overflow-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.indigo.framework.cache.penetration;
+
+import com.indigo.framework.cache.filter.MembershipFilter;
+import com.indigo.framework.cache.stats.CacheLevel;
+import com.indigo.framework.cache.stats.RegionStats;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * @author 史偕成
+ * @title PenetrationGuard
+ * @description 缓存穿透防护
+ * 查询顺序：成员过滤器 -> 空结果缓存 -> 二级缓存 -> 数据源。
+ * 过滤器判定一定不存在的 key 直接返回 null，不访问二级缓存和数据库；
+ * 数据源返回 null 的 key 会在短时间内记入空结果缓存。
+ * 同一 key 并发未命中时只有一个线程回源，其余线程等待其结果（single-flight）。
+ * @create 2026-10-19 09:30
+ */
+public class PenetrationGuard<K> {
+
+    private final String region;
+
+    /**
+     * 成员过滤器，为 null 时只启用空结果缓存
+     */
+    private final MembershipFilter filter;
+
+    private final NegativeCache negativeCache;
+
+    private final RegionStats stats;
+
+    /**
+     * 正在回源的 key
+     */
+    private final Map<K, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public PenetrationGuard(String region, MembershipFilter filter, NegativeCache negativeCache, RegionStats stats) {
+        this.region = region;
+        this.filter = filter;
+        this.negativeCache = negativeCache;
+        this.stats = stats;
+    }
+
+    /**
+     * 带穿透防护的查询
+     *
+     * @param key    缓存 key
+     * @param cache  二级缓存查询，未命中返回 null
+     * @param loader 数据源查询，不存在返回 null
+     * @param <V>    值类型
+     * @return 查询结果，不存在返回 null
+     */
+    public <V> V get(K key, Function<? super K, ? extends V> cache, Function<? super K, ? extends V> loader) {
+        if (isAbsent(key)) {
+            return null;
+        }
+        return getFromL2(key, cache, loader);
+    }
+
+    /**
+     * 带穿透防护的两级缓存查询，进程内缓存先于过滤器查询，命中时不经过穿透防护
+     *
+     * @param key    缓存 key
+     * @param local  进程内缓存查询，未命中返回 null
+     * @param remote 远程缓存查询，未命中返回 null
+     * @param loader 数据源查询，不存在返回 null
+     * @param <V>    值类型
+     * @return 查询结果，不存在返回 null
+     */
+    public <V> V get(K key, Function<? super K, ? extends V> local, Function<? super K, ? extends V> remote,
+                     Function<? super K, ? extends V> loader) {
+        V value = local.apply(key);
+        if (value != null) {
+            stats.recordHit(CacheLevel.L1);
+            return value;
+        }
+        return get(key, remote, loader);
+    }
+
+    private <V> V getFromL2(K key, Function<? super K, ? extends V> cache, Function<? super K, ? extends V> loader) {
+        V value = cache.apply(key);
+        if (value != null) {
+            stats.recordHit(CacheLevel.L2);
+            return value;
+        }
+        stats.recordMiss();
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(key, flight);
+        if (existing != null) {
+            stats.recordSingleFlightWait();
+            return await(existing);
+        }
+        try {
+            value = load(key, loader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    private <V> V load(K key, Function<? super K, ? extends V> loader) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            stats.recordLoad(System.nanoTime() - start, false);
+            throw e;
+        }
+        stats.recordLoad(System.nanoTime() - start, true);
+        if (value == null) {
+            negativeCache.markAbsent(key);
+        } else if (filter != null) {
+            filter.put(key);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V await(CompletableFuture<Object> flight) {
+        try {
+            return (V) flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 判断 key 是否确定不存在，不访问二级缓存与数据源
+     *
+     * @param key 缓存 key
+     * @return 是否确定不存在
+     */
+    public boolean isAbsent(K key) {
+        if (filter != null && !filter.mightContain(key)) {
+            stats.recordPenetrationReject();
+            return true;
+        }
+        if (negativeCache.isAbsent(key)) {
+            stats.recordNegativeHit();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 新数据写入后调用，登记到过滤器并清除空结果标记
+     *
+     * @param key 缓存 key
+     */
+    public void onCreated(K key) {
+        if (filter != null) {
+            filter.put(key);
+        }
+        negativeCache.invalidate(key);
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public MembershipFilter getFilter() {
+        return filter;
+    }
+
+    public RegionStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package com.indigo.framework.cache.penetration;
+
+import com.indigo.framework.cache.config.CacheProperties;
+import com.indigo.framework.cache.filter.KeySource;
+import com.indigo.framework.cache.filter.RotatingBloomFilter;
+import com.indigo.framework.cache.stats.CacheStatistics;
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title PenetrationGuardFactory
+ * @description 按缓存区域创建穿透防护，并在后台线程中增量重建布隆过滤器
+ * @create 2026-10-19 09:30
+ */
+@Slf4j
+public class PenetrationGuardFactory implements DisposableBean {
+
+    private final CacheProperties.Penetration properties;
+
+    private final CacheStatistics statistics;
+
+    private final Map<String, PenetrationGuard<?>> guards = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "indigo-cache-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PenetrationGuardFactory(CacheProperties.Penetration properties, CacheStatistics statistics) {
+        this.properties = properties;
+        this.statistics = statistics;
+    }
+
+    /**
+     * 创建只启用空结果缓存的防护
+     *
+     * @param region 缓存区域
+     * @param <K>    key 类型
+     * @return 穿透防护
+     */
+    public <K> PenetrationGuard<K> create(String region) {
+        return register(new PenetrationGuard<>(region, null, newNegativeCache(), statistics.region(region)));
+    }
+
+    /**
+     * 创建带布隆过滤器的防护，过滤器由 keySource 在后台增量构建
+     *
+     * @param region    缓存区域
+     * @param keySource key 来源
+     * @param <K>       key 类型
+     * @return 穿透防护
+     */
+    public <K> PenetrationGuard<K> create(String region, KeySource<K> keySource) {
+        RotatingBloomFilter<K> filter = new RotatingBloomFilter<>(region, keySource,
+                properties.getExpectedInsertions(), properties.getFpp(), properties.getRebuildBatchSize(),
+                properties.getRotateInterval().toMillis());
+        PenetrationGuard<K> guard = register(new PenetrationGuard<>(region, filter, newNegativeCache(),
+                statistics.region(region)));
+        statistics.region(region).registerFilterEstimators(filter::approximateCount, filter::bitSizeInBytes);
+        long delay = properties.getRebuildStepDelay().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> rebuild(filter), 0, delay, TimeUnit.MILLISECONDS);
+        return guard;
+    }
+
+    /**
+     * 已创建的防护
+     *
+     * @return 区域 -> 防护
+     */
+    public Map<String, PenetrationGuard<?>> getGuards() {
+        return guards;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void rebuild(RotatingBloomFilter<?> filter) {
+        if (!filter.isRebuildDue()) {
+            return;
+        }
+        try {
+            filter.rebuildStep();
+        } catch (RuntimeException e) {
+            log.error("bloom filter [{}] rebuild failed", filter.getName(), e);
+        }
+    }
+
+    private NegativeCache newNegativeCache() {
+        return new NegativeCache(properties.getNegativeTtl().toMillis(), properties.getNegativeMaximumSize());
+    }
+
+    private <K> PenetrationGuard<K> register(PenetrationGuard<K> guard) {
+        PenetrationGuard<?> previous = guards.putIfAbsent(guard.getRegion(), guard);
+        AssertUtil.isTrue(previous == null, "penetration guard already exists for region: {}", guard.getRegion());
+        return guard;
+    }
+}
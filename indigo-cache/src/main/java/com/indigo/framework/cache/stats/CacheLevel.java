@@ -0,0 +1,20 @@
+package com.indigo.framework.cache.stats;
+
+/**
+ * @author 史偕成
+ * @title CacheLevel
+ * @description 缓存层级
+ * @create 2026-10-19 10:40
+ */
+public enum CacheLevel {
+
+    /**
+     * 进程内缓存
+     */
+    L1,
+
+    /**
+     * 远程缓存
+     */
+    L2
+}
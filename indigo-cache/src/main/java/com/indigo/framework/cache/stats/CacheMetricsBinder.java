@@ -0,0 +1,74 @@
+package com.indigo.framework.cache.stats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title CacheMetricsBinder
+ * @description 将缓存统计注册到 Micrometer，指标读取时才汇总 LongAdder，不影响记录路径
+ * @create 2026-10-19 10:40
+ */
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final CacheStatistics statistics;
+
+    public CacheMetricsBinder(CacheStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        statistics.onRegionCreated(stats -> bind(registry, stats));
+    }
+
+    private void bind(MeterRegistry registry, RegionStats stats) {
+        Tags tags = Tags.of("region", stats.getRegion());
+        for (CacheLevel level : CacheLevel.values()) {
+            FunctionCounter.builder("indigo.cache.gets", stats, s -> s.hitCount(level))
+                    .tags(tags).tag("result", "hit").tag("level", level.name())
+                    .description("缓存命中次数").register(registry);
+        }
+        FunctionCounter.builder("indigo.cache.gets", stats, RegionStats::missCount)
+                .tags(tags).tag("result", "miss").tag("level", "none")
+                .description("缓存未命中次数").register(registry);
+        FunctionCounter.builder("indigo.cache.loads", stats, RegionStats::loadSuccessCount)
+                .tags(tags).tag("result", "success").register(registry);
+        FunctionCounter.builder("indigo.cache.loads", stats, RegionStats::loadFailureCount)
+                .tags(tags).tag("result", "failure").register(registry);
+        FunctionTimer.builder("indigo.cache.load.duration", stats,
+                        s -> s.loadLatency().count(),
+                        s -> s.loadLatency().totalTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                .tags(tags).description("回源加载耗时").register(registry);
+        Gauge.builder("indigo.cache.load.duration.p99", stats,
+                        s -> s.loadLatency().percentile(0.99, TimeUnit.NANOSECONDS) / 1e9)
+                .tags(tags).baseUnit("seconds").register(registry);
+        Gauge.builder("indigo.cache.load.duration.max", stats,
+                        s -> s.loadLatency().max(TimeUnit.NANOSECONDS) / 1e9)
+                .tags(tags).baseUnit("seconds").register(registry);
+        for (EvictionCause cause : EvictionCause.values()) {
+            FunctionCounter.builder("indigo.cache.evictions", stats, s -> s.evictionCount(cause))
+                    .tags(tags).tag("cause", cause.name()).description("缓存淘汰次数").register(registry);
+        }
+        FunctionCounter.builder("indigo.cache.single.flight.waits", stats, RegionStats::singleFlightWaitCount)
+                .tags(tags).description("等待其它线程加载的次数").register(registry);
+        FunctionCounter.builder("indigo.cache.penetration.rejects", stats, RegionStats::penetrationRejectCount)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("indigo.cache.negative.hits", stats, RegionStats::negativeHitCount)
+                .tags(tags).register(registry);
+        Gauge.builder("indigo.cache.size", stats, RegionStats::estimatedSize)
+                .tags(tags).description("缓存条目数估算").register(registry);
+        Gauge.builder("indigo.cache.footprint", stats, RegionStats::estimatedFootprint)
+                .tags(tags).baseUnit("bytes").description("缓存内存占用估算").register(registry);
+        Gauge.builder("indigo.cache.penetration.filter.keys", stats, RegionStats::filterApproximateKeys)
+                .tags(tags).description("布隆过滤器写入的 key 数估算").register(registry);
+        Gauge.builder("indigo.cache.penetration.filter.footprint", stats, RegionStats::filterFootprintBytes)
+                .tags(tags).baseUnit("bytes").description("布隆过滤器占用内存").register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package com.indigo.framework.cache.stats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title CacheStatistics
+ * @description 缓存统计注册中心，按区域维护 {@link RegionStats}
+ * @create 2026-10-19 10:40
+ */
+public class CacheStatistics {
+
+    private final Map<String, RegionStats> regions = new ConcurrentHashMap<>();
+
+    private final List<Consumer<RegionStats>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 获取区域统计，不存在时创建
+     *
+     * @param region 缓存区域
+     * @return 区域统计
+     */
+    public RegionStats region(String region) {
+        RegionStats stats = regions.get(region);
+        if (stats != null) {
+            return stats;
+        }
+        RegionStats created = new RegionStats(region);
+        stats = regions.putIfAbsent(region, created);
+        if (stats != null) {
+            return stats;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    /**
+     * 所有区域统计快照
+     *
+     * @return 快照列表
+     */
+    public List<RegionStatsSnapshot> snapshot() {
+        return regions.values().stream().map(RegionStats::snapshot).toList();
+    }
+
+    /**
+     * 单个区域统计快照
+     *
+     * @param region 缓存区域
+     * @return 快照，区域不存在时返回 null
+     */
+    public RegionStatsSnapshot snapshot(String region) {
+        RegionStats stats = regions.get(region);
+        return stats == null ? null : stats.snapshot();
+    }
+
+    /**
+     * 注册区域创建监听，已存在的区域会立即回调
+     *
+     * @param listener 监听器
+     */
+    public void onRegionCreated(Consumer<RegionStats> listener) {
+        listeners.add(listener);
+        regions.values().forEach(listener);
+    }
+}
@@ -0,0 +1,33 @@
+package com.indigo.framework.cache.stats;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title CacheStatisticsEndpoint
+ * @description 缓存统计端点，/actuator/indigocache 与 /actuator/indigocache/{region}
+ * @create 2026-10-19 10:40
+ */
+@Endpoint(id = "indigocache")
+public class CacheStatisticsEndpoint {
+
+    private final CacheStatistics statistics;
+
+    public CacheStatisticsEndpoint(CacheStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public List<RegionStatsSnapshot> regions() {
+        return statistics.snapshot();
+    }
+
+    @ReadOperation
+    public RegionStatsSnapshot region(@Selector String region) {
+        return statistics.snapshot(region);
+    }
+}
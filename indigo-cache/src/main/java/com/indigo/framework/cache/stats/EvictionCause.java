@@ -0,0 +1,31 @@
+package com.indigo.framework.cache.stats;
+
+/**
+ * @author 史偕成
+ * @title EvictionCause
+ * @description 缓存淘汰原因
+ * 使用 Caffeine 作为进程内缓存时，RemovalCause 的 SIZE、COLLECTED 对应 SIZE，EXPIRED、EXPLICIT、REPLACED 同名对应
+ * @create 2026-10-19 10:40
+ */
+public enum EvictionCause {
+
+    /**
+     * 超出容量
+     */
+    SIZE,
+
+    /**
+     * 过期
+     */
+    EXPIRED,
+
+    /**
+     * 主动删除
+     */
+    EXPLICIT,
+
+    /**
+     * 被新值覆盖
+     */
+    REPLACED
+}
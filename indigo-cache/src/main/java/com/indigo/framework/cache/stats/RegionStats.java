@@ -0,0 +1,231 @@
+package com.indigo.framework.cache.stats;
+
+import com.indigo.framework.core.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * @author 史偕成
+ * @title RegionStats
+ * @description 单个缓存区域的统计
+ * 全部使用 LongAdder 分段计数，记录路径无锁，开销为一次 cell 累加。
+ * 命中、未命中与回源由 {@link com.indigo.framework.cache.penetration.PenetrationGuard} 记录；
+ * 淘汰、条目数与内存占用由调用方的进程内缓存上报，如在 Caffeine 的 removalListener 中调用 {@link #recordEviction}，
+ * 并以 estimatedSize 注册条目数估算，未上报时淘汰计数为 0、条目数与内存占用为 -1
+ * @create 2026-10-19 10:40
+ */
+public class RegionStats {
+
+    private final String region;
+
+    private final LongAdder[] hits = new LongAdder[CacheLevel.values().length];
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder loadSuccess = new LongAdder();
+
+    private final LongAdder loadFailure = new LongAdder();
+
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+
+    private final LongAdder[] evictions = new LongAdder[EvictionCause.values().length];
+
+    private final LongAdder singleFlightWaits = new LongAdder();
+
+    private final LongAdder penetrationRejects = new LongAdder();
+
+    private final LongAdder negativeHits = new LongAdder();
+
+    /**
+     * 缓存条目数估算，未注册时为 -1
+     */
+    private volatile LongSupplier sizeEstimator = () -> -1;
+
+    /**
+     * 缓存内存占用估算（字节），未注册时为 -1
+     */
+    private volatile LongSupplier footprintEstimator = () -> -1;
+
+    /**
+     * 布隆过滤器写入的 key 数估算，未启用过滤器时为 -1
+     */
+    private volatile LongSupplier filterKeysEstimator = () -> -1;
+
+    /**
+     * 布隆过滤器占用内存（字节），包括构建中的一代，未启用过滤器时为 -1
+     */
+    private volatile LongSupplier filterBytesEstimator = () -> -1;
+
+    public RegionStats(String region) {
+        this.region = region;
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = new LongAdder();
+        }
+        for (int i = 0; i < evictions.length; i++) {
+            evictions[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录命中
+     *
+     * @param level 命中的缓存层级
+     */
+    public void recordHit(CacheLevel level) {
+        hits[level.ordinal()].increment();
+    }
+
+    /**
+     * 记录所有层级均未命中
+     */
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * 记录一次回源加载
+     *
+     * @param nanos   加载耗时（纳秒）
+     * @param success 是否成功
+     */
+    public void recordLoad(long nanos, boolean success) {
+        (success ? loadSuccess : loadFailure).increment();
+        loadLatency.record(nanos);
+    }
+
+    /**
+     * 记录淘汰，由进程内缓存的淘汰回调调用
+     *
+     * @param cause 淘汰原因
+     * @param count 淘汰数量
+     */
+    public void recordEviction(EvictionCause cause, long count) {
+        evictions[cause.ordinal()].add(count);
+    }
+
+    /**
+     * 记录一次等待其它线程加载结果（single-flight 合并）
+     */
+    public void recordSingleFlightWait() {
+        singleFlightWaits.increment();
+    }
+
+    /**
+     * 记录被布隆过滤器拦截
+     */
+    public void recordPenetrationReject() {
+        penetrationRejects.increment();
+    }
+
+    /**
+     * 记录命中空结果缓存
+     */
+    public void recordNegativeHit() {
+        negativeHits.increment();
+    }
+
+    /**
+     * 注册缓存条目数与内存占用估算，由调用方的缓存实现提供，指标读取时才调用
+     *
+     * @param size      条目数
+     * @param footprint 内存占用（字节），无法估算时传入返回 -1 的函数
+     */
+    public void registerEstimators(LongSupplier size, LongSupplier footprint) {
+        this.sizeEstimator = size;
+        this.footprintEstimator = footprint;
+    }
+
+    /**
+     * 注册布隆过滤器的 key 数与内存占用估算
+     *
+     * @param keys  写入的 key 数
+     * @param bytes 内存占用（字节）
+     */
+    public void registerFilterEstimators(LongSupplier keys, LongSupplier bytes) {
+        this.filterKeysEstimator = keys;
+        this.filterBytesEstimator = bytes;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long hitCount(CacheLevel level) {
+        return hits[level.ordinal()].sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long loadSuccessCount() {
+        return loadSuccess.sum();
+    }
+
+    public long loadFailureCount() {
+        return loadFailure.sum();
+    }
+
+    public LatencyHistogram loadLatency() {
+        return loadLatency;
+    }
+
+    public long evictionCount(EvictionCause cause) {
+        return evictions[cause.ordinal()].sum();
+    }
+
+    public long singleFlightWaitCount() {
+        return singleFlightWaits.sum();
+    }
+
+    public long penetrationRejectCount() {
+        return penetrationRejects.sum();
+    }
+
+    public long negativeHitCount() {
+        return negativeHits.sum();
+    }
+
+    public long estimatedSize() {
+        return sizeEstimator.getAsLong();
+    }
+
+    public long estimatedFootprint() {
+        return footprintEstimator.getAsLong();
+    }
+
+    public long filterApproximateKeys() {
+        return filterKeysEstimator.getAsLong();
+    }
+
+    public long filterFootprintBytes() {
+        return filterBytesEstimator.getAsLong();
+    }
+
+    /**
+     * 生成当前统计快照
+     *
+     * @return 统计快照
+     */
+    public RegionStatsSnapshot snapshot() {
+        long l1 = hitCount(CacheLevel.L1);
+        long l2 = hitCount(CacheLevel.L2);
+        long miss = missCount();
+        long requests = l1 + l2 + miss;
+        return new RegionStatsSnapshot(region, requests, l1, l2, miss,
+                requests == 0 ? 0 : (double) (l1 + l2) / requests,
+                loadSuccessCount(), loadFailureCount(),
+                loadLatency.percentile(0.5, TimeUnit.MICROSECONDS),
+                loadLatency.percentile(0.99, TimeUnit.MICROSECONDS),
+                loadLatency.max(TimeUnit.MICROSECONDS),
+                evictionCount(EvictionCause.SIZE),
+                evictionCount(EvictionCause.EXPIRED),
+                evictionCount(EvictionCause.EXPLICIT),
+                evictionCount(EvictionCause.REPLACED),
+                singleFlightWaitCount(), penetrationRejectCount(), negativeHitCount(),
+                estimatedSize(), estimatedFootprint(),
+                filterApproximateKeys(), filterFootprintBytes());
+    }
+}
@@ -0,0 +1,31 @@
+package com.indigo.framework.cache.stats;
+
+/**
+ * @author 史偕成
+ * @title RegionStatsSnapshot
+ * @description 缓存区域统计快照，耗时单位为微秒
+ * @create 2026-10-19 10:40
+ */
+public record RegionStatsSnapshot(String region,
+                                  long requestCount,
+                                  long l1HitCount,
+                                  long l2HitCount,
+                                  long missCount,
+                                  double hitRatio,
+                                  long loadSuccessCount,
+                                  long loadFailureCount,
+                                  long loadP50Micros,
+                                  long loadP99Micros,
+                                  long loadMaxMicros,
+                                  long sizeEvictionCount,
+                                  long expiredEvictionCount,
+                                  long explicitEvictionCount,
+                                  long replacedEvictionCount,
+                                  long singleFlightWaitCount,
+                                  long penetrationRejectCount,
+                                  long negativeHitCount,
+                                  long estimatedSize,
+                                  long estimatedFootprintBytes,
+                                  long filterApproximateKeys,
+                                  long filterFootprintBytes) {
+}
@@ -0,0 +1,174 @@
+package com.indigo.framework.cache.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title RotatingBloomFilterTest
+ * @description 可轮换布隆过滤器测试：首次构建前不拒绝，分页构建后替换，构建期间及并发写入的 key 在轮换后不会被误拒
+ * @create 2026-10-21 10:00
+ */
+class RotatingBloomFilterTest {
+
+    /**
+     * 模拟按主键顺序分页扫描的表，扫描期间允许并发插入
+     */
+    private final NavigableSet<Long> stored = new ConcurrentSkipListSet<>();
+
+    private final KeySource<Long> keySource = (cursor, batchSize) -> {
+        NavigableSet<Long> rest = cursor == null ? stored : stored.tailSet((Long) cursor, false);
+        List<Long> page = rest.stream().limit(batchSize).toList();
+        return new KeySource.Page<>(page, page.size() < batchSize ? null : page.get(page.size() - 1));
+    };
+
+    @Test
+    void acceptsEverythingUntilFirstBuildCompletes() {
+        stored.addAll(keys(0, 250));
+        RotatingBloomFilter<Long> filter = new RotatingBloomFilter<>("user", keySource, 1000, 0.01, 100, 60_000);
+
+        assertFalse(filter.rebuildStep());
+        assertTrue(filter.mightContain(-1L));
+        assertFalse(filter.rebuildStep());
+        assertTrue(filter.rebuildStep());
+
+        assertTrue(filter.isReady());
+        keys(0, 250).forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+        assertTrue(keys(10_000, 11_000).stream().filter(filter::mightContain).count() < 50);
+    }
+
+    @Test
+    void keysPutWhileBuildingSurviveRotation() {
+        stored.addAll(keys(0, 150));
+        RotatingBloomFilter<Long> filter = new RotatingBloomFilter<>("user", keySource, 1000, 0.01, 100, 0);
+        rebuild(filter);
+
+        // 新一代从数据源读取时尚未看到这些 key，只能靠构建期间的双写保留
+        assertFalse(filter.rebuildStep());
+        keys(5000, 5100).forEach(filter::put);
+        assertTrue(filter.rebuildStep());
+
+        keys(0, 150).forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+        keys(5000, 5100).forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+    }
+
+    @Test
+    void putRacingWithRotationIsNotLost() throws Exception {
+        stored.addAll(keys(0, 150));
+        RotatingBloomFilter<Long> filter = new RotatingBloomFilter<>("user", keySource, 1000, 0.01, 100, 0);
+        rebuild(filter);
+        assertFalse(filter.rebuildStep());
+        PausingKey key = new PausingKey();
+
+        // 写入线程在写旧一代时暂停，期间新一代构建完成并替换
+        Thread writer = new Thread(() -> filter.put(key));
+        writer.start();
+        assertTrue(key.entered.await(5, TimeUnit.SECONDS));
+        assertTrue(filter.rebuildStep());
+        key.resume.countDown();
+        writer.join();
+
+        assertTrue(filter.mightContain(key));
+    }
+
+    @Test
+    void concurrentPutsAreNeverLostAcrossRotations() throws Exception {
+        stored.addAll(keys(0, 100));
+        RotatingBloomFilter<Long> filter = new RotatingBloomFilter<>("user", keySource, 2000, 0.01, 50, 0);
+        rebuild(filter);
+        List<Long> written = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        // 与业务写入一致：先落库再登记；负数 key 排在扫描游标之前，新一代只能通过构建期间的双写得到它们
+        Thread writer = new Thread(() -> {
+            for (long key = -1; running.get() && key > -20_000; key--) {
+                stored.add(key);
+                filter.put(key);
+                written.add(key);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                rebuild(filter);
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+
+        assertFalse(written.isEmpty());
+        written.forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+        keys(0, 100).forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+    }
+
+    @Test
+    void failedLoadKeepsActiveGenerationAndRestarts() {
+        stored.addAll(keys(0, 50));
+        AtomicBoolean fail = new AtomicBoolean();
+        KeySource<Long> flaky = (cursor, batchSize) -> {
+            if (fail.get() && cursor != null) {
+                throw new IllegalStateException("db down");
+            }
+            return keySource.load(cursor, batchSize);
+        };
+        RotatingBloomFilter<Long> filter = new RotatingBloomFilter<>("user", flaky, 1000, 0.01, 20, 0);
+        rebuild(filter);
+
+        fail.set(true);
+        assertFalse(filter.rebuildStep());
+        assertThrows(IllegalStateException.class, filter::rebuildStep);
+        keys(0, 50).forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+
+        fail.set(false);
+        rebuild(filter);
+        keys(0, 50).forEach(key -> assertTrue(filter.mightContain(key), "false negative " + key));
+    }
+
+    /**
+     * 不在数据源中的 key，第一次计算哈希时暂停，直到测试放行
+     */
+    private static final class PausingKey {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch resume = new CountDownLatch(1);
+
+        private final AtomicBoolean paused = new AtomicBoolean();
+
+        @Override
+        public int hashCode() {
+            if (paused.compareAndSet(false, true)) {
+                entered.countDown();
+                try {
+                    resume.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // 整数 key 与同值的 hashCode 哈希相同，取数据源之外的值
+            return 7_000_001;
+        }
+    }
+
+    private static void rebuild(RotatingBloomFilter<Long> filter) {
+        while (!filter.rebuildStep()) {
+            // 读取下一页
+        }
+    }
+
+    private static List<Long> keys(int from, int to) {
+        return IntStream.range(from, to).mapToObj(Long::valueOf).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.indigo.framework.cache.stats;
+
+import com.indigo.framework.cache.penetration.NegativeCache;
+import com.indigo.framework.cache.penetration.PenetrationGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author 史偕成
+ * @title RegionStatsTest
+ * @description 区域统计测试：调用方上报的淘汰与容量估算进入快照和指标，穿透防护记录各层命中
+ * @create 2026-10-21 10:00
+ */
+class RegionStatsTest {
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    @Test
+    void evictionsAndEstimatorsReportedByCallerAppearInSnapshot() {
+        RegionStats stats = statistics.region("user");
+        Map<String, byte[]> local = new ConcurrentHashMap<>(Map.of("u1", new byte[16], "u2", new byte[16]));
+
+        stats.recordEviction(EvictionCause.SIZE, 3);
+        stats.recordEviction(EvictionCause.EXPIRED, 1);
+        stats.recordEviction(EvictionCause.EXPIRED, 2);
+        stats.registerEstimators(local::size, () -> local.size() * 64L);
+        local.remove("u2");
+
+        RegionStatsSnapshot snapshot = statistics.snapshot("user");
+        assertEquals(3, snapshot.sizeEvictionCount());
+        assertEquals(3, snapshot.expiredEvictionCount());
+        assertEquals(0, snapshot.explicitEvictionCount());
+        assertEquals(1, snapshot.estimatedSize());
+        assertEquals(64, snapshot.estimatedFootprintBytes());
+        assertEquals(-1, snapshot.filterApproximateKeys());
+    }
+
+    @Test
+    void unreportedEstimatorsAreNegative() {
+        RegionStatsSnapshot snapshot = statistics.region("order").snapshot();
+
+        assertEquals(-1, snapshot.estimatedSize());
+        assertEquals(-1, snapshot.estimatedFootprintBytes());
+        assertNull(statistics.snapshot("missing"));
+    }
+
+    @Test
+    void metricsAreBoundForExistingAndLaterRegions() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        statistics.region("user").recordEviction(EvictionCause.EXPLICIT, 2);
+        new CacheMetricsBinder(statistics).bindTo(registry);
+        RegionStats order = statistics.region("order");
+        order.registerEstimators(() -> 5, () -> 1024);
+        order.recordEviction(EvictionCause.REPLACED, 1);
+
+        assertEquals(2, registry.get("indigo.cache.evictions").tag("region", "user").tag("cause", "EXPLICIT")
+                .functionCounter().count());
+        assertEquals(1, registry.get("indigo.cache.evictions").tag("region", "order").tag("cause", "REPLACED")
+                .functionCounter().count());
+        assertEquals(5, registry.get("indigo.cache.size").tag("region", "order").gauge().value());
+        assertEquals(1024, registry.get("indigo.cache.footprint").tag("region", "order").gauge().value());
+    }
+
+    @Test
+    void guardRecordsHitsPerLevelAndMisses() {
+        RegionStats stats = statistics.region("user");
+        PenetrationGuard<String> guard = new PenetrationGuard<>("user", null, new NegativeCache(60_000, 100), stats);
+        Map<String, String> local = Map.of("u1", "local");
+        Map<String, String> remote = Map.of("u2", "remote");
+
+        assertEquals("local", guard.get("u1", local::get, remote::get, key -> null));
+        assertEquals("remote", guard.get("u2", local::get, remote::get, key -> null));
+        assertEquals("db", guard.get("u3", local::get, remote::get, key -> "db"));
+        assertNull(guard.get("u4", local::get, remote::get, key -> null));
+        assertNull(guard.get("u4", local::get, remote::get, key -> "unexpected"));
+
+        RegionStatsSnapshot snapshot = stats.snapshot();
+        assertEquals(1, snapshot.l1HitCount());
+        assertEquals(1, snapshot.l2HitCount());
+        assertEquals(2, snapshot.missCount());
+        assertEquals(2, snapshot.loadSuccessCount());
+        assertEquals(1, snapshot.negativeHitCount());
+    }
+}
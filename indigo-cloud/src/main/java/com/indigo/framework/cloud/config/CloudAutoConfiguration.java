@@ -0,0 +1,118 @@
+package com.indigo.framework.cloud.config;
+
+import com.indigo.framework.cloud.feign.FeignCallCapability;
+import com.indigo.framework.cloud.feign.FeignCallKeyContributor;
+import com.indigo.framework.cloud.feign.HeaderKeyContributor;
+import com.indigo.framework.cloud.loadbalancer.DiscoveryInstanceSupplier;
+import com.indigo.framework.cloud.loadbalancer.InstanceSupplier;
+import com.indigo.framework.cloud.loadbalancer.LoadBalancerFeignClient;
+import com.indigo.framework.cloud.loadbalancer.P2cLoadBalancer;
+import com.indigo.framework.cloud.loadbalancer.StaticInstanceSupplier;
+import com.indigo.framework.cloud.startup.ConfigSnapshotWriter;
+import com.indigo.framework.cloud.startup.EagerBeanExcludeFilter;
+import feign.Capability;
+import feign.Client;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title CloudAutoConfiguration
+ * @description 微服务自动配置
+ * @create 2026-10-20 14:00
+ */
+@AutoConfiguration(beforeName = "org.springframework.cloud.openfeign.loadbalancer.FeignLoadBalancerAutoConfiguration")
+@EnableConfigurationProperties(CloudProperties.class)
+public class CloudAutoConfiguration {
+
+    /**
+     * Feign 请求按服务名负载均衡，indigo.cloud.load-balancer.enabled=false 时关闭
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Client.class)
+    @ConditionalOnProperty(prefix = "indigo.cloud.load-balancer", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class LoadBalancerConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public InstanceSupplier instanceSupplier(CloudProperties cloudProperties,
+                                                 ObjectProvider<DiscoveryClient> discoveryClient) {
+            DiscoveryClient client = discoveryClient.getIfAvailable();
+            return new StaticInstanceSupplier(cloudProperties.getLoadBalancer().getStaticInstances(),
+                    client == null ? null : new DiscoveryInstanceSupplier(client));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public P2cLoadBalancer p2cLoadBalancer(InstanceSupplier instanceSupplier, CloudProperties cloudProperties) {
+            return new P2cLoadBalancer(instanceSupplier, cloudProperties.getLoadBalancer());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public Client feignClient(P2cLoadBalancer p2cLoadBalancer) {
+            return new LoadBalancerFeignClient(new Client.Default(null, null), p2cLoadBalancer);
+        }
+    }
+
+    /**
+     * Feign 调用合并与缓存，indigo.cloud.feign.enabled=true 时开启
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Capability.class)
+    @ConditionalOnProperty(prefix = "indigo.cloud.feign", name = "enabled", havingValue = "true")
+    static class FeignCallConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeignCallKeyContributor feignCallKeyContributor(ObjectProvider<RequestInterceptor> requestInterceptors,
+                                                               CloudProperties cloudProperties) {
+            return new HeaderKeyContributor(requestInterceptors.orderedStream().toList(),
+                    cloudProperties.getFeign().getKeyHeaders());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public FeignCallCapability feignCallCapability(FeignCallKeyContributor feignCallKeyContributor) {
+            return new FeignCallCapability(feignCallKeyContributor);
+        }
+    }
+
+    /**
+     * 快速启动，indigo.cloud.startup.fast=true 时开启
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "indigo.cloud.startup", name = "fast", havingValue = "true")
+    static class FastStartupConfiguration {
+
+        /**
+         * 在 BeanFactoryPostProcessor 阶段使用，此时配置类还未绑定，直接从环境读取
+         */
+        @Bean
+        public static EagerBeanExcludeFilter eagerBeanExcludeFilter(Environment environment) {
+            List<String> eagerBeans = Binder.get(environment)
+                    .bind("indigo.cloud.startup.eager-beans", Bindable.listOf(String.class))
+                    .orElse(List.of());
+            return new EagerBeanExcludeFilter(eagerBeans);
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "indigo.cloud.startup", name = "snapshot", havingValue = "true", matchIfMissing = true)
+        public ConfigSnapshotWriter configSnapshotWriter() {
+            return new ConfigSnapshotWriter();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.indigo.framework.cloud.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title CloudProperties
+ * @description 微服务配置
+ * @create 2026-10-20 14:00
+ */
+@Data
+@ConfigurationProperties("indigo.cloud")
+public class CloudProperties {
+
+    /**
+     * Feign 负载均衡配置
+     */
+    private LoadBalancer loadBalancer = new LoadBalancer();
+
+    /**
+     * Feign 调用合并与缓存配置
+     */
+    private Feign feign = new Feign();
+
+    /**
+     * 启动优化配置，开关在环境准备阶段直接读取，这里用于绑定和提示
+     */
+    private Startup startup = new Startup();
+
+    @Data
+    public static class LoadBalancer {
+
+        /**
+         * 是否由 indigo 负载均衡器分发 Feign 请求
+         */
+        private boolean enabled = true;
+
+        /**
+         * 延迟均值的衰减时间，越小对延迟变化越敏感
+         */
+        private Duration decayTime = Duration.ofSeconds(10);
+
+        /**
+         * 新实例在没有采样前的假定延迟
+         */
+        private Duration initialLatency = Duration.ofMillis(100);
+
+        /**
+         * 连续失败多少次后摘除实例
+         */
+        private int failureThreshold = 3;
+
+        /**
+         * 首次摘除时长，再次摘除时翻倍
+         */
+        private Duration ejectionTime = Duration.ofSeconds(10);
+
+        /**
+         * 最长摘除时长
+         */
+        private Duration maxEjectionTime = Duration.ofMinutes(2);
+
+        /**
+         * 实例统计多久未使用后清理
+         */
+        private Duration statsIdleTime = Duration.ofMinutes(10);
+
+        /**
+         * 服务名 -> 固定实例地址（host:port），配置后该服务不再查询注册中心
+         */
+        private Map<String, List<String>> staticInstances = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class Feign {
+
+        /**
+         * 是否启用 @FeignCache、@FeignBatch、@FeignCoalesce
+         */
+        private boolean enabled = false;
+
+        /**
+         * 作为调用方身份计入合并与缓存 key 的请求头，取全局 RequestInterceptor 写入的值；租户等请求头需要追加，
+         * 置空则所有调用方共享结果
+         */
+        private List<String> keyHeaders = new ArrayList<>(List.of("Authorization"));
+    }
+
+    @Data
+    public static class Startup {
+
+        /**
+         * 快速启动：懒加载、Feign 代理延迟创建、缩短配置中心超时并使用本地配置快照；
+         * 以 bootstrap 方式接入 Nacos 时需写在 bootstrap.yml 中或以系统属性传入，缩短的超时才对配置读取生效
+         */
+        private boolean fast = false;
+
+        /**
+         * 快速启动时配置中心的读取超时
+         */
+        private Duration configTimeout = Duration.ofSeconds(1);
+
+        /**
+         * 快速启动时是否读写配置快照
+         */
+        private boolean snapshot = true;
+
+        /**
+         * 配置快照目录，默认 ${user.home}/.indigo/config-snapshot
+         */
+        private String snapshotDir;
+
+        /**
+         * 不写入快照的配置名关键字，配置名最后一段（忽略大小写、连字符与下划线）以任一关键字或其复数结尾时不落盘，
+         * 如 spring.redis.password、app.api-key、app.access-tokens[0]；cache.key-prefix 这类只是包含关键字的配置照常保存
+         */
+        private List<String> snapshotExcludes = new ArrayList<>(List.of("password", "secret", "token", "key",
+                "credential"));
+
+        /**
+         * 懒加载下仍立即创建的 bean 名称或类名
+         */
+        private List<String> eagerBeans = new ArrayList<>();
+
+        /**
+         * 启动完成后输出各阶段耗时
+         */
+        private boolean report = false;
+    }
+}
@@ -0,0 +1,139 @@
+package com.indigo.framework.cloud.feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author 史偕成
+ * @title BatchingHandler
+ * @description 把时间窗口内的单 key 调用合并为一次批量调用。窗口内第一个调用方等待窗口结束后发出整批请求，
+ * 批次满时由放入最后一个 key 的调用方立即发出，不需要额外线程；同一批次内相同的 key 只查询一次。
+ * 批次按调用方身份分开，批量请求由发出它的调用方带着自己的请求头执行
+ * @create 2026-10-20 15:00
+ */
+final class BatchingHandler implements MethodHandler {
+
+    private final MethodHandler single;
+
+    private final MethodHandler batch;
+
+    private final FeignCallKeyContributor keyContributor;
+
+    private final boolean setParameter;
+
+    private final long windowNanos;
+
+    private final int maxSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 调用方身份 -> 正在收集的批次
+     */
+    private final Map<Object, Batch> current = new HashMap<>();
+
+    /**
+     * @param single       单 key 方法，key 为 null 时直接调用
+     * @param batch          批量方法
+     * @param keyContributor 调用方身份
+     * @param setParameter 批量方法参数是否为 Set
+     * @param windowMillis 合并窗口
+     * @param maxSize      每批最多 key 数
+     */
+    BatchingHandler(MethodHandler single, MethodHandler batch, FeignCallKeyContributor keyContributor,
+                    boolean setParameter, long windowMillis, int maxSize) {
+        this.single = single;
+        this.batch = batch;
+        this.keyContributor = keyContributor;
+        this.setParameter = setParameter;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Object invoke(Object[] argv) throws Throwable {
+        Object key = argv[0];
+        if (key == null) {
+            return single.invoke(argv);
+        }
+        Object identity = keyContributor.contribute();
+        Batch joined;
+        CompletableFuture<Object> future;
+        boolean leader;
+        boolean full;
+        lock.lock();
+        try {
+            joined = current.get(identity);
+            leader = joined == null;
+            if (leader) {
+                joined = new Batch();
+                current.put(identity, joined);
+            }
+            future = joined.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+            full = joined.futures.size() >= maxSize;
+            if (full) {
+                current.remove(identity);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full) {
+            joined.sealed.countDown();
+            execute(joined);
+        } else if (leader) {
+            awaitWindow(joined);
+            boolean mine;
+            lock.lock();
+            try {
+                mine = current.remove(identity, joined);
+            } finally {
+                lock.unlock();
+            }
+            if (mine) {
+                execute(joined);
+            }
+        }
+        return CoalescingHandler.await(future);
+    }
+
+    private void awaitWindow(Batch joined) {
+        try {
+            joined.sealed.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // 提前发出本批请求，中断状态留给调用方处理
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(Batch joined) {
+        Set<Object> keys = joined.futures.keySet();
+        Collection<Object> argument = setParameter ? new LinkedHashSet<>(keys) : new ArrayList<>(keys);
+        try {
+            Map<?, ?> result = (Map<?, ?>) batch.invoke(new Object[]{argument});
+            joined.futures.forEach((key, future) -> future.complete(result == null ? null : result.get(key)));
+        } catch (Throwable e) {
+            joined.futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static final class Batch {
+
+        private final Map<Object, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+
+        /**
+         * 批次满时提前唤醒等待窗口的调用方
+         */
+        private final CountDownLatch sealed = new CountDownLatch(1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.indigo.framework.cloud.feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 史偕成
+ * @title CachingHandler
+ * @description 按调用方身份和参数缓存返回值，命中的调用方共享同一个结果对象，null 同样缓存；条目数达到上限时先清理过期条目，仍然超出时按迭代顺序淘汰十分之一
+ * @create 2026-10-20 15:00
+ */
+final class CachingHandler implements MethodHandler {
+
+    private static final Object NULL = new Object();
+
+    private final MethodHandler next;
+
+    private final FeignCallKeyContributor keyContributor;
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    private final Map<CallKey, Entry> entries = new ConcurrentHashMap<>();
+
+    CachingHandler(MethodHandler next, FeignCallKeyContributor keyContributor, long ttlMillis, int maxSize) {
+        this.next = next;
+        this.keyContributor = keyContributor;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public Object invoke(Object[] argv) throws Throwable {
+        CallKey key = new CallKey(keyContributor.contribute(), argv);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+            return entry.value == NULL ? null : entry.value;
+        }
+        Object result = next.invoke(argv);
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry(result == null ? NULL : result, System.nanoTime() + ttlNanos));
+        return result;
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(e -> e.expiresAt - now <= 0);
+        int overflow = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<CallKey> it = entries.keySet().iterator();
+        while (overflow-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
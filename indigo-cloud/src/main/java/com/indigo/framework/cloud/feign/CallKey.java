@@ -0,0 +1,40 @@
+package com.indigo.framework.cloud.feign;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * @author 史偕成
+ * @title CallKey
+ * @description 以调用方身份和调用参数作为合并与缓存的 key，参数需要正确实现 equals 和 hashCode
+ * @create 2026-10-20 15:00
+ */
+final class CallKey {
+
+    private final Object identity;
+
+    private final Object[] args;
+
+    private final int hash;
+
+    /**
+     * @param identity 调用方身份，见 {@link FeignCallKeyContributor}
+     * @param args     调用参数
+     */
+    CallKey(Object identity, Object[] args) {
+        this.identity = identity;
+        this.args = args == null ? new Object[0] : args.clone();
+        this.hash = 31 * Objects.hashCode(identity) + Arrays.deepHashCode(this.args);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof CallKey other && hash == other.hash && Objects.equals(identity, other.identity)
+                && Arrays.deepEquals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
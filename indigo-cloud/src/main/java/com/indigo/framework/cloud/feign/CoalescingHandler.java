@@ -0,0 +1,63 @@
+package com.indigo.framework.cloud.feign;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import feign.InvocationHandlerFactory.MethodHandler;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title CoalescingHandler
+ * @description 第一个调用方发出请求，请求结束前到达的同身份、同参数调用等待并共享它的结果或异常，
+ * 等待方拿到的是同一个结果对象，不要修改
+ * @create 2026-10-20 15:00
+ */
+final class CoalescingHandler implements MethodHandler {
+
+    private final MethodHandler next;
+
+    private final FeignCallKeyContributor keyContributor;
+
+    private final Map<CallKey, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+
+    CoalescingHandler(MethodHandler next, FeignCallKeyContributor keyContributor) {
+        this.next = next;
+        this.keyContributor = keyContributor;
+    }
+
+    @Override
+    public Object invoke(Object[] argv) throws Throwable {
+        CallKey key = new CallKey(keyContributor.contribute(), argv);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inflight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            Object result = next.invoke(argv);
+            mine.complete(result);
+            return result;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, mine);
+        }
+    }
+
+    static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseUnCheckException("interrupted while waiting for a merged feign call", ERROR.getCode(), e);
+        }
+    }
+}
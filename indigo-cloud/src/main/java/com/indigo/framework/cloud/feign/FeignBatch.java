@@ -0,0 +1,43 @@
+package com.indigo.framework.cloud.feign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title FeignBatch
+ * @description 单 key 查询在时间窗口内合并为一次批量查询。批量方法与单 key 方法在同一接口中，参数为 key 集合，返回 key -> 结果，
+ * 缺失的 key 返回 null；需要开启 indigo.cloud.feign.enabled
+ * <pre>
+ *     &#064;FeignBatch("getUsers")
+ *     &#064;GetMapping("/user/{id}")
+ *     UserVO getUser(@PathVariable Long id);
+ *
+ *     &#064;PostMapping("/user/batch")
+ *     Map&lt;Long, UserVO&gt; getUsers(@RequestBody Collection&lt;Long&gt; ids);
+ * </pre>
+ * @create 2026-10-20 15:00
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FeignBatch {
+
+    /**
+     * 批量方法名
+     */
+    String value();
+
+    /**
+     * 合并窗口，单位毫秒，窗口内第一个调用最多额外等待这么久
+     */
+    long window() default 5;
+
+    /**
+     * 每批最多 key 数，达到后立即发出
+     */
+    int maxSize() default 100;
+}
@@ -0,0 +1,30 @@
+package com.indigo.framework.cloud.feign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title FeignCache
+ * @description 按调用方身份与参数短时缓存方法返回值，缓存期间命中的调用方共享同一个结果对象，不要修改返回值；
+ * 缓存未命中时同参数的并发调用会合并，需要开启 indigo.cloud.feign.enabled
+ * @create 2026-10-20 15:00
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FeignCache {
+
+    /**
+     * 缓存时间，单位毫秒
+     */
+    long ttl() default 1000;
+
+    /**
+     * 最大缓存条目数
+     */
+    int maxSize() default 1024;
+}
@@ -0,0 +1,82 @@
+package com.indigo.framework.cloud.feign;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Response;
+import feign.Target;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title FeignCallCapability
+ * @description 按 {@link FeignCache}、{@link FeignBatch}、{@link FeignCoalesce} 包装 Feign 方法，
+ * 调用顺序为缓存 -> 批量合并或并发合并 -> 实际请求；返回 void 或 {@link Response} 的方法不处理。
+ * 合并与缓存的 key 包含 {@link FeignCallKeyContributor} 给出的调用方身份，不同身份之间不共享结果
+ * @create 2026-10-20 15:00
+ */
+public class FeignCallCapability implements Capability {
+
+    private final FeignCallKeyContributor keyContributor;
+
+    public FeignCallCapability(FeignCallKeyContributor keyContributor) {
+        this.keyContributor = keyContributor;
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> invocationHandlerFactory.create(target, decorate(target, dispatch));
+    }
+
+    private Map<Method, MethodHandler> decorate(Target<?> target, Map<Method, MethodHandler> dispatch) {
+        boolean coalesceAll = target.type().isAnnotationPresent(FeignCoalesce.class);
+        Map<Method, MethodHandler> decorated = new LinkedHashMap<>(dispatch);
+        for (Map.Entry<Method, MethodHandler> entry : dispatch.entrySet()) {
+            Method method = entry.getKey();
+            Class<?> returnType = method.getReturnType();
+            if (returnType == void.class || Response.class.isAssignableFrom(returnType)) {
+                continue;
+            }
+            FeignBatch batch = method.getAnnotation(FeignBatch.class);
+            FeignCache cache = method.getAnnotation(FeignCache.class);
+            MethodHandler handler = entry.getValue();
+            if (batch != null) {
+                handler = batching(target, dispatch, method, handler, batch);
+            } else if (cache != null || coalesceAll || method.isAnnotationPresent(FeignCoalesce.class)) {
+                handler = new CoalescingHandler(handler, keyContributor);
+            }
+            if (cache != null) {
+                AssertUtil.isTrue(cache.ttl() > 0 && cache.maxSize() > 0, "invalid @FeignCache on {}", method);
+                handler = new CachingHandler(handler, keyContributor, cache.ttl(), cache.maxSize());
+            }
+            decorated.put(method, handler);
+        }
+        return decorated;
+    }
+
+    private MethodHandler batching(Target<?> target, Map<Method, MethodHandler> dispatch, Method method,
+                                   MethodHandler handler, FeignBatch batch) {
+        AssertUtil.isTrue(method.getParameterCount() == 1, "@FeignBatch method {} must have exactly one parameter", method);
+        AssertUtil.isTrue(batch.window() > 0 && batch.maxSize() > 0, "invalid @FeignBatch on {}", method);
+        Method batchMethod = null;
+        for (Method candidate : target.type().getMethods()) {
+            if (candidate.getName().equals(batch.value()) && candidate.getParameterCount() == 1
+                    && Collection.class.isAssignableFrom(candidate.getParameterTypes()[0])
+                    && Map.class.isAssignableFrom(candidate.getReturnType())) {
+                batchMethod = candidate;
+                break;
+            }
+        }
+        AssertUtil.nonNull(batchMethod, "batch method {}(Collection) returning Map not found for {}", batch.value(), method);
+        MethodHandler batchHandler = dispatch.get(batchMethod);
+        AssertUtil.nonNull(batchHandler, "batch method {} is not a feign method", batchMethod);
+        boolean setParameter = Set.class.isAssignableFrom(batchMethod.getParameterTypes()[0]);
+        return new BatchingHandler(handler, batchHandler, keyContributor, setParameter, batch.window(), batch.maxSize());
+    }
+}
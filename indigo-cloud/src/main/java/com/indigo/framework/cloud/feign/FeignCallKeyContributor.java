@@ -0,0 +1,23 @@
+package com.indigo.framework.cloud.feign;
+
+/**
+ * @author 史偕成
+ * @title FeignCallKeyContributor
+ * @description 提供当前调用方的身份（令牌、租户等），与参数一起组成合并、缓存与批量的 key，不同身份的调用不会共享结果
+ * @create 2026-10-20 15:00
+ */
+@FunctionalInterface
+public interface FeignCallKeyContributor {
+
+    /**
+     * 所有调用共享结果，只用于与调用方无关的接口
+     */
+    FeignCallKeyContributor NONE = () -> null;
+
+    /**
+     * 当前调用方的身份
+     *
+     * @return 身份，需要正确实现 equals 和 hashCode；null 表示与调用方无关
+     */
+    Object contribute();
+}
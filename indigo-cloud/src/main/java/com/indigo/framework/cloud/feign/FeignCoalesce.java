@@ -0,0 +1,20 @@
+package com.indigo.framework.cloud.feign;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title FeignCoalesce
+ * @description 调用方身份与参数都相同的并发调用合并为一次请求，所有调用方共享同一个结果对象，不要修改返回值；标注在接口上时对所有有返回值的方法生效。
+ * 只用于幂等的查询接口，需要开启 indigo.cloud.feign.enabled
+ * @create 2026-10-20 15:00
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FeignCoalesce {
+}
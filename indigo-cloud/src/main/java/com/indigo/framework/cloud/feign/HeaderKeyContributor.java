@@ -0,0 +1,57 @@
+package com.indigo.framework.cloud.feign;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title HeaderKeyContributor
+ * @description 在空白请求上执行全局 {@link RequestInterceptor}，取指定请求头的值作为调用方身份。
+ * 拦截器在合并与缓存之后才作用于实际请求，因此这里预先执行一次；只针对单个 Feign 客户端配置的拦截器不在其中。
+ * 拦截器执行失败时返回一个新对象，本次调用不与任何调用共享结果
+ * @create 2026-10-20 15:00
+ */
+@Slf4j
+public class HeaderKeyContributor implements FeignCallKeyContributor {
+
+    private final List<RequestInterceptor> interceptors;
+
+    private final List<String> headers;
+
+    /**
+     * @param interceptors 全局请求拦截器
+     * @param headers      作为身份的请求头，如 Authorization、租户头
+     */
+    public HeaderKeyContributor(List<RequestInterceptor> interceptors, List<String> headers) {
+        this.interceptors = List.copyOf(interceptors);
+        this.headers = List.copyOf(headers);
+    }
+
+    @Override
+    public Object contribute() {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        RequestTemplate template = new RequestTemplate();
+        try {
+            for (RequestInterceptor interceptor : interceptors) {
+                interceptor.apply(template);
+            }
+        } catch (RuntimeException e) {
+            log.debug("request interceptor failed on a blank template, call is not shared", e);
+            return new Object();
+        }
+        List<Collection<String>> values = new ArrayList<>(headers.size());
+        for (String header : headers) {
+            // RequestTemplate 的请求头不区分大小写
+            Collection<String> value = template.headers().get(header);
+            values.add(value == null ? List.of() : List.copyOf(value));
+        }
+        return values;
+    }
+}
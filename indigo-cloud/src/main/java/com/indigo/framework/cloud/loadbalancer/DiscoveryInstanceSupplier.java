@@ -0,0 +1,26 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title DiscoveryInstanceSupplier
+ * @description 从注册中心获取实例，Nacos 客户端本地缓存实例列表并由推送更新，这里不再额外缓存
+ * @create 2026-10-20 14:00
+ */
+public class DiscoveryInstanceSupplier implements InstanceSupplier {
+
+    private final DiscoveryClient discoveryClient;
+
+    public DiscoveryInstanceSupplier(DiscoveryClient discoveryClient) {
+        this.discoveryClient = discoveryClient;
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+        return discoveryClient.getInstances(serviceId);
+    }
+}
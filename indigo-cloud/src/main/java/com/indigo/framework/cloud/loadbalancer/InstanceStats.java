@@ -0,0 +1,122 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 史偕成
+ * @title InstanceStats
+ * @description 单个实例的延迟与失败统计。延迟使用峰值 EWMA：比均值慢的样本直接抬高均值，快的样本按时间加权衰减，
+ * 长时间没有请求时均值同样向 0 衰减，使变慢后被冷落的实例能重新得到探测
+ * @create 2026-10-20 14:00
+ */
+public class InstanceStats {
+
+    private static final long MIN_COST_NANOS = 1_000_000L;
+
+    private final String instanceId;
+
+    private final double decayNanos;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private double costNanos;
+
+    private long lastSampleNanos;
+
+    private int consecutiveFailures;
+
+    private int ejections;
+
+    private volatile long ejectedUntilNanos;
+
+    private volatile long lastUsedNanos;
+
+    InstanceStats(String instanceId, long initialLatencyNanos, long decayNanos, long now) {
+        this.instanceId = instanceId;
+        this.decayNanos = decayNanos;
+        this.costNanos = initialLatencyNanos;
+        this.lastSampleNanos = now;
+        this.lastUsedNanos = now;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * @return 当前的延迟估计，单位纳秒
+     */
+    public synchronized double getLatencyNanos() {
+        return decayed(System.nanoTime());
+    }
+
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    boolean isEjected(long now) {
+        return ejectedUntilNanos - now > 0;
+    }
+
+    long lastUsedNanos() {
+        return lastUsedNanos;
+    }
+
+    /**
+     * 延迟估计乘以进行中的请求数，进行中的请求越多，新请求预计排队越久
+     */
+    double score(long now) {
+        double cost;
+        synchronized (this) {
+            cost = decayed(now);
+        }
+        return Math.max(cost, MIN_COST_NANOS) * (inflight.get() + 1);
+    }
+
+    void start(long now) {
+        inflight.incrementAndGet();
+        lastUsedNanos = now;
+    }
+
+    /**
+     * 记录一次请求结果，失败样本至少按当前估计的两倍计入，避免快速失败的实例因为延迟低吸走流量
+     */
+    void finish(long rttNanos, boolean success, long now, long ejectionNanos, long maxEjectionNanos, int failureThreshold) {
+        inflight.decrementAndGet();
+        synchronized (this) {
+            double sample = success ? rttNanos : Math.max(rttNanos, costNanos * 2);
+            if (sample > costNanos) {
+                costNanos = sample;
+            } else {
+                double w = weight(now);
+                costNanos = costNanos * w + sample * (1 - w);
+            }
+            lastSampleNanos = now;
+            if (success) {
+                consecutiveFailures = 0;
+                if (!isEjected(now)) {
+                    ejections = 0;
+                }
+                return;
+            }
+            if (++consecutiveFailures >= failureThreshold && !isEjected(now)) {
+                consecutiveFailures = 0;
+                long duration = Math.min(ejectionNanos << Math.min(ejections, 16), maxEjectionNanos);
+                ejections++;
+                ejectedUntilNanos = now + duration;
+            }
+        }
+    }
+
+    private double decayed(long now) {
+        return costNanos * weight(now);
+    }
+
+    private double weight(long now) {
+        return Math.exp(-Math.max(now - lastSampleNanos, 0) / decayNanos);
+    }
+}
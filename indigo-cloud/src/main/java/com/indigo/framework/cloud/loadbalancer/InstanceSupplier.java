@@ -0,0 +1,22 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title InstanceSupplier
+ * @description 服务实例来源
+ * @create 2026-10-20 14:00
+ */
+public interface InstanceSupplier {
+
+    /**
+     * 服务的可用实例，调用频繁，实现需要自带缓存
+     *
+     * @param serviceId 服务名
+     * @return 实例列表，没有实例时返回空列表
+     */
+    List<ServiceInstance> getInstances(String serviceId);
+}
@@ -0,0 +1,102 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+
+/**
+ * @author 史偕成
+ * @title LoadBalancerFeignClient
+ * @description 按服务名分发 Feign 请求：由 Feign 的 Target 判断是否负载均衡，未配置 url 的客户端（Target 的 url 为 http://服务名）
+ * 由 {@link P2cLoadBalancer} 选出实例后改写地址交给底层客户端，服务没有实例时返回 503；配置了 url 的客户端直接透传。
+ * 延迟统计到响应头返回为止；连接异常和 5xx 计为实例失败。
+ * @create 2026-10-20 14:00
+ */
+@Slf4j
+public class LoadBalancerFeignClient implements Client {
+
+    private final Client delegate;
+
+    private final P2cLoadBalancer loadBalancer;
+
+    public LoadBalancerFeignClient(Client delegate, P2cLoadBalancer loadBalancer) {
+        this.delegate = delegate;
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        String serviceId = serviceIdOf(request);
+        if (serviceId == null) {
+            return delegate.execute(request, options);
+        }
+        P2cLoadBalancer.Choice choice = loadBalancer.choose(serviceId);
+        if (choice == null) {
+            log.warn("no instance available for service {}", serviceId);
+            return Response.builder()
+                    .request(request)
+                    .status(503)
+                    .reason("No instance available for " + serviceId)
+                    .headers(new HashMap<>())
+                    .build();
+        }
+        URI uri = URI.create(request.url());
+        Request routed = Request.create(request.httpMethod(), reconstruct(uri, choice.instance()), request.headers(),
+                request.body(), request.charset(), request.requestTemplate());
+        Response response;
+        try {
+            response = delegate.execute(routed, options);
+        } catch (IOException | RuntimeException e) {
+            choice.complete(false);
+            throw e;
+        }
+        choice.complete(response.status() < 500);
+        return response;
+    }
+
+    /**
+     * Spring Cloud OpenFeign 为未配置 url 的客户端生成 url 为 http://服务名 的 Target，配置了 url 的客户端 Target 的 url 即配置值，
+     * 手工构建的客户端 Target 的 name 就是 url；只有 url 的地址部分恰好是 name 时才按服务名负载均衡，不再根据 host 的形态猜测
+     *
+     * @param request 请求
+     * @return 服务名，不需要负载均衡时返回 null
+     */
+    static String serviceIdOf(Request request) {
+        RequestTemplate template = request.requestTemplate();
+        Target<?> target = template == null ? null : template.feignTarget();
+        if (target == null || target.name() == null || target.name().isEmpty() || target.url() == null) {
+            return null;
+        }
+        String name = target.name();
+        String url = target.url();
+        int scheme = url.indexOf("://");
+        int start = scheme < 0 ? 0 : scheme + 3;
+        int end = start + name.length();
+        if (!url.regionMatches(true, start, name, 0, name.length())
+                || (end < url.length() && url.charAt(end) != '/')) {
+            return null;
+        }
+        return name;
+    }
+
+    private static String reconstruct(URI original, ServiceInstance instance) {
+        StringBuilder url = new StringBuilder(64)
+                .append(instance.isSecure() ? "https" : "http").append("://")
+                .append(instance.getHost()).append(':').append(instance.getPort());
+        if (original.getRawPath() != null) {
+            url.append(original.getRawPath());
+        }
+        if (original.getRawQuery() != null) {
+            url.append('?').append(original.getRawQuery());
+        }
+        return url.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import com.indigo.framework.cloud.config.CloudProperties;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author 史偕成
+ * @title P2cLoadBalancer
+ * @description 二选一负载均衡：随机取两个实例，选延迟估计乘以进行中请求数较小的一个。
+ * 相比轮询，慢实例和 GC 停顿中的实例会很快少分到请求；相比全量比较最小值，又不会让所有调用方同时涌向同一个实例。
+ * 连续失败的实例会被临时摘除，全部实例都被摘除时仍在其中选择，避免整体不可用
+ * @create 2026-10-20 14:00
+ */
+public class P2cLoadBalancer {
+
+    private final InstanceSupplier instanceSupplier;
+
+    private final long initialLatencyNanos;
+
+    private final long decayNanos;
+
+    private final long ejectionNanos;
+
+    private final long maxEjectionNanos;
+
+    private final int failureThreshold;
+
+    private final long statsIdleNanos;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweepNanos;
+
+    public P2cLoadBalancer(InstanceSupplier instanceSupplier, CloudProperties.LoadBalancer properties) {
+        this.instanceSupplier = instanceSupplier;
+        this.initialLatencyNanos = properties.getInitialLatency().toNanos();
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.ejectionNanos = properties.getEjectionTime().toNanos();
+        this.maxEjectionNanos = properties.getMaxEjectionTime().toNanos();
+        this.failureThreshold = properties.getFailureThreshold();
+        this.statsIdleNanos = properties.getStatsIdleTime().toNanos();
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + statsIdleNanos);
+    }
+
+    /**
+     * 为一次请求选择实例，请求结束后必须调用 {@link Choice#complete(boolean)}
+     *
+     * @param serviceId 服务名
+     * @return 选择结果，服务没有实例时返回 null
+     */
+    public Choice choose(String serviceId) {
+        List<ServiceInstance> instances = instanceSupplier.getInstances(serviceId);
+        int size = instances.size();
+        if (size == 0) {
+            return null;
+        }
+        long now = System.nanoTime();
+        sweep(now);
+        ServiceInstance chosen;
+        InstanceStats chosenStats;
+        if (size == 1) {
+            chosen = instances.get(0);
+            chosenStats = stats(serviceId, chosen, now);
+        } else {
+            // 被摘除的候选替换为其他健康实例，否则与它配对的实例会无条件胜出，慢实例因此多分到流量
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int i = random.nextInt(size);
+            if (stats(serviceId, instances.get(i), now).isEjected(now)) {
+                i = findHealthy(serviceId, instances, random.nextInt(size), -1, now);
+            }
+            if (i < 0) {
+                // 全部被摘除时仍然在其中选择
+                i = random.nextInt(size);
+            }
+            int j = random.nextInt(size - 1);
+            if (j >= i) {
+                j++;
+            }
+            if (stats(serviceId, instances.get(j), now).isEjected(now)) {
+                int healthy = findHealthy(serviceId, instances, random.nextInt(size), i, now);
+                j = healthy >= 0 ? healthy : j;
+            }
+            ServiceInstance a = instances.get(i);
+            ServiceInstance b = instances.get(j);
+            InstanceStats statsA = stats(serviceId, a, now);
+            InstanceStats statsB = stats(serviceId, b, now);
+            boolean ejectedA = statsA.isEjected(now);
+            boolean ejectedB = statsB.isEjected(now);
+            boolean pickA = ejectedA != ejectedB ? !ejectedA : statsA.score(now) <= statsB.score(now);
+            chosen = pickA ? a : b;
+            chosenStats = pickA ? statsA : statsB;
+        }
+        chosenStats.start(now);
+        return new Choice(chosen, chosenStats, now);
+    }
+
+    /**
+     * 当前所有实例的统计，用于监控
+     *
+     * @return 实例统计
+     */
+    public Collection<InstanceStats> stats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    private int findHealthy(String serviceId, List<ServiceInstance> instances, int offset, int exclude, long now) {
+        int size = instances.size();
+        for (int k = 0; k < size; k++) {
+            int index = (offset + k) % size;
+            if (index != exclude && !stats(serviceId, instances.get(index), now).isEjected(now)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private InstanceStats stats(String serviceId, ServiceInstance instance, long now) {
+        String key = serviceId + '/' + instance.getHost() + ':' + instance.getPort();
+        InstanceStats instanceStats = stats.get(key);
+        if (instanceStats == null) {
+            instanceStats = stats.computeIfAbsent(key, k -> new InstanceStats(k, initialLatencyNanos, decayNanos, now));
+        }
+        return instanceStats;
+    }
+
+    /**
+     * 下线实例的统计不会再被访问，定期按最后使用时间清理
+     */
+    private void sweep(long now) {
+        long next = nextSweepNanos.get();
+        if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + statsIdleNanos)) {
+            return;
+        }
+        stats.values().removeIf(s -> s.getInflight() == 0 && now - s.lastUsedNanos() > statsIdleNanos);
+    }
+
+    /**
+     * 一次选择的结果
+     */
+    public final class Choice {
+
+        private final ServiceInstance instance;
+
+        private final InstanceStats stats;
+
+        private final long startNanos;
+
+        private Choice(ServiceInstance instance, InstanceStats stats, long startNanos) {
+            this.instance = instance;
+            this.stats = stats;
+            this.startNanos = startNanos;
+        }
+
+        public ServiceInstance instance() {
+            return instance;
+        }
+
+        /**
+         * 记录请求结果
+         *
+         * @param success 实例是否正常响应，业务错误（4xx）也算正常
+         */
+        public void complete(boolean success) {
+            long now = System.nanoTime();
+            stats.finish(now - startNanos, success, now, ejectionNanos, maxEjectionNanos, failureThreshold);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title StaticInstanceSupplier
+ * @description 固定的实例列表，用于本地联调和压测，不依赖注册中心；未配置的服务交给 fallback
+ * @create 2026-10-20 14:00
+ */
+public class StaticInstanceSupplier implements InstanceSupplier {
+
+    private final Map<String, List<ServiceInstance>> instances = new HashMap<>();
+
+    private final InstanceSupplier fallback;
+
+    /**
+     * @param addresses 服务名 -> 实例地址，格式为 host:port 或 http(s)://host:port
+     * @param fallback  未配置服务的实例来源，可为 null
+     */
+    public StaticInstanceSupplier(Map<String, List<String>> addresses, InstanceSupplier fallback) {
+        this.fallback = fallback;
+        addresses.forEach((serviceId, list) -> {
+            List<ServiceInstance> parsed = new ArrayList<>(list.size());
+            for (String address : list) {
+                parsed.add(parse(serviceId, address));
+            }
+            instances.put(serviceId, Collections.unmodifiableList(parsed));
+        });
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+        List<ServiceInstance> list = instances.get(serviceId);
+        if (list != null) {
+            return list;
+        }
+        return fallback == null ? Collections.emptyList() : fallback.getInstances(serviceId);
+    }
+
+    private static ServiceInstance parse(String serviceId, String address) {
+        URI uri = URI.create(address.contains("://") ? address : "http://" + address);
+        AssertUtil.isTrue(uri.getHost() != null && uri.getPort() > 0, "invalid instance address {} of {}", address, serviceId);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        return new DefaultServiceInstance(uri.getHost() + ":" + uri.getPort(), serviceId, uri.getHost(), uri.getPort(), secure);
+    }
+}
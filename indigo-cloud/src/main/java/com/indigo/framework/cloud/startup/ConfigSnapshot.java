@@ -0,0 +1,151 @@
+package com.indigo.framework.cloud.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * @author 史偕成
+ * @title ConfigSnapshot
+ * @description 配置中心内容的本地快照。启动成功后写入，下次快速启动时作为最低优先级的配置源加载，
+ * 配置中心响应慢或不可用时应用仍能拿到上次的配置；配置中心正常返回时其内容优先。
+ * 名称最后一段以 password、secret、token、key 等关键字结尾的配置不写入快照，目录与文件只允许当前用户读写，
+ * indigo.cloud.startup.snapshot=false 时不读写快照
+ * @create 2026-10-20 16:00
+ */
+@Slf4j
+final class ConfigSnapshot {
+
+    static final String PROPERTY_SOURCE_NAME = "indigoConfigSnapshot";
+
+    private static final String BOOTSTRAP_PREFIX = "bootstrapProperties-";
+
+    /**
+     * 默认不写入快照的配置名关键字，与配置名最后一段的结尾比较，不区分大小写
+     */
+    static final List<String> DEFAULT_EXCLUDES = List.of("password", "secret", "token", "key", "credential");
+
+    private ConfigSnapshot() {
+    }
+
+    /**
+     * 快照文件：{snapshot-dir}/{spring.application.name}[-{profiles}].properties
+     */
+    static Path path(ConfigurableEnvironment environment) {
+        String dir = environment.getProperty("indigo.cloud.startup.snapshot-dir",
+                System.getProperty("user.home") + "/.indigo/config-snapshot");
+        String name = environment.getProperty("spring.application.name", "application");
+        String[] profiles = environment.getActiveProfiles();
+        String file = profiles.length == 0 ? name : name + "-" + String.join("-", profiles);
+        return Paths.get(dir, file + ".properties");
+    }
+
+    static PropertySource<?> load(Path path) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("failed to read config snapshot {}", path, e);
+        }
+        return new PropertiesPropertySource(PROPERTY_SOURCE_NAME, properties);
+    }
+
+    /**
+     * 保存来自配置中心的配置：bootstrap 阶段加载的配置源，以及 spring.config.import 引入的 Nacos 配置源
+     */
+    static void write(ConfigurableEnvironment environment) {
+        List<String> excludes = Binder.get(environment)
+                .bind("indigo.cloud.startup.snapshot-excludes", Bindable.listOf(String.class))
+                .orElse(DEFAULT_EXCLUDES).stream().map(exclude -> exclude.toLowerCase(Locale.ROOT)).toList();
+        Properties properties = new Properties();
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (!(source instanceof EnumerablePropertySource<?> enumerable) || !fromConfigServer(source)) {
+                continue;
+            }
+            for (String name : enumerable.getPropertyNames()) {
+                if (excluded(name, excludes)) {
+                    continue;
+                }
+                Object value = enumerable.getProperty(name);
+                if (value != null) {
+                    properties.putIfAbsent(name, value.toString());
+                }
+            }
+        }
+        if (properties.isEmpty()) {
+            return;
+        }
+        Path path = path(environment);
+        try {
+            Path dir = path.getParent();
+            if (Files.notExists(dir)) {
+                Files.createDirectories(dir);
+                restrict(dir, "rwx------");
+            }
+            Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+            restrict(tmp, "rw-------");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, "config snapshot, written on startup");
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("config snapshot with {} properties written to {}", properties.size(), path);
+        } catch (IOException e) {
+            log.warn("failed to write config snapshot {}", path, e);
+        }
+    }
+
+    /**
+     * 只看配置名最后一段，去掉下标、连字符与下划线后以关键字或其复数结尾即排除：
+     * app.api-key、app.apiKey、app.access-tokens[0] 排除，cache.key-prefix、app.keyspace 保留
+     */
+    static boolean excluded(String name, List<String> excludes) {
+        String segment = name;
+        int index = segment.indexOf('[', segment.lastIndexOf('.') + 1);
+        if (index >= 0) {
+            segment = segment.substring(0, index);
+        }
+        segment = segment.substring(segment.lastIndexOf('.') + 1).replace("-", "").replace("_", "")
+                .toLowerCase(Locale.ROOT);
+        for (String exclude : excludes) {
+            if (segment.endsWith(exclude) || segment.endsWith(exclude + "s")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void restrict(Path path, String permissions) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(permissions));
+        } catch (UnsupportedOperationException e) {
+            // 非 POSIX 文件系统，只保留所有者的读写权限
+            File file = path.toFile();
+            file.setReadable(false, false);
+            file.setWritable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(true, true);
+        }
+    }
+
+    private static boolean fromConfigServer(PropertySource<?> source) {
+        return source.getName().startsWith(BOOTSTRAP_PREFIX)
+                || source.getClass().getName().toLowerCase(Locale.ROOT).contains("nacos");
+    }
+}
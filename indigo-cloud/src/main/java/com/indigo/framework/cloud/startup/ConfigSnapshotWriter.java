@@ -0,0 +1,18 @@
+package com.indigo.framework.cloud.startup;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * @author 史偕成
+ * @title ConfigSnapshotWriter
+ * @description 应用启动完成后写入配置快照
+ * @create 2026-10-20 16:00
+ */
+public class ConfigSnapshotWriter implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigSnapshot.write(event.getApplicationContext().getEnvironment());
+    }
+}
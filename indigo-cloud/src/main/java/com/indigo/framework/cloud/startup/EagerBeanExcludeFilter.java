@@ -0,0 +1,73 @@
+package com.indigo.framework.cloud.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title EagerBeanExcludeFilter
+ * @description 懒加载下仍需立即创建的 bean：定时任务和消息监听只有在 bean 创建时才会注册，懒加载会让它们永远不执行；
+ * 另外可通过 indigo.cloud.startup.eager-beans 按 bean 名称或类名指定
+ * @create 2026-10-20 16:00
+ */
+public class EagerBeanExcludeFilter implements LazyInitializationExcludeFilter {
+
+    private static final Set<String> TRIGGERS = Set.of(
+            "org.springframework.scheduling.annotation.Scheduled",
+            "org.springframework.scheduling.annotation.Schedules",
+            "org.springframework.amqp.rabbit.annotation.RabbitListener",
+            "org.springframework.kafka.annotation.KafkaListener",
+            "org.apache.rocketmq.spring.annotation.RocketMQMessageListener",
+            "com.alibaba.nacos.api.config.annotation.NacosConfigListener");
+
+    private final Set<String> eagerBeans;
+
+    public EagerBeanExcludeFilter(Collection<String> eagerBeans) {
+        this.eagerBeans = new HashSet<>(eagerBeans);
+    }
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        if (eagerBeans.contains(beanName)) {
+            return true;
+        }
+        if (beanType == null) {
+            return false;
+        }
+        Class<?> userClass = ClassUtils.getUserClass(beanType);
+        if (eagerBeans.contains(userClass.getName())) {
+            return true;
+        }
+        try {
+            if (hasTrigger(userClass)) {
+                return true;
+            }
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(userClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+                if (hasTrigger(method)) {
+                    return true;
+                }
+            }
+        } catch (Throwable e) {
+            // 缺少依赖的类无法反射，按懒加载处理
+        }
+        return false;
+    }
+
+    private static boolean hasTrigger(AnnotatedElement element) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            if (TRIGGERS.contains(annotation.annotationType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
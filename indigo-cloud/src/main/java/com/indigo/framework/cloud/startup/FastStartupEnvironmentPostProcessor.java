@@ -0,0 +1,68 @@
+package com.indigo.framework.cloud.startup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title FastStartupEnvironmentPostProcessor
+ * @description indigo.cloud.startup.fast=true 时调整启动相关的默认配置，应用显式配置的值优先：
+ * 开启懒加载，Feign 客户端在首次使用时才解析属性并创建代理，缩短配置中心的读取超时，并加载上次启动保存的配置快照。
+ * <p>
+ * 使用 spring-cloud-starter-bootstrap 时，Nacos 配置由 bootstrap 上下文读取，其配置绑定自只包含 bootstrap.yml、系统属性与环境变量的
+ * bootstrap 环境，本处理器对该环境同样执行；开关只写在 application.yml 中时 bootstrap 环境看不到，缩短的读取超时不会生效，
+ * 懒加载与快照仍然生效。需要缩短超时时应把 indigo.cloud.startup.fast（及 config-timeout）写在 bootstrap.yml 或以系统属性、环境变量传入；
+ * 通过 spring.config.import 引入 Nacos 时读取发生在本处理器之后，写在 application.yml 中即可
+ * @create 2026-10-20 16:00
+ */
+public class FastStartupEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String FAST = "indigo.cloud.startup.fast";
+
+    private static final String DEFAULTS_NAME = "indigoFastStartupDefaults";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(FAST, Boolean.class, false)) {
+            return;
+        }
+        MutablePropertySources sources = environment.getPropertySources();
+        if (!sources.contains(DEFAULTS_NAME)) {
+            // Binder 自带 Duration 转换，不依赖环境上是否已设置 Spring Boot 的 ConversionService
+            Duration configTimeout = Binder.get(environment)
+                    .bind("indigo.cloud.startup.config-timeout", Duration.class)
+                    .orElse(Duration.ofSeconds(1));
+            Map<String, Object> defaults = new HashMap<>();
+            defaults.put("spring.main.lazy-initialization", true);
+            defaults.put("spring.cloud.openfeign.lazy-attributes-resolution", true);
+            defaults.put("spring.cloud.nacos.config.timeout", configTimeout.toMillis());
+            sources.addLast(new MapPropertySource(DEFAULTS_NAME, defaults));
+        }
+        if (!sources.contains(ConfigSnapshot.PROPERTY_SOURCE_NAME)
+                && environment.getProperty("indigo.cloud.startup.snapshot", Boolean.class, true)) {
+            Path snapshot = ConfigSnapshot.path(environment);
+            if (Files.isReadable(snapshot)) {
+                sources.addLast(ConfigSnapshot.load(snapshot));
+            }
+        }
+    }
+
+    /**
+     * 在配置文件加载之后执行，才能读到 application.yml 中的开关
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,148 @@
+package com.indigo.framework.cloud.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ConfigurableBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title StartupReportRunListener
+ * @description indigo.cloud.startup.report=true 时在启动完成后输出各阶段耗时和创建最慢的 bean，用于对比优化前后的启动时间。
+ * 开关要到环境准备好后才能读取，因此先记录 bean 创建步骤，未开启时在创建容器前恢复为不记录
+ * @create 2026-10-20 16:00
+ */
+@Slf4j
+public class StartupReportRunListener implements SpringApplicationRunListener {
+
+    private static final String REPORT = "indigo.cloud.startup.report";
+
+    /**
+     * bootstrap 容器的环境中才有这个配置源，不为 bootstrap 容器输出报告
+     */
+    private static final String BOOTSTRAP_SOURCE = "bootstrap";
+
+    private static final int CAPACITY = 20000;
+
+    private static final int TOP_BEANS = 10;
+
+    private final SpringApplication application;
+
+    private final BufferingApplicationStartup startup;
+
+    private boolean report;
+
+    private long startingNanos;
+
+    private long environmentNanos;
+
+    private long preparedNanos;
+
+    private long loadedNanos;
+
+    private long startedNanos;
+
+    public StartupReportRunListener(SpringApplication application, String[] args) {
+        this.application = application;
+        if (application.getApplicationStartup() == ApplicationStartup.DEFAULT) {
+            this.startup = new BufferingApplicationStartup(CAPACITY);
+            application.setApplicationStartup(startup);
+        } else {
+            this.startup = null;
+        }
+    }
+
+    @Override
+    public void starting(ConfigurableBootstrapContext bootstrapContext) {
+        startingNanos = System.nanoTime();
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableBootstrapContext bootstrapContext, ConfigurableEnvironment environment) {
+        environmentNanos = System.nanoTime();
+        report = environment.getProperty(REPORT, Boolean.class, false)
+                && !environment.getPropertySources().contains(BOOTSTRAP_SOURCE);
+        if (!report && startup != null && application.getApplicationStartup() == startup) {
+            application.setApplicationStartup(ApplicationStartup.DEFAULT);
+            startup.drainBufferedTimeline();
+        }
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        preparedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void contextLoaded(ConfigurableApplicationContext context) {
+        loadedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void started(ConfigurableApplicationContext context, Duration timeTaken) {
+        startedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void ready(ConfigurableApplicationContext context, Duration timeTaken) {
+        if (!report) {
+            return;
+        }
+        long readyNanos = System.nanoTime();
+        StringBuilder out = new StringBuilder(1024);
+        out.append("startup report of ").append(context.getEnvironment().getProperty("spring.application.name", "application"))
+                .append(", lazy-initialization=")
+                .append(context.getEnvironment().getProperty("spring.main.lazy-initialization", "false"));
+        line(out, "jvm until spring", ManagementFactory.getRuntimeMXBean().getUptime()
+                - Duration.ofNanos(readyNanos - startingNanos).toMillis());
+        line(out, "environment (bootstrap, config center)", millis(startingNanos, environmentNanos));
+        line(out, "context prepare", millis(environmentNanos, preparedNanos));
+        line(out, "bean definitions load", millis(preparedNanos, loadedNanos));
+        line(out, "refresh (bean creation, web server)", millis(loadedNanos, startedNanos));
+        line(out, "runners", millis(startedNanos, readyNanos));
+        line(out, "total", ManagementFactory.getRuntimeMXBean().getUptime());
+        if (startup != null) {
+            StartupTimeline timeline = startup.drainBufferedTimeline();
+            List<StartupTimeline.TimelineEvent> slowest = timeline.getEvents().stream()
+                    .filter(e -> "spring.beans.instantiate".equals(e.getStartupStep().getName()))
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(TOP_BEANS)
+                    .toList();
+            if (!slowest.isEmpty()) {
+                out.append("\n  slowest beans (including their dependencies):");
+                for (StartupTimeline.TimelineEvent event : slowest) {
+                    line(out, "  " + beanName(event.getStartupStep()), event.getDuration().toMillis());
+                }
+            }
+        }
+        log.info(out.toString());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static void line(StringBuilder out, String phase, long millis) {
+        out.append("\n  ").append(String.format("%-48s %7d ms", phase, millis));
+    }
+
+    private static long millis(long from, long to) {
+        return from == 0 || to == 0 ? 0 : Duration.ofNanos(to - from).toMillis();
+    }
+}
@@ -0,0 +1,149 @@
+package com.indigo.framework.cloud.feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title BatchingHandlerTest
+ * @description 批量合并测试：窗口内同身份的 key 合并为一次批量调用并去重，不同身份分批且由各自的调用方发出，批次满时立即发出
+ * @create 2026-10-21 10:00
+ */
+class BatchingHandlerTest {
+
+    private static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * 每次批量调用：发出它的调用方与 key
+     */
+    private final List<String> batches = new CopyOnWriteArrayList<>();
+
+    private final MethodHandler single = argv -> "single:" + argv[0];
+
+    private final MethodHandler batch = argv -> {
+        Collection<?> keys = (Collection<?>) argv[0];
+        batches.add(CALLER.get() + keys);
+        if (keys.contains("bad")) {
+            throw new IllegalStateException("batch failed");
+        }
+        Map<Object, Object> result = new HashMap<>();
+        for (Object key : keys) {
+            if (!"missing".equals(key)) {
+                result.put(key, CALLER.get() + ":" + key);
+            }
+        }
+        return result;
+    };
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void keysOfSameCallerInWindowAreMergedAndDeduplicated() throws Exception {
+        BatchingHandler handler = new BatchingHandler(single, batch, CALLER::get, true, 300, 100);
+
+        List<Future<Object>> results = callTogether(handler, List.of(
+                "alice", "u1", "alice", "u2", "alice", "u1", "alice", "missing"));
+
+        assertEquals("alice:u1", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("alice:u2", results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals("alice:u1", results.get(2).get(5, TimeUnit.SECONDS));
+        assertNull(results.get(3).get(5, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).startsWith("alice["), batches.get(0));
+        assertEquals(3, batches.get(0).split(",").length);
+    }
+
+    @Test
+    void callersAreBatchedSeparatelyUnderTheirOwnIdentity() throws Exception {
+        BatchingHandler handler = new BatchingHandler(single, batch, CALLER::get, false, 300, 100);
+
+        List<Future<Object>> results = callTogether(handler, List.of(
+                "alice", "u1", "bob", "u1", "alice", "u2", "bob", "u3"));
+
+        assertEquals("alice:u1", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("bob:u1", results.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals("alice:u2", results.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals("bob:u3", results.get(3).get(5, TimeUnit.SECONDS));
+        assertEquals(2, batches.size());
+        assertTrue(Set.of("alice[u1, u2]", "alice[u2, u1]").contains(batches.stream()
+                .filter(b -> b.startsWith("alice")).findFirst().orElseThrow()), batches.toString());
+        assertTrue(batches.stream().anyMatch(b -> b.startsWith("bob[")), batches.toString());
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForWindow() throws Exception {
+        BatchingHandler handler = new BatchingHandler(single, batch, CALLER::get, false, 60_000, 2);
+
+        long start = System.nanoTime();
+        List<Future<Object>> results = callTogether(handler, List.of("alice", "u1", "alice", "u2"));
+
+        assertEquals("alice:u1", results.get(0).get(5, TimeUnit.SECONDS));
+        assertEquals("alice:u2", results.get(1).get(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void batchFailureReachesEveryCallerAndNullKeyCallsSingle() throws Throwable {
+        BatchingHandler handler = new BatchingHandler(single, batch, CALLER::get, false, 300, 100);
+
+        List<Future<Object>> results = callTogether(handler, List.of("alice", "bad", "alice", "u1"));
+
+        for (Future<Object> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("batch failed", e.getCause().getMessage());
+        }
+        assertEquals("single:null", handler.invoke(new Object[]{null}));
+    }
+
+    /**
+     * @param callerAndKeys 依次为调用方与 key
+     */
+    private List<Future<Object>> callTogether(BatchingHandler handler, List<String> callerAndKeys) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < callerAndKeys.size(); i += 2) {
+            String caller = callerAndKeys.get(i);
+            String key = callerAndKeys.get(i + 1);
+            results.add(executor.submit(() -> {
+                CALLER.set(caller);
+                try {
+                    start.await();
+                    return handler.invoke(new Object[]{key});
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    CALLER.remove();
+                }
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+}
@@ -0,0 +1,49 @@
+package com.indigo.framework.cloud.feign;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author 史偕成
+ * @title CachingHandlerTest
+ * @description 结果缓存测试：按调用方身份与参数缓存，null 同样缓存，过期后重新请求
+ * @create 2026-10-21 10:00
+ */
+class CachingHandlerTest {
+
+    private final AtomicReference<String> caller = new AtomicReference<>("alice");
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void resultsAreCachedPerCallerAndArguments() throws Throwable {
+        CachingHandler handler = new CachingHandler(argv -> {
+            calls.incrementAndGet();
+            return "missing".equals(argv[0]) ? null : caller.get() + ":" + argv[0];
+        }, caller::get, 60_000, 100);
+
+        assertEquals("alice:u1", handler.invoke(new Object[]{"u1"}));
+        assertEquals("alice:u1", handler.invoke(new Object[]{"u1"}));
+        assertNull(handler.invoke(new Object[]{"missing"}));
+        assertNull(handler.invoke(new Object[]{"missing"}));
+        caller.set("bob");
+        assertEquals("bob:u1", handler.invoke(new Object[]{"u1"}));
+
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void expiredEntryIsReloaded() throws Throwable {
+        CachingHandler handler = new CachingHandler(argv -> calls.incrementAndGet(), caller::get, 20, 100);
+
+        assertEquals(1, handler.invoke(new Object[]{"u1"}));
+        Thread.sleep(40);
+
+        assertEquals(2, handler.invoke(new Object[]{"u1"}));
+    }
+}
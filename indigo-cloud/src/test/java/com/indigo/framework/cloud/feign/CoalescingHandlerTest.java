@@ -0,0 +1,115 @@
+package com.indigo.framework.cloud.feign;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title CoalescingHandlerTest
+ * @description 并发合并测试：同身份同参数的调用共享一次请求的结果与异常，不同身份或参数各自请求
+ * @create 2026-10-21 10:00
+ */
+class CoalescingHandlerTest {
+
+    private static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final MethodHandler remote = argv -> {
+        calls.incrementAndGet();
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+        if ("bad".equals(argv[0])) {
+            throw new IllegalStateException("remote failed");
+        }
+        return new StringBuilder(CALLER.get() + ":" + argv[0]);
+    };
+
+    private final CoalescingHandler handler = new CoalescingHandler(remote, CALLER::get);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sameCallerAndArgumentsShareOneRequest() throws Exception {
+        Future<Object> first = call("alice", "u1");
+        awaitCalls(1);
+        Future<Object> second = call("alice", "u1");
+        Thread.sleep(50);
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals("alice:u1", first.get().toString());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void differentCallersOrArgumentsAreNotShared() throws Exception {
+        Future<Object> alice = call("alice", "u1");
+        Future<Object> bob = call("bob", "u1");
+        Future<Object> other = call("alice", "u2");
+        awaitCalls(3);
+        release.countDown();
+
+        assertEquals("alice:u1", alice.get(5, TimeUnit.SECONDS).toString());
+        assertEquals("bob:u1", bob.get(5, TimeUnit.SECONDS).toString());
+        assertEquals("alice:u2", other.get(5, TimeUnit.SECONDS).toString());
+    }
+
+    @Test
+    void failureIsSharedAndNextCallRetries() throws Exception {
+        Future<Object> first = call("alice", "bad");
+        awaitCalls(1);
+        Future<Object> second = call("alice", "bad");
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception e = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertEquals("remote failed", e.getCause().getMessage());
+        assertEquals(1, calls.get());
+
+        call("alice", "u1").get(5, TimeUnit.SECONDS);
+        assertEquals(2, calls.get());
+    }
+
+    private Future<Object> call(String caller, String argument) {
+        return executor.submit(() -> {
+            CALLER.set(caller);
+            try {
+                return handler.invoke(new Object[]{argument});
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            } finally {
+                CALLER.remove();
+            }
+        });
+    }
+
+    private void awaitCalls(int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && calls.get() < expected; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, calls.get());
+    }
+}
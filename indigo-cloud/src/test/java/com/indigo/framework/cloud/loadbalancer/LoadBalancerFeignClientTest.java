@@ -0,0 +1,98 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import com.indigo.framework.cloud.config.CloudProperties;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title LoadBalancerFeignClientTest
+ * @description Feign 负载均衡测试：只有按服务名生成的 Target 才改写地址，配置了 url 的客户端原样透传
+ * @create 2026-10-21 10:00
+ */
+class LoadBalancerFeignClientTest {
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    private final Client delegate = (request, options) -> {
+        sent.add(request.url());
+        return Response.builder()
+                .request(request)
+                .status(200)
+                .headers(new HashMap<>())
+                .build();
+    };
+
+    private final LoadBalancerFeignClient client = new LoadBalancerFeignClient(delegate, new P2cLoadBalancer(
+            new StaticInstanceSupplier(Map.of("user-service", List.of("10.0.0.1:8080")), null),
+            new CloudProperties.LoadBalancer()));
+
+    @Test
+    void serviceTargetIsRoutedToAnInstance() throws Exception {
+        Response response = client.execute(request("user-service", "http://user-service", "/users/1?expand=true"),
+                new Request.Options());
+
+        assertEquals(200, response.status());
+        assertEquals(List.of("http://10.0.0.1:8080/users/1?expand=true"), sent);
+    }
+
+    @Test
+    void serviceTargetWithoutInstancesFailsWith503() throws Exception {
+        Response response = client.execute(request("order-service", "http://order-service", "/orders"),
+                new Request.Options());
+
+        assertEquals(503, response.status());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void explicitUrlIsPassedThrough() throws Exception {
+        client.execute(request("user-service", "http://localhost/", "/users/1"), new Request.Options());
+        client.execute(request("order-service", "http://user-service/", "/users/2"), new Request.Options());
+        client.execute(request("user-service", "http://user-service.internal:8080", "/users/3"),
+                new Request.Options());
+
+        assertEquals(List.of("http://localhost/users/1", "http://user-service/users/2",
+                "http://user-service.internal:8080/users/3"), sent);
+    }
+
+    @Test
+    void manuallyBuiltTargetIsPassedThrough() throws Exception {
+        Target<Object> target = new Target.HardCodedTarget<>(Object.class, "http://user-service");
+
+        client.execute(request(target, "/users/1"), new Request.Options());
+
+        assertEquals(List.of("http://user-service/users/1"), sent);
+    }
+
+    @Test
+    void serviceIdIsMatchedOnTheWholeHost() {
+        assertEquals("user-service", LoadBalancerFeignClient.serviceIdOf(
+                request("user-service", "http://user-service/api", "/users/1")));
+        assertNull(LoadBalancerFeignClient.serviceIdOf(
+                request("user", "http://user-service", "/users/1")));
+    }
+
+    private static Request request(String name, String url, String path) {
+        return request(new Target.HardCodedTarget<>(Object.class, name, url), path);
+    }
+
+    private static Request request(Target<?> target, String path) {
+        RequestTemplate template = new RequestTemplate().method(Request.HttpMethod.GET).uri(path).resolve(Map.of());
+        template.feignTarget(target);
+        return target.apply(template);
+    }
+}
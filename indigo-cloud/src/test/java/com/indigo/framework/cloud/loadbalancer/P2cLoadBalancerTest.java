@@ -0,0 +1,111 @@
+package com.indigo.framework.cloud.loadbalancer;
+
+import com.indigo.framework.cloud.config.CloudProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title P2cLoadBalancerTest
+ * @description 二选一负载均衡测试：按进行中请求数选择、连续失败摘除、全部摘除时仍可选择
+ * @create 2026-10-21 10:00
+ */
+class P2cLoadBalancerTest {
+
+    private static final String A = "10.0.0.1:8080";
+
+    private static final String B = "10.0.0.2:8080";
+
+    private final P2cLoadBalancer loadBalancer = new P2cLoadBalancer(
+            new StaticInstanceSupplier(Map.of("user-service", List.of(A, B), "audit-service", List.of(A)), null),
+            new CloudProperties.LoadBalancer());
+
+    @Test
+    void unknownServiceHasNoChoice() {
+        assertNull(loadBalancer.choose("order-service"));
+    }
+
+    @Test
+    void prefersInstanceWithFewerInflightRequests() {
+        P2cLoadBalancer.Choice busy = loadBalancer.choose("user-service");
+        String idle = address(busy).equals(A) ? B : A;
+
+        for (int i = 0; i < 50; i++) {
+            P2cLoadBalancer.Choice choice = loadBalancer.choose("user-service");
+            assertEquals(idle, address(choice));
+            choice.complete(true);
+        }
+        busy.complete(true);
+    }
+
+    @Test
+    void ejectsInstanceAfterConsecutiveFailures() {
+        failUntilEjected(A);
+
+        for (int i = 0; i < 50; i++) {
+            P2cLoadBalancer.Choice choice = loadBalancer.choose("user-service");
+            assertEquals(B, address(choice));
+            choice.complete(true);
+        }
+        assertTrue(stats(A).isEjected());
+        assertEquals(0, stats(A).getInflight());
+    }
+
+    @Test
+    void stillChoosesWhenEveryInstanceIsEjected() {
+        failUntilEjected(A);
+        failUntilEjected(B);
+
+        for (int i = 0; i < 10; i++) {
+            P2cLoadBalancer.Choice choice = loadBalancer.choose("user-service");
+            assertNotNull(choice);
+            choice.complete(true);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.choose("audit-service").complete(false);
+        }
+        assertNotNull(loadBalancer.choose("audit-service"));
+    }
+
+    /**
+     * 目标实例的每次请求都失败；失败会抬高延迟估计，另一实例的请求保持进行中，使目标仍然会被选中，直到被摘除
+     */
+    private void failUntilEjected(String target) {
+        List<P2cLoadBalancer.Choice> held = new ArrayList<>();
+        for (int i = 0; i < 1000 && !isEjected(target); i++) {
+            P2cLoadBalancer.Choice choice = loadBalancer.choose("user-service");
+            if (address(choice).equals(target)) {
+                choice.complete(false);
+            } else {
+                held.add(choice);
+            }
+        }
+        held.forEach(choice -> choice.complete(true));
+        assertTrue(isEjected(target), target + " was not ejected");
+    }
+
+    private boolean isEjected(String address) {
+        InstanceStats instanceStats = stats(address);
+        return instanceStats != null && instanceStats.isEjected();
+    }
+
+    private InstanceStats stats(String address) {
+        return loadBalancer.stats().stream()
+                .filter(s -> s.getInstanceId().equals("user-service/" + address))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String address(P2cLoadBalancer.Choice choice) {
+        return choice.instance().getHost() + ":" + choice.instance().getPort();
+    }
+}
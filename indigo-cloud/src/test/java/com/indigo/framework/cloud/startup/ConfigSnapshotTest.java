@@ -0,0 +1,64 @@
+package com.indigo.framework.cloud.startup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title ConfigSnapshotTest
+ * @description 配置快照测试：按配置名最后一段排除敏感配置，只保存配置中心的配置源
+ * @create 2026-10-21 10:00
+ */
+class ConfigSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void excludesOnlyWhenLastSegmentEndsWithKeyword() {
+        assertTrue(ConfigSnapshot.excluded("spring.datasource.password", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertTrue(ConfigSnapshot.excluded("app.api-key", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertTrue(ConfigSnapshot.excluded("app.apiKey", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertTrue(ConfigSnapshot.excluded("jwt.secret_key", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertTrue(ConfigSnapshot.excluded("app.access-tokens[0]", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertTrue(ConfigSnapshot.excluded("oss.credentials[0]", ConfigSnapshot.DEFAULT_EXCLUDES));
+
+        assertFalse(ConfigSnapshot.excluded("cache.key-prefix", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertFalse(ConfigSnapshot.excluded("redis.keyspace", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertFalse(ConfigSnapshot.excluded("token.header-name", ConfigSnapshot.DEFAULT_EXCLUDES));
+        assertFalse(ConfigSnapshot.excluded("server.port", ConfigSnapshot.DEFAULT_EXCLUDES));
+    }
+
+    @Test
+    void writesOnlyConfigServerPropertiesAndLoadsThemBack() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("bootstrapProperties-user-service.yml",
+                Map.of("cache.key-prefix", "user:", "spring.datasource.password", "p", "feign.timeout", "3s")));
+        environment.getPropertySources().addLast(new MapPropertySource("applicationConfig", Map.of(
+                "spring.application.name", "user-service",
+                "indigo.cloud.startup.snapshot-dir", dir.toString(),
+                "local.only", "true")));
+
+        ConfigSnapshot.write(environment);
+
+        Path path = dir.resolve("user-service.properties");
+        assertEquals(path, ConfigSnapshot.path(environment));
+        assertTrue(Files.isReadable(path));
+        MapPropertySource loaded = (MapPropertySource) ConfigSnapshot.load(path);
+        assertEquals("user:", loaded.getProperty("cache.key-prefix"));
+        assertEquals("3s", loaded.getProperty("feign.timeout"));
+        assertNull(loaded.getProperty("spring.datasource.password"));
+        assertNull(loaded.getProperty("local.only"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.indigo.framework.cloud.startup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * @author 史偕成
+ * @title FastStartupEnvironmentPostProcessorTest
+ * @description 快速启动测试：开关打开时才加入默认配置，显式配置优先，快照作为最低优先级的配置源
+ * @create 2026-10-21 10:00
+ */
+class FastStartupEnvironmentPostProcessorTest {
+
+    private final FastStartupEnvironmentPostProcessor processor = new FastStartupEnvironmentPostProcessor();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void doesNothingWhenFastIsOff() {
+        StandardEnvironment environment = environment(Map.of("indigo.cloud.startup.snapshot-dir", dir.toString()));
+
+        processor.postProcessEnvironment(environment, null);
+
+        assertNull(environment.getProperty("spring.main.lazy-initialization"));
+        assertNull(environment.getProperty("spring.cloud.nacos.config.timeout"));
+    }
+
+    @Test
+    void addsDefaultsThatExplicitValuesOverride() {
+        StandardEnvironment environment = environment(Map.of(
+                FastStartupEnvironmentPostProcessor.FAST, "true",
+                "indigo.cloud.startup.config-timeout", "500ms",
+                "indigo.cloud.startup.snapshot-dir", dir.toString(),
+                "spring.main.lazy-initialization", "false"));
+
+        processor.postProcessEnvironment(environment, null);
+
+        assertEquals("false", environment.getProperty("spring.main.lazy-initialization"));
+        assertEquals("true", environment.getProperty("spring.cloud.openfeign.lazy-attributes-resolution"));
+        assertEquals("500", environment.getProperty("spring.cloud.nacos.config.timeout"));
+    }
+
+    @Test
+    void snapshotIsLoadedWithLowestPrecedenceOnce() throws Exception {
+        Files.writeString(dir.resolve("user-service.properties"), "feign.timeout=3s\nserver.port=9000\n");
+        StandardEnvironment environment = environment(Map.of(
+                FastStartupEnvironmentPostProcessor.FAST, "true",
+                "spring.application.name", "user-service",
+                "indigo.cloud.startup.snapshot-dir", dir.toString(),
+                "server.port", "8080"));
+
+        processor.postProcessEnvironment(environment, null);
+        processor.postProcessEnvironment(environment, null);
+
+        assertEquals("3s", environment.getProperty("feign.timeout"));
+        assertEquals("8080", environment.getProperty("server.port"));
+        List<String> names = environment.getPropertySources().stream().map(PropertySource::getName).toList();
+        assertEquals(ConfigSnapshot.PROPERTY_SOURCE_NAME, names.get(names.size() - 1));
+        assertEquals(1, names.stream().filter(ConfigSnapshot.PROPERTY_SOURCE_NAME::equals).count());
+    }
+
+    @Test
+    void snapshotIsSkippedWhenDisabled() throws Exception {
+        Files.writeString(dir.resolve("application.properties"), "feign.timeout=3s\n");
+        StandardEnvironment environment = environment(Map.of(
+                FastStartupEnvironmentPostProcessor.FAST, "true",
+                "indigo.cloud.startup.snapshot", "false",
+                "indigo.cloud.startup.snapshot-dir", dir.toString()));
+
+        processor.postProcessEnvironment(environment, null);
+
+        assertFalse(environment.getPropertySources().contains(ConfigSnapshot.PROPERTY_SOURCE_NAME));
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("applicationConfig", new HashMap<>(properties)));
+        return environment;
+    }
+}
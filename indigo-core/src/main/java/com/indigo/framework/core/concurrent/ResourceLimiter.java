@@ -0,0 +1,227 @@
+package com.indigo.framework.core.concurrent;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.core.utils.VirtualThreadUtil;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+import static com.indigo.framework.core.enums.GlobalStatusEnums.TOO_MANY_REQUESTS;
+
+/**
+ * @author 史偕成
+ * @title ResourceLimiter
+ * @description 阻塞资源并发隔离
+ * 虚拟线程数量不受限，访问 SFTP、外部系统等有连接上限的资源时需要按资源限制并发，超过上限的调用等待 acquireTimeout 后快速失败；
+ * 开启 offloadPinning 时，虚拟线程上的调用转交给有界的平台线程执行，避免客户端内部 synchronized 阻塞 I/O 时钉住载体线程
+ * @create 2026-10-20 23:00
+ */
+public class ResourceLimiter {
+
+    private final String name;
+
+    private final int maxConcurrency;
+
+    private final long acquireTimeoutNanos;
+
+    private final boolean offloadPinning;
+
+    private final Semaphore permits;
+
+    private volatile ExecutorService offloadExecutor;
+
+    /**
+     * @param name           资源名
+     * @param maxConcurrency 最大并发
+     * @param acquireTimeout 等待许可的超时时间
+     * @param offloadPinning 虚拟线程上的调用是否转交平台线程执行
+     */
+    public ResourceLimiter(String name, int maxConcurrency, Duration acquireTimeout, boolean offloadPinning) {
+        AssertUtil.isTrue(maxConcurrency > 0, "resource [{}] max concurrency must be positive", name);
+        AssertUtil.nonNull(acquireTimeout, "resource [{}] acquire timeout must not be null", name);
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.offloadPinning = offloadPinning;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * 不限制并发的资源，未配置的资源使用
+     *
+     * @param name 资源名
+     * @return 限制器
+     */
+    public static ResourceLimiter unlimited(String name) {
+        return new ResourceLimiter(name, Integer.MAX_VALUE, Duration.ZERO, false);
+    }
+
+    /**
+     * 获取许可，调用方在 try-with-resources 中持有，适用于资源使用跨越方法调用的场景（如返回的流）
+     *
+     * @return 许可
+     */
+    public Permit acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new BaseUnCheckException(
+                        "resource [" + name + "] is busy, max concurrency " + maxConcurrency, TOO_MANY_REQUESTS.getCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseUnCheckException("interrupted waiting for resource [" + name + "]", ERROR.getCode(), e);
+        }
+        return new Permit(permits);
+    }
+
+    /**
+     * 在许可内执行调用
+     *
+     * @param task 调用
+     * @param <T>  返回类型
+     * @return 调用结果
+     * @throws Exception 调用抛出的异常
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        try (Permit permit = acquire()) {
+            return callWith(permit, task);
+        }
+    }
+
+    /**
+     * 在调用方已持有的许可内执行调用，与 {@link #call(Callable)} 一样按 offloadPinning 转交平台线程；
+     * 用于许可跨越方法调用、只有其中建立连接等步骤需要转交的场景
+     *
+     * @param permit 由 {@link #acquire()} 取得且尚未归还的许可
+     * @param task   调用
+     * @param <T>    返回类型
+     * @return 调用结果
+     * @throws Exception 调用抛出的异常
+     */
+    public <T> T callWith(Permit permit, Callable<T> task) throws Exception {
+        AssertUtil.isTrue(permit.permits == permits, "permit does not belong to resource [{}]", name);
+        AssertUtil.isFalse(permit.released.get(), "permit of resource [{}] is already released", name);
+        if (offloadPinning && VirtualThreadUtil.isVirtual(Thread.currentThread())) {
+            return offload(task);
+        }
+        return task.call();
+    }
+
+    /**
+     * 在许可内执行无返回值的调用
+     *
+     * @param task 调用
+     * @throws Exception 调用抛出的异常
+     */
+    public void run(CheckedRunnable task) throws Exception {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return 当前可用许可数
+     */
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * 关闭转交线程池
+     */
+    public void shutdown() {
+        ExecutorService executor = offloadExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> T offload(Callable<T> task) throws Exception {
+        // 虚拟线程在 Future.get 上挂起时会让出载体线程，阻塞发生在平台线程上
+        Future<T> future = offloadExecutor().submit(task);
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new BaseUnCheckException("resource [" + name + "] call failed", ERROR.getCode(), cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BaseUnCheckException("interrupted calling resource [" + name + "]", ERROR.getCode(), e);
+        }
+    }
+
+    private ExecutorService offloadExecutor() {
+        ExecutorService executor = offloadExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = offloadExecutor;
+                if (executor == null) {
+                    // 只有持有许可的调用会提交任务，线程数与最大并发一致即不会排队
+                    AtomicInteger counter = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                        Thread thread = new Thread(runnable, "indigo-" + name + "-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    offloadExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 可抛出受检异常的无返回值调用
+     */
+    @FunctionalInterface
+    public interface CheckedRunnable {
+        void run() throws Exception;
+    }
+
+    /**
+     * 许可，关闭时归还，重复关闭只归还一次
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore permits;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
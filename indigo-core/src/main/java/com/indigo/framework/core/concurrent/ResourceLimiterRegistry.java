@@ -0,0 +1,44 @@
+package com.indigo.framework.core.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 史偕成
+ * @title ResourceLimiterRegistry
+ * @description 按资源名管理并发隔离，未配置的资源不限制并发
+ * @create 2026-10-20 23:00
+ */
+public class ResourceLimiterRegistry {
+
+    private final Map<String, ResourceLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * 注册资源限制，同名覆盖
+     *
+     * @param limiter 限制器
+     */
+    public void register(ResourceLimiter limiter) {
+        ResourceLimiter previous = limiters.put(limiter.getName(), limiter);
+        if (previous != null) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * 获取资源限制
+     *
+     * @param name 资源名
+     * @return 限制器，未配置时返回不限制并发的限制器
+     */
+    public ResourceLimiter get(String name) {
+        return limiters.computeIfAbsent(name, ResourceLimiter::unlimited);
+    }
+
+    /**
+     * 关闭所有转交线程池
+     */
+    public void shutdown() {
+        limiters.values().forEach(ResourceLimiter::shutdown);
+    }
+}
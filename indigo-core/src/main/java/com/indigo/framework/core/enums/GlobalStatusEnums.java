@@ -16,6 +16,12 @@ public enum GlobalStatusEnums implements BasicEnums<Integer> {
 
     ERROR(500, "操作失败"),
 
+    UNAUTHORIZED(401, "认证失败"),
+
+    TOO_MANY_REQUESTS(429, "请求过于频繁"),
+
+    OVERLOADED(503, "服务繁忙，请稍后重试"),
+
     VALIDATE_PARAM(100, "参数校验异常");
 
     private final Integer code;
@@ -0,0 +1,122 @@
+package com.indigo.framework.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 史偕成
+ * @title LatencyHistogram
+ * @description 无锁延迟直方图
+ * 按 2 的幂划分桶（1µs, 2µs, 4µs ... 约 68s），每个桶使用 LongAdder 分段计数，
+ * 高并发下记录只有一次 numberOfLeadingZeros 和一次 LongAdder 累加，可常驻生产环境。
+ * @create 2026-10-19 10:40
+ */
+public class LatencyHistogram {
+
+    /**
+     * 桶数量，最后一个桶收纳所有更大的值
+     */
+    private static final int BUCKETS = 27;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        buckets[bucketIndex(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // 只有刷新最大值时才会 CAS
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalTime(TimeUnit unit) {
+        return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long max(TimeUnit unit) {
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 估算分位值，返回所在桶的上界
+     *
+     * @param percentile 分位，取值 (0, 1]
+     * @param unit       时间单位
+     * @return 分位耗时
+     */
+    public long percentile(double percentile, TimeUnit unit) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return unit.convert(Math.min(upperBoundNanos(i), maxNanos.get()), TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 各桶的上界（纳秒）与计数，用于对外输出
+     *
+     * @return [上界, 计数] 数组
+     */
+    public long[][] buckets() {
+        long[][] result = new long[BUCKETS][2];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i][0] = upperBoundNanos(i);
+            result[i][1] = buckets[i].sum();
+        }
+        return result;
+    }
+
+    /**
+     * 第 0 个桶为 [0, 1µs)，第 i 个桶为 [2^(i-1)µs, 2^i µs)
+     */
+    private static int bucketIndex(long nanos) {
+        long micros = nanos >>> 10;
+        if (micros == 0) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    private static long upperBoundNanos(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : (1L << index) << 10;
+    }
+}
@@ -61,8 +61,16 @@ public class Result<T> implements Serializable {
         this.timestamp = System.currentTimeMillis();
     }
 
-    public <T> Result(T data, int code, String msg) {
-
+    /**
+     * 构造一个携带响应数据的Result对象
+     *
+     * @param data 响应数据
+     * @param code 操作结果的返回码
+     * @param msg  操作结果的消息
+     */
+    public Result(T data, int code, String msg) {
+        this(code, msg);
+        this.data = data;
     }
 
 
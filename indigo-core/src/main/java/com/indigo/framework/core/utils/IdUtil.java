@@ -1,10 +1,56 @@
 package com.indigo.framework.core.utils;
 
+import cn.hutool.core.lang.Snowflake;
+
 /**
  * @author 史偕成
  * @title
- * @description
+ * @description 分布式 ID 工具类，基于雪花算法生成按时间递增的 long 型 ID，
+ * 高位为毫秒时间戳，可以从 ID 中还原生成时间（如按时间分表）
  * @create 2024-12-24 15:46
  */
 public class IdUtil {
+
+    /**
+     * workerId 与 dataCenterId 由 hutool 根据进程号与 MAC 地址推算
+     */
+    private static final Snowflake SNOWFLAKE = cn.hutool.core.util.IdUtil.getSnowflake();
+
+    /**
+     * 生成 ID
+     *
+     * @return 时间有序的 ID
+     */
+    public static long nextId() {
+        return SNOWFLAKE.nextId();
+    }
+
+    /**
+     * 生成字符串 ID
+     *
+     * @return 时间有序的 ID
+     */
+    public static String nextIdStr() {
+        return SNOWFLAKE.nextIdStr();
+    }
+
+    /**
+     * 从 ID 中还原生成时间
+     *
+     * @param id {@link #nextId()} 生成的 ID
+     * @return 毫秒时间戳
+     */
+    public static long getTimestamp(long id) {
+        return SNOWFLAKE.getGenerateDateTime(id);
+    }
+
+    /**
+     * 指定时间之后生成的 ID 都不小于该值，可用于按时间范围查询 ID
+     *
+     * @param timestamp 毫秒时间戳
+     * @return 该毫秒内最小的 ID
+     */
+    public static long minIdOf(long timestamp) {
+        return SNOWFLAKE.getIdScopeByTimestamp(timestamp, timestamp).getKey();
+    }
 }
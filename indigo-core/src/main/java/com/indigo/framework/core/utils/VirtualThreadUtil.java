@@ -0,0 +1,126 @@
+package com.indigo.framework.core.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 史偕成
+ * @title VirtualThreadUtil
+ * @description 虚拟线程工具类
+ * 框架以 Java 17 编译，运行在 Java 21 及以上时通过反射创建虚拟线程，否则退化为平台线程，调用方无需区分
+ * @create 2026-10-19 22:00
+ */
+public class VirtualThreadUtil {
+
+    /**
+     * Thread.ofVirtual()，不支持时为 null
+     */
+    private static final Method OF_VIRTUAL;
+
+    private static final Method BUILDER_NAME;
+
+    private static final Method BUILDER_FACTORY;
+
+    /**
+     * Thread.isVirtual()，不支持时为 null
+     */
+    private static final Method IS_VIRTUAL;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method isVirtual = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            isVirtual = Thread.class.getMethod("isVirtual");
+            // Java 19、20 中为预览特性，未开启预览时调用会抛出异常
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+        IS_VIRTUAL = ofVirtual == null ? null : isVirtual;
+    }
+
+    /**
+     * 当前运行时是否支持虚拟线程
+     *
+     * @return 是否支持
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 线程是否为虚拟线程
+     *
+     * @param thread 线程
+     * @return 是否为虚拟线程，不支持虚拟线程时始终为 false
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 创建线程工厂，支持时创建虚拟线程，否则创建守护平台线程
+     *
+     * @param prefix 线程名前缀，线程名为 prefix + 序号
+     * @return 线程工厂
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 1L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                // 退化为平台线程
+            }
+        }
+        return platformThreadFactory(prefix);
+    }
+
+    /**
+     * 每个任务一个线程的执行器，支持虚拟线程时阻塞 I/O 不占用平台线程；
+     * 退化为平台线程时为不限大小的缓存线程池，并发阻塞任务多时需要调用方自行限流
+     *
+     * @param prefix 线程名前缀
+     * @return 执行器
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        if (OF_VIRTUAL != null) {
+            try {
+                Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return (ExecutorService) method.invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                // 退化为平台线程
+            }
+        }
+        return Executors.newCachedThreadPool(factory);
+    }
+
+    private static ThreadFactory platformThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.indigo.framework.core.concurrent;
+
+import com.indigo.framework.core.exception.AssertException;
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.VirtualThreadUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.TOO_MANY_REQUESTS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author 史偕成
+ * @title ResourceLimiterTest
+ * @description 阻塞资源并发隔离测试：并发上限、等待超时、许可归还，以及虚拟线程上的转交
+ * @create 2026-10-21 10:00
+ */
+class ResourceLimiterTest {
+
+    private final ResourceLimiter limiter = new ResourceLimiter("sftp", 2, Duration.ofMillis(50), true);
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void failsFastWhenAllPermitsAreHeld() {
+        ResourceLimiter.Permit first = limiter.acquire();
+        ResourceLimiter.Permit second = limiter.acquire();
+
+        BaseUnCheckException e = assertThrows(BaseUnCheckException.class, limiter::acquire);
+        assertEquals(TOO_MANY_REQUESTS.getCode(), e.getErrorCode());
+
+        first.close();
+        limiter.acquire().close();
+        second.close();
+        assertEquals(2, limiter.available());
+    }
+
+    @Test
+    void permitIsReleasedOnceEvenIfClosedTwice() {
+        ResourceLimiter.Permit permit = limiter.acquire();
+
+        permit.close();
+        permit.close();
+
+        assertEquals(2, limiter.available());
+    }
+
+    @Test
+    void callReleasesPermitWhenTaskFails() {
+        assertThrows(IllegalStateException.class, () -> limiter.call(() -> {
+            throw new IllegalStateException("connection refused");
+        }));
+
+        assertEquals(2, limiter.available());
+    }
+
+    @Test
+    void callWithRunsUnderHeldPermitWithoutTakingAnother() throws Exception {
+        try (ResourceLimiter.Permit permit = limiter.acquire()) {
+            int available = limiter.callWith(permit, limiter::available);
+
+            assertEquals(1, available);
+        }
+        assertEquals(2, limiter.available());
+    }
+
+    @Test
+    void callWithRejectsReleasedOrForeignPermit() {
+        ResourceLimiter.Permit released = limiter.acquire();
+        released.close();
+        ResourceLimiter other = new ResourceLimiter("mail", 1, Duration.ZERO, false);
+
+        assertThrows(AssertException.class, () -> limiter.callWith(released, () -> "read"));
+        try (ResourceLimiter.Permit foreign = other.acquire()) {
+            assertThrows(AssertException.class, () -> limiter.callWith(foreign, () -> "read"));
+        }
+    }
+
+    @Test
+    void virtualThreadCallsAreOffloadedToPlatformThreads() throws Exception {
+        assumeTrue(VirtualThreadUtil.isSupported(), "virtual threads need Java 21");
+        ExecutorService executor = VirtualThreadUtil.newThreadPerTaskExecutor("test-vt-");
+        try {
+            String viaCall = executor.submit(() -> limiter.call(() -> Thread.currentThread().getName()))
+                    .get(5, TimeUnit.SECONDS);
+            String viaCallWith = executor.submit(() -> {
+                try (ResourceLimiter.Permit permit = limiter.acquire()) {
+                    return limiter.callWith(permit, () -> Thread.currentThread().getName());
+                }
+            }).get(5, TimeUnit.SECONDS);
+
+            assertTrue(viaCall.startsWith("indigo-sftp-"), viaCall);
+            assertTrue(viaCallWith.startsWith("indigo-sftp-"), viaCallWith);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
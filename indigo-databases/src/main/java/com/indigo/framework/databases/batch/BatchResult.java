@@ -0,0 +1,21 @@
+package com.indigo.framework.databases.batch;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title BatchResult
+ * @description 批量写入结果，单行失败不影响其它行
+ * @create 2026-10-19 11:20
+ */
+public record BatchResult<T>(int total, int succeeded, List<RowFailure<T>> failures, long elapsedMillis) {
+
+    /**
+     * 是否全部写入成功
+     *
+     * @return 是否成功
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+}
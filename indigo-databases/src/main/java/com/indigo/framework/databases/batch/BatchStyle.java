@@ -0,0 +1,20 @@
+package com.indigo.framework.databases.batch;
+
+/**
+ * @author 史偕成
+ * @title BatchStyle
+ * @description 批量语句的组织方式
+ * @create 2026-10-19 11:20
+ */
+public enum BatchStyle {
+
+    /**
+     * 单行语句 + addBatch/executeBatch，依赖驱动的批量能力（如 MySQL rewriteBatchedStatements）
+     */
+    JDBC_BATCH,
+
+    /**
+     * 单条语句携带多行 VALUES (?, ?), (?, ?) ...，网络往返与解析次数最少
+     */
+    MULTI_VALUES
+}
@@ -0,0 +1,43 @@
+package com.indigo.framework.databases.batch;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title BatchTable
+ * @description 批量写入的目标表
+ * @create 2026-10-19 11:20
+ */
+public record BatchTable(String table, List<String> columns, List<String> keyColumns) {
+
+    public BatchTable {
+        AssertUtil.nonStr(table, "table must not be blank");
+        AssertUtil.notEmpty(columns, "columns must not be empty");
+        keyColumns = keyColumns == null ? List.of() : List.copyOf(keyColumns);
+        columns = List.copyOf(columns);
+        AssertUtil.isTrue(columns.containsAll(keyColumns), "keyColumns {} must be part of columns {}", keyColumns, columns);
+    }
+
+    /**
+     * 只用于插入的表定义
+     *
+     * @param table   表名
+     * @param columns 列名
+     * @return 表定义
+     */
+    public static BatchTable of(String table, String... columns) {
+        return new BatchTable(table, List.of(columns), List.of());
+    }
+
+    /**
+     * 指定唯一键，用于 UPSERT
+     *
+     * @param keyColumns 唯一键列
+     * @return 新的表定义
+     */
+    public BatchTable withKeys(String... keyColumns) {
+        return new BatchTable(table, columns, List.of(keyColumns));
+    }
+}
@@ -0,0 +1,103 @@
+package com.indigo.framework.databases.batch;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.core.utils.VirtualThreadUtil;
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title BatchWriterFactory
+ * @description 创建批量写入器，共享写入线程与定时刷新线程
+ * @create 2026-10-19 11:20
+ */
+public class BatchWriterFactory implements DisposableBean {
+
+    private final DataSource dataSource;
+
+    private final Dialect configuredDialect;
+
+    private final DatabasesProperties.Batch properties;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("indigo-batch-flush-", true));
+
+    private volatile Dialect dialect;
+
+    /**
+     * @param dataSource 数据源
+     * @param dialect    数据库方言，为 null 时首次创建写入器时自动识别
+     * @param properties 批量写入配置
+     */
+    public BatchWriterFactory(DataSource dataSource, Dialect dialect, DatabasesProperties.Batch properties) {
+        this(dataSource, dialect, properties, false);
+    }
+
+    /**
+     * @param dataSource     数据源
+     * @param dialect        数据库方言，为 null 时首次创建写入器时自动识别
+     * @param properties     批量写入配置
+     * @param virtualThreads 写入是否使用虚拟线程，并发仍受 parallelism 与连接池限制
+     */
+    public BatchWriterFactory(DataSource dataSource, Dialect dialect, DatabasesProperties.Batch properties,
+                              boolean virtualThreads) {
+        this.dataSource = dataSource;
+        this.configuredDialect = dialect;
+        this.properties = properties;
+        this.executor = virtualThreads ? VirtualThreadUtil.newThreadPerTaskExecutor("indigo-batch-writer-")
+                : Executors.newCachedThreadPool(ThreadUtil.newNamedThreadFactory("indigo-batch-writer-", true));
+    }
+
+    /**
+     * 创建批量写入器
+     *
+     * @param table  目标表
+     * @param mode   写入模式
+     * @param binder 行绑定
+     * @param <T>    行类型
+     * @return 批量写入器
+     */
+    public <T> JdbcBatchWriter<T> writer(BatchTable table, WriteMode mode, RowBinder<T> binder) {
+        return new JdbcBatchWriter<>(dataSource, executor, dialect(), table, mode, binder, properties);
+    }
+
+    /**
+     * 创建按数量与时间自动刷新的缓冲写入器
+     *
+     * @param table         目标表
+     * @param mode          写入模式
+     * @param binder        行绑定
+     * @param resultHandler 每次刷新的结果回调
+     * @param <T>           行类型
+     * @return 缓冲写入器
+     */
+    public <T> BufferedBatchWriter<T> bufferedWriter(BatchTable table, WriteMode mode, RowBinder<T> binder,
+                                                     Consumer<BatchResult<T>> resultHandler) {
+        return new BufferedBatchWriter<>(writer(table, mode, binder), resultHandler,
+                properties.getFlushInterval().toMillis(), scheduler);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+
+    private Dialect dialect() {
+        Dialect current = dialect;
+        if (current == null) {
+            current = Dialect.resolve(configuredDialect, dataSource);
+            dialect = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,141 @@
+package com.indigo.framework.databases.batch;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title BufferedBatchWriter
+ * @description 缓冲批量写入
+ * 逐行 add，缓冲达到 batchSize * parallelism 行或距上次刷新超过 flushInterval 时写入数据库。
+ * 达到数量阈值时由调用线程执行写入，写入变慢时调用方随之变慢，形成天然的背压。
+ * @create 2026-10-19 11:20
+ */
+@Slf4j
+public class BufferedBatchWriter<T> implements AutoCloseable {
+
+    private final JdbcBatchWriter<T> writer;
+
+    private final Consumer<BatchResult<T>> resultHandler;
+
+    private final int flushSize;
+
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock bufferLock = new ReentrantLock();
+
+    /**
+     * 串行化刷新，避免同时有多批数据占用连接；取出缓冲与写入都在锁内
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ScheduledFuture<?> timer;
+
+    private List<T> buffer;
+
+    private volatile long lastFlushNanos = System.nanoTime();
+
+    private volatile boolean closed;
+
+    /**
+     * @param writer          批量写入
+     * @param resultHandler   每次刷新的结果回调，用于处理失败行
+     * @param flushIntervalMs 定时刷新间隔（毫秒）
+     * @param scheduler       定时刷新线程
+     */
+    public BufferedBatchWriter(JdbcBatchWriter<T> writer, Consumer<BatchResult<T>> resultHandler,
+                               long flushIntervalMs, ScheduledExecutorService scheduler) {
+        this.writer = writer;
+        this.resultHandler = resultHandler;
+        this.flushSize = writer.getBatchSize() * writer.getParallelism();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.buffer = new ArrayList<>(flushSize);
+        this.timer = scheduler.scheduleWithFixedDelay(this::flushIfIdle, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 添加一行，缓冲已满时在当前线程写入
+     *
+     * @param row 行数据
+     */
+    public void add(T row) {
+        boolean full;
+        bufferLock.lock();
+        try {
+            AssertUtil.isFalse(closed, "writer for {} is closed", writer.getTable().table());
+            buffer.add(row);
+            full = buffer.size() >= flushSize;
+        } finally {
+            bufferLock.unlock();
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * 立即写入缓冲中的数据，返回时此前 add 的行都已写入（包括其它线程正在写入的批次）
+     */
+    public void flush() {
+        // 只在持有 flushLock 时取出缓冲，已取出未写完的批次一定持有该锁，等到锁即等到它写完
+        flushLock.lock();
+        try {
+            List<T> rows;
+            bufferLock.lock();
+            try {
+                rows = drain();
+            } finally {
+                bufferLock.unlock();
+            }
+            write(rows);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        bufferLock.lock();
+        try {
+            closed = true;
+        } finally {
+            bufferLock.unlock();
+        }
+        timer.cancel(false);
+        flush();
+    }
+
+    private void flushIfIdle() {
+        if (System.nanoTime() - lastFlushNanos < flushIntervalNanos) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("scheduled flush into {} failed", writer.getTable().table(), e);
+        }
+    }
+
+    private List<T> drain() {
+        List<T> rows = buffer;
+        buffer = new ArrayList<>(flushSize);
+        return rows;
+    }
+
+    private void write(List<T> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        lastFlushNanos = System.nanoTime();
+        resultHandler.accept(writer.write(rows));
+    }
+}
@@ -0,0 +1,326 @@
+package com.indigo.framework.databases.batch;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 史偕成
+ * @title JdbcBatchWriter
+ * @description JDBC 批量写入
+ * 输入按 batchSize 切分为若干块，由最多 parallelism 个连接并行写入，每块独立提交。
+ * 某块写入失败时回滚并二分重试，最终只有出错的行被记录为失败，其它行正常写入。
+ * 写入中途连接断开时，未提交的行交还给其它连接写入，断开的连接不再使用；同一批行两次遇到断连后记为失败。
+ * 写入使用独立连接，不参与调用方的事务。
+ * @create 2026-10-19 11:20
+ */
+@Slf4j
+public class JdbcBatchWriter<T> {
+
+    /**
+     * 同一批行最多遇到几次连接断开
+     */
+    private static final int MAX_CONNECTION_LOSSES = 2;
+
+    private final DataSource dataSource;
+
+    private final Executor executor;
+
+    private final RowBinder<T> binder;
+
+    private final Dialect dialect;
+
+    private final BatchTable table;
+
+    private final WriteMode mode;
+
+    private final BatchStyle style;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    /**
+     * MULTI_VALUES 模式下每条语句的最大行数
+     */
+    private final int rowsPerStatement;
+
+    /**
+     * JDBC_BATCH 模式下为单行语句，MULTI_VALUES 模式下为满行语句
+     */
+    private final String sql;
+
+    public JdbcBatchWriter(DataSource dataSource, Executor executor, Dialect dialect, BatchTable table,
+                           WriteMode mode, RowBinder<T> binder, DatabasesProperties.Batch properties) {
+        AssertUtil.isTrue(mode == WriteMode.INSERT || !table.keyColumns().isEmpty(),
+                "upsert into {} requires key columns", table.table());
+        AssertUtil.isTrue(properties.getBatchSize() > 0, "batchSize must be positive");
+        this.dataSource = dataSource;
+        this.executor = executor;
+        this.dialect = dialect;
+        this.table = table;
+        this.mode = mode;
+        this.binder = binder;
+        this.style = properties.getStyle();
+        this.batchSize = properties.getBatchSize();
+        this.parallelism = Math.max(1, properties.getParallelism());
+        this.rowsPerStatement = style == BatchStyle.MULTI_VALUES
+                ? Math.max(1, Math.min(batchSize, properties.getMaxParameters() / table.columns().size()))
+                : 1;
+        this.sql = sql(rowsPerStatement);
+    }
+
+    /**
+     * 批量写入
+     *
+     * @param rows 行数据
+     * @return 写入结果，包含每个失败行的下标与原因
+     */
+    public BatchResult<T> write(List<T> rows) {
+        long start = System.currentTimeMillis();
+        if (rows.isEmpty()) {
+            return new BatchResult<>(0, 0, List.of(), 0);
+        }
+        Job job = new Job(rows);
+        int workers = Math.min(parallelism, job.chunks);
+        List<CompletableFuture<SQLException>> futures = new ArrayList<>(workers - 1);
+        for (int i = 1; i < workers; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> work(job), executor));
+        }
+        // 当前线程也参与写入
+        SQLException connectError = work(job);
+        for (CompletableFuture<SQLException> future : futures) {
+            SQLException e = future.join();
+            if (e != null) {
+                connectError = e;
+            }
+        }
+        // 断连交还的行可能在其它线程退出后才放回，由当前线程换新连接写完
+        while (connectError == null && job.hasRemaining()) {
+            connectError = work(job);
+        }
+        // 仍有剩余说明取不到连接
+        Range range;
+        while ((range = job.next()) != null) {
+            failAll(job, range, connectError);
+        }
+
+        List<RowFailure<T>> failed = new ArrayList<>(job.failures);
+        failed.sort(Comparator.comparingInt(RowFailure::index));
+        if (!failed.isEmpty()) {
+            log.warn("batch write into {}: {} of {} rows failed", table.table(), failed.size(), rows.size());
+        }
+        return new BatchResult<>(rows.size(), job.succeeded.get(), failed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 单个连接循环领取数据块写入，获取连接失败时不领取数据块，写入中途断连时交还未提交的行并退出，由其它线程写入
+     *
+     * @return 获取或设置连接失败的异常，成功或中途断连时为 null
+     */
+    private SQLException work(Job job) {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            log.error("batch write into {} failed to obtain connection", table.table(), e);
+            return e;
+        }
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            boolean lost = false;
+            Range range;
+            while (!lost && (range = job.next()) != null) {
+                lost = writeChunk(connection, job, range);
+            }
+            if (!lost) {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        } catch (SQLException e) {
+            log.error("batch write into {} failed to prepare connection", table.table(), e);
+            return e;
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * 写入一段数据，失败时回滚并二分定位失败行
+     *
+     * @return 连接是否已断开，断开时未提交的行已交还
+     */
+    private boolean writeChunk(Connection connection, Job job, Range range) {
+        List<T> rows = job.rows.subList(range.from(), range.to());
+        try {
+            execute(connection, rows);
+            connection.commit();
+            job.succeeded.addAndGet(rows.size());
+            return false;
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            if (isConnectionError(e)) {
+                log.warn("batch write into {} lost connection, hand back {} rows", table.table(), rows.size(), e);
+                job.handBack(range, e);
+                return true;
+            }
+            if (rows.size() == 1) {
+                failAll(job, range, e);
+                return false;
+            }
+            int mid = range.from() + (rows.size() >>> 1);
+            if (writeChunk(connection, job, new Range(range.from(), mid, range.losses()))) {
+                // 后半段还没有写过，原样交还
+                job.handedBack.add(new Range(mid, range.to(), range.losses()));
+                return true;
+            }
+            return writeChunk(connection, job, new Range(mid, range.to(), range.losses()));
+        }
+    }
+
+    private void execute(Connection connection, List<T> rows) throws SQLException {
+        if (style == BatchStyle.JDBC_BATCH) {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                for (T row : rows) {
+                    binder.bind(ps, 0, row);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return;
+        }
+        int columns = table.columns().size();
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            int count = Math.min(rowsPerStatement, rows.size() - from);
+            try (PreparedStatement ps = connection.prepareStatement(count == rowsPerStatement ? sql : sql(count))) {
+                for (int i = 0; i < count; i++) {
+                    binder.bind(ps, i * columns, rows.get(from + i));
+                }
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private String sql(int rows) {
+        return mode == WriteMode.UPSERT
+                ? dialect.upsertSql(table.table(), table.columns(), table.keyColumns(), rows)
+                : dialect.insertSql(table.table(), table.columns(), rows);
+    }
+
+    private void failAll(Job job, Range range, SQLException e) {
+        for (int i = range.from(); i < range.to(); i++) {
+            job.failures.add(new RowFailure<>(i, job.rows.get(i), e));
+        }
+    }
+
+    /**
+     * 连接类异常（SQLState 08xxx）重试没有意义，直接整块失败
+     */
+    private static boolean isConnectionError(SQLException e) {
+        return e instanceof SQLTransientConnectionException
+                || e instanceof SQLNonTransientConnectionException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("rollback failed", e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("close connection failed", e);
+        }
+    }
+
+    public BatchTable getTable() {
+        return table;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 待写入的一段行，[from, to)，losses 为已遇到的断连次数
+     */
+    private record Range(int from, int to, int losses) {
+    }
+
+    /**
+     * 一次 write 调用的共享状态：按块领取的游标、断连交还的行、结果
+     */
+    private final class Job {
+
+        private final List<T> rows;
+
+        private final int chunks;
+
+        private final AtomicInteger nextChunk = new AtomicInteger();
+
+        private final Queue<Range> handedBack = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger succeeded = new AtomicInteger();
+
+        private final Queue<RowFailure<T>> failures = new ConcurrentLinkedQueue<>();
+
+        private Job(List<T> rows) {
+            this.rows = rows;
+            this.chunks = (rows.size() + batchSize - 1) / batchSize;
+        }
+
+        /**
+         * 优先领取交还的行
+         */
+        Range next() {
+            Range range = handedBack.poll();
+            if (range != null) {
+                return range;
+            }
+            int chunk = nextChunk.getAndIncrement();
+            if (chunk >= chunks) {
+                return null;
+            }
+            int from = chunk * batchSize;
+            return new Range(from, Math.min(rows.size(), from + batchSize), 0);
+        }
+
+        boolean hasRemaining() {
+            return !handedBack.isEmpty() || nextChunk.get() < chunks;
+        }
+
+        void handBack(Range range, SQLException e) {
+            if (range.losses() + 1 >= MAX_CONNECTION_LOSSES) {
+                failAll(this, range, e);
+            } else {
+                handedBack.add(new Range(range.from(), range.to(), range.losses() + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.indigo.framework.databases.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.Function;
+
+/**
+ * @author 史偕成
+ * @title RowBinder
+ * @description 将一行数据绑定到 PreparedStatement，offset 为该行第一个参数之前的参数个数
+ * @create 2026-10-19 11:20
+ */
+@FunctionalInterface
+public interface RowBinder<T> {
+
+    /**
+     * 绑定一行参数，第 i 列对应参数下标 offset + i + 1
+     *
+     * @param ps     语句
+     * @param offset 参数偏移
+     * @param row    行数据
+     * @throws SQLException 绑定失败
+     */
+    void bind(PreparedStatement ps, int offset, T row) throws SQLException;
+
+    /**
+     * 按列顺序返回值数组的绑定方式，使用 setObject 绑定
+     *
+     * @param values 行 -> 列值
+     * @param <T>    行类型
+     * @return 绑定器
+     */
+    static <T> RowBinder<T> ofValues(Function<? super T, Object[]> values) {
+        return (ps, offset, row) -> {
+            Object[] columns = values.apply(row);
+            for (int i = 0; i < columns.length; i++) {
+                ps.setObject(offset + i + 1, columns[i]);
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.indigo.framework.databases.batch;
+
+import java.sql.SQLException;
+
+/**
+ * @author 史偕成
+ * @title RowFailure
+ * @description 写入失败的行
+ * @param index 行在本次写入数据中的下标
+ * @param row   行数据
+ * @param cause 失败原因
+ * @create 2026-10-19 11:20
+ */
+public record RowFailure<T>(int index, T row, SQLException cause) {
+}
@@ -0,0 +1,20 @@
+package com.indigo.framework.databases.batch;
+
+/**
+ * @author 史偕成
+ * @title WriteMode
+ * @description 批量写入模式
+ * @create 2026-10-19 11:20
+ */
+public enum WriteMode {
+
+    /**
+     * 插入
+     */
+    INSERT,
+
+    /**
+     * 按唯一键插入或更新
+     */
+    UPSERT
+}
@@ -0,0 +1,95 @@
+package com.indigo.framework.databases.config;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title DataSourceNodes
+ * @description 创建主库与 {@link DatabasesProperties.DataSourceNode} 节点的连接池
+ * 与 Spring Boot 自动配置一致，Hikari 连接池绑定 spring.datasource.hikari 的配置，启用后连接池大小、超时等配置不变；
+ * 节点继承其中除连接地址、账号与池名外的配置，再绑定节点自身的 hikari 配置
+ * @create 2026-10-21 10:00
+ */
+final class DataSourceNodes {
+
+    static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private static final String HIKARI_DATA_SOURCE = "com.zaxxer.hikari.HikariDataSource";
+
+    /**
+     * 属于主库连接身份的配置，节点不继承
+     */
+    private static final Set<String> IDENTITY_PROPERTIES = Set.of(
+            "jdbc-url", "username", "password", "driver-class-name", "pool-name");
+
+    private final Binder binder;
+
+    private final Binder nodeBinder;
+
+    DataSourceNodes(Environment environment) {
+        Iterable<ConfigurationPropertySource> sources = ConfigurationPropertySources.get(environment);
+        List<ConfigurationPropertySource> shared = new ArrayList<>();
+        for (ConfigurationPropertySource source : sources) {
+            shared.add(source.filter(name -> !IDENTITY_PROPERTIES.contains(name.getLastElement(
+                    ConfigurationPropertyName.Form.DASHED))));
+        }
+        this.binder = new Binder(sources);
+        this.nodeBinder = new Binder(shared);
+    }
+
+    /**
+     * 绑定主库连接池配置
+     *
+     * @param dataSource 主库数据源
+     * @return 主库数据源
+     */
+    DataSource bindPrimary(DataSource dataSource) {
+        if (isHikari(dataSource)) {
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+        }
+        return dataSource;
+    }
+
+    /**
+     * 创建节点数据源
+     *
+     * @param name 节点名称，未配置 pool-name 时作为池名
+     * @param node 节点配置
+     * @return 数据源
+     */
+    DataSource build(String name, DatabasesProperties.DataSourceNode node) {
+        DataSource dataSource = DataSourceBuilder.create()
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .driverClassName(node.getDriverClassName())
+                .build();
+        if (isHikari(dataSource)) {
+            Bindable<DataSource> target = Bindable.ofInstance(dataSource);
+            nodeBinder.bind(HIKARI_PREFIX, target);
+            Map<String, String> overrides = new LinkedHashMap<>();
+            overrides.put("hikari.pool-name", name);
+            node.getHikari().forEach((key, value) -> overrides.put("hikari." + key, value));
+            new Binder(new MapConfigurationPropertySource(overrides)).bind("hikari", target);
+        }
+        return dataSource;
+    }
+
+    private static boolean isHikari(DataSource dataSource) {
+        return HIKARI_DATA_SOURCE.equals(dataSource.getClass().getName());
+    }
+}
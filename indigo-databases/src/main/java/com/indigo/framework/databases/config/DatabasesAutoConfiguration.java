@@ -0,0 +1,54 @@
+package com.indigo.framework.databases.config;
+
+import com.indigo.framework.databases.batch.BatchWriterFactory;
+import com.indigo.framework.databases.page.KeysetPaginator;
+import com.indigo.framework.databases.stream.StreamingQueryTemplate;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * @author 史偕成
+ * @title DatabasesAutoConfiguration
+ * @description 数据库自动配置
+ * @create 2026-10-19 11:20
+ */
+@AutoConfiguration(after = {DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@EnableConfigurationProperties(DatabasesProperties.class)
+public class DatabasesAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DataSource.class)
+    public BatchWriterFactory batchWriterFactory(DataSource dataSource, DatabasesProperties databasesProperties,
+                                                 Environment environment) {
+        return new BatchWriterFactory(dataSource, databasesProperties.getDialect(), databasesProperties.getBatch(),
+                Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DataSource.class)
+    public StreamingQueryTemplate streamingQueryTemplate(DataSource dataSource,
+                                                         DatabasesProperties databasesProperties,
+                                                         Environment environment) {
+        return new StreamingQueryTemplate(dataSource, databasesProperties.getDialect(),
+                databasesProperties.getStreaming(), Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(JdbcTemplate.class)
+    public KeysetPaginator keysetPaginator(JdbcTemplate jdbcTemplate) {
+        return new KeysetPaginator(jdbcTemplate);
+    }
+}
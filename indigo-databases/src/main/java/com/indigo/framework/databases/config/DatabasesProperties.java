@@ -0,0 +1,238 @@
+package com.indigo.framework.databases.config;
+
+import com.indigo.framework.databases.batch.BatchStyle;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.databases.sharding.ShardType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title DatabasesProperties
+ * @description 数据库配置
+ * @create 2026-10-19 11:20
+ */
+@Data
+@ConfigurationProperties("indigo.databases")
+public class DatabasesProperties {
+
+    /**
+     * 数据库方言，不配置时根据连接自动识别
+     */
+    private Dialect dialect;
+
+    /**
+     * 批量写入配置
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 读写分离配置
+     */
+    private Routing routing = new Routing();
+
+    /**
+     * 流式查询配置
+     */
+    private Streaming streaming = new Streaming();
+
+    /**
+     * 分库分表配置
+     */
+    private Sharding sharding = new Sharding();
+
+    /**
+     * SQL 执行统计配置
+     */
+    private Instrumentation instrumentation = new Instrumentation();
+
+    @Data
+    public static class Batch {
+
+        /**
+         * 每个事务写入的行数
+         */
+        private int batchSize = 1000;
+
+        /**
+         * 并行写入使用的最大连接数
+         */
+        private int parallelism = 4;
+
+        /**
+         * 批量语句组织方式
+         */
+        private BatchStyle style = BatchStyle.MULTI_VALUES;
+
+        /**
+         * 单条语句最大参数个数，MULTI_VALUES 模式据此限制每条语句的行数
+         */
+        private int maxParameters = 32767;
+
+        /**
+         * 缓冲写入的定时刷新间隔
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Routing {
+
+        /**
+         * 是否启用读写分离，主库使用 spring.datasource 配置
+         */
+        private boolean enabled = false;
+
+        /**
+         * 只读副本
+         */
+        private List<DataSourceNode> replicas = new ArrayList<>();
+
+        /**
+         * 允许的最大复制延迟，超过后副本被暂时剔除
+         */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /**
+         * 延迟探测间隔
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+        /**
+         * 自定义延迟查询 SQL，第一列返回延迟秒数，不配置时按方言使用默认查询
+         */
+        private String lagQuery;
+    }
+
+    @Data
+    public static class Streaming {
+
+        /**
+         * 每次从服务端拉取的行数
+         */
+        private int fetchSize = 1000;
+
+        /**
+         * 查询超时时间，0 表示不限制
+         */
+        private Duration queryTimeout = Duration.ZERO;
+    }
+
+    @Data
+    public static class Instrumentation {
+
+        /**
+         * 是否开启 SQL 执行统计
+         */
+        private boolean enabled = false;
+
+        /**
+         * 慢 SQL 阈值
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+
+        /**
+         * 保留的慢 SQL 条数
+         */
+        private int slowQueryCapacity = 100;
+
+        /**
+         * 耗时分布的采样率，(0, 1]，执行次数与总耗时始终全量记录
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * 最多统计的归一化 SQL 条数，超出后归入 __other__
+         */
+        private int maxStatements = 500;
+    }
+
+    @Data
+    public static class Sharding {
+
+        /**
+         * 是否启用分片
+         */
+        private boolean enabled = false;
+
+        /**
+         * 分片数据源，名称 -> 连接配置
+         */
+        private Map<String, DataSourceNode> dataSources = new LinkedHashMap<>();
+
+        /**
+         * 分片表，逻辑表 -> 分片规则
+         */
+        private Map<String, ShardTable> tables = new LinkedHashMap<>();
+
+        /**
+         * 跨分片查询的最大并行数
+         */
+        private int parallelism = 8;
+    }
+
+    @Data
+    public static class ShardTable {
+
+        /**
+         * 分片方式
+         */
+        private ShardType type = ShardType.HASH;
+
+        /**
+         * 使用的数据源名称
+         */
+        private List<String> dataSources = new ArrayList<>();
+
+        /**
+         * 哈希分片时每个数据源的分表数
+         */
+        private int tablesPerDataSource = 1;
+
+        /**
+         * 时间分片粒度，MONTHS 或 DAYS
+         */
+        private ChronoUnit unit = ChronoUnit.MONTHS;
+
+        /**
+         * 时间分片的最早分表时间
+         */
+        private LocalDate start;
+
+        /**
+         * 时间分片使用的时区
+         */
+        private ZoneId zone = ZoneId.systemDefault();
+    }
+
+    @Data
+    public static class DataSourceNode {
+
+        /**
+         * 数据源名称
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        /**
+         * Hikari 连接池配置，如 maximum-pool-size，在 spring.datasource.hikari 的基础上覆盖
+         */
+        private Map<String, String> hikari = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,97 @@
+package com.indigo.framework.databases.config;
+
+import cn.hutool.core.util.StrUtil;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.databases.routing.ReadReplica;
+import com.indigo.framework.databases.routing.ReadReplicaInterceptor;
+import com.indigo.framework.databases.routing.ReadWriteRoutingDataSource;
+import com.indigo.framework.databases.routing.ReplicaLagProbe;
+import com.indigo.framework.databases.routing.ReplicaNode;
+import com.indigo.framework.databases.routing.RoutingContextFilter;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title ReadWriteRoutingAutoConfiguration
+ * @description 读写分离自动配置，indigo.databases.routing.enabled=true 时替换默认数据源
+ * @create 2026-10-19 13:10
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@EnableConfigurationProperties({DatabasesProperties.class, DataSourceProperties.class})
+@ConditionalOnProperty(prefix = "indigo.databases.routing", name = "enabled", havingValue = "true")
+public class ReadWriteRoutingAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 DatabasesProperties databasesProperties,
+                                                                 Environment environment) {
+        DatabasesProperties.Routing routing = databasesProperties.getRouting();
+        DataSourceNodes nodes = new DataSourceNodes(environment);
+        DataSource primary = nodes.bindPrimary(dataSourceProperties.initializeDataSourceBuilder().build());
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            DatabasesProperties.DataSourceNode replica = routing.getReplicas().get(i);
+            String name = StrUtil.blankToDefault(replica.getName(), "replica-" + i);
+            replicas.add(new ReplicaNode(name, nodes.build(name, replica)));
+        }
+        Dialect dialect = Dialect.resolve(databasesProperties.getDialect(), primary);
+        return new ReadWriteRoutingDataSource(primary, replicas, ReplicaLagProbe.of(dialect, routing.getLagQuery()),
+                routing.getMaxLag().toMillis(), routing.getLagCheckInterval().toMillis());
+    }
+
+    /**
+     * 延迟获取连接，保证路由时事务的只读标记已经设置
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor readReplicaAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReadReplica.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ReadReplica.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new ReadReplicaInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "jakarta.servlet.Filter")
+    static class RoutingContextFilterConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<RoutingContextFilter> routingContextFilter() {
+            FilterRegistrationBean<RoutingContextFilter> registration =
+                    new FilterRegistrationBean<>(new RoutingContextFilter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.indigo.framework.databases.config;
+
+import com.indigo.framework.databases.sharding.HashShardAlgorithm;
+import com.indigo.framework.databases.sharding.ShardedJdbcTemplate;
+import com.indigo.framework.databases.sharding.ShardingRouter;
+import com.indigo.framework.databases.sharding.TimeRangeShardAlgorithm;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title ShardingAutoConfiguration
+ * @description 分库分表自动配置，indigo.databases.sharding.enabled=true 时生效
+ * @create 2026-10-19 16:00
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(DatabasesProperties.class)
+@ConditionalOnProperty(prefix = "indigo.databases.sharding", name = "enabled", havingValue = "true")
+public class ShardingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ShardingRouter shardingRouter(DatabasesProperties databasesProperties) {
+        ShardingRouter router = new ShardingRouter();
+        databasesProperties.getSharding().getTables().forEach((logicalTable, rule) -> router.register(logicalTable,
+                switch (rule.getType()) {
+                    case HASH -> new HashShardAlgorithm(logicalTable, rule.getDataSources(),
+                            rule.getTablesPerDataSource());
+                    case TIME_RANGE -> new TimeRangeShardAlgorithm(logicalTable, rule.getDataSources(),
+                            rule.getUnit(), rule.getStart(), rule.getZone());
+                }));
+        return router;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ShardedJdbcTemplate shardedJdbcTemplate(ShardingRouter shardingRouter,
+                                                   DatabasesProperties databasesProperties,
+                                                   Environment environment) {
+        DatabasesProperties.Sharding sharding = databasesProperties.getSharding();
+        DataSourceNodes nodes = new DataSourceNodes(environment);
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        sharding.getDataSources().forEach((name, node) -> dataSources.put(name, nodes.build(name, node)));
+        return new ShardedJdbcTemplate(shardingRouter, dataSources, sharding.getParallelism());
+    }
+}
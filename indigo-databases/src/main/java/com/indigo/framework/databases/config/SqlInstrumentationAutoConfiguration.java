@@ -0,0 +1,89 @@
+package com.indigo.framework.databases.config;
+
+import com.indigo.framework.databases.instrument.InstrumentedDataSource;
+import com.indigo.framework.databases.instrument.SqlMetricsBinder;
+import com.indigo.framework.databases.instrument.SqlStatistics;
+import com.indigo.framework.databases.instrument.SqlStatisticsEndpoint;
+import com.indigo.framework.databases.routing.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import javax.sql.DataSource;
+
+/**
+ * @author 史偕成
+ * @title SqlInstrumentationAutoConfiguration
+ * @description SQL 执行统计自动配置，indigo.databases.instrumentation.enabled=true 时包装容器中的数据源
+ * @create 2026-10-19 17:00
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(DatabasesProperties.class)
+@ConditionalOnProperty(prefix = "indigo.databases.instrumentation", name = "enabled", havingValue = "true")
+public class SqlInstrumentationAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SqlStatistics sqlStatistics(DatabasesProperties databasesProperties) {
+        DatabasesProperties.Instrumentation instrumentation = databasesProperties.getInstrumentation();
+        return new SqlStatistics(instrumentation.getMaxStatements(), instrumentation.getSlowThreshold().toMillis(),
+                instrumentation.getSlowQueryCapacity(), instrumentation.getSampleRate());
+    }
+
+    /**
+     * 包装数据源 bean；读写分离的路由数据源由外层的 dataSource 统一统计，不重复包装
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<SqlStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+                        && !(bean instanceof ReadWriteRoutingDataSource)) {
+                    return new InstrumentedDataSource(dataSource, statistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 存在 Micrometer 时注册 SQL 指标
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class SqlMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public SqlMetricsBinder sqlMetricsBinder(SqlStatistics sqlStatistics) {
+            return new SqlMetricsBinder(sqlStatistics);
+        }
+    }
+
+    /**
+     * 存在 actuator 时暴露 SQL 统计端点
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class SqlEndpointConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint
+        public SqlStatisticsEndpoint sqlStatisticsEndpoint(SqlStatistics sqlStatistics) {
+            return new SqlStatisticsEndpoint(sqlStatistics);
+        }
+    }
+}
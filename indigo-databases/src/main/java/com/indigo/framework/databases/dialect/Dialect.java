@@ -0,0 +1,192 @@
+package com.indigo.framework.databases.dialect;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title Dialect
+ * @description 数据库方言，生成批量写入等与数据库相关的 SQL
+ * @create 2026-10-19 11:20
+ */
+public enum Dialect {
+
+    MYSQL {
+        @Override
+        public String upsertSql(String table, List<String> columns, List<String> keyColumns, int rows) {
+            StringJoiner updates = new StringJoiner(", ");
+            for (String column : columns) {
+                if (!keyColumns.contains(column)) {
+                    updates.add(column + " = VALUES(" + column + ")");
+                }
+            }
+            String sql = insertSql(table, columns, rows);
+            return updates.length() == 0
+                    ? sql.replaceFirst("INSERT INTO", "INSERT IGNORE INTO")
+                    : sql + " ON DUPLICATE KEY UPDATE " + updates;
+        }
+
+        /**
+         * Connector/J 只有 fetchSize 为 Integer.MIN_VALUE 时才逐行流式读取，否则会把结果集全部加载到内存
+         */
+        @Override
+        public int streamingFetchSize(int fetchSize) {
+            return Integer.MIN_VALUE;
+        }
+    },
+
+    POSTGRESQL {
+        @Override
+        public String upsertSql(String table, List<String> columns, List<String> keyColumns, int rows) {
+            StringJoiner updates = new StringJoiner(", ");
+            for (String column : columns) {
+                if (!keyColumns.contains(column)) {
+                    updates.add(column + " = EXCLUDED." + column);
+                }
+            }
+            return insertSql(table, columns, rows) + " ON CONFLICT (" + String.join(", ", keyColumns) + ")"
+                    + (updates.length() == 0 ? " DO NOTHING" : " DO UPDATE SET " + updates);
+        }
+
+        /**
+         * PostgreSQL 只有在非自动提交模式下才使用服务端游标按 fetchSize 分批读取
+         */
+        @Override
+        public boolean cursorRequiresTransaction() {
+            return true;
+        }
+    },
+
+    H2 {
+        @Override
+        public String upsertSql(String table, List<String> columns, List<String> keyColumns, int rows) {
+            return "MERGE INTO " + table + " (" + String.join(", ", columns) + ") KEY ("
+                    + String.join(", ", keyColumns) + ") VALUES " + placeholders(columns.size(), rows);
+        }
+    };
+
+    /**
+     * 生成多行 INSERT 语句
+     *
+     * @param table   表名
+     * @param columns 列名
+     * @param rows    行数
+     * @return SQL
+     */
+    public String insertSql(String table, List<String> columns, int rows) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES "
+                + placeholders(columns.size(), rows);
+    }
+
+    /**
+     * 生成多行 UPSERT 语句，按 keyColumns 冲突时更新其余列
+     *
+     * @param table      表名
+     * @param columns    列名
+     * @param keyColumns 唯一键列
+     * @param rows       行数
+     * @return SQL
+     */
+    public abstract String upsertSql(String table, List<String> columns, List<String> keyColumns, int rows);
+
+    /**
+     * 流式读取时使用的 fetchSize
+     *
+     * @param fetchSize 期望每次从服务端拉取的行数
+     * @return 传给 {@link java.sql.Statement#setFetchSize(int)} 的值
+     */
+    public int streamingFetchSize(int fetchSize) {
+        return fetchSize;
+    }
+
+    /**
+     * 服务端游标是否需要关闭自动提交
+     *
+     * @return 是否需要事务
+     */
+    public boolean cursorRequiresTransaction() {
+        return false;
+    }
+
+    /**
+     * 锁定查询到的行并跳过已被其它事务锁定的行，多个节点可以并发认领互不重叠的行。
+     * MySQL 8.0、PostgreSQL 9.5、H2 2.2 起支持
+     *
+     * @return 追加在 SELECT 语句末尾的子句
+     */
+    public String forUpdateSkipLocked() {
+        return " FOR UPDATE SKIP LOCKED";
+    }
+
+    /**
+     * 优先使用配置的方言，未配置时根据数据源识别
+     *
+     * @param configured 配置的方言，可以为 null
+     * @param dataSource 数据源
+     * @return 方言
+     */
+    public static Dialect resolve(Dialect configured, DataSource dataSource) {
+        return configured != null ? configured : of(dataSource);
+    }
+
+    /**
+     * 根据数据源识别方言
+     *
+     * @param dataSource 数据源
+     * @return 方言
+     */
+    public static Dialect of(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return of(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            throw new BaseUnCheckException("detect database dialect failed", ERROR.getCode(), e);
+        }
+    }
+
+    /**
+     * 根据数据库产品名识别方言
+     *
+     * @param productName {@link java.sql.DatabaseMetaData#getDatabaseProductName()}
+     * @return 方言
+     */
+    public static Dialect of(String productName) {
+        String name = productName.toLowerCase(Locale.ROOT);
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        if (name.contains("postgresql")) {
+            return POSTGRESQL;
+        }
+        if (name.contains("h2")) {
+            return H2;
+        }
+        throw new BaseUnCheckException("unsupported database: {}", ERROR.getCode(), productName);
+    }
+
+    /**
+     * (?, ?), (?, ?) ...
+     */
+    protected static String placeholders(int columns, int rows) {
+        StringBuilder row = new StringBuilder(columns * 3 + 2).append('(');
+        for (int i = 0; i < columns; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+        StringBuilder sql = new StringBuilder(rows * (row.length() + 2));
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(row);
+        }
+        return sql.toString();
+    }
+}
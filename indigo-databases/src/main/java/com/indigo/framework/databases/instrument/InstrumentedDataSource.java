@@ -0,0 +1,54 @@
+package com.indigo.framework.databases.instrument;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * @author 史偕成
+ * @title InstrumentedDataSource
+ * @description 带 SQL 统计的数据源，记录获取连接耗时，并对连接上的语句执行计时
+ * 实现 {@link AutoCloseable} 并转发 close，包装后容器仍能推断出销毁方法并关闭连接池
+ * @create 2026-10-19 17:00
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final SqlStatistics statistics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, SqlStatistics statistics) {
+        super(targetDataSource);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection();
+        statistics.recordConnectionAcquire(System.nanoTime() - start);
+        return JdbcProxies.connection(connection, statistics);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        statistics.recordConnectionAcquire(System.nanoTime() - start);
+        return JdbcProxies.connection(connection, statistics);
+    }
+
+    public SqlStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * 关闭被包装的数据源，目标不可关闭时（如 JNDI 数据源）什么也不做
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.indigo.framework.databases.instrument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * @author 史偕成
+ * @title JdbcProxies
+ * @description 基于 JDK 动态代理的 Connection / Statement / ResultSet 包装，
+ * 在 execute* 上计时、计算影响行数，在 ResultSet.next 上累计读取行数；
+ * 只拦截少量方法，其余调用直接转发；equals / hashCode / toString 按代理身份处理，不转发给目标对象
+ * @create 2026-10-19 17:00
+ */
+final class JdbcProxies {
+
+    private JdbcProxies() {
+    }
+
+    static Connection connection(Connection target, SqlStatistics statistics) {
+        return (Connection) Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(target, statistics));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final SqlStatistics statistics;
+
+        private ConnectionHandler(Connection target, SqlStatistics statistics) {
+            this.target = target;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Instrumented connection [" + target + "]";
+                }
+                case "unwrap", "isWrapperFor" -> {
+                    Class<?> iface = (Class<?>) args[0];
+                    if (iface.isInstance(target)) {
+                        return "unwrap".equals(name) ? target : Boolean.TRUE;
+                    }
+                }
+                default -> {
+                }
+            }
+            Object result = JdbcProxies.invoke(target, method, args);
+            Class<?> type;
+            if (result instanceof CallableStatement) {
+                type = CallableStatement.class;
+            } else if (result instanceof PreparedStatement) {
+                type = PreparedStatement.class;
+            } else if (result instanceof Statement) {
+                type = Statement.class;
+            } else {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) result, (Connection) proxy, sql, statistics));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final Connection connection;
+
+        private final SqlStatistics statistics;
+
+        /**
+         * 预编译 SQL，普通 Statement 为 null
+         */
+        private final String sql;
+
+        private final ParameterShapes parameters;
+
+        /**
+         * 普通 Statement 批量中的第一条 SQL，作为批量的统计项
+         */
+        private String batchSql;
+
+        private int batchSize;
+
+        private StatementStats lastStats;
+
+        private StatementHandler(Statement target, Connection connection, String sql, SqlStatistics statistics) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+            this.statistics = statistics;
+            this.parameters = sql == null ? null : new ParameterShapes();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, name, method, args);
+            }
+            switch (name) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Instrumented statement [" + target + "]";
+                }
+                case "addBatch" -> {
+                    batchSize++;
+                    if (batchSql == null && args != null && args.length == 1) {
+                        batchSql = (String) args[0];
+                    }
+                }
+                case "clearBatch" -> {
+                    batchSize = 0;
+                    batchSql = null;
+                }
+                case "clearParameters" -> {
+                    if (parameters != null) {
+                        parameters.clear();
+                    }
+                }
+                case "getConnection" -> {
+                    return connection;
+                }
+                case "unwrap", "isWrapperFor" -> {
+                    Class<?> iface = (Class<?>) args[0];
+                    if (iface.isInstance(target)) {
+                        return "unwrap".equals(name) ? target : Boolean.TRUE;
+                    }
+                }
+                default -> {
+                    if (parameters != null && args != null && args.length >= 2 && name.startsWith("set")
+                            && args[0] instanceof Integer index) {
+                        parameters.set(index, name.equals("setNull") ? null : args[1]);
+                    }
+                }
+            }
+            Object result = JdbcProxies.invoke(target, method, args);
+            if (result instanceof ResultSet resultSet && lastStats != null && "getResultSet".equals(name)) {
+                return resultSet(resultSet, (Statement) proxy, lastStats);
+            }
+            return result;
+        }
+
+        private Object execute(Object proxy, String name, Method method, Object[] args) throws Throwable {
+            boolean batch = name.endsWith("Batch");
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text
+                    : batch && batchSql != null ? batchSql : sql;
+            if (statementSql == null) {
+                return JdbcProxies.invoke(target, method, args);
+            }
+            StatementStats stats = statistics.statement(statementSql);
+            boolean sampled = statistics.sample();
+            int currentBatchSize = batchSize;
+            long start = System.nanoTime();
+            boolean success = false;
+            Object result;
+            try {
+                result = JdbcProxies.invoke(target, method, args);
+                success = true;
+            } finally {
+                statistics.recordExecution(stats, System.nanoTime() - start, success, sampled, parameters);
+                if (batch) {
+                    stats.recordBatch(currentBatchSize);
+                    batchSize = 0;
+                    batchSql = null;
+                }
+            }
+            lastStats = stats;
+            if (result instanceof ResultSet resultSet) {
+                return resultSet(resultSet, (Statement) proxy, stats);
+            }
+            if (result instanceof Integer count && count > 0) {
+                stats.recordRowsWritten(count);
+            } else if (result instanceof Long count && count > 0) {
+                stats.recordRowsWritten(count);
+            } else if (result instanceof int[] counts) {
+                stats.recordRowsWritten(sum(counts));
+            } else if (result instanceof long[] counts) {
+                stats.recordRowsWritten(sum(counts));
+            }
+            return result;
+        }
+
+        private ResultSet resultSet(ResultSet resultSet, Statement statement, StatementStats stats) {
+            return (ResultSet) Proxy.newProxyInstance(JdbcProxies.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(resultSet, statement, stats));
+        }
+
+        /**
+         * SUCCESS_NO_INFO(-2) 与 EXECUTE_FAILED(-3) 不计入
+         */
+        private static long sum(int[] counts) {
+            long rows = 0;
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+
+        private static long sum(long[] counts) {
+            long rows = 0;
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+            return rows;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+
+        private final Statement statement;
+
+        private final StatementStats stats;
+
+        private long rows;
+
+        private boolean recorded;
+
+        private ResultSetHandler(ResultSet target, Statement statement, StatementStats stats) {
+            this.target = target;
+            this.statement = statement;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Instrumented result set [" + target + "]";
+                }
+                case "next" -> {
+                    Object result = JdbcProxies.invoke(target, method, args);
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    } else {
+                        record();
+                    }
+                    return result;
+                }
+                case "close" -> record();
+                case "getStatement" -> {
+                    return statement;
+                }
+                case "unwrap", "isWrapperFor" -> {
+                    Class<?> iface = (Class<?>) args[0];
+                    if (iface.isInstance(target)) {
+                        return "unwrap".equals(method.getName()) ? target : Boolean.TRUE;
+                    }
+                }
+                default -> {
+                }
+            }
+            return JdbcProxies.invoke(target, method, args);
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                stats.recordRowsRead(rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.indigo.framework.databases.instrument;
+
+import java.util.Arrays;
+
+/**
+ * @author 史偕成
+ * @title ParameterShapes
+ * @description 预编译语句的参数形态，只保留类型与长度，不保留参数值，避免敏感数据进入慢 SQL 记录
+ * @create 2026-10-19 17:00
+ */
+final class ParameterShapes {
+
+    private static final int MAX_PARAMETERS = 64;
+
+    private String[] shapes = new String[8];
+
+    private int size;
+
+    void set(int index, Object value) {
+        if (index < 1 || index > MAX_PARAMETERS) {
+            return;
+        }
+        if (index > shapes.length) {
+            shapes = Arrays.copyOf(shapes, Math.min(MAX_PARAMETERS, Math.max(index, shapes.length * 2)));
+        }
+        shapes[index - 1] = shapeOf(value);
+        size = Math.max(size, index);
+    }
+
+    void clear() {
+        Arrays.fill(shapes, null);
+        size = 0;
+    }
+
+    private static String shapeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof byte[] bytes) {
+            return "byte[" + bytes.length + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(shapes[i] == null ? "?" : shapes[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.indigo.framework.databases.instrument;
+
+/**
+ * @author 史偕成
+ * @title SlowQuery
+ * @description 慢 SQL 记录，只记录参数类型（形如 Long, String(32), null），不记录参数值
+ * @param sql          归一化 SQL
+ * @param elapsedMicros 耗时（微秒）
+ * @param parameters   参数形态
+ * @param success      是否执行成功
+ * @param timestamp    发生时间（毫秒）
+ * @param thread       执行线程
+ * @create 2026-10-19 17:00
+ */
+public record SlowQuery(String sql, long elapsedMicros, String parameters, boolean success, long timestamp,
+                        String thread) {
+}
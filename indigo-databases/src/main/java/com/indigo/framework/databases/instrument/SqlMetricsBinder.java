@@ -0,0 +1,57 @@
+package com.indigo.framework.databases.instrument;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title SqlMetricsBinder
+ * @description 将 SQL 统计注册到 Micrometer，以归一化 SQL 为 tag，统计项数量受 maxStatements 限制
+ * @create 2026-10-19 17:00
+ */
+public class SqlMetricsBinder implements MeterBinder {
+
+    private final SqlStatistics statistics;
+
+    public SqlMetricsBinder(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("indigo.sql.connection.acquire", statistics,
+                        s -> s.connectionAcquire().count(),
+                        s -> s.connectionAcquire().totalTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                .description("获取连接耗时").register(registry);
+        Gauge.builder("indigo.sql.connection.acquire.max", statistics,
+                        s -> s.connectionAcquire().max(TimeUnit.NANOSECONDS) / 1e9)
+                .baseUnit("seconds").register(registry);
+        statistics.onStatementCreated(stats -> bind(registry, stats));
+    }
+
+    private void bind(MeterRegistry registry, StatementStats stats) {
+        Tags tags = Tags.of("sql", stats.getSql());
+        FunctionTimer.builder("indigo.sql.executions", stats, StatementStats::executionCount,
+                        s -> s.totalTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                .tags(tags).description("SQL 执行耗时").register(registry);
+        FunctionCounter.builder("indigo.sql.errors", stats, StatementStats::errorCount)
+                .tags(tags).register(registry);
+        Gauge.builder("indigo.sql.executions.p99", stats,
+                        s -> s.latency().percentile(0.99, TimeUnit.NANOSECONDS) / 1e9)
+                .tags(tags).baseUnit("seconds").register(registry);
+        FunctionCounter.builder("indigo.sql.rows", stats, StatementStats::rowsRead)
+                .tags(tags).tag("type", "read").register(registry);
+        FunctionCounter.builder("indigo.sql.rows", stats, StatementStats::rowsWritten)
+                .tags(tags).tag("type", "written").register(registry);
+        FunctionCounter.builder("indigo.sql.batches", stats, StatementStats::batchCount)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("indigo.sql.batched.statements", stats, StatementStats::batchedStatementCount)
+                .tags(tags).description("批量中的语句数").register(registry);
+    }
+}
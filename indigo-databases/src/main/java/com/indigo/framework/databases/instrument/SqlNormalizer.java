@@ -0,0 +1,79 @@
+package com.indigo.framework.databases.instrument;
+
+/**
+ * @author 史偕成
+ * @title SqlNormalizer
+ * @description SQL 归一化：字面量替换为 ?，多参数的 IN 列表与多行 VALUES 折叠为 (?+)，连续空白合并为一个空格，
+ * 使只有参数不同的语句归为同一条统计
+ * @create 2026-10-19 17:00
+ */
+public final class SqlNormalizer {
+
+    private SqlNormalizer() {
+    }
+
+    /**
+     * 归一化 SQL
+     *
+     * @param sql 原始 SQL
+     * @return 归一化后的 SQL
+     */
+    public static String normalize(String sql) {
+        int length = sql.length();
+        StringBuilder out = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // 字符串字面量，'' 为转义的单引号
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!out.isEmpty()) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return collapseInLists(out.toString().trim());
+    }
+
+    /**
+     * 数字前面紧跟标识符字符时属于标识符的一部分（如 t_order_1）
+     */
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.isEmpty()) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+    /**
+     * IN (?, ?, ?) -> IN (?+)，VALUES (?, ?), (?, ?) -> VALUES (?+)
+     */
+    private static String collapseInLists(String sql) {
+        return sql.replaceAll("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)(\\s*,\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\))*", "(?+)");
+    }
+}
@@ -0,0 +1,173 @@
+package com.indigo.framework.databases.instrument;
+
+import com.indigo.framework.core.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title SqlStatistics
+ * @description SQL 执行统计
+ * 按归一化 SQL 聚合；语句数超过上限后新语句归入 {@link #OTHER}，防止统计项无限增长。
+ * 慢 SQL 写入固定大小的环形缓冲，只保留最近的记录。
+ * @create 2026-10-19 17:00
+ */
+public class SqlStatistics {
+
+    /**
+     * 超出上限的语句统一归入该项
+     */
+    public static final String OTHER = "__other__";
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    /**
+     * 原始 SQL -> 归一化 SQL，避免重复归一化
+     */
+    private final Map<String, String> normalized = new ConcurrentHashMap<>();
+
+    private final List<Consumer<StatementStats>> listeners = new CopyOnWriteArrayList<>();
+
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+
+    private final AtomicReferenceArray<SlowQuery> slowQueries;
+
+    private final AtomicLong slowQueryIndex = new AtomicLong();
+
+    private final int maxStatements;
+
+    private final long slowThresholdNanos;
+
+    private final double sampleRate;
+
+    /**
+     * @param maxStatements     最多统计的语句数
+     * @param slowThresholdMs   慢 SQL 阈值（毫秒）
+     * @param slowQueryCapacity 保留的慢 SQL 条数
+     * @param sampleRate        耗时分布的采样率，(0, 1]
+     */
+    public SqlStatistics(int maxStatements, long slowThresholdMs, int slowQueryCapacity, double sampleRate) {
+        this.maxStatements = maxStatements;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowQueries = new AtomicReferenceArray<>(Math.max(1, slowQueryCapacity));
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 获取 SQL 对应的统计项
+     *
+     * @param sql 原始 SQL
+     * @return 统计项
+     */
+    public StatementStats statement(String sql) {
+        String key = normalized.get(sql);
+        if (key == null) {
+            key = SqlNormalizer.normalize(sql);
+            if (normalized.size() < maxStatements * 4) {
+                normalized.put(sql, key);
+            }
+        }
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        if (statements.size() >= maxStatements) {
+            key = OTHER;
+        }
+        StatementStats created = new StatementStats(key);
+        stats = statements.putIfAbsent(key, created);
+        if (stats != null) {
+            return stats;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    /**
+     * 本次执行是否采样
+     *
+     * @return 是否采样
+     */
+    public boolean sample() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * 记录一次执行
+     *
+     * @param stats      统计项
+     * @param nanos      耗时（纳秒）
+     * @param success    是否成功
+     * @param sampled    是否采样
+     * @param parameters 参数形态，用于慢 SQL 记录
+     */
+    void recordExecution(StatementStats stats, long nanos, boolean success, boolean sampled,
+                         ParameterShapes parameters) {
+        stats.recordExecution(nanos, success, sampled);
+        if (nanos >= slowThresholdNanos) {
+            SlowQuery slow = new SlowQuery(stats.getSql(), TimeUnit.NANOSECONDS.toMicros(nanos),
+                    parameters == null ? "" : parameters.toString(), success, System.currentTimeMillis(),
+                    Thread.currentThread().getName());
+            slowQueries.set((int) (slowQueryIndex.getAndIncrement() % slowQueries.length()), slow);
+        }
+    }
+
+    void recordConnectionAcquire(long nanos) {
+        connectionAcquire.record(nanos);
+    }
+
+    public LatencyHistogram connectionAcquire() {
+        return connectionAcquire;
+    }
+
+    /**
+     * 按总耗时降序的语句统计
+     *
+     * @param limit 返回条数
+     * @return 快照
+     */
+    public List<StatementStats.StatementSnapshot> top(int limit) {
+        return statements.values().stream()
+                .sorted(Comparator.comparingLong((StatementStats s) -> s.totalTime(TimeUnit.NANOSECONDS)).reversed())
+                .limit(limit)
+                .map(StatementStats::snapshot)
+                .toList();
+    }
+
+    /**
+     * 最近的慢 SQL，按时间倒序
+     *
+     * @return 慢 SQL
+     */
+    public List<SlowQuery> slowQueries() {
+        List<SlowQuery> list = new ArrayList<>(slowQueries.length());
+        for (int i = 0; i < slowQueries.length(); i++) {
+            SlowQuery slow = slowQueries.get(i);
+            if (slow != null) {
+                list.add(slow);
+            }
+        }
+        list.sort(Comparator.comparingLong(SlowQuery::timestamp).reversed());
+        return list;
+    }
+
+    /**
+     * 注册统计项创建监听，已存在的统计项会立即回调
+     *
+     * @param listener 监听器
+     */
+    public void onStatementCreated(Consumer<StatementStats> listener) {
+        listeners.add(listener);
+        statements.values().forEach(listener);
+    }
+}
@@ -0,0 +1,43 @@
+package com.indigo.framework.databases.instrument;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title SqlStatisticsEndpoint
+ * @description SQL 统计端点，/actuator/indigosql 返回总耗时最高的语句，/actuator/indigosql/slow 返回慢 SQL
+ * @create 2026-10-19 17:00
+ */
+@Endpoint(id = "indigosql")
+public class SqlStatisticsEndpoint {
+
+    private static final int TOP = 50;
+
+    private final SqlStatistics statistics;
+
+    public SqlStatisticsEndpoint(SqlStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statements() {
+        return Map.of(
+                "connectionAcquireP99Micros", statistics.connectionAcquire().percentile(0.99, TimeUnit.MICROSECONDS),
+                "connectionAcquireMaxMicros", statistics.connectionAcquire().max(TimeUnit.MICROSECONDS),
+                "statements", statistics.top(TOP));
+    }
+
+    /**
+     * slow：最近的慢 SQL；其它取值返回 404
+     */
+    @ReadOperation
+    public List<SlowQuery> view(@Selector String view) {
+        return "slow".equals(view) ? statistics.slowQueries() : null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.indigo.framework.databases.instrument;
+
+import com.indigo.framework.core.metrics.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 史偕成
+ * @title StatementStats
+ * @description 单条归一化 SQL 的执行统计，LongAdder 分段计数，无锁
+ * @create 2026-10-19 17:00
+ */
+public class StatementStats {
+
+    private final String sql;
+
+    private final LongAdder executions = new LongAdder();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAdder rowsRead = new LongAdder();
+
+    private final LongAdder rowsWritten = new LongAdder();
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder batchedStatements = new LongAdder();
+
+    /**
+     * 采样记录的耗时分布
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public StatementStats(String sql) {
+        this.sql = sql;
+    }
+
+    void recordExecution(long nanos, boolean success, boolean sampled) {
+        executions.increment();
+        totalNanos.add(nanos);
+        if (!success) {
+            errors.increment();
+        }
+        if (sampled) {
+            latency.record(nanos);
+        }
+    }
+
+    void recordRowsRead(long rows) {
+        rowsRead.add(rows);
+    }
+
+    void recordRowsWritten(long rows) {
+        rowsWritten.add(rows);
+    }
+
+    void recordBatch(int size) {
+        batches.increment();
+        batchedStatements.add(size);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long executionCount() {
+        return executions.sum();
+    }
+
+    public long errorCount() {
+        return errors.sum();
+    }
+
+    public long totalTime(TimeUnit unit) {
+        return unit.convert(totalNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long rowsRead() {
+        return rowsRead.sum();
+    }
+
+    public long rowsWritten() {
+        return rowsWritten.sum();
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public long batchedStatementCount() {
+        return batchedStatements.sum();
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    /**
+     * 生成统计快照，耗时单位为微秒
+     *
+     * @return 快照
+     */
+    public StatementSnapshot snapshot() {
+        long count = executionCount();
+        long batchCount = batchCount();
+        return new StatementSnapshot(sql, count, errorCount(), totalTime(TimeUnit.MICROSECONDS),
+                count == 0 ? 0 : totalTime(TimeUnit.MICROSECONDS) / count,
+                latency.percentile(0.99, TimeUnit.MICROSECONDS), latency.max(TimeUnit.MICROSECONDS),
+                rowsRead(), rowsWritten(), batchCount,
+                batchCount == 0 ? 0 : (double) batchedStatementCount() / batchCount);
+    }
+
+    /**
+     * 统计快照
+     */
+    public record StatementSnapshot(String sql, long executions, long errors, long totalMicros, long avgMicros,
+                                    long p99Micros, long maxMicros, long rowsRead, long rowsWritten,
+                                    long batches, double avgBatchSize) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.indigo.framework.databases.page;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.core.exception.AssertException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * @author 史偕成
+ * @title KeysetCursor
+ * @description 键集分页游标，对前端不透明
+ * 编码内容为翻页方向、排序指纹和带类型标记的排序键值，解码后按原类型绑定参数
+ * @param forward     是否向后翻页
+ * @param fingerprint 排序指纹
+ * @param values      排序键值
+ * @create 2026-10-19 15:00
+ */
+record KeysetCursor(boolean forward, int fingerprint, Object[] values) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    String encode() {
+        String[][] typed = new String[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            typed[i] = typed(values[i]);
+        }
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(new Token(forward ? "n" : "p", fingerprint, typed));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new AssertException("encode cursor failed", e);
+        }
+    }
+
+    static KeysetCursor decode(String cursor, int expectedFingerprint, int keys) {
+        Token token;
+        try {
+            token = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII)),
+                    Token.class);
+        } catch (Exception e) {
+            throw new AssertException("invalid cursor: {}", cursor);
+        }
+        if (token.f() != expectedFingerprint || token.v() == null || token.v().length != keys) {
+            throw new AssertException("cursor does not match the sort keys: {}", cursor);
+        }
+        Object[] values = new Object[keys];
+        for (int i = 0; i < keys; i++) {
+            values[i] = value(token.v()[i]);
+        }
+        return new KeysetCursor("n".equals(token.d()), token.f(), values);
+    }
+
+    private static String[] typed(Object value) {
+        if (value == null) {
+            throw new AssertException("keyset sort key must not be null");
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger) {
+            return new String[]{"l", value.toString()};
+        }
+        if (value instanceof BigDecimal decimal) {
+            return new String[]{"n", decimal.toPlainString()};
+        }
+        if (value instanceof Timestamp timestamp) {
+            return new String[]{"t", timestamp.toLocalDateTime().toString()};
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return new String[]{"t", dateTime.toString()};
+        }
+        if (value instanceof java.sql.Date date) {
+            return new String[]{"d", date.toLocalDate().toString()};
+        }
+        if (value instanceof LocalDate date) {
+            return new String[]{"d", date.toString()};
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return new String[]{"o", dateTime.toString()};
+        }
+        if (value instanceof Boolean bool) {
+            return new String[]{"b", bool.toString()};
+        }
+        if (value instanceof UUID uuid) {
+            return new String[]{"u", uuid.toString()};
+        }
+        return new String[]{"s", value.toString()};
+    }
+
+    private static Object value(String[] typed) {
+        String text = typed[1];
+        return switch (typed[0]) {
+            case "l" -> new BigInteger(text).bitLength() < 64 ? (Object) Long.parseLong(text) : new BigInteger(text);
+            case "n" -> new BigDecimal(text);
+            case "t" -> LocalDateTime.parse(text);
+            case "d" -> LocalDate.parse(text);
+            case "o" -> OffsetDateTime.parse(text);
+            case "b" -> Boolean.parseBoolean(text);
+            case "u" -> UUID.fromString(text);
+            default -> text;
+        };
+    }
+
+    /**
+     * 序列化结构，字段名尽量短以缩短游标
+     */
+    private record Token(String d, int f, String[][] v) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.indigo.framework.databases.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title KeysetPage
+ * @description 键集分页结果，通过 Result.success(page) 返回给前端，翻页时回传 nextCursor / prevCursor
+ * @create 2026-10-19 15:00
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> implements Serializable {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records;
+
+    /**
+     * 每页条数
+     */
+    private int size;
+
+    /**
+     * 下一页游标，没有下一页时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 上一页游标，没有上一页时为 null
+     */
+    private String prevCursor;
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isHasPrev() {
+        return prevCursor != null;
+    }
+}
@@ -0,0 +1,167 @@
+package com.indigo.framework.databases.page;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title KeysetPaginator
+ * @description 键集（seek）分页
+ * 用上一页最后一行的排序键作为条件 WHERE (a, b) &gt; (?, ?) 定位下一页，代替 LIMIT/OFFSET，
+ * 借助排序键上的索引直接定位，第 N 页与第 1 页的代价相同。
+ * 排序方向一致时使用行值比较，方向混合时展开为 (a &gt; ?) OR (a = ? AND b &lt; ?)。
+ * @create 2026-10-19 15:00
+ */
+public class KeysetPaginator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KeysetPaginator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 查询一页
+     *
+     * @param query     查询定义
+     * @param cursor    上一次返回的 nextCursor / prevCursor，首页传 null
+     * @param size      每页条数
+     * @param rowMapper 行映射
+     * @param <T>       行类型
+     * @return 分页结果
+     */
+    public <T> KeysetPage<T> page(KeysetQuery query, String cursor, int size, RowMapper<T> rowMapper) {
+        List<SortKey> keys = query.getSortKeys();
+        AssertUtil.notEmpty(keys, "keyset query requires sort keys");
+        AssertUtil.isTrue(size > 0, "page size must be positive: {}", size);
+        KeysetCursor position = cursor == null ? null : KeysetCursor.decode(cursor, query.fingerprint(), keys.size());
+        boolean forward = position == null || position.forward();
+
+        List<Object> args = new ArrayList<>(query.getArgs());
+        String sql = sql(query, position, forward, args);
+        args.add(size + 1);
+
+        PageCollector<T> collector = new PageCollector<>(keys, size, rowMapper);
+        jdbcTemplate.query(sql, collector::collect, args.toArray());
+
+        List<T> records = collector.records;
+        boolean more = collector.rows > size;
+        Object[] firstKeys = collector.firstKeys;
+        Object[] lastKeys = collector.lastKeys;
+        if (!forward) {
+            // 向前翻页时按相反顺序查询，需要还原顺序
+            Collections.reverse(records);
+            Object[] tmp = firstKeys;
+            firstKeys = lastKeys;
+            lastKeys = tmp;
+        }
+        boolean hasNext = forward ? more : position != null;
+        boolean hasPrev = forward ? position != null : more;
+        int fingerprint = query.fingerprint();
+        String next = hasNext && lastKeys != null ? new KeysetCursor(true, fingerprint, lastKeys).encode() : null;
+        String prev = hasPrev && firstKeys != null ? new KeysetCursor(false, fingerprint, firstKeys).encode() : null;
+        return new KeysetPage<>(records, size, next, prev);
+    }
+
+    private String sql(KeysetQuery query, KeysetCursor position, boolean forward, List<Object> args) {
+        List<SortKey> keys = query.getSortKeys();
+        StringBuilder sql = new StringBuilder(query.getSelectFrom());
+        List<String> conditions = new ArrayList<>(query.getConditions());
+        if (position != null) {
+            conditions.add(predicate(keys, position.values(), forward, args));
+        }
+        for (int i = 0; i < conditions.size(); i++) {
+            sql.append(i == 0 ? " WHERE (" : " AND (").append(conditions.get(i)).append(')');
+        }
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < keys.size(); i++) {
+            SortKey key = keys.get(i);
+            sql.append(i == 0 ? "" : ", ").append(key.column()).append(key.desc() != forward ? " ASC" : " DESC");
+        }
+        return sql.append(" LIMIT ?").toString();
+    }
+
+    /**
+     * 生成定位条件：向后翻页时升序键用 &gt;、降序键用 &lt;，向前翻页时相反
+     */
+    private String predicate(List<SortKey> keys, Object[] values, boolean forward, List<Object> args) {
+        boolean uniform = keys.stream().allMatch(key -> key.desc() == keys.get(0).desc());
+        if (uniform) {
+            String op = keys.get(0).desc() == forward ? "<" : ">";
+            if (keys.size() == 1) {
+                args.add(values[0]);
+                return keys.get(0).column() + " " + op + " ?";
+            }
+            StringBuilder columns = new StringBuilder("(");
+            StringBuilder params = new StringBuilder("(");
+            for (int i = 0; i < keys.size(); i++) {
+                columns.append(i == 0 ? "" : ", ").append(keys.get(i).column());
+                params.append(i == 0 ? "?" : ", ?");
+                args.add(values[i]);
+            }
+            return columns.append(") ").append(op).append(' ').append(params).append(')').toString();
+        }
+        StringBuilder predicate = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            predicate.append(i == 0 ? "(" : " OR (");
+            for (int j = 0; j < i; j++) {
+                predicate.append(keys.get(j).column()).append(" = ? AND ");
+                args.add(values[j]);
+            }
+            SortKey key = keys.get(i);
+            predicate.append(key.column()).append(key.desc() == forward ? " < ?" : " > ?").append(')');
+            args.add(values[i]);
+        }
+        return predicate.toString();
+    }
+
+    /**
+     * 收集当前页数据，并记录首行与末行的排序键值
+     */
+    private static final class PageCollector<T> {
+
+        private final List<SortKey> keys;
+
+        private final int size;
+
+        private final RowMapper<T> rowMapper;
+
+        private final List<T> records;
+
+        private int rows;
+
+        private Object[] firstKeys;
+
+        private Object[] lastKeys;
+
+        private PageCollector(List<SortKey> keys, int size, RowMapper<T> rowMapper) {
+            this.keys = keys;
+            this.size = size;
+            this.rowMapper = rowMapper;
+            this.records = new ArrayList<>(size);
+        }
+
+        private void collect(ResultSet rs) throws SQLException {
+            if (rows++ >= size) {
+                // 多查的一行只用于判断是否还有数据
+                return;
+            }
+            records.add(rowMapper.mapRow(rs, rows - 1));
+            Object[] values = new Object[keys.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getObject(keys.get(i).label());
+            }
+            if (firstKeys == null) {
+                firstKeys = values;
+            }
+            lastKeys = values;
+        }
+    }
+}
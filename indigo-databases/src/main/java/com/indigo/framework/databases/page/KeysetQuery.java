@@ -0,0 +1,94 @@
+package com.indigo.framework.databases.page;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title KeysetQuery
+ * @description 键集分页查询定义
+ * 排序键组合必须唯一且不为 null，通常以主键作为最后一个排序键，并为排序键建立联合索引。
+ * <pre class="code">
+ * KeysetQuery query = KeysetQuery.select("select o.id, o.created_at, o.amount from t_order o")
+ *         .where("o.tenant_id = ?", tenantId)
+ *         .orderBy(SortKey.desc("o.created_at"), SortKey.desc("o.id"));
+ * </pre>
+ * @create 2026-10-19 15:00
+ */
+public class KeysetQuery {
+
+    private final String selectFrom;
+
+    private final List<String> conditions = new ArrayList<>();
+
+    private final List<Object> args = new ArrayList<>();
+
+    private final List<SortKey> sortKeys = new ArrayList<>();
+
+    private KeysetQuery(String selectFrom) {
+        this.selectFrom = selectFrom;
+    }
+
+    /**
+     * @param selectFrom SELECT ... FROM ... 部分，不包含 WHERE 与 ORDER BY
+     * @return 查询定义
+     */
+    public static KeysetQuery select(String selectFrom) {
+        AssertUtil.nonStr(selectFrom, "selectFrom must not be blank");
+        return new KeysetQuery(selectFrom);
+    }
+
+    /**
+     * 追加过滤条件，多个条件之间为 AND
+     *
+     * @param condition 条件
+     * @param args      条件参数
+     * @return this
+     */
+    public KeysetQuery where(String condition, Object... args) {
+        conditions.add(condition);
+        this.args.addAll(Arrays.asList(args));
+        return this;
+    }
+
+    /**
+     * 设置排序键
+     *
+     * @param keys 排序键，按优先级排列
+     * @return this
+     */
+    public KeysetQuery orderBy(SortKey... keys) {
+        sortKeys.addAll(Arrays.asList(keys));
+        return this;
+    }
+
+    public String getSelectFrom() {
+        return selectFrom;
+    }
+
+    public List<String> getConditions() {
+        return conditions;
+    }
+
+    public List<Object> getArgs() {
+        return args;
+    }
+
+    public List<SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    /**
+     * 排序定义的指纹，游标只能用于生成它的排序
+     */
+    int fingerprint() {
+        StringBuilder sb = new StringBuilder();
+        for (SortKey key : sortKeys) {
+            sb.append(key.column()).append(key.desc() ? '-' : '+');
+        }
+        return sb.toString().hashCode();
+    }
+}
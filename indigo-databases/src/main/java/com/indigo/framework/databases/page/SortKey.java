@@ -0,0 +1,31 @@
+package com.indigo.framework.databases.page;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+/**
+ * @author 史偕成
+ * @title SortKey
+ * @description 键集分页的排序键
+ * @param column 排序列，可以带表别名，如 o.created_at
+ * @param label  结果集中的列名，用于从当前页读取游标值
+ * @param desc   是否降序
+ * @create 2026-10-19 15:00
+ */
+public record SortKey(String column, String label, boolean desc) {
+
+    public SortKey {
+        AssertUtil.nonStr(column, "sort column must not be blank");
+        if (label == null) {
+            int dot = column.lastIndexOf('.');
+            label = dot < 0 ? column : column.substring(dot + 1);
+        }
+    }
+
+    public static SortKey asc(String column) {
+        return new SortKey(column, null, false);
+    }
+
+    public static SortKey desc(String column) {
+        return new SortKey(column, null, true);
+    }
+}
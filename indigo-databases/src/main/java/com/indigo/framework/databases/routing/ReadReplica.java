@@ -0,0 +1,20 @@
+package com.indigo.framework.databases.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title ReadReplica
+ * @description 标注的方法（或类中所有方法）内的查询走只读副本
+ * 当前请求已发生过写操作时仍然走主库，保证读到自己的写入
+ * @create 2026-10-19 13:10
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadReplica {
+}
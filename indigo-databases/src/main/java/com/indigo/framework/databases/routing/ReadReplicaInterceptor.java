@@ -0,0 +1,23 @@
+package com.indigo.framework.databases.routing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * @author 史偕成
+ * @title ReadReplicaInterceptor
+ * @description {@link ReadReplica} 方法拦截，在方法执行期间开启只读副本作用域
+ * @create 2026-10-19 13:10
+ */
+public class ReadReplicaInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RoutingContext.enterReplica();
+        try {
+            return invocation.proceed();
+        } finally {
+            RoutingContext.exitReplica();
+        }
+    }
+}
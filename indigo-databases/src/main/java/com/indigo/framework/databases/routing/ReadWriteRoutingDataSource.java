@@ -0,0 +1,161 @@
+package com.indigo.framework.databases.routing;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title ReadWriteRoutingDataSource
+ * @description 读写分离数据源
+ * 只读事务与 {@link ReadReplica} 方法中的查询路由到活跃连接数最少的可用副本，其余走主库；
+ * 副本延迟超过阈值或探测失败时暂时剔除，没有可用副本时回落主库。
+ * 读写事务获取连接后，当前请求后续的读取都固定走主库（读己之写）。
+ * 事务的只读标记在获取连接之后才设置，因此需要通过 LazyConnectionDataSourceProxy 包装使用。
+ * @create 2026-10-19 13:10
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<ReplicaNode> replicas;
+
+    private final ReplicaLagProbe lagProbe;
+
+    private final long maxLagMillis;
+
+    private final ScheduledExecutorService monitor;
+
+    /**
+     * @param primary         主库
+     * @param replicas        只读副本
+     * @param lagProbe        延迟探针
+     * @param maxLagMillis    允许的最大复制延迟（毫秒）
+     * @param checkIntervalMs 延迟探测间隔（毫秒）
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaNode> replicas, ReplicaLagProbe lagProbe,
+                                      long maxLagMillis, long checkIntervalMs) {
+        AssertUtil.nonNull(primary, "primary dataSource must not be null");
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.lagProbe = lagProbe;
+        this.maxLagMillis = maxLagMillis;
+        this.monitor = Executors.newSingleThreadScheduledExecutor(
+                ThreadUtil.newNamedThreadFactory("indigo-replica-lag-", true));
+        if (!this.replicas.isEmpty()) {
+            monitor.scheduleWithFixedDelay(this::checkLag, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaNode replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            log.warn("replica [{}] unavailable, fallback to primary: {}", replica.getName(), e.getMessage());
+            replica.updateLag(-1, false);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * 选择副本，返回 null 表示走主库
+     */
+    private ReplicaNode route() {
+        if (replicas.isEmpty() || RoutingContext.isPrimaryPinned()) {
+            return null;
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (inTransaction && !readOnly) {
+            RoutingContext.pinPrimary();
+            return null;
+        }
+        if (!readOnly && !RoutingContext.isReplicaRequested()) {
+            return null;
+        }
+        return leastActive();
+    }
+
+    /**
+     * 从随机位置开始遍历，选择活跃连接最少的可用副本，避免并列时总是命中第一个
+     */
+    private ReplicaNode leastActive() {
+        int size = replicas.size();
+        int start = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+        ReplicaNode best = null;
+        for (int i = 0; i < size; i++) {
+            ReplicaNode node = replicas.get((start + i) % size);
+            if (node.isAvailable() && (best == null || node.getActiveConnections() < best.getActiveConnections())) {
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    private void checkLag() {
+        for (ReplicaNode node : replicas) {
+            long lag;
+            try (Connection connection = node.getDataSource().getConnection()) {
+                lag = lagProbe.lagMillis(connection);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("replica [{}] lag check failed: {}", node.getName(), e.getMessage());
+                lag = -1;
+            }
+            boolean available = lag >= 0 && lag <= maxLagMillis;
+            if (available != node.isAvailable()) {
+                log.info("replica [{}] {}, lag: {}ms", node.getName(), available ? "back online" : "ejected", lag);
+            }
+            node.updateLag(lag, available);
+        }
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<ReplicaNode> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 停止延迟探测，并关闭主库与副本连接池
+     */
+    @Override
+    public void close() {
+        monitor.shutdownNow();
+        closeQuietly(primary);
+        replicas.forEach(node -> closeQuietly(node.getDataSource()));
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("close dataSource failed", e);
+            }
+        }
+    }
+}
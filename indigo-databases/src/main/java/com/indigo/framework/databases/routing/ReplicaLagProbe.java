@@ -0,0 +1,68 @@
+package com.indigo.framework.databases.routing;
+
+import cn.hutool.core.util.StrUtil;
+import com.indigo.framework.databases.dialect.Dialect;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * @author 史偕成
+ * @title ReplicaLagProbe
+ * @description 查询副本复制延迟
+ * @create 2026-10-19 13:10
+ */
+@FunctionalInterface
+public interface ReplicaLagProbe {
+
+    /**
+     * 查询复制延迟
+     *
+     * @param connection 副本连接
+     * @return 延迟毫秒数，复制未运行时返回 -1
+     * @throws SQLException 查询失败
+     */
+    long lagMillis(Connection connection) throws SQLException;
+
+    /**
+     * 根据方言创建默认探针，lagQuery 不为空时使用自定义 SQL（第一列返回延迟秒数）
+     *
+     * @param dialect  方言
+     * @param lagQuery 自定义 SQL
+     * @return 探针
+     */
+    static ReplicaLagProbe of(Dialect dialect, String lagQuery) {
+        if (StrUtil.isNotBlank(lagQuery)) {
+            return connection -> querySeconds(connection, lagQuery);
+        }
+        return switch (dialect) {
+            case MYSQL -> ReplicaLagProbe::mysql;
+            case POSTGRESQL -> connection -> querySeconds(connection,
+                    "SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)");
+            case H2 -> connection -> 0;
+        };
+    }
+
+    private static long querySeconds(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                return -1;
+            }
+            double seconds = rs.getDouble(1);
+            return rs.wasNull() ? -1 : (long) (seconds * 1000);
+        }
+    }
+
+    private static long mysql(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return -1;
+            }
+            long seconds = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? -1 : seconds * 1000;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.indigo.framework.databases.routing;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 史偕成
+ * @title ReplicaNode
+ * @description 只读副本节点，统计活跃连接数并记录复制延迟
+ * @create 2026-10-19 13:10
+ */
+public class ReplicaNode {
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    /**
+     * 最近一次探测到的复制延迟（毫秒），-1 表示探测失败或复制未运行
+     */
+    private volatile long lagMillis;
+
+    /**
+     * 是否可用：延迟在阈值内且探测成功
+     */
+    private volatile boolean available = true;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * 获取连接，连接关闭时活跃数减一
+     *
+     * @return 连接
+     * @throws SQLException 获取失败
+     */
+    public Connection getConnection() throws SQLException {
+        activeConnections.incrementAndGet();
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            activeConnections.decrementAndGet();
+            throw e;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    // 连接池与 DataSourceUtils 按代理对象本身比较与登记连接
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Replica [" + name + "] connection proxy for " + connection;
+                        case "close":
+                            if (closed.compareAndSet(false, true)) {
+                                activeConnections.decrementAndGet();
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    void updateLag(long lagMillis, boolean available) {
+        this.lagMillis = lagMillis;
+        this.available = available;
+    }
+}
@@ -0,0 +1,73 @@
+package com.indigo.framework.databases.routing;
+
+/**
+ * @author 史偕成
+ * @title RoutingContext
+ * @description 线程级读写路由状态
+ * 记录是否处于 {@link ReadReplica} 方法内，以及当前请求是否已经写过主库。
+ * Web 请求结束时由 {@link RoutingContextFilter} 清理，其它线程模型（MQ 消费、定时任务）需自行调用 {@link #clear()}
+ * @create 2026-10-19 13:10
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private RoutingContext() {
+    }
+
+    /**
+     * 进入只读副本作用域，可嵌套
+     */
+    public static void enterReplica() {
+        STATE.get().replicaDepth++;
+    }
+
+    /**
+     * 退出只读副本作用域
+     */
+    public static void exitReplica() {
+        State state = STATE.get();
+        if (state.replicaDepth > 0) {
+            state.replicaDepth--;
+        }
+    }
+
+    /**
+     * 是否处于只读副本作用域
+     *
+     * @return 是否请求走副本
+     */
+    public static boolean isReplicaRequested() {
+        return STATE.get().replicaDepth > 0;
+    }
+
+    /**
+     * 标记当前请求已写主库，之后的读取都走主库
+     */
+    public static void pinPrimary() {
+        STATE.get().primaryPinned = true;
+    }
+
+    /**
+     * 当前请求是否已固定在主库
+     *
+     * @return 是否固定主库
+     */
+    public static boolean isPrimaryPinned() {
+        return STATE.get().primaryPinned;
+    }
+
+    /**
+     * 清理当前线程的路由状态
+     */
+    public static void clear() {
+        STATE.remove();
+    }
+
+    private static final class State {
+
+        private int replicaDepth;
+
+        private boolean primaryPinned;
+    }
+}
@@ -0,0 +1,28 @@
+package com.indigo.framework.databases.routing;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * @author 史偕成
+ * @title RoutingContextFilter
+ * @description 请求结束时清理读写路由状态，使“写后读主库”只在同一请求内生效
+ * @create 2026-10-19 13:10
+ */
+public class RoutingContextFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+}
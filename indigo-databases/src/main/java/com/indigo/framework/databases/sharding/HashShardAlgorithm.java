@@ -0,0 +1,52 @@
+package com.indigo.framework.databases.sharding;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title HashShardAlgorithm
+ * @description 哈希分片
+ * 共 dataSources.size() * tablesPerDataSource 个分片，分片 i 位于 dataSources[i / tablesPerDataSource]，
+ * 物理表为 逻辑表_i（每库只有一张表时与逻辑表同名）
+ * @create 2026-10-19 16:00
+ */
+public class HashShardAlgorithm implements ShardAlgorithm {
+
+    private final List<ShardTarget> targets;
+
+    public HashShardAlgorithm(String logicalTable, List<String> dataSources, int tablesPerDataSource) {
+        AssertUtil.notEmpty(dataSources, "sharding {} requires data sources", logicalTable);
+        AssertUtil.isTrue(tablesPerDataSource > 0, "tablesPerDataSource must be positive");
+        List<ShardTarget> list = new ArrayList<>(dataSources.size() * tablesPerDataSource);
+        for (int i = 0; i < dataSources.size() * tablesPerDataSource; i++) {
+            String table = tablesPerDataSource == 1 ? logicalTable : logicalTable + "_" + i;
+            list.add(new ShardTarget(dataSources.get(i / tablesPerDataSource), table));
+        }
+        this.targets = List.copyOf(list);
+    }
+
+    @Override
+    public ShardTarget route(Object shardKey) {
+        AssertUtil.nonNull(shardKey, "shard key must not be null");
+        return targets.get((int) Math.floorMod(hash(shardKey), (long) targets.size()));
+    }
+
+    @Override
+    public List<ShardTarget> all() {
+        return targets;
+    }
+
+    /**
+     * 数值键直接打散（雪花 ID 低位是序列号，分布不均），其它键使用 hashCode 打散
+     */
+    private static long hash(Object key) {
+        long h = key instanceof Number number ? number.longValue() : key.hashCode();
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
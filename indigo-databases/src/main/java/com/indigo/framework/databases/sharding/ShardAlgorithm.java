@@ -0,0 +1,38 @@
+package com.indigo.framework.databases.sharding;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title ShardAlgorithm
+ * @description 分片算法，将分片键映射为物理数据源与物理表
+ * @create 2026-10-19 16:00
+ */
+public interface ShardAlgorithm {
+
+    /**
+     * 精确路由
+     *
+     * @param shardKey 分片键值
+     * @return 分片
+     */
+    ShardTarget route(Object shardKey);
+
+    /**
+     * 范围路由，返回可能包含 [lower, upper] 内数据的分片；算法无法按范围裁剪时返回全部分片
+     *
+     * @param lower 下界（包含）
+     * @param upper 上界（包含）
+     * @return 分片
+     */
+    default List<ShardTarget> routeRange(Object lower, Object upper) {
+        return all();
+    }
+
+    /**
+     * 全部分片
+     *
+     * @return 分片
+     */
+    List<ShardTarget> all();
+}
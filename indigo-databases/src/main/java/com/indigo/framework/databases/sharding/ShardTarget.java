@@ -0,0 +1,12 @@
+package com.indigo.framework.databases.sharding;
+
+/**
+ * @author 史偕成
+ * @title ShardTarget
+ * @description 分片路由结果：物理数据源与物理表
+ * @param dataSource 数据源名称
+ * @param table      物理表名
+ * @create 2026-10-19 16:00
+ */
+public record ShardTarget(String dataSource, String table) {
+}
@@ -0,0 +1,20 @@
+package com.indigo.framework.databases.sharding;
+
+/**
+ * @author 史偕成
+ * @title ShardType
+ * @description 分片方式
+ * @create 2026-10-19 16:00
+ */
+public enum ShardType {
+
+    /**
+     * 按分片键哈希
+     */
+    HASH,
+
+    /**
+     * 按时间范围，分片键为时间或 IdUtil 生成的 ID
+     */
+    TIME_RANGE
+}
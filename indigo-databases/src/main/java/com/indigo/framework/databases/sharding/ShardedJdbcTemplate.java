@@ -0,0 +1,233 @@
+package com.indigo.framework.databases.sharding;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.AssertUtil;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title ShardedJdbcTemplate
+ * @description 分片 SQL 执行
+ * SQL 中使用 {table} 占位逻辑表，执行前替换为路由得到的物理表。
+ * 带分片键的语句只访问一个分片；跨分片查询并行发往各分片，按给定排序做多路归并并截取 limit 行。
+ * <pre class="code">
+ * template.queryAll("t_order_line", "select * from {table} where sku = ? order by id desc limit 20",
+ *         mapper, Comparator.comparing(OrderLine::getId).reversed(), 20, sku);
+ * </pre>
+ * @create 2026-10-19 16:00
+ */
+public class ShardedJdbcTemplate implements DisposableBean {
+
+    private static final String TABLE_PLACEHOLDER = "{table}";
+
+    private final ShardingRouter router;
+
+    private final Map<String, DataSource> dataSources;
+
+    private final Map<String, JdbcTemplate> templates = new HashMap<>();
+
+    private final ExecutorService executor;
+
+    /**
+     * @param router      分片路由
+     * @param dataSources 数据源名称 -> 数据源，由本类负责关闭
+     * @param parallelism 跨分片查询的最大并行数
+     */
+    public ShardedJdbcTemplate(ShardingRouter router, Map<String, DataSource> dataSources, int parallelism) {
+        this.router = router;
+        this.dataSources = dataSources;
+        dataSources.forEach((name, dataSource) -> templates.put(name, new JdbcTemplate(dataSource)));
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                ThreadUtil.newNamedThreadFactory("indigo-sharding-", true));
+    }
+
+    /**
+     * 单分片查询
+     *
+     * @param logicalTable 逻辑表
+     * @param shardKey     分片键值
+     * @param sql          SQL，物理表用 {table} 占位
+     * @param rowMapper    行映射
+     * @param args         参数
+     * @param <T>          行类型
+     * @return 查询结果
+     */
+    public <T> List<T> query(String logicalTable, Object shardKey, String sql, RowMapper<T> rowMapper,
+                             Object... args) {
+        ShardTarget target = router.route(logicalTable, shardKey);
+        return template(target).query(rewrite(sql, target), rowMapper, args);
+    }
+
+    /**
+     * 单分片写入
+     *
+     * @param logicalTable 逻辑表
+     * @param shardKey     分片键值
+     * @param sql          SQL，物理表用 {table} 占位
+     * @param args         参数
+     * @return 影响行数
+     */
+    public int update(String logicalTable, Object shardKey, String sql, Object... args) {
+        ShardTarget target = router.route(logicalTable, shardKey);
+        return template(target).update(rewrite(sql, target), args);
+    }
+
+    /**
+     * 全分片并行查询并归并
+     *
+     * @param logicalTable 逻辑表
+     * @param sql          SQL，各分片结果需要按 order 排好序
+     * @param rowMapper    行映射
+     * @param order        归并排序，为 null 时按分片顺序拼接
+     * @param limit        最多返回行数，小于等于 0 表示不限制
+     * @param args         参数
+     * @param <T>          行类型
+     * @return 归并结果
+     */
+    public <T> List<T> queryAll(String logicalTable, String sql, RowMapper<T> rowMapper, Comparator<? super T> order,
+                                int limit, Object... args) {
+        return fanOut(router.routeAll(logicalTable), sql, rowMapper, order, limit, args);
+    }
+
+    /**
+     * 按分片键范围并行查询并归并，只访问可能包含该范围的分片（时间分片时按时间裁剪）
+     *
+     * @param logicalTable 逻辑表
+     * @param lower        分片键下界（包含），null 表示不限
+     * @param upper        分片键上界（包含），null 表示不限
+     * @param sql          SQL，各分片结果需要按 order 排好序
+     * @param rowMapper    行映射
+     * @param order        归并排序，为 null 时按分片顺序拼接
+     * @param limit        最多返回行数，小于等于 0 表示不限制
+     * @param args         参数
+     * @param <T>          行类型
+     * @return 归并结果
+     */
+    public <T> List<T> queryRange(String logicalTable, Object lower, Object upper, String sql,
+                                  RowMapper<T> rowMapper, Comparator<? super T> order, int limit, Object... args) {
+        return fanOut(router.routeRange(logicalTable, lower, upper), sql, rowMapper, order, limit, args);
+    }
+
+    /**
+     * 全分片并行计数
+     *
+     * @param logicalTable 逻辑表
+     * @param sql          返回单个数值的 SQL
+     * @param args         参数
+     * @return 各分片之和
+     */
+    public long countAll(String logicalTable, String sql, Object... args) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (ShardTarget target : router.routeAll(logicalTable)) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Long count = template(target).queryForObject(rewrite(sql, target), Long.class, args);
+                return count == null ? 0L : count;
+            }, executor));
+        }
+        long total = 0;
+        for (CompletableFuture<Long> future : futures) {
+            total += join(future);
+        }
+        return total;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        executor.shutdown();
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private <T> List<T> fanOut(List<ShardTarget> targets, String sql, RowMapper<T> rowMapper,
+                               Comparator<? super T> order, int limit, Object[] args) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(targets.size());
+        for (ShardTarget target : targets) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> template(target).query(rewrite(sql, target), rowMapper, args), executor));
+        }
+        List<List<T>> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<List<T>> future : futures) {
+            results.add(join(future));
+        }
+        return order == null ? concat(results, limit) : merge(results, order, limit);
+    }
+
+    /**
+     * 多路归并：各分片结果已有序，用小顶堆每次取出最小的头元素
+     */
+    private static <T> List<T> merge(List<List<T>> results, Comparator<? super T> order, int limit) {
+        int total = results.stream().mapToInt(List::size).sum();
+        int size = limit > 0 ? Math.min(limit, total) : total;
+        List<T> merged = new ArrayList<>(size);
+        PriorityQueue<int[]> heap = new PriorityQueue<>(Math.max(1, results.size()),
+                (a, b) -> order.compare(results.get(a[0]).get(a[1]), results.get(b[0]).get(b[1])));
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isEmpty()) {
+                heap.add(new int[]{i, 0});
+            }
+        }
+        while (merged.size() < size && !heap.isEmpty()) {
+            int[] head = heap.poll();
+            List<T> shard = results.get(head[0]);
+            merged.add(shard.get(head[1]));
+            if (++head[1] < shard.size()) {
+                heap.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static <T> List<T> concat(List<List<T>> results, int limit) {
+        List<T> all = new ArrayList<>();
+        for (List<T> result : results) {
+            for (T row : result) {
+                if (limit > 0 && all.size() >= limit) {
+                    return all;
+                }
+                all.add(row);
+            }
+        }
+        return all;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BaseUnCheckException("sharding query failed", ERROR.getCode(), e.getCause());
+        }
+    }
+
+    private JdbcTemplate template(ShardTarget target) {
+        JdbcTemplate template = templates.get(target.dataSource());
+        AssertUtil.nonNull(template, "unknown sharding data source: {}", target.dataSource());
+        return template;
+    }
+
+    private static String rewrite(String sql, ShardTarget target) {
+        return sql.replace(TABLE_PLACEHOLDER, target.table());
+    }
+}
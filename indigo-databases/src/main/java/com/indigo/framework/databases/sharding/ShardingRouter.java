@@ -0,0 +1,48 @@
+package com.indigo.framework.databases.sharding;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 史偕成
+ * @title ShardingRouter
+ * @description 逻辑表到物理分片的路由
+ * @create 2026-10-19 16:00
+ */
+public class ShardingRouter {
+
+    private final Map<String, ShardAlgorithm> rules = new ConcurrentHashMap<>();
+
+    /**
+     * 注册逻辑表的分片算法
+     *
+     * @param logicalTable 逻辑表
+     * @param algorithm    分片算法
+     * @return this
+     */
+    public ShardingRouter register(String logicalTable, ShardAlgorithm algorithm) {
+        rules.put(logicalTable, algorithm);
+        return this;
+    }
+
+    public ShardTarget route(String logicalTable, Object shardKey) {
+        return rule(logicalTable).route(shardKey);
+    }
+
+    public List<ShardTarget> routeRange(String logicalTable, Object lower, Object upper) {
+        return rule(logicalTable).routeRange(lower, upper);
+    }
+
+    public List<ShardTarget> routeAll(String logicalTable) {
+        return rule(logicalTable).all();
+    }
+
+    private ShardAlgorithm rule(String logicalTable) {
+        ShardAlgorithm algorithm = rules.get(logicalTable);
+        AssertUtil.nonNull(algorithm, "no sharding rule for table: {}", logicalTable);
+        return algorithm;
+    }
+}
@@ -0,0 +1,119 @@
+package com.indigo.framework.databases.sharding;
+
+import com.indigo.framework.core.exception.AssertException;
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.core.utils.IdUtil;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title TimeRangeShardAlgorithm
+ * @description 时间范围分片
+ * 按月或按天分表，物理表为 逻辑表_yyyyMM / 逻辑表_yyyyMMdd，各时间段轮流分布在 dataSources 上。
+ * 分片键可以是时间，也可以是 {@link IdUtil} 生成的 ID（从 ID 中还原生成时间）。
+ * @create 2026-10-19 16:00
+ */
+public class TimeRangeShardAlgorithm implements ShardAlgorithm {
+
+    private final String logicalTable;
+
+    private final List<String> dataSources;
+
+    private final ChronoUnit unit;
+
+    private final ZoneId zone;
+
+    private final DateTimeFormatter formatter;
+
+    /**
+     * 全部分片的起始时间，用于 {@link #all()}
+     */
+    private final LocalDate start;
+
+    /**
+     * @param logicalTable 逻辑表
+     * @param dataSources  数据源名称
+     * @param unit         分表粒度，MONTHS 或 DAYS
+     * @param start        最早的分表时间
+     * @param zone         时区
+     */
+    public TimeRangeShardAlgorithm(String logicalTable, List<String> dataSources, ChronoUnit unit, LocalDate start,
+                                   ZoneId zone) {
+        AssertUtil.notEmpty(dataSources, "sharding {} requires data sources", logicalTable);
+        AssertUtil.isTrue(unit == ChronoUnit.MONTHS || unit == ChronoUnit.DAYS, "unsupported shard unit: {}", unit);
+        AssertUtil.nonNull(start, "sharding {} requires start date", logicalTable);
+        this.logicalTable = logicalTable;
+        this.dataSources = List.copyOf(dataSources);
+        this.unit = unit;
+        this.zone = zone;
+        this.formatter = DateTimeFormatter.ofPattern(unit == ChronoUnit.MONTHS ? "yyyyMM" : "yyyyMMdd");
+        this.start = truncate(start);
+    }
+
+    @Override
+    public ShardTarget route(Object shardKey) {
+        return target(truncate(toDate(shardKey)));
+    }
+
+    @Override
+    public List<ShardTarget> routeRange(Object lower, Object upper) {
+        LocalDate from = lower == null ? start : truncate(toDate(lower));
+        LocalDate to = upper == null ? truncate(LocalDate.now(zone)) : truncate(toDate(upper));
+        List<ShardTarget> targets = new ArrayList<>();
+        for (LocalDate period = from; !period.isAfter(to); period = period.plus(1, unit)) {
+            targets.add(target(period));
+        }
+        return targets;
+    }
+
+    @Override
+    public List<ShardTarget> all() {
+        return routeRange(null, null);
+    }
+
+    private ShardTarget target(LocalDate period) {
+        long index = unit.between(start, period);
+        String dataSource = dataSources.get((int) Math.floorMod(index, (long) dataSources.size()));
+        return new ShardTarget(dataSource, logicalTable + "_" + formatter.format(period));
+    }
+
+    private LocalDate truncate(LocalDate date) {
+        return unit == ChronoUnit.MONTHS ? date.withDayOfMonth(1) : date;
+    }
+
+    private LocalDate toDate(Object key) {
+        AssertUtil.nonNull(key, "shard key must not be null");
+        if (key instanceof Long id) {
+            return LocalDate.ofInstant(Instant.ofEpochMilli(IdUtil.getTimestamp(id)), zone);
+        }
+        if (key instanceof LocalDate date) {
+            return date;
+        }
+        if (key instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        if (key instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (key instanceof Instant instant) {
+            return LocalDate.ofInstant(instant, zone);
+        }
+        if (key instanceof Date date) {
+            return LocalDate.ofInstant(date.toInstant(), zone);
+        }
+        if (key instanceof TemporalAccessor temporal) {
+            return LocalDate.from(temporal);
+        }
+        throw new AssertException("unsupported time shard key: {}", key);
+    }
+}
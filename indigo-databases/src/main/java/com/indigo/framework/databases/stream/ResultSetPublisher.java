@@ -0,0 +1,151 @@
+package com.indigo.framework.databases.stream;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * @author 史偕成
+ * @title ResultSetPublisher
+ * @description 支持背压的结果集发布者
+ * 只在有需求时读取下一行，读取与回调在同一后台线程串行执行（work-in-progress 计数保证同一时刻只有一个线程在读取）
+ * @create 2026-10-19 14:00
+ */
+class ResultSetPublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<Stream<T>> source;
+
+    private final Executor executor;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    ResultSetPublisher(Supplier<Stream<T>> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("publisher allows only one subscriber"));
+            return;
+        }
+        ResultSetSubscription subscription = new ResultSetSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class ResultSetSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        /**
+         * 非法 request 产生的错误，由读取线程发出，保证回调串行
+         */
+        private volatile Throwable error;
+
+        private boolean done;
+
+        private Stream<T> stream;
+
+        private Iterator<T> iterator;
+
+        private ResultSetSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive: " + n);
+                schedule();
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                finish();
+                return;
+            }
+            if (error != null) {
+                finish();
+                subscriber.onError(error);
+                return;
+            }
+            try {
+                if (iterator == null) {
+                    stream = source.get();
+                    iterator = stream.iterator();
+                }
+                while (demand.get() > 0 && !cancelled) {
+                    if (!iterator.hasNext()) {
+                        finish();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(iterator.next());
+                    demand.decrementAndGet();
+                }
+                if (cancelled) {
+                    finish();
+                }
+            } catch (RuntimeException e) {
+                finish();
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            done = true;
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
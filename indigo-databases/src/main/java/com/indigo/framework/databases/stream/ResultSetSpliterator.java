@@ -0,0 +1,96 @@
+package com.indigo.framework.databases.stream;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title ResultSetSpliterator
+ * @description 基于游标逐行读取结果集，读取完毕、出错或关闭时立即释放语句与连接
+ * @create 2026-10-19 14:00
+ */
+@Slf4j
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+    private final DataSource dataSource;
+
+    private final Connection connection;
+
+    private final PreparedStatement statement;
+
+    private final ResultSet resultSet;
+
+    private final RowMapper<T> rowMapper;
+
+    /**
+     * 为服务端游标临时关闭了自动提交，释放连接前需要恢复
+     */
+    private final boolean restoreAutoCommit;
+
+    private int rowNum;
+
+    private boolean closed;
+
+    ResultSetSpliterator(DataSource dataSource, Connection connection, PreparedStatement statement,
+                         ResultSet resultSet, RowMapper<T> rowMapper, boolean restoreAutoCommit) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.dataSource = dataSource;
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+        this.restoreAutoCommit = restoreAutoCommit;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+        T row;
+        try {
+            if (!resultSet.next()) {
+                close();
+                return false;
+            }
+            row = rowMapper.mapRow(resultSet, rowNum++);
+        } catch (SQLException e) {
+            close();
+            throw new BaseUnCheckException("streaming query failed", ERROR.getCode(), e);
+        }
+        action.accept(row);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        JdbcUtils.closeResultSet(resultSet);
+        JdbcUtils.closeStatement(statement);
+        if (restoreAutoCommit) {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.warn("restore autoCommit failed", e);
+            }
+        }
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+}
@@ -0,0 +1,158 @@
+package com.indigo.framework.databases.stream;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.VirtualThreadUtil;
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title StreamingQueryTemplate
+ * @description 流式查询
+ * 使用服务端游标与 fetchSize 分批读取，结果以惰性 Stream 或支持背压的 Flow.Publisher 返回，
+ * 内存占用与结果集大小无关。Stream 必须关闭（try-with-resources），Publisher 在完成或取消时自动释放连接。
+ * 处于 Spring 事务中时复用事务连接。
+ * @create 2026-10-19 14:00
+ */
+public class StreamingQueryTemplate implements DisposableBean {
+
+    private final DataSource dataSource;
+
+    private final Dialect configuredDialect;
+
+    /**
+     * Publisher 的读取线程
+     */
+    private final ExecutorService executor;
+
+    private volatile Dialect dialect;
+
+    private final int fetchSize;
+
+    private final int queryTimeoutSeconds;
+
+    /**
+     * @param dataSource 数据源
+     * @param dialect    数据库方言，为 null 时首次查询自动识别
+     * @param properties 流式查询配置
+     */
+    public StreamingQueryTemplate(DataSource dataSource, Dialect dialect, DatabasesProperties.Streaming properties) {
+        this(dataSource, dialect, properties, false);
+    }
+
+    /**
+     * @param dataSource     数据源
+     * @param dialect        数据库方言，为 null 时首次查询自动识别
+     * @param properties     流式查询配置
+     * @param virtualThreads Publisher 的读取是否使用虚拟线程，读取线程大部分时间阻塞在游标与下游背压上
+     */
+    public StreamingQueryTemplate(DataSource dataSource, Dialect dialect, DatabasesProperties.Streaming properties,
+                                  boolean virtualThreads) {
+        this.dataSource = dataSource;
+        this.configuredDialect = dialect;
+        this.fetchSize = properties.getFetchSize();
+        this.queryTimeoutSeconds = (int) properties.getQueryTimeout().toSeconds();
+        this.executor = virtualThreads ? VirtualThreadUtil.newThreadPerTaskExecutor("indigo-streaming-query-")
+                : Executors.newCachedThreadPool(ThreadUtil.newNamedThreadFactory("indigo-streaming-query-", true));
+    }
+
+    /**
+     * 流式查询，返回的 Stream 必须关闭
+     *
+     * <pre class="code">
+     * try (Stream&lt;Order&gt; orders = template.stream("select * from t_order where tenant_id = ?", mapper, tenantId)) {
+     *     orders.forEach(writer::write);
+     * }
+     * </pre>
+     *
+     * @param sql       查询 SQL
+     * @param rowMapper 行映射
+     * @param args      参数
+     * @param <T>       行类型
+     * @return 惰性 Stream
+     */
+    public <T> Stream<T> stream(String sql, RowMapper<T> rowMapper, Object... args) {
+        ResultSetSpliterator<T> spliterator = open(sql, rowMapper, args);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * 流式查询，订阅后按 request(n) 的需求在后台线程读取，取消订阅时立即释放连接
+     * 注意：不在调用线程执行，因此不会复用调用方的事务连接
+     *
+     * @param sql       查询 SQL
+     * @param rowMapper 行映射
+     * @param args      参数
+     * @param <T>       行类型
+     * @return 发布者，只能被订阅一次
+     */
+    public <T> Flow.Publisher<T> publisher(String sql, RowMapper<T> rowMapper, Object... args) {
+        return new ResultSetPublisher<>(() -> stream(sql, rowMapper, args), executor);
+    }
+
+    private <T> ResultSetSpliterator<T> open(String sql, RowMapper<T> rowMapper, Object[] args) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        PreparedStatement statement = null;
+        boolean restoreAutoCommit = false;
+        try {
+            Dialect dialect = dialect();
+            if (dialect.cursorRequiresTransaction() && connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                restoreAutoCommit = true;
+            }
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(dialect.streamingFetchSize(fetchSize));
+            if (queryTimeoutSeconds > 0) {
+                statement.setQueryTimeout(queryTimeoutSeconds);
+            }
+            new ArgumentPreparedStatementSetter(args).setValues(statement);
+            ResultSet resultSet = statement.executeQuery();
+            return new ResultSetSpliterator<>(dataSource, connection, statement, resultSet, rowMapper,
+                    restoreAutoCommit);
+        } catch (SQLException e) {
+            JdbcUtils.closeStatement(statement);
+            if (restoreAutoCommit) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                    // 连接即将释放，忽略
+                }
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw new BaseUnCheckException("streaming query failed", ERROR.getCode(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Dialect dialect() {
+        Dialect current = dialect;
+        if (current == null) {
+            current = Dialect.resolve(configuredDialect, dataSource);
+            dialect = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,134 @@
+package com.indigo.framework.databases.batch;
+
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title BufferedBatchWriterTest
+ * @description 缓冲批量写入的刷新语义测试
+ * @create 2026-10-21 10:00
+ */
+class BufferedBatchWriterTest {
+
+    private static final BatchTable TABLE = BatchTable.of("t_item", "id", "name");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private JdbcDataSource h2;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("create table t_item (id int primary key, name varchar(32) not null)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void flushWaitsForBatchAnotherThreadIsWriting() throws Exception {
+        GatedDataSource gated = new GatedDataSource(h2);
+        BufferedBatchWriter<Integer> writer = writer(gated, 1);
+        // 缓冲满后由 add 的线程写入，写入卡在获取连接上
+        Thread adder = new Thread(() -> writer.add(1));
+        adder.start();
+        assertTrue(gated.entered.await(5, TimeUnit.SECONDS));
+
+        Thread flusher = new Thread(writer::flush);
+        flusher.start();
+        flusher.join(200);
+        assertTrue(flusher.isAlive(), "flush returned while an earlier row was still being written");
+
+        gated.gate.countDown();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        adder.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(1, count());
+    }
+
+    @Test
+    void closeWritesBufferedRows() {
+        BufferedBatchWriter<Integer> writer = writer(h2, 100);
+        for (int i = 0; i < 10; i++) {
+            writer.add(i);
+        }
+        assertEquals(0, count());
+
+        writer.close();
+
+        assertEquals(10, count());
+    }
+
+    private BufferedBatchWriter<Integer> writer(DataSource dataSource, int batchSize) {
+        DatabasesProperties.Batch properties = new DatabasesProperties.Batch();
+        properties.setBatchSize(batchSize);
+        properties.setParallelism(1);
+        JdbcBatchWriter<Integer> writer = new JdbcBatchWriter<>(dataSource, executor, Dialect.H2, TABLE,
+                WriteMode.INSERT, RowBinder.ofValues(id -> new Object[]{id, "item-" + id}), properties);
+        return new BufferedBatchWriter<>(writer, result -> {
+        }, TimeUnit.MINUTES.toMillis(1), scheduler);
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from t_item", Integer.class);
+    }
+
+    /**
+     * 第一次获取连接时停住，直到 gate 放行
+     */
+    private static class GatedDataSource extends DelegatingDataSource {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        private final AtomicBoolean first = new AtomicBoolean(true);
+
+        GatedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (first.compareAndSet(true, false)) {
+                entered.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.indigo.framework.databases.batch;
+
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title JdbcBatchWriterTest
+ * @description 基于 H2 内存库的批量写入测试
+ * @create 2026-10-21 10:00
+ */
+class JdbcBatchWriterTest {
+
+    private static final BatchTable TABLE = BatchTable.of("t_item", "id", "name");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private JdbcDataSource h2;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("create table t_item (id int primary key, name varchar(32) not null)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+        executor.shutdownNow();
+    }
+
+    @Test
+    void writesAllRowsInParallel() {
+        BatchResult<Integer> result = writer(h2, BatchStyle.MULTI_VALUES).write(rows(1000));
+
+        assertTrue(result.isSuccess());
+        assertEquals(1000, result.succeeded());
+        assertEquals(1000, count());
+    }
+
+    @Test
+    void isolatesFailedRowsByBisecting() {
+        jdbcTemplate.update("insert into t_item values (?, ?)", 500, "existing");
+
+        BatchResult<Integer> result = writer(h2, BatchStyle.JDBC_BATCH).write(rows(1000));
+
+        assertEquals(1, result.failures().size());
+        assertEquals(500, result.failures().get(0).index());
+        assertEquals(999, result.succeeded());
+        assertEquals(1000, count());
+    }
+
+    @Test
+    void healthyWorkersWriteChunksWhenOneConnectionFails() {
+        BatchResult<Integer> result = writer(new FailingDataSource(h2, 1), BatchStyle.MULTI_VALUES).write(rows(1000));
+
+        assertTrue(result.isSuccess());
+        assertEquals(1000, result.succeeded());
+        assertEquals(1000, count());
+    }
+
+    @Test
+    void failsAllRowsWhenNoWorkerConnects() {
+        BatchResult<Integer> result = writer(new FailingDataSource(h2, Integer.MAX_VALUE), BatchStyle.MULTI_VALUES)
+                .write(rows(1000));
+
+        assertEquals(1000, result.failures().size());
+        assertEquals(0, result.succeeded());
+        assertEquals(0, count());
+    }
+
+    @Test
+    void rowsOfDroppedConnectionAreWrittenByHealthyWorkers() {
+        // 第一个连接写完两条语句后断开
+        BreakingDataSource dataSource = new BreakingDataSource(h2, 1, 2);
+
+        BatchResult<Integer> result = writer(dataSource, BatchStyle.MULTI_VALUES).write(rows(5000));
+
+        assertTrue(result.isSuccess(), () -> result.failures().size() + " rows failed");
+        assertEquals(5000, result.succeeded());
+        assertEquals(5000, count());
+        // 断开的连接只失败一次就不再使用
+        assertEquals(1, dataSource.callsAfterBreak.get());
+    }
+
+    @Test
+    void rowsFailAfterRepeatedConnectionLoss() {
+        // 每个连接在第一条语句上就断开，每段行都会两次遇到断连
+        BreakingDataSource dataSource = new BreakingDataSource(h2, Integer.MAX_VALUE, 0);
+
+        BatchResult<Integer> result = writer(dataSource, BatchStyle.MULTI_VALUES).write(rows(1000));
+
+        assertEquals(1000, result.failures().size());
+        assertEquals(0, result.succeeded());
+        assertEquals(0, count());
+    }
+
+    private JdbcBatchWriter<Integer> writer(DataSource dataSource, BatchStyle style) {
+        DatabasesProperties.Batch properties = new DatabasesProperties.Batch();
+        properties.setBatchSize(100);
+        properties.setParallelism(4);
+        properties.setStyle(style);
+        return new JdbcBatchWriter<>(dataSource, executor, Dialect.H2, TABLE, WriteMode.INSERT,
+                RowBinder.ofValues(id -> new Object[]{id, "item-" + id}), properties);
+    }
+
+    private static List<Integer> rows(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from t_item", Integer.class);
+    }
+
+    /**
+     * 前 failures 次获取连接失败
+     */
+    private static class FailingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger remainingFailures;
+
+        FailingDataSource(DataSource target, int failures) {
+            super(target);
+            this.remainingFailures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (remainingFailures.getAndDecrement() > 0) {
+                throw new SQLTransientConnectionException("connection refused", "08001");
+            }
+            return super.getConnection();
+        }
+    }
+
+    /**
+     * 前 breaking 个连接执行 statements 条语句后断开，之后的调用都抛出连接异常
+     */
+    private static class BreakingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger remainingBreaking;
+
+        private final int statements;
+
+        private final AtomicInteger callsAfterBreak = new AtomicInteger();
+
+        BreakingDataSource(DataSource target, int breaking, int statements) {
+            super(target);
+            this.remainingBreaking = new AtomicInteger(breaking);
+            this.statements = statements;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            if (remainingBreaking.getAndDecrement() <= 0) {
+                return target;
+            }
+            AtomicInteger prepared = new AtomicInteger();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("close")) {
+                            target.close();
+                            return null;
+                        }
+                        if (target.isClosed()) {
+                            if (name.equals("prepareStatement")) {
+                                callsAfterBreak.incrementAndGet();
+                            }
+                            throw new SQLNonTransientConnectionException("connection reset", "08S01");
+                        }
+                        if (name.equals("prepareStatement") && prepared.incrementAndGet() > statements) {
+                            target.close();
+                            callsAfterBreak.incrementAndGet();
+                            throw new SQLNonTransientConnectionException("connection reset", "08S01");
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
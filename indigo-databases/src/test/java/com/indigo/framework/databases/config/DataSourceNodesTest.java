@@ -0,0 +1,74 @@
+package com.indigo.framework.databases.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author 史偕成
+ * @title DataSourceNodesTest
+ * @description 主库与节点连接池配置绑定测试
+ * @create 2026-10-21 10:00
+ */
+class DataSourceNodesTest {
+
+    private final DataSourceNodes nodes = new DataSourceNodes(environment(Map.of(
+            "spring.datasource.hikari.maximum-pool-size", "7",
+            "spring.datasource.hikari.connection-timeout", "1234",
+            "spring.datasource.hikari.pool-name", "primary-pool",
+            "spring.datasource.hikari.username", "primary-user")));
+
+    @Test
+    void primaryBindsSpringDatasourceHikari() {
+        HikariDataSource primary = (HikariDataSource) nodes.bindPrimary(new HikariDataSource());
+
+        assertEquals(7, primary.getMaximumPoolSize());
+        assertEquals(1234, primary.getConnectionTimeout());
+        assertEquals("primary-pool", primary.getPoolName());
+    }
+
+    @Test
+    void nodeInheritsPoolSettingsButNotIdentity() {
+        DatabasesProperties.DataSourceNode node = node();
+
+        HikariDataSource replica = (HikariDataSource) nodes.build("replica-0", node);
+
+        assertEquals(7, replica.getMaximumPoolSize());
+        assertEquals(1234, replica.getConnectionTimeout());
+        assertEquals("jdbc:h2:mem:replica", replica.getJdbcUrl());
+        assertEquals("replica-user", replica.getUsername());
+        assertEquals("replica-0", replica.getPoolName());
+    }
+
+    @Test
+    void nodeOverridesInheritedSettings() {
+        DatabasesProperties.DataSourceNode node = node();
+        node.getHikari().put("maximum-pool-size", "3");
+        node.getHikari().put("pool-name", "reporting");
+
+        HikariDataSource replica = (HikariDataSource) nodes.build("replica-0", node);
+
+        assertEquals(3, replica.getMaximumPoolSize());
+        assertEquals(1234, replica.getConnectionTimeout());
+        assertEquals("reporting", replica.getPoolName());
+    }
+
+    private static DatabasesProperties.DataSourceNode node() {
+        DatabasesProperties.DataSourceNode node = new DatabasesProperties.DataSourceNode();
+        node.setUrl("jdbc:h2:mem:replica");
+        node.setUsername("replica-user");
+        node.setPassword("");
+        return node;
+    }
+
+    private static StandardEnvironment environment(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        return environment;
+    }
+}
@@ -0,0 +1,75 @@
+package com.indigo.framework.databases.instrument;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title InstrumentedDataSourceTest
+ * @description SQL 统计数据源的关闭转发与 JDBC 代理身份测试
+ * @create 2026-10-21 10:00
+ */
+class InstrumentedDataSourceTest {
+
+    private final SqlStatistics statistics = new SqlStatistics(100, 1000, 10, 1.0);
+
+    @Test
+    void closeShutsDownWrappedPool() throws Exception {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url());
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(pool, statistics);
+        try (Connection ignored = dataSource.getConnection()) {
+            assertTrue(pool.isRunning());
+        }
+
+        dataSource.close();
+
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    void closeIgnoresNonCloseableTarget() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL(url());
+
+        assertDoesNotThrow(new InstrumentedDataSource(h2, statistics)::close);
+    }
+
+    @Test
+    void proxiesUseIdentityForObjectMethods() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL(url());
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(h2, statistics);
+        try (Connection connection = dataSource.getConnection();
+             Connection other = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            assertEquals(connection, connection);
+            assertNotEquals(connection, other);
+            assertNotEquals(connection, connection.unwrap(Connection.class));
+            assertEquals(System.identityHashCode(connection), connection.hashCode());
+            assertTrue(Set.of(connection, other).contains(connection));
+            assertEquals(statement, statement);
+            assertEquals(System.identityHashCode(statement), statement.hashCode());
+            assertEquals(resultSet, resultSet);
+            assertTrue(connection.toString().startsWith("Instrumented connection"));
+            assertTrue(resultSet.next());
+        }
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,130 @@
+package com.indigo.framework.databases.page;
+
+import com.indigo.framework.core.exception.AssertException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title KeysetPaginatorTest
+ * @description 基于 H2 内存库的键集分页测试：排序值重复时翻页不重不漏、向前翻页、混合排序方向、游标校验
+ * @create 2026-10-21 10:00
+ */
+class KeysetPaginatorTest {
+
+    private static final RowMapper<Integer> ID = (rs, rowNum) -> rs.getInt("id");
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 10, 1, 8, 0);
+
+    private JdbcTemplate jdbcTemplate;
+
+    private KeysetPaginator paginator;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        paginator = new KeysetPaginator(jdbcTemplate);
+        jdbcTemplate.execute("create table t_order (id int primary key, tenant_id int not null, "
+                + "created_at timestamp not null)");
+        // 每 5 行共用一个创建时间，只靠 created_at 无法区分同一时间内的行
+        for (int id = 1; id <= 25; id++) {
+            jdbcTemplate.update("insert into t_order values (?, ?, ?)", id, id % 2,
+                    Timestamp.valueOf(BASE.plusMinutes(id % 5)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void pagesForwardWithoutDuplicatesOrGaps() {
+        KeysetQuery query = query(SortKey.desc("o.created_at"), SortKey.desc("o.id"));
+
+        List<List<Integer>> pages = forward(query, 4);
+
+        assertEquals(7, pages.size());
+        assertEquals(1, pages.get(6).size());
+        assertEquals(expected("created_at desc, id desc"), flatten(pages));
+    }
+
+    @Test
+    void prevCursorReturnsThePreviousPage() {
+        KeysetQuery query = query(SortKey.desc("o.created_at"), SortKey.desc("o.id"));
+        KeysetPage<Integer> first = paginator.page(query, null, 4, ID);
+        KeysetPage<Integer> second = paginator.page(query, first.getNextCursor(), 4, ID);
+        KeysetPage<Integer> third = paginator.page(query, second.getNextCursor(), 4, ID);
+
+        KeysetPage<Integer> back = paginator.page(query, third.getPrevCursor(), 4, ID);
+        KeysetPage<Integer> start = paginator.page(query, back.getPrevCursor(), 4, ID);
+
+        assertNull(first.getPrevCursor());
+        assertEquals(second.getRecords(), back.getRecords());
+        assertTrue(back.isHasNext());
+        assertEquals(third.getRecords(), paginator.page(query, back.getNextCursor(), 4, ID).getRecords());
+        assertEquals(first.getRecords(), start.getRecords());
+        assertFalse(start.isHasPrev());
+    }
+
+    @Test
+    void mixedDirectionsAndFiltersArePagedInOrder() {
+        KeysetQuery query = query(SortKey.asc("o.created_at"), SortKey.desc("o.id"));
+        KeysetQuery filtered = query(SortKey.asc("o.created_at"), SortKey.desc("o.id")).where("o.tenant_id = ?", 1);
+
+        assertEquals(expected("created_at asc, id desc"), flatten(forward(query, 3)));
+        assertEquals(jdbcTemplate.queryForList("select id from t_order where tenant_id = 1 "
+                + "order by created_at asc, id desc", Integer.class), flatten(forward(filtered, 3)));
+    }
+
+    @Test
+    void cursorFromAnotherSortOrGarbageIsRejected() {
+        KeysetQuery desc = query(SortKey.desc("o.created_at"), SortKey.desc("o.id"));
+        KeysetQuery mixed = query(SortKey.asc("o.created_at"), SortKey.desc("o.id"));
+        String cursor = paginator.page(desc, null, 4, ID).getNextCursor();
+
+        assertThrows(AssertException.class, () -> paginator.page(mixed, cursor, 4, ID));
+        assertThrows(AssertException.class, () -> paginator.page(desc, "not-a-cursor", 4, ID));
+    }
+
+    private KeysetQuery query(SortKey... keys) {
+        return KeysetQuery.select("select o.id, o.created_at from t_order o").orderBy(keys);
+    }
+
+    private List<List<Integer>> forward(KeysetQuery query, int size) {
+        List<List<Integer>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<Integer> page = paginator.page(query, cursor, size, ID);
+            pages.add(page.getRecords());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private List<Integer> expected(String orderBy) {
+        return jdbcTemplate.queryForList("select id from t_order order by " + orderBy, Integer.class);
+    }
+
+    private static List<Integer> flatten(List<List<Integer>> pages) {
+        return pages.stream().flatMap(List::stream).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.indigo.framework.databases.routing;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title ReplicaNodeTest
+ * @description 副本连接代理测试
+ * @create 2026-10-21 10:00
+ */
+class ReplicaNodeTest {
+
+    @Test
+    void connectionProxyUsesIdentity() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:replica-node");
+        ReplicaNode node = new ReplicaNode("replica-0", h2);
+
+        try (Connection first = node.getConnection(); Connection second = node.getConnection()) {
+            assertTrue(first.equals(first));
+            assertFalse(first.equals(second));
+            Set<Connection> registered = new HashSet<>();
+            registered.add(first);
+            assertTrue(registered.contains(first));
+            assertTrue(first.toString().contains("replica-0"));
+            assertEquals(2, node.getActiveConnections());
+        }
+        assertEquals(0, node.getActiveConnections());
+    }
+}
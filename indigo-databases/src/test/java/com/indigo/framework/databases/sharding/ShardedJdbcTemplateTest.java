@@ -0,0 +1,147 @@
+package com.indigo.framework.databases.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author 史偕成
+ * @title ShardedJdbcTemplateTest
+ * @description 基于多个 H2 内存库的分片读写、跨分片归并与 limit 测试
+ * @create 2026-10-21 10:00
+ */
+class ShardedJdbcTemplateTest {
+
+    private static final int ROWS = 200;
+
+    private static final RowMapper<Long> ID = (rs, rowNum) -> rs.getLong("id");
+
+    private static final Comparator<Long> ID_DESC = Comparator.reverseOrder();
+
+    private final Map<String, JdbcTemplate> databases = new LinkedHashMap<>();
+
+    private ShardingRouter router;
+
+    private ShardedJdbcTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        for (String name : List.of("ds0", "ds1", "ds2")) {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            dataSources.put(name, h2);
+            databases.put(name, new JdbcTemplate(h2));
+        }
+        router = new ShardingRouter()
+                .register("t_order", new HashShardAlgorithm("t_order", List.of("ds0", "ds1", "ds2"), 2))
+                .register("t_log", new TimeRangeShardAlgorithm("t_log", List.of("ds0", "ds1"), ChronoUnit.MONTHS,
+                        LocalDate.of(2026, 1, 1), ZoneId.of("Asia/Shanghai")));
+        for (ShardTarget target : router.routeAll("t_order")) {
+            databases.get(target.dataSource()).execute("create table " + target.table()
+                    + " (id bigint primary key, sku varchar(16) not null)");
+        }
+        template = new ShardedJdbcTemplate(router, dataSources, 4);
+        LongStream.rangeClosed(1, ROWS).forEach(id -> template.update("t_order", id,
+                "insert into {table} (id, sku) values (?, ?)", id, id % 2 == 0 ? "even" : "odd"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        template.destroy();
+        databases.values().forEach(jdbcTemplate -> jdbcTemplate.execute("shutdown"));
+    }
+
+    @Test
+    void writesLandOnRoutedShardOnly() {
+        long total = 0;
+        for (ShardTarget target : router.routeAll("t_order")) {
+            List<Long> ids = databases.get(target.dataSource())
+                    .queryForList("select id from " + target.table(), Long.class);
+            assertFalse(ids.isEmpty(), target + " received no rows");
+            ids.forEach(id -> assertEquals(target, router.route("t_order", id)));
+            total += ids.size();
+        }
+        assertEquals(ROWS, total);
+    }
+
+    @Test
+    void singleShardQueryFindsRowByKey() {
+        assertEquals(List.of(42L), template.query("t_order", 42L, "select id from {table} where id = ?", ID, 42L));
+    }
+
+    @Test
+    void fanOutMergesShardsInOrder() {
+        List<Long> ids = template.queryAll("t_order", "select id from {table} where sku = ? order by id desc",
+                ID, ID_DESC, 0, "even");
+
+        assertEquals(LongStream.iterate(ROWS, id -> id - 2).limit(ROWS / 2).boxed().toList(), ids);
+    }
+
+    @Test
+    void fanOutLimitKeepsGlobalTopRows() {
+        List<Long> ids = template.queryAll("t_order", "select id from {table} order by id desc limit 20",
+                ID, ID_DESC, 20);
+
+        assertEquals(LongStream.iterate(ROWS, id -> id - 1).limit(20).boxed().toList(), ids);
+    }
+
+    @Test
+    void fanOutWithoutOrderStillAppliesLimit() {
+        List<Long> ids = template.queryAll("t_order", "select id from {table}", ID, null, 15);
+
+        assertEquals(15, ids.size());
+        assertEquals(15, ids.stream().distinct().count());
+    }
+
+    @Test
+    void limitLargerThanResultReturnsEverything() {
+        List<Long> ids = template.queryAll("t_order", "select id from {table} where id <= ? order by id desc",
+                ID, ID_DESC, 50, 10L);
+
+        assertEquals(LongStream.iterate(10, id -> id - 1).limit(10).boxed().toList(), ids);
+    }
+
+    @Test
+    void countSumsAllShards() {
+        assertEquals(ROWS, template.countAll("t_order", "select count(*) from {table}"));
+        assertEquals(ROWS / 2, template.countAll("t_order", "select count(*) from {table} where sku = ?", "odd"));
+    }
+
+    @Test
+    void rangeQueryOnlyTouchesShardsInRange() {
+        // 只建 2 月、3 月的表，范围查询若访问了其它月份会因表不存在而失败
+        for (LocalDate month : List.of(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 3, 1))) {
+            ShardTarget target = router.route("t_log", month);
+            JdbcTemplate database = databases.get(target.dataSource());
+            database.execute("create table " + target.table() + " (id bigint primary key, created date not null)");
+            database.update("insert into " + target.table() + " values (?, ?)", month.getMonthValue(), month);
+        }
+
+        List<Long> ids = template.queryRange("t_log", LocalDate.of(2026, 2, 10), LocalDate.of(2026, 3, 20),
+                "select id from {table} order by id desc", ID, ID_DESC, 0);
+
+        assertEquals(List.of(3L, 2L), ids);
+        assertThrows(BadSqlGrammarException.class, () -> template.queryRange("t_log", LocalDate.of(2026, 1, 10),
+                LocalDate.of(2026, 2, 10), "select id from {table}", ID, null, 0));
+    }
+}
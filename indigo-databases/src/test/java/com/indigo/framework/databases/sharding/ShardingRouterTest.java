@@ -0,0 +1,80 @@
+package com.indigo.framework.databases.sharding;
+
+import com.indigo.framework.core.exception.AssertException;
+import com.indigo.framework.core.utils.IdUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author 史偕成
+ * @title ShardingRouterTest
+ * @description 哈希分片与时间分片路由测试
+ * @create 2026-10-21 10:00
+ */
+class ShardingRouterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    private final ShardingRouter router = new ShardingRouter()
+            .register("t_order", new HashShardAlgorithm("t_order", List.of("ds0", "ds1"), 2))
+            .register("t_log", new TimeRangeShardAlgorithm("t_log", List.of("ds0", "ds1"), ChronoUnit.MONTHS,
+                    LocalDate.of(2026, 1, 15), ZONE));
+
+    @Test
+    void hashShardsAreLaidOutAcrossDataSources() {
+        assertEquals(List.of(
+                new ShardTarget("ds0", "t_order_0"),
+                new ShardTarget("ds0", "t_order_1"),
+                new ShardTarget("ds1", "t_order_2"),
+                new ShardTarget("ds1", "t_order_3")), router.routeAll("t_order"));
+    }
+
+    @Test
+    void hashRoutingIsStableAndReachesEveryShard() {
+        Set<ShardTarget> reached = new HashSet<>();
+        for (long id = 1; id <= 1000; id++) {
+            ShardTarget target = router.route("t_order", id);
+            assertEquals(target, router.route("t_order", id));
+            reached.add(target);
+        }
+        assertEquals(Set.copyOf(router.routeAll("t_order")), reached);
+    }
+
+    @Test
+    void timeRoutingUsesPeriodTableAndRotatesDataSources() {
+        assertEquals(new ShardTarget("ds0", "t_log_202601"), router.route("t_log", LocalDate.of(2026, 1, 31)));
+        assertEquals(new ShardTarget("ds1", "t_log_202602"),
+                router.route("t_log", LocalDateTime.of(2026, 2, 1, 0, 0)));
+        assertEquals(new ShardTarget("ds0", "t_log_202603"), router.route("t_log", LocalDate.of(2026, 3, 9)));
+    }
+
+    @Test
+    void timeRoutingRecoversPeriodFromId() {
+        long timestamp = LocalDate.of(2026, 2, 10).atStartOfDay(ZONE).toInstant().toEpochMilli();
+
+        assertEquals(new ShardTarget("ds1", "t_log_202602"), router.route("t_log", IdUtil.minIdOf(timestamp)));
+    }
+
+    @Test
+    void rangeRoutingPrunesPeriodsOutsideRange() {
+        assertEquals(List.of(
+                new ShardTarget("ds1", "t_log_202602"),
+                new ShardTarget("ds0", "t_log_202603")),
+                router.routeRange("t_log", LocalDate.of(2026, 2, 20), LocalDate.of(2026, 3, 1)));
+    }
+
+    @Test
+    void unknownTableIsRejected() {
+        assertThrows(AssertException.class, () -> router.route("t_unknown", 1L));
+    }
+}
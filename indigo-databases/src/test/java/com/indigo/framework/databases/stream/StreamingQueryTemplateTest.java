@@ -0,0 +1,213 @@
+package com.indigo.framework.databases.stream;
+
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title StreamingQueryTemplateTest
+ * @description 基于 H2 内存库的流式查询测试：关闭时释放连接、Publisher 按 request(n) 读取、取消释放连接、只允许一个订阅者
+ * @create 2026-10-21 10:00
+ */
+class StreamingQueryTemplateTest {
+
+    private static final RowMapper<Integer> ID = (rs, rowNum) -> rs.getInt("id");
+
+    private static final String SQL = "select id from t_event where id > ? order by id";
+
+    private static final Object COMPLETE = new Object();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TrackingDataSource dataSource;
+
+    private StreamingQueryTemplate template;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("create table t_event (id int primary key)");
+        for (int id = 1; id <= 100; id++) {
+            jdbcTemplate.update("insert into t_event values (?)", id);
+        }
+        dataSource = new TrackingDataSource(h2);
+        DatabasesProperties.Streaming properties = new DatabasesProperties.Streaming();
+        properties.setFetchSize(10);
+        template = new StreamingQueryTemplate(dataSource, Dialect.H2, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        template.destroy();
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void streamReadsAllRowsAndReleasesConnectionOnClose() {
+        try (Stream<Integer> ids = template.stream(SQL, ID, 0)) {
+            assertEquals(1, dataSource.open.get());
+            assertEquals(5050, ids.mapToInt(Integer::intValue).sum());
+        }
+
+        assertEquals(0, dataSource.open.get());
+    }
+
+    @Test
+    void streamClosedEarlyReleasesConnection() {
+        try (Stream<Integer> ids = template.stream(SQL, ID, 90)) {
+            assertEquals(List.of(91, 92, 93), ids.limit(3).toList());
+        }
+
+        assertEquals(0, dataSource.open.get());
+    }
+
+    @Test
+    void publisherEmitsOnlyRequestedRowsAndCompletes() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        template.publisher(SQL, ID, 95).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertEquals(96, subscriber.next());
+        assertEquals(97, subscriber.next());
+        assertNull(subscriber.signals.poll(200, TimeUnit.MILLISECONDS));
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of(98, 99, 100), List.of(subscriber.next(), subscriber.next(), subscriber.next()));
+        assertEquals(COMPLETE, subscriber.signals.poll(5, TimeUnit.SECONDS));
+        awaitReleased();
+    }
+
+    @Test
+    void cancelReleasesConnection() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        template.publisher(SQL, ID, 0).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.next());
+        assertEquals(1, dataSource.open.get());
+
+        subscriber.subscription.cancel();
+
+        awaitReleased();
+        assertNull(subscriber.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void secondSubscriberReceivesError() throws Exception {
+        Flow.Publisher<Integer> publisher = template.publisher(SQL, ID, 0);
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(first);
+
+        publisher.subscribe(second);
+
+        assertInstanceOf(IllegalStateException.class, second.signals.poll(5, TimeUnit.SECONDS));
+        first.subscription.cancel();
+        awaitReleased();
+    }
+
+    private void awaitReleased() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.open.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dataSource.open.get());
+    }
+
+    /**
+     * 按到达顺序记录 onNext / onError / onComplete
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        private volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            assertTrue(!terminated.get(), "onNext after terminal signal");
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminated.set(true);
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.set(true);
+            signals.add(COMPLETE);
+        }
+
+        private Object next() throws InterruptedException {
+            return signals.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 记录尚未关闭的连接数
+     */
+    private static class TrackingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger open = new AtomicInteger();
+
+        TrackingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            AtomicBoolean closed = new AtomicBoolean();
+            open.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                            open.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
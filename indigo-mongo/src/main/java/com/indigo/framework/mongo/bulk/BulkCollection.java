@@ -0,0 +1,27 @@
+package com.indigo.framework.mongo.bulk;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title BulkCollection
+ * @description 批量写入的目标集合，屏蔽驱动 API，测试时可替换为内存实现
+ * @create 2026-10-20 12:00
+ */
+public interface BulkCollection {
+
+    /**
+     * 集合名称
+     *
+     * @return 名称
+     */
+    String name();
+
+    /**
+     * 无序批量写入，单个操作失败不影响其余操作
+     *
+     * @param operations 操作
+     * @return 结果，失败的操作记录在 failures 中
+     */
+    BulkResult write(List<BulkOperation> operations);
+}
@@ -0,0 +1,10 @@
+package com.indigo.framework.mongo.bulk;
+
+/**
+ * @author 史偕成
+ * @title BulkFailure
+ * @description 写入失败的操作，code 为 Mongo 错误码，整批请求失败时为 -1
+ * @create 2026-10-20 12:00
+ */
+public record BulkFailure(BulkOperation operation, int code, String message) {
+}
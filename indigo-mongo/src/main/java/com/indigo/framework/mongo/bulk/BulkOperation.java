@@ -0,0 +1,48 @@
+package com.indigo.framework.mongo.bulk;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import org.bson.Document;
+
+/**
+ * @author 史偕成
+ * @title BulkOperation
+ * @description 批量写入中的单个操作
+ * @create 2026-10-20 12:00
+ */
+public record BulkOperation(Type type, Document filter, Document document) {
+
+    public enum Type {
+
+        /**
+         * 插入文档
+         */
+        INSERT,
+
+        /**
+         * 按条件更新第一条匹配的文档，document 为更新操作符，如 {$set: {...}}
+         */
+        UPDATE,
+
+        /**
+         * 按条件更新，不存在时插入
+         */
+        UPSERT
+    }
+
+    public static BulkOperation insert(Document document) {
+        AssertUtil.nonNull(document, "document must not be null");
+        return new BulkOperation(Type.INSERT, null, document);
+    }
+
+    public static BulkOperation update(Document filter, Document update) {
+        AssertUtil.nonNull(filter, "filter must not be null");
+        AssertUtil.nonNull(update, "update must not be null");
+        return new BulkOperation(Type.UPDATE, filter, update);
+    }
+
+    public static BulkOperation upsert(Document filter, Document update) {
+        AssertUtil.nonNull(filter, "filter must not be null");
+        AssertUtil.nonNull(update, "update must not be null");
+        return new BulkOperation(Type.UPSERT, filter, update);
+    }
+}
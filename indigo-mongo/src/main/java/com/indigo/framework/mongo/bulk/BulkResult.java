@@ -0,0 +1,17 @@
+package com.indigo.framework.mongo.bulk;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title BulkResult
+ * @description 一次批量写入的结果
+ * @create 2026-10-20 12:00
+ */
+public record BulkResult(String collection, int submitted, int inserted, int matched, int modified, int upserted,
+                         List<BulkFailure> failures, long elapsedMillis) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,230 @@
+package com.indigo.framework.mongo.bulk;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.mongo.config.MongoProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title BulkWriter
+ * @description 单个集合的缓冲批量写入
+ * 逐条 add，缓冲达到 batchSize 或距上次提交超过 flushInterval 时以无序批量写入异步提交；
+ * 同时进行的批量写入不超过 maxInFlight，Mongo 变慢导致全部占满时 add 在调用线程上等待，形成背压，缓冲占用的内存有上限。
+ * 每批的结果（包括逐条失败）交给 resultHandler，整批请求失败时该批全部操作记为失败。
+ * <p>
+ * 不保证顺序：批内是无序写入，最多 maxInFlight 批并行提交，对同一文档的多次 update/upsert 在批内和批间都可能以任意顺序生效。
+ * $inc 这类可交换的更新不受影响；$set 等依赖先后的更新需要调用方先合并为一条，或在过滤条件中带上版本号等条件自行防止旧值覆盖新值；
+ * 同一过滤条件的并发 upsert 没有唯一索引时可能插入多条。
+ * @create 2026-10-20 12:00
+ */
+@Slf4j
+public class BulkWriter implements AutoCloseable {
+
+    private final BulkCollection collection;
+
+    private final Consumer<BulkResult> resultHandler;
+
+    private final Executor executor;
+
+    private final int batchSize;
+
+    private final int maxInFlight;
+
+    private final long flushIntervalNanos;
+
+    private final Semaphore inFlight;
+
+    private final ReentrantLock bufferLock = new ReentrantLock();
+
+    private final ScheduledFuture<?> timer;
+
+    private List<BulkOperation> buffer;
+
+    private volatile long lastFlushNanos = System.nanoTime();
+
+    private volatile boolean closed;
+
+    public BulkWriter(BulkCollection collection, Consumer<BulkResult> resultHandler, Executor executor,
+                      ScheduledExecutorService scheduler, MongoProperties.Bulk properties) {
+        AssertUtil.isTrue(properties.getBatchSize() > 0, "batchSize must be positive");
+        AssertUtil.isTrue(properties.getMaxInFlight() > 0, "maxInFlight must be positive");
+        this.collection = collection;
+        this.resultHandler = resultHandler;
+        this.executor = executor;
+        this.batchSize = properties.getBatchSize();
+        this.maxInFlight = properties.getMaxInFlight();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.buffer = new ArrayList<>(batchSize);
+        long intervalMs = properties.getFlushInterval().toMillis();
+        this.timer = scheduler.scheduleWithFixedDelay(this::flushIfIdle, intervalMs, intervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void insert(Document document) {
+        add(BulkOperation.insert(document));
+    }
+
+    public void update(Document filter, Document update) {
+        add(BulkOperation.update(filter, update));
+    }
+
+    public void upsert(Document filter, Document update) {
+        add(BulkOperation.upsert(filter, update));
+    }
+
+    /**
+     * 添加一个操作，缓冲已满时提交，并发写入已占满时阻塞
+     *
+     * @param operation 操作
+     */
+    public void add(BulkOperation operation) {
+        List<BulkOperation> full = null;
+        bufferLock.lock();
+        try {
+            AssertUtil.isFalse(closed, "bulk writer for {} is closed", collection.name());
+            buffer.add(operation);
+            if (buffer.size() >= batchSize) {
+                full = drain();
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+        if (full != null) {
+            acquire();
+            submit(full);
+        }
+    }
+
+    /**
+     * 提交缓冲中的操作并等待所有进行中的写入完成
+     */
+    public void flush() {
+        List<BulkOperation> rows;
+        bufferLock.lock();
+        try {
+            rows = drain();
+        } finally {
+            bufferLock.unlock();
+        }
+        if (!rows.isEmpty()) {
+            acquire();
+            submit(rows);
+        }
+        inFlight.acquireUninterruptibly(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    /**
+     * 缓冲中尚未提交的操作数
+     *
+     * @return 操作数
+     */
+    public int pending() {
+        bufferLock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        bufferLock.lock();
+        try {
+            closed = true;
+        } finally {
+            bufferLock.unlock();
+        }
+        timer.cancel(false);
+        flush();
+    }
+
+    /**
+     * 定时线程不等待写入槽位，占满时跳过本次，缓冲留给下一次提交
+     */
+    private void flushIfIdle() {
+        if (System.nanoTime() - lastFlushNanos < flushIntervalNanos || !inFlight.tryAcquire()) {
+            return;
+        }
+        List<BulkOperation> rows;
+        bufferLock.lock();
+        try {
+            rows = drain();
+        } finally {
+            bufferLock.unlock();
+        }
+        if (rows.isEmpty()) {
+            inFlight.release();
+        } else {
+            submit(rows);
+        }
+    }
+
+    private void acquire() {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseUnCheckException("interrupted while waiting for bulk write into " + collection.name(),
+                    ERROR.getCode(), e);
+        }
+    }
+
+    private List<BulkOperation> drain() {
+        List<BulkOperation> rows = buffer;
+        buffer = new ArrayList<>(batchSize);
+        lastFlushNanos = System.nanoTime();
+        return rows;
+    }
+
+    /**
+     * 调用方已持有一个写入槽位，写入完成后释放
+     */
+    private void submit(List<BulkOperation> operations) {
+        try {
+            executor.execute(() -> write(operations));
+        } catch (RejectedExecutionException e) {
+            write(operations);
+        }
+    }
+
+    private void write(List<BulkOperation> operations) {
+        try {
+            BulkResult result;
+            long start = System.currentTimeMillis();
+            try {
+                result = collection.write(operations);
+            } catch (RuntimeException e) {
+                log.error("bulk write {} operation(s) into {} failed", operations.size(), collection.name(), e);
+                List<BulkFailure> failures = new ArrayList<>(operations.size());
+                for (BulkOperation operation : operations) {
+                    failures.add(new BulkFailure(operation, -1, String.valueOf(e.getMessage())));
+                }
+                result = new BulkResult(collection.name(), operations.size(), 0, 0, 0, 0, failures,
+                        System.currentTimeMillis() - start);
+            }
+            resultHandler.accept(result);
+        } catch (RuntimeException e) {
+            log.error("bulk result handler for {} failed", collection.name(), e);
+        } finally {
+            inFlight.release();
+        }
+    }
+}
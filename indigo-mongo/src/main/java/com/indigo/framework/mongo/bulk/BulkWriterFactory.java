@@ -0,0 +1,52 @@
+package com.indigo.framework.mongo.bulk;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.mongo.config.MongoProperties;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title BulkWriterFactory
+ * @description 创建批量写入器，共享写入线程与定时刷新线程
+ * <pre>
+ *     BulkWriter writer = bulkWriterFactory.writer(database.getCollection("event"), result -&gt;
+ *             result.failures().forEach(failure -&gt; log.warn("write {} failed: {}", failure.operation(), failure.message())));
+ *     writer.upsert(new Document("_id", id), new Document("$set", fields));
+ * </pre>
+ * @create 2026-10-20 12:00
+ */
+public class BulkWriterFactory implements DisposableBean {
+
+    private final MongoProperties.Bulk properties;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+            ThreadUtil.newNamedThreadFactory("indigo-mongo-bulk-", true));
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("indigo-mongo-flush-", true));
+
+    public BulkWriterFactory(MongoProperties.Bulk properties) {
+        this.properties = properties;
+    }
+
+    public BulkWriter writer(MongoCollection<Document> collection, Consumer<BulkResult> resultHandler) {
+        return writer(new MongoBulkCollection(collection), resultHandler);
+    }
+
+    public BulkWriter writer(BulkCollection collection, Consumer<BulkResult> resultHandler) {
+        return new BulkWriter(collection, resultHandler, executor, scheduler, properties);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,77 @@
+package com.indigo.framework.mongo.bulk;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title MongoBulkCollection
+ * @description 基于驱动 {@link MongoCollection} 的批量写入，以 ordered=false 提交，服务端可并行执行且不因单条失败中断，
+ * 批内操作的执行顺序不保证与提交顺序一致
+ * @create 2026-10-20 12:00
+ */
+@Slf4j
+public class MongoBulkCollection implements BulkCollection {
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+
+    private final MongoCollection<Document> collection;
+
+    public MongoBulkCollection(MongoCollection<Document> collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public String name() {
+        return collection.getNamespace().getCollectionName();
+    }
+
+    @Override
+    public BulkResult write(List<BulkOperation> operations) {
+        List<WriteModel<Document>> models = new ArrayList<>(operations.size());
+        for (BulkOperation operation : operations) {
+            models.add(switch (operation.type()) {
+                case INSERT -> new InsertOneModel<>(operation.document());
+                case UPDATE -> new UpdateOneModel<>(operation.filter(), operation.document());
+                case UPSERT -> new UpdateOneModel<>(operation.filter(), operation.document(), UPSERT);
+            });
+        }
+        long start = System.currentTimeMillis();
+        try {
+            return result(operations.size(), collection.bulkWrite(models, UNORDERED), List.of(), start);
+        } catch (MongoBulkWriteException e) {
+            List<BulkFailure> failures = new ArrayList<>(e.getWriteErrors().size());
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failures.add(new BulkFailure(operations.get(error.getIndex()), error.getCode(), error.getMessage()));
+            }
+            if (e.getWriteConcernError() != null) {
+                log.warn("bulk write into {} did not satisfy write concern: {}", name(),
+                        e.getWriteConcernError().getMessage());
+            }
+            return result(operations.size(), e.getWriteResult(), failures, start);
+        }
+    }
+
+    private BulkResult result(int submitted, BulkWriteResult result, List<BulkFailure> failures, long start) {
+        long elapsed = System.currentTimeMillis() - start;
+        if (!result.wasAcknowledged()) {
+            return new BulkResult(name(), submitted, 0, 0, 0, 0, failures, elapsed);
+        }
+        return new BulkResult(name(), submitted, result.getInsertedCount(), result.getMatchedCount(),
+                result.getModifiedCount(), result.getUpserts().size(), failures, elapsed);
+    }
+}
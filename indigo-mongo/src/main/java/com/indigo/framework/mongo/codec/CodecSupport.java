@@ -0,0 +1,214 @@
+package com.indigo.framework.mongo.codec;
+
+import org.bson.BsonBinary;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/**
+ * @author 史偕成
+ * @title CodecSupport
+ * @description 生成代码使用的读写方法，数值类型之间只做无损转换，有损时与驱动自带编解码器一样抛出异常；
+ * 时间类型按 UTC 存为 BSON 日期，与驱动自带编解码器的存储格式一致
+ * @create 2026-10-20 13:00
+ */
+public final class CodecSupport {
+
+    private CodecSupport() {
+    }
+
+    public static int readInt(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return reader.readInt32();
+            case INT64: {
+                long value = reader.readInt64();
+                if ((int) value == value) {
+                    return (int) value;
+                }
+                throw mismatch(reader, "int", value);
+            }
+            case DOUBLE: {
+                double value = reader.readDouble();
+                if ((int) value == value) {
+                    return (int) value;
+                }
+                throw mismatch(reader, "int", value);
+            }
+            case DECIMAL128: {
+                Decimal128 value = reader.readDecimal128();
+                try {
+                    return value.bigDecimalValue().intValueExact();
+                } catch (ArithmeticException e) {
+                    throw mismatch(reader, "int", value);
+                }
+            }
+            default:
+                throw mismatch(reader, "int");
+        }
+    }
+
+    public static long readLong(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                return reader.readInt64();
+            case INT32:
+                return reader.readInt32();
+            case DOUBLE: {
+                double value = reader.readDouble();
+                // 2^63 转为 long 会截断为 Long.MAX_VALUE，需要排除
+                if ((long) value == value && value != 0x1p63) {
+                    return (long) value;
+                }
+                throw mismatch(reader, "long", value);
+            }
+            case DATE_TIME:
+                return reader.readDateTime();
+            case DECIMAL128: {
+                Decimal128 value = reader.readDecimal128();
+                try {
+                    return value.bigDecimalValue().longValueExact();
+                } catch (ArithmeticException e) {
+                    throw mismatch(reader, "long", value);
+                }
+            }
+            default:
+                throw mismatch(reader, "long");
+        }
+    }
+
+    public static double readDouble(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case DOUBLE:
+                return reader.readDouble();
+            case INT32:
+                return reader.readInt32();
+            case INT64: {
+                long value = reader.readInt64();
+                double converted = value;
+                // 超过 2^53 的整数转为 double 可能丢失精度
+                if ((long) converted == value && converted != 0x1p63) {
+                    return converted;
+                }
+                throw mismatch(reader, "double", value);
+            }
+            case DECIMAL128: {
+                Decimal128 value = reader.readDecimal128();
+                double converted = value.doubleValue();
+                if (Double.isNaN(converted) || Double.isInfinite(converted) || Decimal128.NEGATIVE_ZERO.equals(value)
+                        || new BigDecimal(converted).compareTo(value.bigDecimalValue()) == 0) {
+                    return converted;
+                }
+                throw mismatch(reader, "double", value);
+            }
+            default:
+                throw mismatch(reader, "double");
+        }
+    }
+
+    public static boolean readBoolean(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.BOOLEAN) {
+            return reader.readBoolean();
+        }
+        throw mismatch(reader, "boolean");
+    }
+
+    public static String readString(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> reader.readString();
+            case SYMBOL -> reader.readSymbol();
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            default -> throw mismatch(reader, "String");
+        };
+    }
+
+    public static long readDateTime(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DATE_TIME -> reader.readDateTime();
+            case INT64 -> reader.readInt64();
+            case TIMESTAMP -> reader.readTimestamp().getTime() * 1000L;
+            default -> throw mismatch(reader, "date");
+        };
+    }
+
+    public static Date readDate(BsonReader reader) {
+        return new Date(readDateTime(reader));
+    }
+
+    public static Instant readInstant(BsonReader reader) {
+        return Instant.ofEpochMilli(readDateTime(reader));
+    }
+
+    public static LocalDateTime readLocalDateTime(BsonReader reader) {
+        return LocalDateTime.ofInstant(readInstant(reader), ZoneOffset.UTC);
+    }
+
+    public static LocalDate readLocalDate(BsonReader reader) {
+        return readLocalDateTime(reader).toLocalDate();
+    }
+
+    public static BigDecimal readBigDecimal(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case DECIMAL128 -> reader.readDecimal128().bigDecimalValue();
+            case STRING -> new BigDecimal(reader.readString());
+            case DOUBLE -> BigDecimal.valueOf(reader.readDouble());
+            case INT32 -> BigDecimal.valueOf(reader.readInt32());
+            case INT64 -> BigDecimal.valueOf(reader.readInt64());
+            default -> throw mismatch(reader, "BigDecimal");
+        };
+    }
+
+    public static ObjectId readObjectId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> reader.readObjectId();
+            case STRING -> new ObjectId(reader.readString());
+            default -> throw mismatch(reader, "ObjectId");
+        };
+    }
+
+    public static byte[] readBytes(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.BINARY) {
+            return reader.readBinaryData().getData();
+        }
+        throw mismatch(reader, "byte[]");
+    }
+
+    public static void writeInstant(BsonWriter writer, Instant value) {
+        writer.writeDateTime(value.toEpochMilli());
+    }
+
+    public static void writeLocalDateTime(BsonWriter writer, LocalDateTime value) {
+        writer.writeDateTime(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    public static void writeLocalDate(BsonWriter writer, LocalDate value) {
+        writer.writeDateTime(value.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+    }
+
+    public static void writeBigDecimal(BsonWriter writer, BigDecimal value) {
+        writer.writeDecimal128(new Decimal128(value));
+    }
+
+    public static void writeBytes(BsonWriter writer, byte[] value) {
+        writer.writeBinaryData(new BsonBinary(value));
+    }
+
+    private static CodecConfigurationException mismatch(BsonReader reader, String target) {
+        return new CodecConfigurationException("cannot read " + reader.getCurrentBsonType() + " as " + target);
+    }
+
+    private static CodecConfigurationException mismatch(BsonReader reader, String target, Object value) {
+        return new CodecConfigurationException("cannot read " + reader.getCurrentBsonType() + " " + value + " as "
+                + target + " without loss");
+    }
+}
@@ -0,0 +1,82 @@
+package com.indigo.framework.mongo.codec;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import org.bson.BsonReader;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title EntityCodec
+ * @description 编译期生成的实体编解码器的基类，字段按序号逐个读写，不使用反射
+ * @create 2026-10-20 13:00
+ */
+public abstract class EntityCodec<T> implements Codec<T> {
+
+    protected final CodecRegistry registry;
+
+    protected EntityCodec(CodecRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 文档字段名，按字段序号排列
+     *
+     * @return 字段名
+     */
+    public abstract List<String> fieldNames();
+
+    /**
+     * 文档字段名对应的序号
+     *
+     * @param name 字段名
+     * @return 序号，不是实体字段时返回 -1
+     */
+    public abstract int ordinal(String name);
+
+    /**
+     * 只解码 include 中标记的字段，其余字段直接跳过，实体中保持默认值
+     *
+     * @param reader  读取器
+     * @param context 解码上下文
+     * @param include 按序号标记需要解码的字段，为 null 时解码全部字段
+     * @return 实体
+     */
+    public abstract T decode(BsonReader reader, DecoderContext context, boolean[] include);
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext context) {
+        return decode(reader, context, null);
+    }
+
+    /**
+     * 创建只读取部分字段的投影
+     *
+     * @param fields 文档字段名
+     * @return 投影编解码器
+     */
+    public ProjectionCodec<T> projection(String... fields) {
+        boolean[] include = new boolean[fieldNames().size()];
+        for (String field : fields) {
+            int ordinal = ordinal(field);
+            AssertUtil.isTrue(ordinal >= 0, "{} has no field {}", getEncoderClass().getSimpleName(), field);
+            include[ordinal] = true;
+        }
+        return new ProjectionCodec<>(this, include, fields);
+    }
+
+    /**
+     * 生成的编解码器类名，嵌套类的 $ 替换为 _
+     *
+     * @param binaryName 实体类的二进制名称
+     * @return 编解码器类名
+     */
+    public static String codecClassName(String binaryName) {
+        int lastDot = binaryName.lastIndexOf('.');
+        return binaryName.substring(0, lastDot + 1) + binaryName.substring(lastDot + 1).replace('$', '_')
+                + "MongoCodec";
+    }
+}
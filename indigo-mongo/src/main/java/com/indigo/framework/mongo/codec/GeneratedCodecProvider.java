@@ -0,0 +1,46 @@
+package com.indigo.framework.mongo.codec;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title GeneratedCodecProvider
+ * @description 为标注 {@link MongoEntity} 的实体提供编译期生成的编解码器，注册表自身会缓存返回的编解码器，这里只在首次获取时加载一次
+ * @create 2026-10-20 13:00
+ */
+public class GeneratedCodecProvider implements CodecProvider {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {
+        if (!clazz.isAnnotationPresent(MongoEntity.class)) {
+            return null;
+        }
+        String codecName = EntityCodec.codecClassName(clazz.getName());
+        try {
+            Class<?> codecClass = Class.forName(codecName, true, clazz.getClassLoader());
+            return (Codec<T>) codecClass.getConstructor(CodecRegistry.class).newInstance(registry);
+        } catch (ClassNotFoundException e) {
+            throw new BaseUnCheckException(codecName + " not found, check that the annotation processor ran",
+                    ERROR.getCode(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new BaseUnCheckException("failed to create " + codecName, ERROR.getCode(), e);
+        }
+    }
+
+    /**
+     * 生成的编解码器优先，其余类型交给原注册表
+     *
+     * @param registry 原注册表
+     * @return 注册表
+     */
+    public static CodecRegistry withGenerated(CodecRegistry registry) {
+        return CodecRegistries.fromRegistries(CodecRegistries.fromProviders(new GeneratedCodecProvider()), registry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.indigo.framework.mongo.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title MongoEntity
+ * @description 标记需要在编译期生成编解码器的实体，生成的类与实体同包，名称为实体名（嵌套类以 _ 连接）加 MongoCodec
+ * @create 2026-10-20 13:00
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MongoEntity {
+}
@@ -0,0 +1,21 @@
+package com.indigo.framework.mongo.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title MongoField
+ * @description 指定字段在文档中的名称，默认与字段名相同，名为 id 的字段默认映射为 _id
+ * @create 2026-10-20 13:00
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.CLASS)
+public @interface MongoField {
+
+    String value();
+}
@@ -0,0 +1,19 @@
+package com.indigo.framework.mongo.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title MongoId
+ * @description 标记映射为 _id 的字段
+ * @create 2026-10-20 13:00
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
+@Retention(RetentionPolicy.CLASS)
+public @interface MongoId {
+}
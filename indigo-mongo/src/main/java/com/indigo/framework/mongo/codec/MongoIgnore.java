@@ -0,0 +1,19 @@
+package com.indigo.framework.mongo.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author 史偕成
+ * @title MongoIgnore
+ * @description 标记不需要持久化的字段，transient 字段同样会被忽略
+ * @create 2026-10-20 13:00
+ */
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.CLASS)
+public @interface MongoIgnore {
+}
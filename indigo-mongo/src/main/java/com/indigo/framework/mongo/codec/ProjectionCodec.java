@@ -0,0 +1,66 @@
+package com.indigo.framework.mongo.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
+
+/**
+ * @author 史偕成
+ * @title ProjectionCodec
+ * @description 投影编解码器，只解码选定的字段，其余字段按长度跳过；{@link #projection()} 同时用于查询，服务端只返回这些字段
+ * <pre>
+ *     ProjectionCodec&lt;Order&gt; summary = orderCodec.projection("status", "amount");
+ *     collection.withDocumentClass(Order.class)
+ *             .withCodecRegistry(CodecRegistries.fromRegistries(CodecRegistries.fromCodecs(summary), registry))
+ *             .find(filter).projection(summary.projection());
+ * </pre>
+ * @create 2026-10-20 13:00
+ */
+public class ProjectionCodec<T> implements Codec<T> {
+
+    private final EntityCodec<T> codec;
+
+    private final boolean[] include;
+
+    private final Document projection;
+
+    ProjectionCodec(EntityCodec<T> codec, boolean[] include, String... fields) {
+        this.codec = codec;
+        this.include = include;
+        this.projection = new Document();
+        for (String field : fields) {
+            projection.append(field, 1);
+        }
+        if (!projection.containsKey("_id")) {
+            projection.append("_id", 0);
+        }
+    }
+
+    /**
+     * 查询使用的投影
+     *
+     * @return 投影
+     */
+    public Bson projection() {
+        return projection;
+    }
+
+    @Override
+    public T decode(BsonReader reader, DecoderContext context) {
+        return codec.decode(reader, context, include);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext context) {
+        codec.encode(writer, value, context);
+    }
+
+    @Override
+    public Class<T> getEncoderClass() {
+        return codec.getEncoderClass();
+    }
+}
@@ -0,0 +1,43 @@
+package com.indigo.framework.mongo.config;
+
+import com.indigo.framework.mongo.bulk.BulkWriterFactory;
+import com.indigo.framework.mongo.codec.GeneratedCodecProvider;
+import com.mongodb.MongoClientSettings;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author 史偕成
+ * @title MongoAutoConfiguration
+ * @description Mongo 自动配置
+ * @create 2026-10-20 12:00
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(MongoProperties.class)
+public class MongoAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BulkWriterFactory bulkWriterFactory(MongoProperties mongoProperties) {
+        return new BulkWriterFactory(mongoProperties.getBulk());
+    }
+
+    /**
+     * 为 Spring Boot 创建的 MongoClient 注册编译期生成的实体编解码器
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MongoClientSettingsBuilderCustomizer.class)
+    static class GeneratedCodecConfiguration {
+
+        @Bean
+        public MongoClientSettingsBuilderCustomizer generatedCodecCustomizer() {
+            return builder -> builder.codecRegistry(
+                    GeneratedCodecProvider.withGenerated(MongoClientSettings.getDefaultCodecRegistry()));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.indigo.framework.mongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @author 史偕成
+ * @title MongoProperties
+ * @description Mongo 配置
+ * @create 2026-10-20 12:00
+ */
+@Data
+@ConfigurationProperties("indigo.mongo")
+public class MongoProperties {
+
+    /**
+     * 批量写入配置
+     */
+    private Bulk bulk = new Bulk();
+
+    @Data
+    public static class Bulk {
+
+        /**
+         * 每批最多操作数，达到后立即提交
+         */
+        private int batchSize = 1000;
+
+        /**
+         * 缓冲中的操作最长等待时间
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * 每个集合同时进行的批量写入数，全部占满时 add 阻塞调用方
+         */
+        private int maxInFlight = 4;
+    }
+}
@@ -0,0 +1,635 @@
+package com.indigo.framework.mongo.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title MongoCodecProcessor
+ * @description 为标注 MongoEntity 的实体生成编解码器，读写均为直接的字段访问或 getter/setter 调用，字段名按 switch 分派，
+ * 不在运行时反射；不支持的字段类型在编译期报错
+ * @create 2026-10-20 13:00
+ */
+@SupportedAnnotationTypes(MongoCodecProcessor.ENTITY)
+public class MongoCodecProcessor extends AbstractProcessor {
+
+    static final String ENTITY = "com.indigo.framework.mongo.codec.MongoEntity";
+
+    private static final String FIELD = "com.indigo.framework.mongo.codec.MongoField";
+
+    private static final String ID = "com.indigo.framework.mongo.codec.MongoId";
+
+    private static final String IGNORE = "com.indigo.framework.mongo.codec.MongoIgnore";
+
+    private Elements elements;
+
+    private Filer filer;
+
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS && element.getKind() != ElementKind.RECORD) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "@MongoEntity only applies to classes and records", element);
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (UnsupportedFieldException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+                } catch (IOException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "failed to write codec: " + e.getMessage(), element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        boolean record = type.getKind() == ElementKind.RECORD;
+        String entity = type.getQualifiedName().toString();
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + "MongoCodec";
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new UnsupportedFieldException("@MongoEntity class must not be private", type);
+        }
+        if (!record && type.getEnclosingElement().getKind() != ElementKind.PACKAGE
+                && !type.getModifiers().contains(Modifier.STATIC)) {
+            throw new UnsupportedFieldException("@MongoEntity nested class must be static", type);
+        }
+        List<Property> properties = record ? recordProperties(type) : classProperties(type);
+
+        // 先生成方法体，嵌套类型用到的编解码器字段在生成过程中收集
+        StringBuilder body = new StringBuilder(4096);
+        writeOrdinal(body, properties);
+        writeEncode(body, entity, properties);
+        writeDecode(body, entity, record, properties);
+        for (Property property : properties) {
+            writeCollectionHelpers(body, property);
+        }
+        for (Property property : properties) {
+            writeCodecAccessors(body, property);
+        }
+
+        StringBuilder out = new StringBuilder(body.length() + 1024);
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        out.append("public final class ").append(simpleName)
+                .append(" extends com.indigo.framework.mongo.codec.EntityCodec<").append(entity).append("> {\n\n");
+        out.append("    private static final java.util.List<String> FIELDS = java.util.List.of(");
+        for (int i = 0; i < properties.size(); i++) {
+            out.append(i == 0 ? "" : ", ").append('"').append(properties.get(i).bsonName).append('"');
+        }
+        out.append(");\n\n");
+        if (!record) {
+            // 文档中的 null 只覆盖引用类型字段，基本类型字段保持默认值
+            out.append("    private static final boolean[] NULLABLE = {");
+            for (int i = 0; i < properties.size(); i++) {
+                out.append(i == 0 ? "" : ", ").append(!properties.get(i).type.getKind().isPrimitive());
+            }
+            out.append("};\n\n");
+        }
+        for (Property property : properties) {
+            for (int i = 0; i < property.codecs.size(); i++) {
+                out.append("    private org.bson.codecs.Codec<").append(property.codecs.get(i)).append("> ")
+                        .append(property.javaName).append("Codec").append(i).append(";\n\n");
+            }
+        }
+        out.append("    public ").append(simpleName).append("(org.bson.codecs.configuration.CodecRegistry registry) {\n")
+                .append("        super(registry);\n    }\n\n");
+        out.append("    @Override\n    public Class<").append(entity).append("> getEncoderClass() {\n")
+                .append("        return ").append(entity).append(".class;\n    }\n\n");
+        out.append("    @Override\n    public java.util.List<String> fieldNames() {\n        return FIELDS;\n    }\n\n");
+        out.append(body);
+        out.append("}\n");
+
+        String qualified = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = filer.createSourceFile(qualified, type).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    private List<Property> recordProperties(TypeElement type) {
+        List<Property> properties = new ArrayList<>();
+        for (RecordComponentElement component : type.getRecordComponents()) {
+            String name = component.getSimpleName().toString();
+            Property property = new Property(name, bsonName(component, name), component.asType(), component);
+            property.getter = name + "()";
+            properties.add(property);
+        }
+        checkDuplicates(properties, type);
+        return properties;
+    }
+
+    private List<Property> classProperties(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            hierarchy.add(0, current);
+        }
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        List<Property> properties = new ArrayList<>();
+        for (TypeElement declaring : hierarchy) {
+            boolean samePackage = elements.getPackageOf(declaring).getQualifiedName().contentEquals(packageName);
+            for (VariableElement field : ElementFilter.fieldsIn(declaring.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)
+                        || annotation(field, IGNORE) != null) {
+                    continue;
+                }
+                if (modifiers.contains(Modifier.FINAL)) {
+                    throw new UnsupportedFieldException("final field cannot be decoded, mark it @MongoIgnore", field);
+                }
+                String name = field.getSimpleName().toString();
+                Property property = new Property(name, bsonName(field, name), field.asType(), field);
+                boolean direct = modifiers.contains(Modifier.PUBLIC)
+                        || samePackage && !modifiers.contains(Modifier.PRIVATE);
+                if (direct) {
+                    property.getter = name;
+                    property.setter = name + " = %s";
+                } else {
+                    String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+                    boolean primitiveBoolean = property.type.getKind() == TypeKind.BOOLEAN;
+                    if (primitiveBoolean && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+                        property.getter = name + "()";
+                        property.setter = "set" + name.substring(2) + "(%s)";
+                    } else {
+                        property.getter = (primitiveBoolean ? "is" : "get") + suffix + "()";
+                        property.setter = "set" + suffix + "(%s)";
+                    }
+                }
+                properties.add(property);
+            }
+        }
+        checkDuplicates(properties, type);
+        return properties;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private void checkDuplicates(List<Property> properties, TypeElement type) {
+        Set<String> names = new HashSet<>();
+        for (Property property : properties) {
+            if (!names.add(property.bsonName)) {
+                throw new UnsupportedFieldException("duplicate document field " + property.bsonName, property.element);
+            }
+        }
+        if (properties.isEmpty()) {
+            throw new UnsupportedFieldException("@MongoEntity has no persistent fields", type);
+        }
+    }
+
+    private String bsonName(Element element, String name) {
+        AnnotationMirror field = annotation(element, FIELD);
+        if (field != null) {
+            return field.getElementValues().values().iterator().next().getValue().toString();
+        }
+        return annotation(element, ID) != null || "id".equals(name) ? "_id" : name;
+    }
+
+    private AnnotationMirror annotation(Element element, String name) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private void writeOrdinal(StringBuilder out, List<Property> properties) {
+        out.append("    @Override\n    public int ordinal(String name) {\n        switch (name) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            out.append("            case \"").append(properties.get(i).bsonName).append("\": return ").append(i).append(";\n");
+        }
+        out.append("            default: return -1;\n        }\n    }\n\n");
+    }
+
+    private void writeEncode(StringBuilder out, String entity, List<Property> properties) {
+        out.append("    @Override\n    public void encode(org.bson.BsonWriter writer, ").append(entity)
+                .append(" value, org.bson.codecs.EncoderContext context) {\n");
+        out.append("        writer.writeStartDocument();\n");
+        // _id 放在文档首位
+        List<Property> ordered = new ArrayList<>(properties);
+        ordered.sort((a, b) -> Boolean.compare(!"_id".equals(a.bsonName), !"_id".equals(b.bsonName)));
+        for (Property property : ordered) {
+            String local = "v_" + property.javaName;
+            out.append("        ").append(render(property.type)).append(' ').append(local).append(" = value.")
+                    .append(property.getter).append(";\n");
+            String indent = "        ";
+            boolean primitive = property.type.getKind().isPrimitive();
+            if (!primitive) {
+                out.append("        if (").append(local).append(" != null) {\n");
+                indent = "            ";
+            }
+            out.append(indent).append("writer.writeName(\"").append(property.bsonName).append("\");\n");
+            out.append(indent).append(writeStatement(property, property.type, local, 0)).append('\n');
+            if (!primitive) {
+                out.append("        }\n");
+            }
+        }
+        out.append("        writer.writeEndDocument();\n    }\n\n");
+    }
+
+    private void writeDecode(StringBuilder out, String entity, boolean record, List<Property> properties) {
+        out.append("    @Override\n    public ").append(entity)
+                .append(" decode(org.bson.BsonReader reader, org.bson.codecs.DecoderContext context, boolean[] include) {\n");
+        for (Property property : properties) {
+            out.append("        ").append(render(property.type)).append(" f_").append(property.javaName).append(" = ")
+                    .append(defaultValue(property.type)).append(";\n");
+        }
+        if (!record) {
+            // 只给文档中读到的字段赋值，缺失或未投影的字段保留实体的初始值
+            out.append("        boolean[] seen = new boolean[").append(properties.size()).append("];\n");
+        }
+        out.append("        reader.readStartDocument();\n");
+        out.append("        while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {\n");
+        out.append("            int ordinal = ordinal(reader.readName());\n");
+        out.append("            if (ordinal < 0 || include != null && !include[ordinal]) {\n");
+        out.append("                reader.skipValue();\n                continue;\n            }\n");
+        out.append("            if (reader.getCurrentBsonType() == org.bson.BsonType.NULL) {\n");
+        out.append("                reader.readNull();\n");
+        if (!record) {
+            out.append("                seen[ordinal] = NULLABLE[ordinal];\n");
+        }
+        out.append("                continue;\n            }\n");
+        out.append("            switch (ordinal) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            out.append("                case ").append(i).append(": f_").append(property.javaName).append(" = ")
+                    .append(readExpression(property, property.type, 0)).append("; break;\n");
+        }
+        out.append("                default: reader.skipValue();\n            }\n");
+        if (!record) {
+            out.append("            seen[ordinal] = true;\n");
+        }
+        out.append("        }\n");
+        out.append("        reader.readEndDocument();\n");
+        if (record) {
+            out.append("        return new ").append(entity).append('(');
+            for (int i = 0; i < properties.size(); i++) {
+                out.append(i == 0 ? "" : ", ").append("f_").append(properties.get(i).javaName);
+            }
+            out.append(");\n    }\n\n");
+            return;
+        }
+        out.append("        ").append(entity).append(" entity = new ").append(entity).append("();\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            out.append("        if (seen[").append(i).append("]) {\n            entity.")
+                    .append(String.format(property.setter, "f_" + property.javaName)).append(";\n        }\n");
+        }
+        out.append("        return entity;\n    }\n\n");
+    }
+
+    private void writeCodecAccessors(StringBuilder out, Property property) {
+        for (int i = 0; i < property.codecs.size(); i++) {
+            String field = property.javaName + "Codec" + i;
+            out.append("    private org.bson.codecs.Codec<").append(property.codecs.get(i)).append("> ").append(field)
+                    .append("() {\n        if (").append(field).append(" == null) {\n            ").append(field)
+                    .append(" = registry.get(").append(property.codecs.get(i)).append(".class);\n        }\n        return ")
+                    .append(field).append(";\n    }\n\n");
+        }
+    }
+
+    private void writeCollectionHelpers(StringBuilder out, Property property) {
+        Kind kind = kind(property.type, property.element);
+        if (kind != Kind.LIST && kind != Kind.SET && kind != Kind.MAP) {
+            return;
+        }
+        TypeMirror element = typeArgument(property.type, kind == Kind.MAP ? 1 : 0);
+        String type = render(property.type);
+        String elementType = render(element);
+        String name = capitalize(property.javaName);
+        out.append("    private ").append(type).append(" read").append(name)
+                .append("(org.bson.BsonReader reader, org.bson.codecs.DecoderContext context) {\n");
+        if (kind == Kind.MAP) {
+            out.append("        ").append(type).append(" result = new java.util.LinkedHashMap<>();\n");
+            out.append("        reader.readStartDocument();\n");
+            out.append("        while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {\n");
+            out.append("            String key = reader.readName();\n");
+            out.append("            if (reader.getCurrentBsonType() == org.bson.BsonType.NULL) {\n");
+            out.append("                reader.readNull();\n                result.put(key, null);\n                continue;\n            }\n");
+            out.append("            result.put(key, ").append(readExpression(property, element, 1)).append(");\n        }\n");
+            out.append("        reader.readEndDocument();\n");
+        } else {
+            out.append("        ").append(type).append(" result = new java.util.")
+                    .append(kind == Kind.LIST ? "ArrayList" : "LinkedHashSet").append("<>();\n");
+            out.append("        reader.readStartArray();\n");
+            out.append("        while (reader.readBsonType() != org.bson.BsonType.END_OF_DOCUMENT) {\n");
+            out.append("            if (reader.getCurrentBsonType() == org.bson.BsonType.NULL) {\n");
+            out.append("                reader.readNull();\n                result.add(null);\n                continue;\n            }\n");
+            out.append("            result.add(").append(readExpression(property, element, 1)).append(");\n        }\n");
+            out.append("        reader.readEndArray();\n");
+        }
+        out.append("        return result;\n    }\n\n");
+
+        out.append("    private void write").append(name).append("(org.bson.BsonWriter writer, ").append(type)
+                .append(" value, org.bson.codecs.EncoderContext context) {\n");
+        if (kind == Kind.MAP) {
+            out.append("        writer.writeStartDocument();\n");
+            out.append("        for (java.util.Map.Entry<String, ").append(elementType).append("> entry : value.entrySet()) {\n");
+            out.append("            writer.writeName(entry.getKey());\n");
+            out.append("            ").append(elementType).append(" element = entry.getValue();\n");
+        } else {
+            out.append("        writer.writeStartArray();\n");
+            out.append("        for (").append(elementType).append(" element : value) {\n");
+        }
+        out.append("            if (element == null) {\n                writer.writeNull();\n            } else {\n");
+        out.append("                ").append(writeStatement(property, element, "element", 1)).append("\n            }\n        }\n");
+        out.append(kind == Kind.MAP ? "        writer.writeEndDocument();\n" : "        writer.writeEndArray();\n");
+        out.append("    }\n\n");
+    }
+
+    private String readExpression(Property property, TypeMirror type, int depth) {
+        Kind kind = kind(type, property.element);
+        return switch (kind) {
+            case INT -> "com.indigo.framework.mongo.codec.CodecSupport.readInt(reader)";
+            case SHORT -> "(short) com.indigo.framework.mongo.codec.CodecSupport.readInt(reader)";
+            case BYTE -> "(byte) com.indigo.framework.mongo.codec.CodecSupport.readInt(reader)";
+            case LONG -> "com.indigo.framework.mongo.codec.CodecSupport.readLong(reader)";
+            case DOUBLE -> "com.indigo.framework.mongo.codec.CodecSupport.readDouble(reader)";
+            case FLOAT -> "(float) com.indigo.framework.mongo.codec.CodecSupport.readDouble(reader)";
+            case BOOLEAN -> "com.indigo.framework.mongo.codec.CodecSupport.readBoolean(reader)";
+            case STRING -> "com.indigo.framework.mongo.codec.CodecSupport.readString(reader)";
+            case DATE -> "com.indigo.framework.mongo.codec.CodecSupport.readDate(reader)";
+            case INSTANT -> "com.indigo.framework.mongo.codec.CodecSupport.readInstant(reader)";
+            case LOCAL_DATE_TIME -> "com.indigo.framework.mongo.codec.CodecSupport.readLocalDateTime(reader)";
+            case LOCAL_DATE -> "com.indigo.framework.mongo.codec.CodecSupport.readLocalDate(reader)";
+            case DECIMAL -> "com.indigo.framework.mongo.codec.CodecSupport.readBigDecimal(reader)";
+            case OBJECT_ID -> "com.indigo.framework.mongo.codec.CodecSupport.readObjectId(reader)";
+            case BYTES -> "com.indigo.framework.mongo.codec.CodecSupport.readBytes(reader)";
+            case ENUM -> render(type) + ".valueOf(reader.readString())";
+            case CODEC -> "context.decodeWithChildContext(" + property.javaName + "Codec"
+                    + codecIndex(property, type) + "(), reader)";
+            case LIST, SET, MAP -> {
+                if (depth > 0) {
+                    throw new UnsupportedFieldException("nested collections are not supported", property.element);
+                }
+                yield "read" + capitalize(property.javaName) + "(reader, context)";
+            }
+        };
+    }
+
+    private String writeStatement(Property property, TypeMirror type, String value, int depth) {
+        Kind kind = kind(type, property.element);
+        return switch (kind) {
+            case INT, SHORT, BYTE -> "writer.writeInt32(" + value + ");";
+            case LONG -> "writer.writeInt64(" + value + ");";
+            case DOUBLE, FLOAT -> "writer.writeDouble(" + value + ");";
+            case BOOLEAN -> "writer.writeBoolean(" + value + ");";
+            case STRING -> "writer.writeString(" + value + ");";
+            case DATE -> "writer.writeDateTime(" + value + ".getTime());";
+            case INSTANT -> "com.indigo.framework.mongo.codec.CodecSupport.writeInstant(writer, " + value + ");";
+            case LOCAL_DATE_TIME -> "com.indigo.framework.mongo.codec.CodecSupport.writeLocalDateTime(writer, " + value + ");";
+            case LOCAL_DATE -> "com.indigo.framework.mongo.codec.CodecSupport.writeLocalDate(writer, " + value + ");";
+            case DECIMAL -> "com.indigo.framework.mongo.codec.CodecSupport.writeBigDecimal(writer, " + value + ");";
+            case OBJECT_ID -> "writer.writeObjectId(" + value + ");";
+            case BYTES -> "com.indigo.framework.mongo.codec.CodecSupport.writeBytes(writer, " + value + ");";
+            case ENUM -> "writer.writeString(" + value + ".name());";
+            case CODEC -> "context.encodeWithChildContext(" + property.javaName + "Codec"
+                    + codecIndex(property, type) + "(), writer, " + value + ");";
+            case LIST, SET, MAP -> {
+                if (depth > 0) {
+                    throw new UnsupportedFieldException("nested collections are not supported", property.element);
+                }
+                yield "write" + capitalize(property.javaName) + "(writer, " + value + ", context);";
+            }
+        };
+    }
+
+    private int codecIndex(Property property, TypeMirror type) {
+        String rendered = render(type);
+        int index = property.codecs.indexOf(rendered);
+        if (index < 0) {
+            property.codecs.add(rendered);
+            index = property.codecs.size() - 1;
+        }
+        return index;
+    }
+
+    private Kind kind(TypeMirror type, Element element) {
+        switch (type.getKind()) {
+            case INT:
+                return Kind.INT;
+            case LONG:
+                return Kind.LONG;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case FLOAT:
+                return Kind.FLOAT;
+            case SHORT:
+                return Kind.SHORT;
+            case BYTE:
+                return Kind.BYTE;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case ARRAY:
+                if (((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE) {
+                    return Kind.BYTES;
+                }
+                throw new UnsupportedFieldException("arrays other than byte[] are not supported, use a List", element);
+            case DECLARED:
+                break;
+            default:
+                throw new UnsupportedFieldException("unsupported field type " + type, element);
+        }
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (typeElement.getKind() == ElementKind.ENUM) {
+            return Kind.ENUM;
+        }
+        switch (typeElement.getQualifiedName().toString()) {
+            case "java.lang.Integer":
+                return Kind.INT;
+            case "java.lang.Long":
+                return Kind.LONG;
+            case "java.lang.Double":
+                return Kind.DOUBLE;
+            case "java.lang.Float":
+                return Kind.FLOAT;
+            case "java.lang.Short":
+                return Kind.SHORT;
+            case "java.lang.Byte":
+                return Kind.BYTE;
+            case "java.lang.Boolean":
+                return Kind.BOOLEAN;
+            case "java.lang.String":
+                return Kind.STRING;
+            case "java.util.Date":
+                return Kind.DATE;
+            case "java.time.Instant":
+                return Kind.INSTANT;
+            case "java.time.LocalDateTime":
+                return Kind.LOCAL_DATE_TIME;
+            case "java.time.LocalDate":
+                return Kind.LOCAL_DATE;
+            case "java.math.BigDecimal":
+                return Kind.DECIMAL;
+            case "org.bson.types.ObjectId":
+                return Kind.OBJECT_ID;
+            case "java.util.List":
+            case "java.util.Collection":
+            case "java.util.ArrayList":
+                checkTypeArguments(type, 1, element);
+                return Kind.LIST;
+            case "java.util.Set":
+            case "java.util.HashSet":
+            case "java.util.LinkedHashSet":
+                checkTypeArguments(type, 1, element);
+                return Kind.SET;
+            case "java.util.Map":
+            case "java.util.HashMap":
+            case "java.util.LinkedHashMap":
+                checkTypeArguments(type, 2, element);
+                if (!render(typeArgument(type, 0)).equals("java.lang.String")) {
+                    throw new UnsupportedFieldException("map keys must be String", element);
+                }
+                return Kind.MAP;
+            default:
+                if (!((DeclaredType) type).getTypeArguments().isEmpty()) {
+                    throw new UnsupportedFieldException("generic field type " + type + " is not supported", element);
+                }
+                return Kind.CODEC;
+        }
+    }
+
+    private void checkTypeArguments(TypeMirror type, int count, Element element) {
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (arguments.size() != count) {
+            throw new UnsupportedFieldException("raw collection type " + type + " is not supported", element);
+        }
+        for (TypeMirror argument : arguments) {
+            if (argument.getKind() != TypeKind.DECLARED) {
+                throw new UnsupportedFieldException("collection element type " + argument + " is not supported", element);
+            }
+        }
+    }
+
+    private TypeMirror typeArgument(TypeMirror type, int index) {
+        return ((DeclaredType) type).getTypeArguments().get(index);
+    }
+
+    /**
+     * 类型的源码形式，不使用 toString 以免带上类型注解
+     */
+    private String render(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return render(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                DeclaredType declared = (DeclaredType) type;
+                StringBuilder name = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+                if (!declared.getTypeArguments().isEmpty()) {
+                    name.append('<');
+                    for (int i = 0; i < declared.getTypeArguments().size(); i++) {
+                        name.append(i == 0 ? "" : ", ").append(render(declared.getTypeArguments().get(i)));
+                    }
+                    name.append('>');
+                }
+                return name.toString();
+            default:
+                return type.getKind().isPrimitive() ? type.getKind().name().toLowerCase() : type.toString();
+        }
+    }
+
+    private String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case INT, LONG, SHORT, BYTE -> "(" + render(type) + ") 0";
+            case DOUBLE, FLOAT -> "(" + render(type) + ") 0.0";
+            default -> "null";
+        };
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private enum Kind {
+        INT, LONG, DOUBLE, FLOAT, SHORT, BYTE, BOOLEAN, STRING, DATE, INSTANT, LOCAL_DATE_TIME, LOCAL_DATE,
+        DECIMAL, OBJECT_ID, BYTES, ENUM, CODEC, LIST, SET, MAP
+    }
+
+    private static class Property {
+
+        private final String javaName;
+
+        private final String bsonName;
+
+        private final TypeMirror type;
+
+        private final Element element;
+
+        private final List<String> codecs = new ArrayList<>();
+
+        private String getter;
+
+        private String setter;
+
+        private Property(String javaName, String bsonName, TypeMirror type, Element element) {
+            this.javaName = javaName;
+            this.bsonName = bsonName;
+            this.type = type;
+            this.element = element;
+        }
+    }
+
+    private static class UnsupportedFieldException extends RuntimeException {
+
+        private final transient Element element;
+
+        private UnsupportedFieldException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
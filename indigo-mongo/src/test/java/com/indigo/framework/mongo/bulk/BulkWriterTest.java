@@ -0,0 +1,189 @@
+package com.indigo.framework.mongo.bulk;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.indigo.framework.mongo.config.MongoProperties;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title BulkWriterTest
+ * @description 批量写入测试：按数量与按时间提交、写入槽位占满时的背压、逐条失败与整批失败
+ * @create 2026-10-21 10:00
+ */
+class BulkWriterTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+            ThreadUtil.newNamedThreadFactory("test-bulk-", true));
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("test-flush-", true));
+
+    private final InMemoryBulkCollection collection = new InMemoryBulkCollection("event");
+
+    private final List<BulkResult> results = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fullBufferIsSubmittedAtBatchSize() {
+        try (BulkWriter writer = writer(collection, 3, Duration.ofHours(1), 2)) {
+            for (int i = 0; i < 7; i++) {
+                writer.insert(new Document("_id", i));
+            }
+            awaitResults(2);
+            assertEquals(1, writer.pending());
+            assertEquals(List.of(3, 3), results.stream().map(BulkResult::submitted).toList());
+        }
+        assertEquals(3, results.size());
+        assertEquals(1, results.get(2).submitted());
+        assertEquals(7, collection.count());
+    }
+
+    @Test
+    void idleBufferIsSubmittedAfterFlushInterval() {
+        try (BulkWriter writer = writer(collection, 1000, Duration.ofMillis(50), 2)) {
+            writer.insert(new Document("_id", 1));
+            writer.upsert(new Document("_id", 2), new Document("$inc", new Document("hits", 1)));
+            awaitResults(1);
+            assertEquals(0, writer.pending());
+        }
+        assertEquals(1, results.size());
+        BulkResult result = results.get(0);
+        assertEquals(2, result.submitted());
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.upserted());
+        assertEquals(1L, collection.findOne(new Document("_id", 2)).get("hits"));
+    }
+
+    @Test
+    void addBlocksWhileAllWritesAreInFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        BulkCollection gated = new BulkCollection() {
+            @Override
+            public String name() {
+                return collection.name();
+            }
+
+            @Override
+            public BulkResult write(List<BulkOperation> operations) {
+                started.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return collection.write(operations);
+            }
+        };
+        try (BulkWriter writer = writer(gated, 1, Duration.ofHours(1), 2)) {
+            writer.insert(new Document("_id", 1));
+            writer.insert(new Document("_id", 2));
+            CompletableFuture<Void> third = CompletableFuture.runAsync(() -> writer.insert(new Document("_id", 3)));
+            assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+            assertEquals(2, started.get());
+
+            release.countDown();
+            third.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(3, started.get());
+        assertEquals(3, collection.count());
+    }
+
+    @Test
+    void documentFailuresAreReportedWithoutFailingTheBatch() {
+        try (BulkWriter writer = writer(collection, 4, Duration.ofHours(1), 1)) {
+            writer.insert(new Document("_id", 1));
+            writer.insert(new Document("_id", 1).append("copy", true));
+            writer.update(new Document("_id", 1), new Document("name", "replacement"));
+            writer.update(new Document("_id", 1), new Document("$set", new Document("name", "first")));
+        }
+        assertEquals(1, results.size());
+        BulkResult result = results.get(0);
+        assertEquals(4, result.submitted());
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.modified());
+        assertEquals(List.of(11000, 9), result.failures().stream().map(BulkFailure::code).toList());
+        assertEquals(new Document("_id", 1).append("name", "first"), collection.findOne(new Document("_id", 1)));
+    }
+
+    @Test
+    void failedRequestFailsEveryOperationAndReleasesItsSlot() {
+        AtomicInteger calls = new AtomicInteger();
+        BulkCollection broken = new BulkCollection() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public BulkResult write(List<BulkOperation> operations) {
+                calls.incrementAndGet();
+                throw new IllegalStateException("connection reset");
+            }
+        };
+        try (BulkWriter writer = writer(broken, 2, Duration.ofHours(1), 1)) {
+            for (int i = 0; i < 6; i++) {
+                writer.insert(new Document("_id", i));
+            }
+        }
+        assertEquals(3, calls.get());
+        assertEquals(3, results.size());
+        for (BulkResult result : results) {
+            assertEquals(2, result.submitted());
+            assertEquals(0, result.inserted());
+            assertEquals(2, result.failures().size());
+            assertTrue(result.failures().stream().allMatch(failure ->
+                    failure.code() == -1 && failure.message().equals("connection reset")));
+        }
+    }
+
+    @Test
+    void closedWriterRejectsOperations() {
+        BulkWriter writer = writer(collection, 10, Duration.ofHours(1), 1);
+        writer.insert(new Document("_id", 1));
+        writer.close();
+        assertEquals(1, collection.count());
+        assertThrows(RuntimeException.class, () -> writer.insert(new Document("_id", 2)));
+        assertFalse(results.get(0).hasFailures());
+    }
+
+    private BulkWriter writer(BulkCollection target, int batchSize, Duration flushInterval, int maxInFlight) {
+        MongoProperties.Bulk properties = new MongoProperties.Bulk();
+        properties.setBatchSize(batchSize);
+        properties.setFlushInterval(flushInterval);
+        properties.setMaxInFlight(maxInFlight);
+        return new BulkWriter(target, results::add, executor, scheduler, properties);
+    }
+
+    private void awaitResults(int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (results.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "expected " + count + " bulk result(s), got " + results.size());
+            ThreadUtil.sleep(10);
+        }
+    }
+}
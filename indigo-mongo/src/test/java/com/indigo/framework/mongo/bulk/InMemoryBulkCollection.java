@@ -0,0 +1,190 @@
+package com.indigo.framework.mongo.bulk;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title InMemoryBulkCollection
+ * @description 内存集合，用于测试
+ * 支持按顶层字段相等匹配的过滤条件与 $set、$setOnInsert、$inc、$unset 更新操作符，_id 重复时返回 11000 错误；
+ * 可设置每批写入的延迟，模拟 Mongo 变慢。
+ * @create 2026-10-20 12:00
+ */
+public class InMemoryBulkCollection implements BulkCollection {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final int FAILED_TO_PARSE = 9;
+
+    private static final Set<String> OPERATORS = Set.of("$set", "$setOnInsert", "$inc", "$unset");
+
+    private final String name;
+
+    private final Map<Object, Document> documents = new LinkedHashMap<>();
+
+    private volatile long latencyMillis;
+
+    public InMemoryBulkCollection(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    /**
+     * 模拟每批写入的耗时
+     *
+     * @param latencyMillis 延迟毫秒数
+     */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public BulkResult write(List<BulkOperation> operations) {
+        long start = System.currentTimeMillis();
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int inserted = 0;
+        int matched = 0;
+        int modified = 0;
+        int upserted = 0;
+        List<BulkFailure> failures = new ArrayList<>();
+        synchronized (documents) {
+            for (BulkOperation operation : operations) {
+                switch (operation.type()) {
+                    case INSERT -> {
+                        Document document = new Document(operation.document());
+                        document.putIfAbsent("_id", new ObjectId());
+                        if (documents.putIfAbsent(document.get("_id"), document) == null) {
+                            inserted++;
+                        } else {
+                            failures.add(new BulkFailure(operation, DUPLICATE_KEY,
+                                    "E11000 duplicate key error, _id: " + document.get("_id")));
+                        }
+                    }
+                    case UPDATE, UPSERT -> {
+                        if (!isUpdate(operation.document())) {
+                            failures.add(new BulkFailure(operation, FAILED_TO_PARSE,
+                                    "update document requires supported atomic operators"));
+                            continue;
+                        }
+                        Document target = find(operation.filter());
+                        if (target != null) {
+                            matched++;
+                            if (apply(target, operation.document(), false)) {
+                                modified++;
+                            }
+                        } else if (operation.type() == BulkOperation.Type.UPSERT) {
+                            Document document = new Document();
+                            operation.filter().forEach((key, value) -> {
+                                if (!key.startsWith("$")) {
+                                    document.put(key, value);
+                                }
+                            });
+                            apply(document, operation.document(), true);
+                            document.putIfAbsent("_id", new ObjectId());
+                            documents.put(document.get("_id"), document);
+                            upserted++;
+                        }
+                    }
+                }
+            }
+        }
+        return new BulkResult(name, operations.size(), inserted, matched, modified, upserted, failures,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 按顶层字段相等查找
+     *
+     * @param filter 过滤条件
+     * @return 第一条匹配的文档的副本，没有时返回 null
+     */
+    public Document findOne(Document filter) {
+        synchronized (documents) {
+            Document document = find(filter);
+            return document == null ? null : new Document(document);
+        }
+    }
+
+    public int count() {
+        synchronized (documents) {
+            return documents.size();
+        }
+    }
+
+    private Document find(Document filter) {
+        if (filter.size() == 1 && filter.containsKey("_id")) {
+            return documents.get(filter.get("_id"));
+        }
+        for (Document document : documents.values()) {
+            if (filter.entrySet().stream().allMatch(entry ->
+                    Objects.equals(document.get(entry.getKey()), entry.getValue()))) {
+                return document;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isUpdate(Document update) {
+        return !update.isEmpty() && OPERATORS.containsAll(update.keySet());
+    }
+
+    private static boolean apply(Document target, Document update, boolean inserting) {
+        boolean changed = false;
+        for (Map.Entry<String, Object> entry : update.entrySet()) {
+            Document fields = (Document) entry.getValue();
+            switch (entry.getKey()) {
+                case "$set" -> {
+                    for (Map.Entry<String, Object> field : fields.entrySet()) {
+                        changed |= !Objects.equals(target.put(field.getKey(), field.getValue()), field.getValue());
+                    }
+                }
+                case "$setOnInsert" -> {
+                    if (inserting) {
+                        target.putAll(fields);
+                        changed = true;
+                    }
+                }
+                case "$inc" -> {
+                    for (Map.Entry<String, Object> field : fields.entrySet()) {
+                        Number current = (Number) target.getOrDefault(field.getKey(), 0);
+                        Number delta = (Number) field.getValue();
+                        if (current instanceof Double || delta instanceof Double) {
+                            target.put(field.getKey(), current.doubleValue() + delta.doubleValue());
+                        } else {
+                            target.put(field.getKey(), current.longValue() + delta.longValue());
+                        }
+                        changed |= delta.doubleValue() != 0;
+                    }
+                }
+                case "$unset" -> {
+                    for (String field : fields.keySet()) {
+                        changed |= target.containsKey(field);
+                        target.remove(field);
+                    }
+                }
+                default -> {
+                    // isUpdate 已校验操作符
+                }
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,138 @@
+package com.indigo.framework.mongo.codec;
+
+import com.mongodb.MongoClientSettings;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecConfigurationException;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author 史偕成
+ * @title EntityCodecTest
+ * @description 编译期生成的编解码器测试：往返、投影、缺失字段保留初始值、有损数值转换报错
+ * @create 2026-10-21 10:00
+ */
+class EntityCodecTest {
+
+    private final CodecRegistry registry = GeneratedCodecProvider.withGenerated(
+            MongoClientSettings.getDefaultCodecRegistry());
+
+    private final EntityCodec<TestOrder> codec = (EntityCodec<TestOrder>) registry.get(TestOrder.class);
+
+    @Test
+    void roundTripsEveryFieldType() {
+        TestOrder order = order();
+
+        BsonDocument document = encode(codec, order);
+        TestOrder decoded = decode(codec, document);
+
+        assertEquals(order, decoded);
+        assertEquals(order.getId(), document.getObjectId("_id").getValue());
+        assertEquals("hello", document.getString("remark_text").getValue());
+        assertFalse(document.containsKey("cached"));
+        assertEquals("_id", document.getFirstKey());
+    }
+
+    @Test
+    void missingAndUnprojectedFieldsKeepInitializers() {
+        BsonDocument document = encode(codec, order());
+        document.remove("status");
+
+        TestOrder missing = decode(codec, document);
+        assertEquals("NEW", missing.getStatus());
+        assertEquals(3, missing.getQuantity());
+
+        ProjectionCodec<TestOrder> projection = codec.projection("amount", "paid");
+        TestOrder projected = projection.decode(new BsonDocumentReader(encode(codec, order())),
+                DecoderContext.builder().build());
+        assertEquals(new BigDecimal("12.50"), projected.getAmount());
+        assertEquals(true, projected.isPaid());
+        assertEquals("NEW", projected.getStatus());
+        assertEquals(1, projected.getQuantity());
+        assertEquals(List.of(), projected.getTags());
+        assertNull(projected.getId());
+        assertEquals(new BsonDocument("amount", new BsonInt32(1)).append("paid", new BsonInt32(1))
+                .append("_id", new BsonInt32(0)), ((org.bson.Document) projection.projection())
+                .toBsonDocument(BsonDocument.class, registry));
+    }
+
+    @Test
+    void explicitNullClearsReferenceButKeepsPrimitiveDefault() {
+        BsonDocument document = new BsonDocument("status", BsonNull.VALUE).append("quantity", BsonNull.VALUE);
+
+        TestOrder decoded = decode(codec, document);
+
+        assertNull(decoded.getStatus());
+        assertEquals(1, decoded.getQuantity());
+    }
+
+    @Test
+    void numbersConvertOnlyWithoutLoss() {
+        assertEquals(7, decode(codec, new BsonDocument("quantity", new BsonInt64(7))).getQuantity());
+        assertEquals(7, decode(codec, new BsonDocument("quantity", new BsonDouble(7.0))).getQuantity());
+        assertEquals(9L, decode(codec, new BsonDocument("version", new BsonDouble(9.0))).getVersion());
+        assertEquals(5.0, decode(codec, new BsonDocument("price", new BsonInt64(5))).getPrice());
+
+        assertLossy(new BsonDocument("quantity", new BsonInt64(1L << 40)));
+        assertLossy(new BsonDocument("quantity", new BsonDouble(7.5)));
+        assertLossy(new BsonDocument("version", new BsonDouble(9.25)));
+        assertLossy(new BsonDocument("version", new BsonDouble(Math.pow(2, 63))));
+        assertLossy(new BsonDocument("price", new BsonInt64((1L << 53) + 1)));
+        assertLossy(new BsonDocument("status", new BsonInt32(1)));
+    }
+
+    private void assertLossy(BsonDocument document) {
+        assertInstanceOf(CodecConfigurationException.class,
+                assertThrows(RuntimeException.class, () -> decode(codec, document)));
+    }
+
+    private static TestOrder order() {
+        TestOrder order = new TestOrder();
+        order.setId(new ObjectId());
+        order.setStatus("PAID");
+        order.setQuantity(3);
+        order.setVersion(1L << 40);
+        order.setPrice(9.99);
+        order.setPaid(true);
+        order.setAmount(new BigDecimal("12.50"));
+        order.setCreatedAt(Instant.ofEpochMilli(1_700_000_000_123L));
+        order.setState(TestOrder.TestStatus.SHIPPED);
+        order.setTags(List.of("a", "b"));
+        order.setCounts(Map.of("x", 1));
+        order.setAddress(new TestAddress("Shanghai", null));
+        order.setRemark("hello");
+        return order;
+    }
+
+    private static <T> BsonDocument encode(Codec<T> codec, T value) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), value, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static <T> T decode(Codec<T> codec, BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
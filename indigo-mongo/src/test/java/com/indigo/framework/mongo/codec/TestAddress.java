@@ -0,0 +1,11 @@
+package com.indigo.framework.mongo.codec;
+
+/**
+ * @author 史偕成
+ * @title TestAddress
+ * @description 编解码测试用的嵌套 record 实体
+ * @create 2026-10-21 10:00
+ */
+@MongoEntity
+public record TestAddress(String city, Integer zip) {
+}
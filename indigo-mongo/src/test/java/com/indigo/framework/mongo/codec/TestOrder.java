@@ -0,0 +1,55 @@
+package com.indigo.framework.mongo.codec;
+
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title TestOrder
+ * @description 编解码测试实体，部分字段带初始值
+ * @create 2026-10-21 10:00
+ */
+@Data
+@MongoEntity
+public class TestOrder {
+
+    private ObjectId id;
+
+    private String status = "NEW";
+
+    private int quantity = 1;
+
+    private long version;
+
+    private double price;
+
+    private boolean paid;
+
+    private BigDecimal amount;
+
+    private Instant createdAt;
+
+    private TestStatus state;
+
+    private List<String> tags = new ArrayList<>();
+
+    private Map<String, Integer> counts;
+
+    private TestAddress address;
+
+    @MongoField("remark_text")
+    private String remark;
+
+    @MongoIgnore
+    private String cached = "cached";
+
+    public enum TestStatus {
+        CREATED, SHIPPED
+    }
+}
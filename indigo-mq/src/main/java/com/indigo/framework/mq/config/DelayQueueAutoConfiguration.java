@@ -0,0 +1,47 @@
+package com.indigo.framework.mq.config;
+
+import com.indigo.framework.databases.batch.BatchWriterFactory;
+import com.indigo.framework.databases.config.DatabasesAutoConfiguration;
+import com.indigo.framework.databases.stream.StreamingQueryTemplate;
+import com.indigo.framework.mq.delay.DelayStore;
+import com.indigo.framework.mq.delay.DelayedMessageHandler;
+import com.indigo.framework.mq.delay.DelayedMessageQueue;
+import com.indigo.framework.mq.delay.JdbcDelayStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * @author 史偕成
+ * @title DelayQueueAutoConfiguration
+ * @description 延迟队列自动配置，indigo.mq.delay.enabled=true 且容器中存在 {@link DelayedMessageHandler} 时生效
+ * @create 2026-10-19 21:00
+ */
+@AutoConfiguration(after = DatabasesAutoConfiguration.class)
+@EnableConfigurationProperties(MqProperties.class)
+@ConditionalOnProperty(prefix = "indigo.mq.delay", name = "enabled", havingValue = "true")
+public class DelayQueueAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "indigo.mq.delay", name = "persistent", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnBean({JdbcTemplate.class, BatchWriterFactory.class, StreamingQueryTemplate.class})
+    public DelayStore delayStore(MqProperties mqProperties, JdbcTemplate jdbcTemplate,
+                                 BatchWriterFactory batchWriterFactory, StreamingQueryTemplate streamingQueryTemplate) {
+        return new JdbcDelayStore(mqProperties.getDelay().getTable(), jdbcTemplate, batchWriterFactory,
+                streamingQueryTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(DelayedMessageHandler.class)
+    public DelayedMessageQueue delayedMessageQueue(DelayedMessageHandler delayedMessageHandler,
+                                                   ObjectProvider<DelayStore> delayStore, MqProperties mqProperties) {
+        return new DelayedMessageQueue(delayedMessageHandler, delayStore.getIfAvailable(), mqProperties.getDelay());
+    }
+}
@@ -0,0 +1,35 @@
+package com.indigo.framework.mq.config;
+
+import com.indigo.framework.mq.consumer.BatchConsumerFactory;
+import com.indigo.framework.mq.consumer.IdempotencyStore;
+import com.indigo.framework.mq.consumer.InMemoryIdempotencyStore;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * @author 史偕成
+ * @title MqAutoConfiguration
+ * @description 消息自动配置
+ * @create 2026-10-19 20:00
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(MqProperties.class)
+public class MqAutoConfiguration {
+
+    /**
+     * 默认使用本地内存，多节点消费同一主题时可替换为共享存储的实现
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public IdempotencyStore idempotencyStore(MqProperties mqProperties) {
+        return new InMemoryIdempotencyStore(mqProperties.getConsumer().getIdempotencyTtl().toMillis());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BatchConsumerFactory batchConsumerFactory(MqProperties mqProperties, IdempotencyStore idempotencyStore) {
+        return new BatchConsumerFactory(mqProperties.getConsumer(), idempotencyStore);
+    }
+}
@@ -0,0 +1,176 @@
+package com.indigo.framework.mq.config;
+
+import com.indigo.framework.mq.consumer.LimitAlgorithm;
+import com.indigo.framework.mq.outbox.OutboxCleanup;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @author 史偕成
+ * @title MqProperties
+ * @description 消息配置
+ * @create 2026-10-19 19:00
+ */
+@Data
+@ConfigurationProperties("indigo.mq")
+public class MqProperties {
+
+    /**
+     * 事务发件箱配置
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * 批量消费者配置
+     */
+    private Consumer consumer = new Consumer();
+
+    /**
+     * 延迟队列配置
+     */
+    private Delay delay = new Delay();
+
+    @Data
+    public static class Outbox {
+
+        /**
+         * 是否开启事务发件箱
+         */
+        private boolean enabled = false;
+
+        /**
+         * 发件箱表
+         */
+        private String table = "indigo_outbox";
+
+        /**
+         * 分区表
+         */
+        private String partitionTable = "indigo_outbox_partition";
+
+        /**
+         * 归档表，cleanup=ARCHIVE 时使用
+         */
+        private String archiveTable = "indigo_outbox_archive";
+
+        /**
+         * 分区数，投递并行度的上限，上线后不应修改
+         */
+        private int partitions = 64;
+
+        /**
+         * 每次认领的分区数
+         */
+        private int claimPartitions = 8;
+
+        /**
+         * 每次投递的最大消息数
+         */
+        private int batchSize = 500;
+
+        /**
+         * 每个节点的投递线程数
+         */
+        private int workers = 1;
+
+        /**
+         * 没有积压时的轮询间隔，本节点事务提交后会立即唤醒
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        /**
+         * 投递失败后的重试间隔
+         */
+        private Duration retryBackoff = Duration.ofSeconds(5);
+
+        /**
+         * 投递成功后的处理方式
+         */
+        private OutboxCleanup cleanup = OutboxCleanup.DELETE;
+    }
+
+    @Data
+    public static class Consumer {
+
+        /**
+         * 每批最多消息数
+         */
+        private int batchSize = 100;
+
+        /**
+         * 并发上限算法
+         */
+        private LimitAlgorithm limit = LimitAlgorithm.GRADIENT;
+
+        /**
+         * 初始并发批次数
+         */
+        private int initialConcurrency = 4;
+
+        /**
+         * 最小并发批次数
+         */
+        private int minConcurrency = 1;
+
+        /**
+         * 最大并发批次数
+         */
+        private int maxConcurrency = 64;
+
+        /**
+         * 单批处理耗时阈值，AIMD 算法超过后缩小并发
+         */
+        private Duration timeout = Duration.ofSeconds(1);
+
+        /**
+         * 拉取等待时间
+         */
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * 幂等记录保留时间，应大于 broker 的最长重投间隔
+         */
+        private Duration idempotencyTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Delay {
+
+        /**
+         * 是否开启延迟队列
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最底层时间轮的刻度，即投递精度
+         */
+        private Duration tick = Duration.ofMillis(10);
+
+        /**
+         * 每层时间轮的槽位数
+         */
+        private int wheelSize = 512;
+
+        /**
+         * 每批投递的最大消息数
+         */
+        private int batchSize = 1000;
+
+        /**
+         * 投递失败后的重试间隔
+         */
+        private Duration retryDelay = Duration.ofSeconds(5);
+
+        /**
+         * 是否持久化到数据库
+         */
+        private boolean persistent = true;
+
+        /**
+         * 持久化表
+         */
+        private String table = "indigo_delayed_message";
+    }
+}
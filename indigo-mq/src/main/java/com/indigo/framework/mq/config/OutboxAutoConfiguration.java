@@ -0,0 +1,57 @@
+package com.indigo.framework.mq.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.mq.outbox.OutboxPublisher;
+import com.indigo.framework.mq.outbox.OutboxRelay;
+import com.indigo.framework.mq.outbox.OutboxWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * @author 史偕成
+ * @title OutboxAutoConfiguration
+ * @description 事务发件箱自动配置，indigo.mq.outbox.enabled=true 时生效；容器中存在 {@link OutboxPublisher} 时启动投递
+ * @create 2026-10-19 19:00
+ */
+@AutoConfiguration(after = {JdbcTemplateAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+@EnableConfigurationProperties({MqProperties.class, DatabasesProperties.class})
+@ConditionalOnProperty(prefix = "indigo.mq.outbox", name = "enabled", havingValue = "true")
+@ConditionalOnBean(JdbcTemplate.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxWriter outboxWriter(JdbcTemplate jdbcTemplate, ObjectProvider<ObjectMapper> objectMapper,
+                                     MqProperties mqProperties) {
+        MqProperties.Outbox outbox = mqProperties.getOutbox();
+        return new OutboxWriter(jdbcTemplate, objectMapper.getIfAvailable(ObjectMapper::new), outbox.getTable(),
+                outbox.getPartitions());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean({OutboxPublisher.class, PlatformTransactionManager.class})
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   OutboxPublisher outboxPublisher, OutboxWriter outboxWriter,
+                                   MqProperties mqProperties, DatabasesProperties databasesProperties) {
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager),
+                outboxPublisher, Dialect.resolve(databasesProperties.getDialect(), jdbcTemplate.getDataSource()),
+                mqProperties.getOutbox());
+        outboxWriter.onCommit(relay::wakeUp);
+        return relay;
+    }
+}
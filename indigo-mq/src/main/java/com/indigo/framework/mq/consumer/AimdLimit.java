@@ -0,0 +1,52 @@
+package com.indigo.framework.mq.consumer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title AimdLimit
+ * @description 加性增、乘性减：处理失败或耗时超过阈值时按比例缩小上限，否则在并发用满时上限加一
+ * @create 2026-10-19 20:00
+ */
+public class AimdLimit implements ConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long timeoutNanos;
+
+    private final double backoffRatio;
+
+    private double limit;
+
+    /**
+     * @param initialLimit 初始上限
+     * @param minLimit     最小上限
+     * @param maxLimit     最大上限
+     * @param timeoutMs    耗时阈值（毫秒），超过视为过载
+     * @param backoffRatio 过载时的缩小比例，(0.5, 1)
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long timeoutMs, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inflight * 2 >= limit) {
+            // 并发没用满时上限增长没有意义
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.indigo.framework.mq.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author 史偕成
+ * @title BatchConsumer
+ * @description 自适应并发的批量消费者
+ * 调度线程在正在处理的批次数低于 {@link ConcurrencyLimit} 给出的上限时拉取一批消息交给工作线程，
+ * 每批处理完后把耗时与结果反馈给上限算法，下游变慢或报错时并发自动收缩，恢复后逐步放大。
+ * 每批消息先按消息键去重：已处理过的直接确认，同一个键正在被其它批次处理的拒绝后重新投递，
+ * 其余交给处理器，成功后先记录幂等键再批量确认，失败则整批拒绝。
+ * @create 2026-10-19 20:00
+ */
+@Slf4j
+public class BatchConsumer implements AutoCloseable {
+
+    private static final AtomicInteger CONSUMER_COUNTER = new AtomicInteger();
+
+    private final String name;
+
+    private final MessageSource source;
+
+    private final BatchMessageHandler handler;
+
+    private final ConcurrencyLimit limit;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final int batchSize;
+
+    private final long pollTimeoutMs;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    /**
+     * 正在处理的消息键
+     */
+    private final Set<String> inflightKeys = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition released = lock.newCondition();
+
+    private final LongAdder processed = new LongAdder();
+
+    private final LongAdder duplicates = new LongAdder();
+
+    private final LongAdder failedBatches = new LongAdder();
+
+    private final ExecutorService workers;
+
+    private Thread dispatcher;
+
+    private volatile boolean running;
+
+    /**
+     * @param source           消息来源
+     * @param handler          批量处理
+     * @param limit            并发上限算法
+     * @param idempotencyStore 幂等存储
+     * @param batchSize        每批最多消息数
+     * @param pollTimeoutMs    拉取等待时间（毫秒）
+     */
+    public BatchConsumer(MessageSource source, BatchMessageHandler handler, ConcurrencyLimit limit,
+                         IdempotencyStore idempotencyStore, int batchSize, long pollTimeoutMs) {
+        this.name = "indigo-consumer-" + CONSUMER_COUNTER.incrementAndGet();
+        this.source = source;
+        this.handler = handler;
+        this.limit = limit;
+        this.idempotencyStore = idempotencyStore;
+        this.batchSize = batchSize;
+        this.pollTimeoutMs = pollTimeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, name + "-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::dispatch, name + "-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                awaitCapacity();
+                List<ConsumedMessage> batch = source.poll(batchSize, pollTimeoutMs, TimeUnit.MILLISECONDS);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                int current = inflight.incrementAndGet();
+                workers.execute(() -> process(batch, current));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("{} poll failed", name, e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void awaitCapacity() throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && inflight.get() >= limit.getLimit()) {
+                released.await(100, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void process(List<ConsumedMessage> batch, int inflightAtStart) {
+        List<ConsumedMessage> accepted = new ArrayList<>(batch.size());
+        List<ConsumedMessage> duplicated = new ArrayList<>();
+        List<ConsumedMessage> deferred = new ArrayList<>();
+        List<String> claimedKeys = new ArrayList<>(batch.size());
+        for (ConsumedMessage message : batch) {
+            String key = message.key();
+            if (key == null) {
+                accepted.add(message);
+            } else if (!inflightKeys.add(key)) {
+                deferred.add(message);
+            } else if (idempotencyStore.contains(key)) {
+                // 先占用键再检查幂等记录：其它批次总是先记录幂等键再释放占用，占用成功后看到的记录一定是最新的
+                inflightKeys.remove(key);
+                duplicated.add(message);
+            } else {
+                claimedKeys.add(key);
+                accepted.add(message);
+            }
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            if (!duplicated.isEmpty()) {
+                duplicates.add(duplicated.size());
+                source.ack(duplicated);
+            }
+            if (!deferred.isEmpty()) {
+                source.nack(deferred);
+            }
+            if (!accepted.isEmpty()) {
+                handler.handle(accepted);
+                claimedKeys.forEach(idempotencyStore::add);
+                source.ack(accepted);
+                processed.add(accepted.size());
+            }
+        } catch (Exception e) {
+            failed = true;
+            failedBatches.increment();
+            log.error("{} handle batch failed, size: {}", name, accepted.size(), e);
+            source.nack(accepted);
+        } finally {
+            claimedKeys.forEach(inflightKeys::remove);
+            limit.onSample(System.nanoTime() - start, inflightAtStart, failed);
+            inflight.decrementAndGet();
+            lock.lock();
+            try {
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(pollTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 停止拉取，等待正在处理的批次完成
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getConcurrencyLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.sum();
+    }
+}
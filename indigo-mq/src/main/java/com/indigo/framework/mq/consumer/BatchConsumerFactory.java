@@ -0,0 +1,59 @@
+package com.indigo.framework.mq.consumer;
+
+import com.indigo.framework.mq.config.MqProperties;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author 史偕成
+ * @title BatchConsumerFactory
+ * @description 按配置创建批量消费者，容器关闭时停止全部消费者
+ * @create 2026-10-19 20:00
+ */
+public class BatchConsumerFactory implements DisposableBean {
+
+    private final MqProperties.Consumer properties;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final List<BatchConsumer> consumers = new CopyOnWriteArrayList<>();
+
+    public BatchConsumerFactory(MqProperties.Consumer properties, IdempotencyStore idempotencyStore) {
+        this.properties = properties;
+        this.idempotencyStore = idempotencyStore;
+    }
+
+    /**
+     * 创建并启动消费者
+     *
+     * @param source  消息来源
+     * @param handler 批量处理
+     * @return 消费者
+     */
+    public BatchConsumer start(MessageSource source, BatchMessageHandler handler) {
+        BatchConsumer consumer = new BatchConsumer(source, handler, newLimit(), idempotencyStore,
+                properties.getBatchSize(), properties.getPollTimeout().toMillis());
+        consumers.add(consumer);
+        consumer.start();
+        return consumer;
+    }
+
+    /**
+     * 每个消费者独立的上限算法实例
+     */
+    private ConcurrencyLimit newLimit() {
+        return switch (properties.getLimit()) {
+            case AIMD -> new AimdLimit(properties.getInitialConcurrency(), properties.getMinConcurrency(),
+                    properties.getMaxConcurrency(), properties.getTimeout().toMillis(), 0.9);
+            case GRADIENT -> new GradientLimit(properties.getInitialConcurrency(), properties.getMinConcurrency(),
+                    properties.getMaxConcurrency(), 100);
+        };
+    }
+
+    @Override
+    public void destroy() {
+        consumers.forEach(BatchConsumer::close);
+    }
+}
@@ -0,0 +1,21 @@
+package com.indigo.framework.mq.consumer;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title BatchMessageHandler
+ * @description 批量消息处理
+ * @create 2026-10-19 20:00
+ */
+@FunctionalInterface
+public interface BatchMessageHandler {
+
+    /**
+     * 处理一批消息，已去除重复消息；抛出异常时整批拒绝并重新投递
+     *
+     * @param messages 消息
+     * @throws Exception 处理失败
+     */
+    void handle(List<ConsumedMessage> messages) throws Exception;
+}
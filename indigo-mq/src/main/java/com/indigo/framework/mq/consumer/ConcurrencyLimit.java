@@ -0,0 +1,26 @@
+package com.indigo.framework.mq.consumer;
+
+/**
+ * @author 史偕成
+ * @title ConcurrencyLimit
+ * @description 并发上限算法，根据每批处理的耗时与结果调整同时处理的批次数
+ * @create 2026-10-19 20:00
+ */
+public interface ConcurrencyLimit {
+
+    /**
+     * 当前并发上限
+     *
+     * @return 上限
+     */
+    int getLimit();
+
+    /**
+     * 记录一次处理结果
+     *
+     * @param rttNanos 处理耗时（纳秒）
+     * @param inflight 开始处理时正在处理的批次数
+     * @param dropped  是否失败
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+}
@@ -0,0 +1,14 @@
+package com.indigo.framework.mq.consumer;
+
+/**
+ * @author 史偕成
+ * @title ConsumedMessage
+ * @description 拉取到的消息
+ * @param key     业务唯一键，用于幂等去重
+ * @param topic   主题
+ * @param payload 消息体
+ * @param receipt broker 的确认凭据（如 offset、receipt handle），由 {@link MessageSource} 自行解释
+ * @create 2026-10-19 20:00
+ */
+public record ConsumedMessage(String key, String topic, String payload, Object receipt) {
+}
@@ -0,0 +1,69 @@
+package com.indigo.framework.mq.consumer;
+
+/**
+ * @author 史偕成
+ * @title GradientLimit
+ * @description 梯度算法：以长期平均耗时为基准，当前耗时升高说明下游开始排队，按比值（梯度）缩小上限；
+ * 耗时平稳时每次增加 sqrt(limit) 的排队余量探测更高的并发。长期平均远高于当前耗时时向下修正，避免基准漂移
+ * @create 2026-10-19 20:00
+ */
+public class GradientLimit implements ConcurrencyLimit {
+
+    /**
+     * 允许耗时相对基准升高的倍数
+     */
+    private static final double TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    /**
+     * 长期平均耗时的衰减系数，对应约 window 个样本
+     */
+    private final double longWindowFactor;
+
+    private double limit;
+
+    private double longRtt;
+
+    /**
+     * @param initialLimit 初始上限
+     * @param minLimit     最小上限
+     * @param maxLimit     最大上限
+     * @param longWindow   长期平均耗时的样本窗口
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, int longWindow) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.longWindowFactor = 2.0 / (longWindow + 1);
+    }
+
+    @Override
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * 0.9);
+            return;
+        }
+        double rtt = rttNanos;
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * longWindowFactor;
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inflight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / rtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,25 @@
+package com.indigo.framework.mq.consumer;
+
+/**
+ * @author 史偕成
+ * @title IdempotencyStore
+ * @description 幂等存储，记录已处理的消息键，记录在 TTL 后过期
+ * @create 2026-10-19 20:00
+ */
+public interface IdempotencyStore {
+
+    /**
+     * 是否已处理
+     *
+     * @param key 消息键
+     * @return 是否已处理
+     */
+    boolean contains(String key);
+
+    /**
+     * 标记为已处理
+     *
+     * @param key 消息键
+     */
+    void add(String key);
+}
@@ -0,0 +1,199 @@
+package com.indigo.framework.mq.consumer;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title InMemoryIdempotencyStore
+ * @description 内存幂等存储
+ * 只保存消息键的 64 位哈希，开放寻址表负载不超过 0.6，每个键约占 16~26 字节；按哈希分段加锁。
+ * 每段按时间分代，新键写入当前代，每隔 ttl / (GENERATIONS - 1) 轮换一次并清空最老的一代，
+ * 因此记录至少保留 ttl，最多保留 ttl 加一个轮换周期，不需要逐条维护过期时间。
+ * 64 位哈希冲突会把未处理的消息误判为重复，概率约为 n² / 2^65，百万级键时可以忽略。
+ * @create 2026-10-19 20:00
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final int GENERATIONS = 4;
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * @param ttlMs 记录保留时间（毫秒）
+     */
+    public InMemoryIdempotencyStore(long ttlMs) {
+        long rotateNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs) / (GENERATIONS - 1);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(rotateNanos);
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        long hash = hash(key);
+        return segmentOf(hash).contains(hash);
+    }
+
+    @Override
+    public void add(String key) {
+        long hash = hash(key);
+        segmentOf(hash).add(hash);
+    }
+
+    /**
+     * 当前保存的键数（含未清理的过期键）
+     *
+     * @return 键数
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) (hash >>> 60) & (SEGMENTS - 1)];
+    }
+
+    /**
+     * 0 是空槽位标记
+     */
+    private static long hash(String key) {
+        long hash = MurmurHash.hash64(key);
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static final class Segment {
+
+        private final long rotateNanos;
+
+        private final LongSet[] generations = new LongSet[GENERATIONS];
+
+        private int current;
+
+        private long rotatedAt = System.nanoTime();
+
+        private Segment(long rotateNanos) {
+            this.rotateNanos = rotateNanos;
+            for (int i = 0; i < GENERATIONS; i++) {
+                generations[i] = new LongSet();
+            }
+        }
+
+        synchronized boolean contains(long hash) {
+            rotate();
+            for (LongSet generation : generations) {
+                if (generation.contains(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(long hash) {
+            rotate();
+            generations[current].add(hash);
+        }
+
+        synchronized long size() {
+            long size = 0;
+            for (LongSet generation : generations) {
+                size += generation.size;
+            }
+            return size;
+        }
+
+        private void rotate() {
+            long now = System.nanoTime();
+            int steps = 0;
+            while (now - rotatedAt >= rotateNanos && steps < GENERATIONS) {
+                current = (current + 1) % GENERATIONS;
+                generations[current].clear();
+                rotatedAt += rotateNanos;
+                steps++;
+            }
+            if (now - rotatedAt >= rotateNanos) {
+                rotatedAt = now;
+            }
+        }
+    }
+
+    /**
+     * 开放寻址的 long 集合，线性探测，负载超过 0.6 时扩容
+     */
+    private static final class LongSet {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] table = new long[INITIAL_CAPACITY];
+
+        private int size;
+
+        boolean contains(long hash) {
+            int mask = table.length - 1;
+            for (int i = mix(hash) & mask; ; i = (i + 1) & mask) {
+                long value = table[i];
+                if (value == hash) {
+                    return true;
+                }
+                if (value == 0) {
+                    return false;
+                }
+            }
+        }
+
+        void add(long hash) {
+            if ((size + 1) * 5 > table.length * 3) {
+                resize(table.length << 1);
+            }
+            if (insert(table, hash)) {
+                size++;
+            }
+        }
+
+        void clear() {
+            if (table.length > INITIAL_CAPACITY && size * 4 < table.length) {
+                // 上一轮的量明显变少时释放内存
+                table = new long[Math.max(INITIAL_CAPACITY, Integer.highestOneBit(size * 2 + 1) << 1)];
+            } else {
+                Arrays.fill(table, 0);
+            }
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] resized = new long[capacity];
+            for (long value : table) {
+                if (value != 0) {
+                    insert(resized, value);
+                }
+            }
+            table = resized;
+        }
+
+        private static boolean insert(long[] table, long hash) {
+            int mask = table.length - 1;
+            for (int i = mix(hash) & mask; ; i = (i + 1) & mask) {
+                long value = table[i];
+                if (value == hash) {
+                    return false;
+                }
+                if (value == 0) {
+                    table[i] = hash;
+                    return true;
+                }
+            }
+        }
+
+        private static int mix(long hash) {
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.indigo.framework.mq.consumer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author 史偕成
+ * @title InMemoryMessageSource
+ * @description 内存中的 broker 替身，用于本地调试与压测消费者：
+ * 拉取后的消息进入待确认状态，拒绝的消息放回队首重新投递，同一个键发送多次可以模拟重复投递
+ * @create 2026-10-19 20:00
+ */
+public class InMemoryMessageSource implements MessageSource {
+
+    private final LinkedBlockingDeque<ConsumedMessage> queue = new LinkedBlockingDeque<>();
+
+    private final Map<Object, ConsumedMessage> unacked = new ConcurrentHashMap<>();
+
+    private final AtomicLong receipts = new AtomicLong();
+
+    private final LongAdder acked = new LongAdder();
+
+    private final LongAdder redelivered = new LongAdder();
+
+    /**
+     * 发送消息
+     *
+     * @param topic   主题
+     * @param key     业务唯一键
+     * @param payload 消息体
+     */
+    public void send(String topic, String key, String payload) {
+        queue.offer(new ConsumedMessage(key, topic, payload, receipts.incrementAndGet()));
+    }
+
+    @Override
+    public List<ConsumedMessage> poll(int maxMessages, long timeout, TimeUnit unit) throws InterruptedException {
+        ConsumedMessage first = queue.poll(timeout, unit);
+        if (first == null) {
+            return List.of();
+        }
+        List<ConsumedMessage> messages = new ArrayList<>(maxMessages);
+        messages.add(first);
+        queue.drainTo(messages, maxMessages - 1);
+        messages.forEach(message -> unacked.put(message.receipt(), message));
+        return messages;
+    }
+
+    @Override
+    public void ack(List<ConsumedMessage> messages) {
+        for (ConsumedMessage message : messages) {
+            if (unacked.remove(message.receipt()) != null) {
+                acked.increment();
+            }
+        }
+    }
+
+    @Override
+    public void nack(List<ConsumedMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            ConsumedMessage message = messages.get(i);
+            if (unacked.remove(message.receipt()) != null) {
+                redelivered.increment();
+                queue.offerFirst(message);
+            }
+        }
+    }
+
+    /**
+     * 待拉取的消息数
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * 已拉取未确认的消息数
+     */
+    public int unacked() {
+        return unacked.size();
+    }
+
+    public long ackedCount() {
+        return acked.sum();
+    }
+
+    public long redeliveredCount() {
+        return redelivered.sum();
+    }
+}
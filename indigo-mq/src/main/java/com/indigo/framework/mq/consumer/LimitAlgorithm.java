@@ -0,0 +1,20 @@
+package com.indigo.framework.mq.consumer;
+
+/**
+ * @author 史偕成
+ * @title LimitAlgorithm
+ * @description 并发上限算法
+ * @create 2026-10-19 20:00
+ */
+public enum LimitAlgorithm {
+
+    /**
+     * {@link AimdLimit}
+     */
+    AIMD,
+
+    /**
+     * {@link GradientLimit}
+     */
+    GRADIENT
+}
@@ -0,0 +1,38 @@
+package com.indigo.framework.mq.consumer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title MessageSource
+ * @description 消息来源，对接具体 broker 的拉取与批量确认，需要支持多线程并发调用
+ * @create 2026-10-19 20:00
+ */
+public interface MessageSource {
+
+    /**
+     * 拉取消息，没有消息时最多等待 timeout
+     *
+     * @param maxMessages 最多拉取条数
+     * @param timeout     等待时间
+     * @param unit        时间单位
+     * @return 消息，可以为空
+     * @throws InterruptedException 等待被中断
+     */
+    List<ConsumedMessage> poll(int maxMessages, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * 批量确认
+     *
+     * @param messages 处理成功或重复的消息
+     */
+    void ack(List<ConsumedMessage> messages);
+
+    /**
+     * 批量拒绝，消息稍后重新投递
+     *
+     * @param messages 处理失败的消息
+     */
+    void nack(List<ConsumedMessage> messages);
+}
@@ -0,0 +1,34 @@
+package com.indigo.framework.mq.delay;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title DelayStore
+ * @description 待投递消息的持久化，进程重启后从中恢复时间轮
+ * @create 2026-10-19 21:00
+ */
+public interface DelayStore {
+
+    /**
+     * 保存或更新消息，实现可以攒批异步写入
+     *
+     * @param message 消息
+     */
+    void save(DelayedMessage message);
+
+    /**
+     * 删除已投递或已取消的消息
+     *
+     * @param ids 消息 ID
+     */
+    void delete(List<Long> ids);
+
+    /**
+     * 逐条加载全部待投递消息
+     *
+     * @param consumer 消息回调
+     */
+    void load(Consumer<DelayedMessage> consumer);
+}
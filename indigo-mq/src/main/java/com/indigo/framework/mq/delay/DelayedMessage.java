@@ -0,0 +1,33 @@
+package com.indigo.framework.mq.delay;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author 史偕成
+ * @title DelayedMessage
+ * @description 延迟消息
+ * @create 2026-10-19 21:00
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DelayedMessage {
+
+    /**
+     * 雪花 ID，用于取消
+     */
+    private long id;
+
+    private String topic;
+
+    private String key;
+
+    private String payload;
+
+    /**
+     * 投递时间（毫秒时间戳）
+     */
+    private long deliverAt;
+}
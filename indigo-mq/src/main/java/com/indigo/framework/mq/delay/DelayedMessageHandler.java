@@ -0,0 +1,21 @@
+package com.indigo.framework.mq.delay;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title DelayedMessageHandler
+ * @description 到期消息的投递，通常转发到消息中间件或直接执行业务
+ * @create 2026-10-19 21:00
+ */
+@FunctionalInterface
+public interface DelayedMessageHandler {
+
+    /**
+     * 投递一批到期消息，抛出异常时整批延后重试，因此投递语义为至少一次
+     *
+     * @param messages 到期消息
+     * @throws Exception 投递失败
+     */
+    void deliver(List<DelayedMessage> messages) throws Exception;
+}
@@ -0,0 +1,261 @@
+package com.indigo.framework.mq.delay;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.core.utils.IdUtil;
+import com.indigo.framework.mq.config.MqProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * @author 史偕成
+ * @title DelayedMessageQueue
+ * @description 基于分层时间轮的延迟消息队列
+ * 调度与取消 O(1)，投递线程只在最近的非空槽位到期时醒来，推进时钟并把到期消息攒成批次交给
+ * {@link DelayedMessageHandler}；投递成功后从 {@link DelayStore} 批量删除，失败则整批延后重试。
+ * 调度时异步写入存储，启动时从存储恢复，重启前未落盘的消息（最多一个刷新间隔）会丢失。
+ * 每个定时任务在消息对象之外占用一个槽位链表节点与一条取消索引（ID -> 节点）。
+ * 投递时间按 tick 向上取整，消息不会早于投递时间到达，最多晚一个 tick 加上投递耗时。
+ * @create 2026-10-19 21:00
+ */
+@Slf4j
+public class DelayedMessageQueue implements SmartLifecycle {
+
+    private final DelayedMessageHandler handler;
+
+    private final DelayStore store;
+
+    private final long tickMs;
+
+    private final int batchSize;
+
+    private final long retryDelayMs;
+
+    private final DelayQueue<TimerBucket> delayQueue = new DelayQueue<>();
+
+    private final Map<Long, TimerTaskEntry> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * 调度持读锁可以并发，推进时钟持写锁
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<TimerTaskEntry> due = new ArrayList<>();
+
+    private final TimingWheel wheel;
+
+    private Thread driver;
+
+    private volatile boolean running;
+
+    /**
+     * @param handler    到期投递
+     * @param store      持久化存储，为 null 时不持久化
+     * @param properties 延迟队列配置
+     */
+    public DelayedMessageQueue(DelayedMessageHandler handler, DelayStore store, MqProperties.Delay properties) {
+        this.handler = handler;
+        this.store = store;
+        this.tickMs = properties.getTick().toMillis();
+        this.batchSize = properties.getBatchSize();
+        this.retryDelayMs = properties.getRetryDelay().toMillis();
+        this.wheel = new TimingWheel(tickMs, properties.getWheelSize(), System.currentTimeMillis(), delayQueue);
+    }
+
+    /**
+     * 调度延迟消息
+     *
+     * @param topic   主题
+     * @param key     消息键
+     * @param payload 消息体
+     * @param delay   延迟
+     * @return 消息 ID，用于取消
+     */
+    public long schedule(String topic, String key, String payload, Duration delay) {
+        return scheduleAt(topic, key, payload, System.currentTimeMillis() + delay.toMillis());
+    }
+
+    /**
+     * 调度在指定时间投递的消息
+     *
+     * @param topic     主题
+     * @param key       消息键
+     * @param payload   消息体
+     * @param deliverAt 投递时间（毫秒时间戳）
+     * @return 消息 ID，用于取消
+     */
+    public long scheduleAt(String topic, String key, String payload, long deliverAt) {
+        AssertUtil.nonStr(topic, "delayed message topic must not be blank");
+        DelayedMessage message = new DelayedMessage(IdUtil.nextId(), topic, key, payload, deliverAt);
+        if (store != null) {
+            store.save(message);
+        }
+        add(message);
+        return message.getId();
+    }
+
+    /**
+     * 取消尚未投递的消息
+     *
+     * @param id 消息 ID
+     * @return 是否取消成功，已投递或不存在时返回 false
+     */
+    public boolean cancel(long id) {
+        TimerTaskEntry entry = tasks.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.cancelled = true;
+        entry.remove();
+        if (store != null) {
+            store.delete(List.of(id));
+        }
+        return true;
+    }
+
+    /**
+     * 待投递的消息数
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    private void add(DelayedMessage message) {
+        TimerTaskEntry entry = new TimerTaskEntry(message, tickMs);
+        tasks.put(message.getId(), entry);
+        lock.readLock().lock();
+        try {
+            if (!wheel.add(entry) && !entry.cancelled) {
+                // 已到期，由投递线程在下一个刻度统一投递
+                synchronized (due) {
+                    due.add(entry);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addOrExpire(TimerTaskEntry entry) {
+        if (!wheel.add(entry) && !entry.cancelled) {
+            synchronized (due) {
+                due.add(entry);
+            }
+        }
+    }
+
+    /**
+     * 等待最近的槽位到期并推进时钟，返回到期的消息
+     */
+    private List<TimerTaskEntry> advance(long timeoutMs) throws InterruptedException {
+        TimerBucket bucket = delayQueue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (bucket != null) {
+            lock.writeLock().lock();
+            try {
+                while (bucket != null) {
+                    wheel.advanceClock(bucket.getExpiration());
+                    bucket.flush(this::addOrExpire);
+                    bucket = delayQueue.poll();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        synchronized (due) {
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            List<TimerTaskEntry> expired = new ArrayList<>(due);
+            due.clear();
+            return expired;
+        }
+    }
+
+    private void drive() {
+        while (running) {
+            try {
+                List<TimerTaskEntry> expired = advance(tickMs);
+                for (int from = 0; from < expired.size(); from += batchSize) {
+                    deliver(expired.subList(from, Math.min(expired.size(), from + batchSize)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("delayed message queue failed", e);
+            }
+        }
+    }
+
+    private void deliver(List<TimerTaskEntry> entries) {
+        List<DelayedMessage> messages = new ArrayList<>(entries.size());
+        for (TimerTaskEntry entry : entries) {
+            // 取消与到期竞争时以取消为准
+            if (tasks.remove(entry.message.getId(), entry)) {
+                messages.add(entry.message);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            handler.deliver(messages);
+        } catch (Exception e) {
+            log.error("deliver delayed messages failed, size: {}, retry after {} ms", messages.size(), retryDelayMs, e);
+            long retryAt = System.currentTimeMillis() + retryDelayMs;
+            for (DelayedMessage message : messages) {
+                message.setDeliverAt(retryAt);
+                if (store != null) {
+                    store.save(message);
+                }
+                add(message);
+            }
+            return;
+        }
+        if (store != null) {
+            store.delete(messages.stream().map(DelayedMessage::getId).toList());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (store != null) {
+            long[] loaded = new long[1];
+            store.load(message -> {
+                add(message);
+                loaded[0]++;
+            });
+            log.info("delayed message queue recovered {} messages", loaded[0]);
+        }
+        running = true;
+        driver = new Thread(this::drive, "indigo-delay-queue");
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (driver != null) {
+            driver.interrupt();
+            try {
+                driver.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,97 @@
+package com.indigo.framework.mq.delay;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title TimerBucket
+ * @description 时间轮槽位，持有同一到期时间段的任务链表；非空槽位放入 DelayQueue，
+ * 推进时钟只需等待最近到期的槽位，不会空转没有任务的刻度
+ * @create 2026-10-19 21:00
+ */
+final class TimerBucket implements Delayed {
+
+    /**
+     * 哨兵节点
+     */
+    private final TimerTaskEntry root = new TimerTaskEntry();
+
+    private final AtomicLong expiration = new AtomicLong(-1);
+
+    TimerBucket() {
+        root.next = root;
+        root.prev = root;
+    }
+
+    /**
+     * 设置到期时间
+     *
+     * @return 到期时间是否变化，变化时需要重新放入 DelayQueue
+     */
+    boolean setExpiration(long expirationMs) {
+        return expiration.getAndSet(expirationMs) != expirationMs;
+    }
+
+    long getExpiration() {
+        return expiration.get();
+    }
+
+    void add(TimerTaskEntry entry) {
+        boolean done = false;
+        while (!done) {
+            // 任务可能仍在其它槽位中，先摘除
+            entry.remove();
+            synchronized (this) {
+                synchronized (entry) {
+                    if (entry.bucket == null) {
+                        TimerTaskEntry tail = root.prev;
+                        entry.next = root;
+                        entry.prev = tail;
+                        entry.bucket = this;
+                        tail.next = entry;
+                        root.prev = entry;
+                        done = true;
+                    }
+                }
+            }
+        }
+    }
+
+    synchronized void remove(TimerTaskEntry entry) {
+        synchronized (entry) {
+            if (entry.bucket == this) {
+                entry.next.prev = entry.prev;
+                entry.prev.next = entry.next;
+                entry.next = null;
+                entry.prev = null;
+                entry.bucket = null;
+            }
+        }
+    }
+
+    /**
+     * 取出全部任务并重置到期时间，任务由调用方重新放入低层时间轮或判定到期
+     */
+    synchronized void flush(Consumer<TimerTaskEntry> consumer) {
+        TimerTaskEntry head = root.next;
+        while (head != root) {
+            remove(head);
+            consumer.accept(head);
+            head = root.next;
+        }
+        expiration.set(-1);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(Math.max(getExpiration() - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getExpiration(), ((TimerBucket) other).getExpiration());
+    }
+}
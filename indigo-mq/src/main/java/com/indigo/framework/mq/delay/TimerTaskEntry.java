@@ -0,0 +1,53 @@
+package com.indigo.framework.mq.delay;
+
+/**
+ * @author 史偕成
+ * @title TimerTaskEntry
+ * @description 时间轮中的定时任务，同时是所在槽位双向链表的节点，取消时 O(1) 摘除
+ * @create 2026-10-19 21:00
+ */
+final class TimerTaskEntry {
+
+    final DelayedMessage message;
+
+    /**
+     * 投递时间向上取整到最底层刻度边界；槽位按起点到期，取整后槽位到期时其中的任务都已到投递时间，不会提前投递
+     */
+    private final long deadline;
+
+    volatile TimerBucket bucket;
+
+    volatile boolean cancelled;
+
+    TimerTaskEntry prev;
+
+    TimerTaskEntry next;
+
+    /**
+     * 槽位链表的哨兵节点
+     */
+    TimerTaskEntry() {
+        this.message = null;
+        this.deadline = 0;
+    }
+
+    TimerTaskEntry(DelayedMessage message, long tickMs) {
+        this.message = message;
+        this.deadline = -Math.floorDiv(-message.getDeliverAt(), tickMs) * tickMs;
+    }
+
+    long deadline() {
+        return deadline;
+    }
+
+    /**
+     * 从所在槽位摘除；槽位正在迁移时 bucket 会变化，重试直到摘除
+     */
+    void remove() {
+        TimerBucket current = bucket;
+        while (current != null) {
+            current.remove(this);
+            current = bucket;
+        }
+    }
+}
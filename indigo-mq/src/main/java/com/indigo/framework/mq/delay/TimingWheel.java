@@ -0,0 +1,94 @@
+package com.indigo.framework.mq.delay;
+
+import java.util.concurrent.DelayQueue;
+
+/**
+ * @author 史偕成
+ * @title TimingWheel
+ * @description 分层时间轮
+ * 每层 wheelSize 个槽位，每个槽位跨 tickMs；超出本层范围的任务放入上一层（刻度为本层一圈），
+ * 上层槽位到期时其中的任务重新放入下层，逐层降级直到落入最底层槽位到期。
+ * 添加与取消均为 O(1)，层数随最长延迟对数增长，溢出层按需创建。
+ * @create 2026-10-19 21:00
+ */
+final class TimingWheel {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final long interval;
+
+    private final TimerBucket[] buckets;
+
+    private final DelayQueue<TimerBucket> queue;
+
+    /**
+     * 当前时间，按 tickMs 向下取整
+     */
+    private long currentTime;
+
+    private volatile TimingWheel overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs, DelayQueue<TimerBucket> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new TimerBucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerBucket();
+        }
+    }
+
+    /**
+     * 添加任务
+     *
+     * @return false 表示任务已取消或已到期
+     */
+    boolean add(TimerTaskEntry entry) {
+        long expiration = entry.deadline();
+        if (entry.cancelled) {
+            return false;
+        }
+        if (expiration < currentTime + tickMs) {
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickMs;
+            TimerBucket bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.add(entry);
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                // 槽位被复用为新的时间段，需要重新入队
+                queue.offer(bucket);
+            }
+            return true;
+        }
+        return overflowWheel().add(entry);
+    }
+
+    void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            TimingWheel overflow = overflowWheel;
+            if (overflow != null) {
+                overflow.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel overflowWheel() {
+        TimingWheel overflow = overflowWheel;
+        if (overflow == null) {
+            synchronized (this) {
+                overflow = overflowWheel;
+                if (overflow == null) {
+                    overflow = new TimingWheel(interval, wheelSize, currentTime, queue);
+                    overflowWheel = overflow;
+                }
+            }
+        }
+        return overflow;
+    }
+}
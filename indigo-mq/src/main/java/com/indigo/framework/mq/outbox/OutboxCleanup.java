@@ -0,0 +1,20 @@
+package com.indigo.framework.mq.outbox;
+
+/**
+ * @author 史偕成
+ * @title OutboxCleanup
+ * @description 投递成功后发件箱消息的处理方式
+ * @create 2026-10-19 19:00
+ */
+public enum OutboxCleanup {
+
+    /**
+     * 直接删除
+     */
+    DELETE,
+
+    /**
+     * 移入归档表后删除
+     */
+    ARCHIVE
+}
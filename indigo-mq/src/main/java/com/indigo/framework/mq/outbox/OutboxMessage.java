@@ -0,0 +1,46 @@
+package com.indigo.framework.mq.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author 史偕成
+ * @title OutboxMessage
+ * @description 发件箱消息
+ * @create 2026-10-19 19:00
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    /**
+     * 雪花 ID，同一分区内按 ID 顺序投递
+     */
+    private long id;
+
+    /**
+     * 分区，由消息键的哈希决定
+     */
+    private int partition;
+
+    /**
+     * 主题
+     */
+    private String topic;
+
+    /**
+     * 消息键（通常是聚合根 ID），同一个键的消息按写入顺序投递
+     */
+    private String key;
+
+    /**
+     * 消息体
+     */
+    private String payload;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.indigo.framework.mq.outbox;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title OutboxPublisher
+ * @description 将发件箱消息投递到消息中间件，由业务按所用的 MQ 实现
+ * @create 2026-10-19 19:00
+ */
+@FunctionalInterface
+public interface OutboxPublisher {
+
+    /**
+     * 投递一批消息。
+     * 同一个键的消息在列表中按写入顺序排列，实现需要保证它们按列表顺序到达 broker；
+     * 抛出异常时整批消息保留在发件箱中稍后重试，因此投递语义为至少一次，消费端需要幂等
+     *
+     * @param messages 消息
+     * @throws Exception 投递失败
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
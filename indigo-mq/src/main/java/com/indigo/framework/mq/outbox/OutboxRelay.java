@@ -0,0 +1,290 @@
+package com.indigo.framework.mq.outbox;
+
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.mq.config.MqProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title OutboxRelay
+ * @description 发件箱投递
+ * 消息按键哈希分到固定数量的分区，投递线程在一个事务内用 SELECT ... FOR UPDATE SKIP LOCKED 认领若干分区，
+ * 按 ID 顺序取出这些分区的一批消息投递，成功后批量删除（或归档）再提交事务。
+ * 分区锁持有到事务结束，同一分区同一时刻只有一个线程在投递，因此同一个键的消息有序；
+ * 其它节点跳过已锁定的分区认领剩余分区，吞吐随节点数增长，上限为分区数。
+ * 投递失败时事务回滚，消息留在发件箱中，退避后重试。
+ * <pre>
+ * CREATE TABLE indigo_outbox (
+ *     id           BIGINT       NOT NULL PRIMARY KEY,
+ *     partition_id INT          NOT NULL,
+ *     topic        VARCHAR(255) NOT NULL,
+ *     message_key  VARCHAR(255),
+ *     payload      TEXT         NOT NULL,
+ *     created_at   TIMESTAMP    NOT NULL
+ * );
+ * CREATE INDEX idx_indigo_outbox_partition ON indigo_outbox (partition_id, id);
+ * CREATE TABLE indigo_outbox_partition (
+ *     partition_id INT       NOT NULL PRIMARY KEY,
+ *     claimed_at   TIMESTAMP NOT NULL
+ * );
+ * -- cleanup=ARCHIVE 时需要
+ * CREATE TABLE indigo_outbox_archive (
+ *     id           BIGINT       NOT NULL PRIMARY KEY,
+ *     partition_id INT          NOT NULL,
+ *     topic        VARCHAR(255) NOT NULL,
+ *     message_key  VARCHAR(255),
+ *     payload      TEXT         NOT NULL,
+ *     created_at   TIMESTAMP    NOT NULL,
+ *     published_at TIMESTAMP    NOT NULL
+ * );
+ * </pre>
+ * 分区数上线后不应再修改，否则修改前后写入的同键消息可能落在不同分区而乱序。
+ * @create 2026-10-19 19:00
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    /**
+     * 单条 IN 语句的最大参数个数
+     */
+    private static final int MAX_IN_SIZE = 1000;
+
+    private static final String COLUMNS = "id, partition_id, topic, message_key, payload, created_at";
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"), rs.getInt("partition_id"), rs.getString("topic"), rs.getString("message_key"),
+            rs.getString("payload"), rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final OutboxPublisher publisher;
+
+    private final Dialect dialect;
+
+    private final String table;
+
+    private final String partitionTable;
+
+    private final String archiveTable;
+
+    private final int partitions;
+
+    private final int claimPartitions;
+
+    private final int batchSize;
+
+    private final int workers;
+
+    private final long pollIntervalNanos;
+
+    private final long retryBackoffNanos;
+
+    private final OutboxCleanup cleanup;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition wakeUp = lock.newCondition();
+
+    private ExecutorService executor;
+
+    private volatile boolean running;
+
+    /**
+     * @param jdbcTemplate        与业务共用数据源的 JdbcTemplate
+     * @param transactionTemplate 投递事务
+     * @param publisher           消息投递
+     * @param dialect             数据库方言
+     * @param outbox              发件箱配置
+     */
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, OutboxPublisher publisher,
+                       Dialect dialect, MqProperties.Outbox outbox) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.publisher = publisher;
+        this.dialect = dialect;
+        this.table = outbox.getTable();
+        this.partitionTable = outbox.getPartitionTable();
+        this.archiveTable = outbox.getArchiveTable();
+        this.partitions = outbox.getPartitions();
+        this.claimPartitions = outbox.getClaimPartitions();
+        this.batchSize = outbox.getBatchSize();
+        this.workers = outbox.getWorkers();
+        this.pollIntervalNanos = outbox.getPollInterval().toNanos();
+        this.retryBackoffNanos = outbox.getRetryBackoff().toNanos();
+        this.cleanup = outbox.getCleanup();
+    }
+
+    /**
+     * 认领一批分区并投递其中的消息
+     *
+     * @return 投递的消息数
+     */
+    public int relayOnce() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<Integer> claimed = jdbcTemplate.queryForList("SELECT partition_id FROM " + partitionTable
+                    + " ORDER BY claimed_at LIMIT ?" + dialect.forUpdateSkipLocked(), Integer.class, claimPartitions);
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            // 更新认领时间，下一轮优先认领其它分区
+            List<Object> args = new ArrayList<>(claimed.size() + 1);
+            args.add(Timestamp.from(Instant.now()));
+            args.addAll(claimed);
+            jdbcTemplate.update("UPDATE " + partitionTable + " SET claimed_at = ? WHERE partition_id IN ("
+                    + placeholders(claimed.size()) + ")", args.toArray());
+            args.remove(0);
+            args.add(batchSize);
+            List<OutboxMessage> messages = jdbcTemplate.query("SELECT " + COLUMNS + " FROM " + table
+                    + " WHERE partition_id IN (" + placeholders(claimed.size()) + ") ORDER BY id LIMIT ?",
+                    ROW_MAPPER, args.toArray());
+            if (messages.isEmpty()) {
+                return 0;
+            }
+            try {
+                publisher.publish(messages);
+            } catch (Exception e) {
+                throw new BaseUnCheckException("publish outbox messages failed", ERROR.getCode(), e);
+            }
+            remove(messages);
+            return messages.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    private void remove(List<OutboxMessage> messages) {
+        Timestamp publishedAt = Timestamp.from(Instant.now());
+        for (int from = 0; from < messages.size(); from += MAX_IN_SIZE) {
+            List<OutboxMessage> chunk = messages.subList(from, Math.min(messages.size(), from + MAX_IN_SIZE));
+            Object[] ids = chunk.stream().map(OutboxMessage::getId).toArray();
+            String in = " WHERE id IN (" + placeholders(ids.length) + ")";
+            if (cleanup == OutboxCleanup.ARCHIVE) {
+                Object[] args = new Object[ids.length + 1];
+                args[0] = publishedAt;
+                System.arraycopy(ids, 0, args, 1, ids.length);
+                jdbcTemplate.update("INSERT INTO " + archiveTable + " (" + COLUMNS + ", published_at) SELECT "
+                        + COLUMNS + ", ? FROM " + table + in, args);
+            }
+            jdbcTemplate.update("DELETE FROM " + table + in, ids);
+        }
+    }
+
+    /**
+     * 补齐分区表中缺少的分区，多个节点同时启动时忽略主键冲突
+     */
+    void ensurePartitions() {
+        Set<Integer> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT partition_id FROM " + partitionTable, Integer.class));
+        Timestamp epoch = new Timestamp(0);
+        for (int partition = 0; partition < partitions; partition++) {
+            if (!existing.contains(partition)) {
+                try {
+                    jdbcTemplate.update("INSERT INTO " + partitionTable + " (partition_id, claimed_at) VALUES (?, ?)",
+                            partition, epoch);
+                } catch (DuplicateKeyException ignored) {
+                    // 其它节点已插入
+                }
+            }
+        }
+    }
+
+    /**
+     * 唤醒空闲的投递线程
+     */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            wakeUp.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            long waitNanos;
+            try {
+                // 取满一批说明还有积压，立即继续
+                waitNanos = relayOnce() >= batchSize ? 0 : pollIntervalNanos;
+            } catch (Exception e) {
+                log.error("outbox relay failed, retry after {} ms", TimeUnit.NANOSECONDS.toMillis(retryBackoffNanos), e);
+                waitNanos = retryBackoffNanos;
+            }
+            if (waitNanos > 0 && running) {
+                lock.lock();
+                try {
+                    wakeUp.awaitNanos(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        ensurePartitions();
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "indigo-outbox-relay-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::loop);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wakeUp();
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static String placeholders(int size) {
+        return String.join(", ", Collections.nCopies(size, "?"));
+    }
+}
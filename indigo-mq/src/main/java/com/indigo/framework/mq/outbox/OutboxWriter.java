@@ -0,0 +1,148 @@
+package com.indigo.framework.mq.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.core.utils.IdUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title OutboxWriter
+ * @description 发件箱写入
+ * 消息与业务数据在同一个本地事务中写入发件箱表，业务事务回滚时消息一并回滚，提交后由 {@link OutboxRelay} 投递；
+ * 事务提交后会通知投递线程立即拉取，不必等到下一个轮询周期
+ * @create 2026-10-19 19:00
+ */
+public class OutboxWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final int partitions;
+
+    private final String insertSql;
+
+    private final List<Runnable> commitListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param jdbcTemplate 与业务共用数据源的 JdbcTemplate
+     * @param objectMapper 非字符串消息体的序列化
+     * @param table        发件箱表
+     * @param partitions   分区数
+     */
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, String table, int partitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.partitions = partitions;
+        this.insertSql = "INSERT INTO " + table
+                + " (id, partition_id, topic, message_key, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * 在当前事务中写入一条消息
+     *
+     * @param topic   主题
+     * @param key     消息键，同一个键的消息按写入顺序投递，可以为 null
+     * @param payload 消息体，非字符串时序列化为 JSON
+     * @return 消息 ID
+     */
+    public long append(String topic, String key, Object payload) {
+        OutboxMessage message = toMessage(topic, key, payload);
+        checkTransaction();
+        jdbcTemplate.update(insertSql, message.getId(), message.getPartition(), message.getTopic(),
+                message.getKey(), message.getPayload(), Timestamp.valueOf(message.getCreatedAt()));
+        return message.getId();
+    }
+
+    /**
+     * 在当前事务中批量写入同一主题的消息
+     *
+     * @param topic    主题
+     * @param payloads 消息键 -> 消息体，按列表顺序写入
+     * @return 消息 ID
+     */
+    public List<Long> appendAll(String topic, List<? extends Map.Entry<String, ?>> payloads) {
+        List<Object[]> args = new ArrayList<>(payloads.size());
+        List<Long> ids = new ArrayList<>(payloads.size());
+        for (Map.Entry<String, ?> entry : payloads) {
+            OutboxMessage message = toMessage(topic, entry.getKey(), entry.getValue());
+            ids.add(message.getId());
+            args.add(new Object[]{message.getId(), message.getPartition(), message.getTopic(), message.getKey(),
+                    message.getPayload(), Timestamp.valueOf(message.getCreatedAt())});
+        }
+        if (!args.isEmpty()) {
+            checkTransaction();
+            jdbcTemplate.batchUpdate(insertSql, args);
+        }
+        return ids;
+    }
+
+    /**
+     * 注册事务提交回调，用于唤醒投递线程
+     *
+     * @param listener 回调
+     */
+    public void onCommit(Runnable listener) {
+        commitListeners.add(listener);
+    }
+
+    /**
+     * 分区只取决于消息键，使用 String.hashCode 保证各节点计算结果一致
+     */
+    int partitionOf(String key, long id) {
+        return key == null ? (int) Math.floorMod(id, (long) partitions) : Math.floorMod(key.hashCode(), partitions);
+    }
+
+    private OutboxMessage toMessage(String topic, String key, Object payload) {
+        AssertUtil.nonStr(topic, "outbox topic must not be blank");
+        AssertUtil.nonNull(payload, "outbox payload must not be null");
+        long id = IdUtil.nextId();
+        return new OutboxMessage(id, partitionOf(key, id), topic, key, serialize(payload), LocalDateTime.now());
+    }
+
+    private String serialize(Object payload) {
+        if (payload instanceof CharSequence text) {
+            return text.toString();
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new BaseUnCheckException("serialize outbox payload failed", ERROR.getCode(), e);
+        }
+    }
+
+    private void checkTransaction() {
+        AssertUtil.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
+                "outbox messages must be written inside a transaction");
+        if (commitListeners.isEmpty() || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        // 每个事务只注册一次提交回调
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                commitListeners.forEach(Runnable::run);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+            }
+        });
+    }
+}
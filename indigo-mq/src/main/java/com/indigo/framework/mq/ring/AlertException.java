@@ -0,0 +1,16 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title AlertException
+ * @description 消费者被停止时由序号屏障抛出，单例且不填充堆栈
+ * @create 2026-10-19 18:00
+ */
+final class AlertException extends RuntimeException {
+
+    static final AlertException INSTANCE = new AlertException();
+
+    private AlertException() {
+        super("alerted", null, false, false);
+    }
+}
@@ -0,0 +1,97 @@
+package com.indigo.framework.mq.ring;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 史偕成
+ * @title BatchEventProcessor
+ * @description 批量消费者
+ * 每次等待返回所有已可用的序号，一次处理完后只更新一次自身序号，消费落后时批次自动变大，追赶更快。
+ * 处理异常的事件记录日志后跳过，不阻塞后续事件。
+ * @create 2026-10-19 18:00
+ */
+@Slf4j
+public final class BatchEventProcessor<E> implements Runnable {
+
+    private static final int IDLE = 0;
+
+    private static final int RUNNING = 1;
+
+    /**
+     * 已被停止；线程启动前就被停止时，run 直接退出，不会清掉这次停止
+     */
+    private static final int HALTED = 2;
+
+    private final RingBuffer<E> ringBuffer;
+
+    private final SequenceBarrier barrier;
+
+    private final EventHandler<? super E> handler;
+
+    private final Sequence sequence = new Sequence();
+
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    BatchEventProcessor(RingBuffer<E> ringBuffer, SequenceBarrier barrier, EventHandler<? super E> handler) {
+        this.ringBuffer = ringBuffer;
+        this.barrier = barrier;
+        this.handler = handler;
+    }
+
+    @Override
+    public void run() {
+        if (!state.compareAndSet(IDLE, RUNNING)) {
+            AssertUtil.isTrue(state.get() == HALTED, "processor is already running");
+            state.set(IDLE);
+            return;
+        }
+        barrier.clearAlert();
+        handler.onStart();
+        long next = sequence.get() + 1;
+        try {
+            // 在 CAS 与 clearAlert 之间到达的停止请求，其 alert 已被清掉，这里按状态补上
+            while (state.get() == RUNNING) {
+                try {
+                    long available = barrier.waitFor(next);
+                    if (next <= available) {
+                        handler.onBatchStart(available - next + 1);
+                    }
+                    while (next <= available) {
+                        handler.onEvent(ringBuffer.get(next), next, next == available);
+                        next++;
+                    }
+                    sequence.set(available);
+                } catch (AlertException e) {
+                    if (state.get() != RUNNING) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Throwable e) {
+                    log.error("event handler failed, sequence: {}", next, e);
+                    sequence.set(next);
+                    next++;
+                }
+            }
+        } finally {
+            handler.onShutdown();
+            state.set(IDLE);
+        }
+    }
+
+    /**
+     * 停止消费，当前批次处理完后退出
+     */
+    void halt() {
+        state.set(HALTED);
+        barrier.alert();
+    }
+
+    public Sequence getSequence() {
+        return sequence;
+    }
+}
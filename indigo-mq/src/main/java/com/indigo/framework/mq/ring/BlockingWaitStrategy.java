@@ -0,0 +1,48 @@
+package com.indigo.framework.mq.ring;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author 史偕成
+ * @title BlockingWaitStrategy
+ * @description 生产者游标未推进时在条件变量上阻塞，CPU 占用最低；依赖的消费者未完成时自旋等待
+ * @create 2026-10-19 18:00
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition published = lock.newCondition();
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws InterruptedException {
+        if (cursor.get() < sequence) {
+            lock.lock();
+            try {
+                while (cursor.get() < sequence) {
+                    barrier.checkAlert();
+                    published.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        long available;
+        while ((available = barrier.dependentSequence()) < sequence) {
+            barrier.checkAlert();
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
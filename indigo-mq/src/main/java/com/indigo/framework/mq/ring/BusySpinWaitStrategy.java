@@ -0,0 +1,24 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title BusySpinWaitStrategy
+ * @description 忙等，延迟最低，消费者线程数不应超过空闲核数
+ * @create 2026-10-19 18:00
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) {
+        long available;
+        while ((available = barrier.dependentSequence()) < sequence) {
+            barrier.checkAlert();
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
@@ -0,0 +1,228 @@
+package com.indigo.framework.mq.ring;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * @author 史偕成
+ * @title EventBus
+ * @description 基于环形缓冲的进程内事件总线
+ * 事件对象启动时预分配并循环复用，发布与消费的稳态不产生垃圾；每个处理器独占一个线程，批量消费。
+ * 处理器之间可以声明依赖，形成消费拓扑：
+ * <pre>
+ *     EventBus&lt;OrderEvent&gt; bus = new EventBus&lt;&gt;(OrderEvent::new, 1 &lt;&lt; 16);
+ *     bus.handleEventsWith(journal, replicate).then(business);
+ *     bus.start();
+ *     bus.publish((event, sequence, order) -&gt; event.setOrder(order), order);
+ * </pre>
+ * 上例中 journal 与 replicate 并行处理同一事件，business 在两者都处理完后才处理该事件。
+ * @create 2026-10-19 18:00
+ */
+@Slf4j
+public class EventBus<E> implements AutoCloseable {
+
+    private static final AtomicInteger BUS_COUNTER = new AtomicInteger();
+
+    private final RingBuffer<E> ringBuffer;
+
+    private final ThreadFactory threadFactory;
+
+    private final List<BatchEventProcessor<E>> processors = new ArrayList<>();
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * 使用 {@link SleepingWaitStrategy}
+     *
+     * @param eventFactory 事件工厂
+     * @param bufferSize   容量，必须为 2 的幂
+     */
+    public EventBus(Supplier<E> eventFactory, int bufferSize) {
+        this(eventFactory, bufferSize, new SleepingWaitStrategy(), defaultThreadFactory());
+    }
+
+    /**
+     * @param eventFactory  事件工厂
+     * @param bufferSize    容量，必须为 2 的幂
+     * @param waitStrategy  消费者等待策略
+     * @param threadFactory 消费者线程工厂
+     */
+    public EventBus(Supplier<E> eventFactory, int bufferSize, WaitStrategy waitStrategy,
+                    ThreadFactory threadFactory) {
+        this.ringBuffer = new RingBuffer<>(eventFactory, bufferSize, waitStrategy);
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * 添加直接消费生产者事件的处理器，多个处理器并行消费同一事件
+     *
+     * @param handlers 处理器
+     * @return 处理器组，可继续声明下游
+     */
+    @SafeVarargs
+    public final HandlerGroup handleEventsWith(EventHandler<? super E>... handlers) {
+        return createProcessors(new Sequence[0], handlers);
+    }
+
+    /**
+     * 添加在指定处理器组之后消费的处理器
+     *
+     * @param groups 上游处理器组
+     * @return 下游处理器选择
+     */
+    @SafeVarargs
+    public final HandlerGroup after(HandlerGroup... groups) {
+        List<Sequence> sequences = new ArrayList<>();
+        for (HandlerGroup group : groups) {
+            sequences.addAll(List.of(group.sequences));
+        }
+        return new HandlerGroup(sequences.toArray(new Sequence[0]));
+    }
+
+    private HandlerGroup createProcessors(Sequence[] dependents, EventHandler<? super E>[] handlers) {
+        AssertUtil.isFalse(started.get(), "handlers must be added before start");
+        SequenceBarrier barrier = ringBuffer.getSequencer().newBarrier(dependents);
+        Sequence[] sequences = new Sequence[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            BatchEventProcessor<E> processor = new BatchEventProcessor<>(ringBuffer, barrier, handlers[i]);
+            processors.add(processor);
+            sequences[i] = processor.getSequence();
+        }
+        // 生产者只需要跟随末端处理器，上游处理器一定不慢于下游
+        ringBuffer.getSequencer().addGatingSequences(sequences);
+        ringBuffer.getSequencer().removeGatingSequences(dependents);
+        return new HandlerGroup(sequences);
+    }
+
+    /**
+     * 启动全部处理器线程
+     *
+     * @return 环形缓冲
+     */
+    public RingBuffer<E> start() {
+        AssertUtil.isTrue(started.compareAndSet(false, true), "event bus is already started");
+        AssertUtil.isFalse(processors.isEmpty(), "no event handler registered");
+        for (BatchEventProcessor<E> processor : processors) {
+            Thread thread = threadFactory.newThread(processor);
+            threads.add(thread);
+            thread.start();
+        }
+        return ringBuffer;
+    }
+
+    /**
+     * 发布事件，缓冲区已满时等待
+     *
+     * @param translator 写入事件
+     * @param arg        参数
+     */
+    public <A> void publish(EventTranslator<E, A> translator, A arg) {
+        ringBuffer.publishEvent(translator, arg);
+    }
+
+    /**
+     * 尝试发布事件
+     *
+     * @return 缓冲区已满时返回 false
+     */
+    public <A> boolean tryPublish(EventTranslator<E, A> translator, A arg) {
+        return ringBuffer.tryPublishEvent(translator, arg);
+    }
+
+    /**
+     * 批量发布
+     *
+     * @param translator 写入事件
+     * @param args       参数，个数不能超过容量
+     */
+    public <A> void publishAll(EventTranslator<E, A> translator, List<? extends A> args) {
+        ringBuffer.publishEvents(translator, args);
+    }
+
+    /**
+     * 等待已发布的事件全部处理完后停止处理器
+     *
+     * @param timeout 等待时间
+     * @param unit    时间单位
+     * @return 超时前是否处理完全部事件
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean drained;
+        while (!(drained = isDrained()) && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (!drained) {
+            log.warn("event bus shutdown timeout, remaining events: {}",
+                    ringBuffer.getBufferSize() - ringBuffer.remainingCapacity());
+        }
+        processors.forEach(BatchEventProcessor::halt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return drained;
+    }
+
+    private boolean isDrained() {
+        long cursor = ringBuffer.getCursor();
+        return ringBuffer.getSequencer().minimumSequence(cursor) >= cursor;
+    }
+
+    @Override
+    public void close() {
+        shutdown(30, TimeUnit.SECONDS);
+    }
+
+    public RingBuffer<E> getRingBuffer() {
+        return ringBuffer;
+    }
+
+    private static ThreadFactory defaultThreadFactory() {
+        int bus = BUS_COUNTER.incrementAndGet();
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "indigo-event-bus-" + bus + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 处理器组，用于声明下游处理器
+     */
+    public final class HandlerGroup {
+
+        private final Sequence[] sequences;
+
+        private HandlerGroup(Sequence[] sequences) {
+            this.sequences = sequences;
+        }
+
+        /**
+         * 添加在本组全部处理器之后消费的处理器
+         *
+         * @param handlers 处理器
+         * @return 新的处理器组
+         */
+        @SafeVarargs
+        public final HandlerGroup then(EventHandler<? super E>... handlers) {
+            return createProcessors(sequences, handlers);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title EventHandler
+ * @description 事件处理器，由单个消费者线程按序号顺序调用。
+ * 事件对象由环形缓冲复用，需要保留的数据应在 onEvent 中复制出来；
+ * endOfBatch 为 true 时是本批最后一个事件，适合在此刷新攒批的写入
+ * @create 2026-10-19 18:00
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * 处理事件
+     *
+     * @param event      事件
+     * @param sequence   序号
+     * @param endOfBatch 是否本批最后一个事件
+     * @throws Exception 处理异常，记录日志后跳过该事件
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+
+    /**
+     * 一批事件开始处理前回调
+     *
+     * @param batchSize 本批事件数
+     */
+    default void onBatchStart(long batchSize) {
+    }
+
+    /**
+     * 消费者线程启动
+     */
+    default void onStart() {
+    }
+
+    /**
+     * 消费者线程停止
+     */
+    default void onShutdown() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title EventTranslator
+ * @description 将参数写入预分配的事件对象，发布时不产生新的事件对象
+ * @create 2026-10-19 18:00
+ */
+@FunctionalInterface
+public interface EventTranslator<E, A> {
+
+    /**
+     * 写入事件
+     *
+     * @param event    复用的事件对象
+     * @param sequence 序号
+     * @param arg      参数
+     */
+    void translateTo(E event, long sequence, A arg);
+}
@@ -0,0 +1,141 @@
+package com.indigo.framework.mq.ring;
+
+import com.indigo.framework.core.utils.AssertUtil;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * @author 史偕成
+ * @title RingBuffer
+ * @description 预分配事件对象的环形缓冲，容量为 2 的幂，序号按位与取槽位
+ * @create 2026-10-19 18:00
+ */
+public final class RingBuffer<E> {
+
+    private final Object[] entries;
+
+    private final int indexMask;
+
+    private final Sequencer sequencer;
+
+    /**
+     * @param eventFactory 事件工厂，启动时为每个槽位创建一个事件对象
+     * @param bufferSize   容量，必须为 2 的幂
+     * @param waitStrategy 消费者等待策略
+     */
+    public RingBuffer(Supplier<E> eventFactory, int bufferSize, WaitStrategy waitStrategy) {
+        AssertUtil.isTrue(bufferSize > 0 && Integer.bitCount(bufferSize) == 1,
+                "bufferSize must be a power of 2, got {}", bufferSize);
+        this.entries = new Object[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = eventFactory.get();
+        }
+        this.indexMask = bufferSize - 1;
+        this.sequencer = new Sequencer(bufferSize, waitStrategy);
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & indexMask];
+    }
+
+    /**
+     * 认领下一个序号，缓冲区已满时等待
+     */
+    public long next() {
+        return sequencer.next(1);
+    }
+
+    public long next(int n) {
+        AssertUtil.isTrue(n > 0 && n <= entries.length, "n must be in [1, {}], got {}", entries.length, n);
+        return sequencer.next(n);
+    }
+
+    /**
+     * 尝试认领下一个序号
+     *
+     * @return 序号，缓冲区已满时返回 -1
+     */
+    public long tryNext() {
+        return sequencer.tryNext(1);
+    }
+
+    public void publish(long sequence) {
+        sequencer.publish(sequence, sequence);
+    }
+
+    public void publish(long lo, long hi) {
+        sequencer.publish(lo, hi);
+    }
+
+    /**
+     * 发布一个事件，缓冲区已满时等待
+     *
+     * @param translator 写入事件
+     * @param arg        参数
+     */
+    public <A> void publishEvent(EventTranslator<E, A> translator, A arg) {
+        long sequence = sequencer.next(1);
+        translateAndPublish(translator, sequence, arg);
+    }
+
+    /**
+     * 尝试发布一个事件
+     *
+     * @return 缓冲区已满时返回 false
+     */
+    public <A> boolean tryPublishEvent(EventTranslator<E, A> translator, A arg) {
+        long sequence = sequencer.tryNext(1);
+        if (sequence < 0) {
+            return false;
+        }
+        translateAndPublish(translator, sequence, arg);
+        return true;
+    }
+
+    /**
+     * 一次认领一段序号批量发布，多生产者竞争时只需一次 CAS
+     *
+     * @param translator 写入事件
+     * @param args       参数，个数不能超过容量
+     */
+    public <A> void publishEvents(EventTranslator<E, A> translator, List<? extends A> args) {
+        if (args.isEmpty()) {
+            return;
+        }
+        long hi = next(args.size());
+        long lo = hi - args.size() + 1;
+        try {
+            for (int i = 0; i < args.size(); i++) {
+                translator.translateTo(get(lo + i), lo + i, args.get(i));
+            }
+        } finally {
+            sequencer.publish(lo, hi);
+        }
+    }
+
+    private <A> void translateAndPublish(EventTranslator<E, A> translator, long sequence, A arg) {
+        try {
+            translator.translateTo(get(sequence), sequence, arg);
+        } finally {
+            sequencer.publish(sequence, sequence);
+        }
+    }
+
+    public long remainingCapacity() {
+        return sequencer.remainingCapacity();
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    public long getCursor() {
+        return sequencer.getCursor().get();
+    }
+
+    Sequencer getSequencer() {
+        return sequencer;
+    }
+}
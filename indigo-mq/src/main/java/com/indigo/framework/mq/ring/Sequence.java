@@ -0,0 +1,75 @@
+package com.indigo.framework.mq.ring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 左侧缓存行填充
+ */
+abstract class LhsPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class Value extends LhsPadding {
+    protected volatile long value;
+}
+
+/**
+ * 右侧缓存行填充
+ */
+abstract class RhsPadding extends Value {
+    protected long p9, p10, p11, p12, p13, p14, p15;
+}
+
+/**
+ * @author 史偕成
+ * @title Sequence
+ * @description 序号，前后各填充 56 字节独占缓存行，避免生产者游标与消费者序号之间的伪共享
+ * @create 2026-10-19 18:00
+ */
+public class Sequence extends RhsPadding {
+
+    public static final long INITIAL_VALUE = -1L;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * 有序写，保证之前的写入对读取该序号的线程可见，开销低于 volatile 写
+     */
+    public void set(long value) {
+        VALUE.setRelease(this, value);
+    }
+
+    public void setVolatile(long value) {
+        this.value = value;
+    }
+
+    public boolean compareAndSet(long expected, long value) {
+        return VALUE.compareAndSet(this, expected, value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(get());
+    }
+}
@@ -0,0 +1,78 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title SequenceBarrier
+ * @description 序号屏障，消费者通过它等待生产者发布以及上游消费者处理完成
+ * @create 2026-10-19 18:00
+ */
+public final class SequenceBarrier {
+
+    private final Sequencer sequencer;
+
+    private final WaitStrategy waitStrategy;
+
+    private final Sequence cursor;
+
+    /**
+     * 上游消费者的序号，为空时只依赖生产者
+     */
+    private final Sequence[] dependents;
+
+    private volatile boolean alerted;
+
+    SequenceBarrier(Sequencer sequencer, WaitStrategy waitStrategy, Sequence cursor, Sequence[] dependents) {
+        this.sequencer = sequencer;
+        this.waitStrategy = waitStrategy;
+        this.cursor = cursor;
+        this.dependents = dependents;
+    }
+
+    /**
+     * 等待序号可用
+     *
+     * @param sequence 期望的序号
+     * @return 可以处理的最大序号，可能小于 sequence（其它生产者尚未完成发布）
+     * @throws InterruptedException 等待被中断
+     */
+    long waitFor(long sequence) throws InterruptedException {
+        checkAlert();
+        long available = waitStrategy.waitFor(sequence, cursor, this);
+        if (available < sequence) {
+            return available;
+        }
+        return sequencer.getHighestPublishedSequence(sequence, available);
+    }
+
+    /**
+     * 依赖的最小序号：有上游消费者时取上游最慢者，否则取生产者游标
+     */
+    public long dependentSequence() {
+        if (dependents.length == 0) {
+            return cursor.get();
+        }
+        long minimum = Long.MAX_VALUE;
+        for (Sequence dependent : dependents) {
+            minimum = Math.min(minimum, dependent.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * 已停止时抛出 {@link AlertException}
+     */
+    public void checkAlert() {
+        if (alerted) {
+            throw AlertException.INSTANCE;
+        }
+    }
+
+    void alert() {
+        alerted = true;
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    void clearAlert() {
+        alerted = false;
+    }
+}
@@ -0,0 +1,177 @@
+package com.indigo.framework.mq.ring;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author 史偕成
+ * @title Sequencer
+ * @description 多生产者序号分配
+ * 生产者通过 CAS 推进游标认领序号，写入事件后在 availableBuffer 中标记该槽位的圈数表示已发布；
+ * 消费者据此找出连续已发布的最大序号，因此多个生产者可以乱序完成发布。
+ * 认领时不能越过最慢的末端消费者一圈，最慢消费者的序号做了缓存，避免每次认领都遍历。
+ * @create 2026-10-19 18:00
+ */
+public final class Sequencer {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int bufferSize;
+
+    private final int indexMask;
+
+    private final int indexShift;
+
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * 已认领的最大序号
+     */
+    private final Sequence cursor = new Sequence();
+
+    /**
+     * 最慢末端消费者序号的缓存
+     */
+    private final Sequence gatingSequenceCache = new Sequence();
+
+    /**
+     * 每个槽位最近一次发布时的圈数
+     */
+    private final int[] availableBuffer;
+
+    private volatile Sequence[] gatingSequences = new Sequence[0];
+
+    Sequencer(int bufferSize, WaitStrategy waitStrategy) {
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.waitStrategy = waitStrategy;
+        this.availableBuffer = new int[bufferSize];
+        Arrays.fill(availableBuffer, -1);
+    }
+
+    /**
+     * 认领 n 个连续序号，缓冲区已满时自旋等待消费者
+     *
+     * @param n 序号个数
+     * @return 认领到的最大序号
+     */
+    long next(int n) {
+        while (true) {
+            long current = cursor.get();
+            long next = current + n;
+            long wrapPoint = next - bufferSize;
+            long cachedGating = gatingSequenceCache.get();
+            if (wrapPoint > cachedGating || cachedGating > current) {
+                long gating = minimumSequence(current);
+                if (wrapPoint > gating) {
+                    LockSupport.parkNanos(1);
+                    continue;
+                }
+                gatingSequenceCache.set(gating);
+            } else if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 尝试认领 n 个连续序号
+     *
+     * @param n 序号个数
+     * @return 认领到的最大序号，容量不足时返回 -1
+     */
+    long tryNext(int n) {
+        while (true) {
+            long current = cursor.get();
+            long next = current + n;
+            if (!hasCapacity(current, n)) {
+                return -1;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private boolean hasCapacity(long current, int n) {
+        long wrapPoint = current + n - bufferSize;
+        long cachedGating = gatingSequenceCache.get();
+        if (wrapPoint > cachedGating || cachedGating > current) {
+            long gating = minimumSequence(current);
+            gatingSequenceCache.set(gating);
+            return wrapPoint <= gating;
+        }
+        return true;
+    }
+
+    /**
+     * 发布 [lo, hi] 区间的序号
+     */
+    void publish(long lo, long hi) {
+        for (long sequence = lo; sequence <= hi; sequence++) {
+            AVAILABLE.setRelease(availableBuffer, (int) sequence & indexMask, (int) (sequence >>> indexShift));
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    boolean isAvailable(long sequence) {
+        return (int) AVAILABLE.getAcquire(availableBuffer, (int) sequence & indexMask)
+                == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * 从 lowerBound 开始连续已发布的最大序号
+     */
+    long getHighestPublishedSequence(long lowerBound, long availableSequence) {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if (!isAvailable(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+
+    long remainingCapacity() {
+        long produced = cursor.get();
+        return bufferSize - (produced - minimumSequence(produced));
+    }
+
+    synchronized void addGatingSequences(Sequence... sequences) {
+        long cursorSequence = cursor.get();
+        Sequence[] updated = Arrays.copyOf(gatingSequences, gatingSequences.length + sequences.length);
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i].set(cursorSequence);
+            updated[gatingSequences.length + i] = sequences[i];
+        }
+        gatingSequences = updated;
+    }
+
+    synchronized void removeGatingSequences(Sequence... sequences) {
+        gatingSequences = Arrays.stream(gatingSequences)
+                .filter(gating -> Arrays.stream(sequences).noneMatch(sequence -> sequence == gating))
+                .toArray(Sequence[]::new);
+    }
+
+    long minimumSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Sequence sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    SequenceBarrier newBarrier(Sequence... dependents) {
+        return new SequenceBarrier(this, waitStrategy, cursor, dependents);
+    }
+
+    public Sequence getCursor() {
+        return cursor;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
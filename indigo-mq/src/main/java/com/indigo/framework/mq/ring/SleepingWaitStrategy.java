@@ -0,0 +1,49 @@
+package com.indigo.framework.mq.ring;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author 史偕成
+ * @title SleepingWaitStrategy
+ * @description 自旋、让出后以 parkNanos 短暂休眠，空闲时 CPU 占用低，生产者无需唤醒
+ * @create 2026-10-19 18:00
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final int YIELD_TRIES = 100;
+
+    private final long sleepNanos;
+
+    public SleepingWaitStrategy() {
+        this(100);
+    }
+
+    public SleepingWaitStrategy(long sleepNanos) {
+        this.sleepNanos = sleepNanos;
+    }
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) {
+        long available;
+        int counter = SPIN_TRIES + YIELD_TRIES;
+        while ((available = barrier.dependentSequence()) < sequence) {
+            barrier.checkAlert();
+            if (counter > YIELD_TRIES) {
+                counter--;
+                Thread.onSpinWait();
+            } else if (counter > 0) {
+                counter--;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(sleepNanos);
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
@@ -0,0 +1,28 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title WaitStrategy
+ * @description 消费者等待策略，在延迟与 CPU 占用之间取舍：
+ * {@link BusySpinWaitStrategy} 延迟最低但独占一个核；{@link YieldingWaitStrategy} 自旋后让出；
+ * {@link SleepingWaitStrategy} 自旋、让出后短暂休眠；{@link BlockingWaitStrategy} 使用锁与条件变量，CPU 占用最低
+ * @create 2026-10-19 18:00
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待序号可用
+     *
+     * @param sequence 期望的序号
+     * @param cursor   生产者游标
+     * @param barrier  序号屏障，提供依赖消费者的进度与停止信号
+     * @return 当前可用的最大序号，可能大于 sequence
+     * @throws InterruptedException 等待被中断
+     */
+    long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws InterruptedException;
+
+    /**
+     * 生产者发布后唤醒阻塞的消费者
+     */
+    void signalAllWhenBlocking();
+}
@@ -0,0 +1,32 @@
+package com.indigo.framework.mq.ring;
+
+/**
+ * @author 史偕成
+ * @title YieldingWaitStrategy
+ * @description 先自旋，之后每次检查前让出 CPU
+ * @create 2026-10-19 18:00
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) {
+        long available;
+        int counter = SPIN_TRIES;
+        while ((available = barrier.dependentSequence()) < sequence) {
+            barrier.checkAlert();
+            if (counter > 0) {
+                counter--;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
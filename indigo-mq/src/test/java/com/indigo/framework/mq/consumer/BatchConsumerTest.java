@@ -0,0 +1,144 @@
+package com.indigo.framework.mq.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title BatchConsumerTest
+ * @description 基于内存 broker 替身的批量消费者测试：重复投递与批次失败下每个键只处理一次
+ * @create 2026-10-21 10:00
+ */
+class BatchConsumerTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void aimdLimitHandlesEveryKeyOnce() throws InterruptedException {
+        assertHandledOnce(new AimdLimit(4, 1, 32, 1000, 0.9));
+    }
+
+    @Test
+    void gradientLimitHandlesEveryKeyOnce() throws InterruptedException {
+        assertHandledOnce(new GradientLimit(4, 1, 32, 100));
+    }
+
+    /**
+     * 批次 A 已确认键未处理、尚未占用时，批次 B 完成同一个键的处理并释放占用，A 随后不能再处理该键
+     */
+    @Test
+    void keyCompletedByAnotherBatchDuringCheckIsNotHandledAgain() throws InterruptedException {
+        InMemoryMessageSource source = new InMemoryMessageSource();
+        CountDownLatch otherBatchDone = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        InMemoryIdempotencyStore delegate = new InMemoryIdempotencyStore(60_000);
+        IdempotencyStore store = new IdempotencyStore() {
+            @Override
+            public boolean contains(String key) {
+                boolean contains = delegate.contains(key);
+                if (first.compareAndSet(true, false)) {
+                    // 第一次检查得出结果后停住，直到另一个批次处理完毕
+                    await(otherBatchDone);
+                }
+                return contains;
+            }
+
+            @Override
+            public void add(String key) {
+                delegate.add(key);
+            }
+        };
+        ConcurrencyLimit limit = new ConcurrencyLimit() {
+            @Override
+            public int getLimit() {
+                return 2;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inflight, boolean dropped) {
+                // 在批次释放键占用之后回调
+                otherBatchDone.countDown();
+            }
+        };
+        AtomicInteger handled = new AtomicInteger();
+        source.send("order", "order-1", "created");
+        source.send("order", "order-1", "created");
+
+        try (BatchConsumer consumer = new BatchConsumer(source,
+                messages -> handled.addAndGet(messages.size()), limit, store, 1, 10)) {
+            consumer.start();
+            awaitDrained(source);
+        }
+
+        assertEquals(1, handled.get());
+        assertEquals(2, source.ackedCount());
+    }
+
+    private static void assertHandledOnce(ConcurrencyLimit limit) throws InterruptedException {
+        InMemoryMessageSource source = new InMemoryMessageSource();
+        Map<String, AtomicInteger> handled = new ConcurrentHashMap<>();
+        BatchMessageHandler handler = messages -> {
+            if (ThreadLocalRandom.current().nextInt(50) == 0) {
+                throw new IllegalStateException("injected batch failure");
+            }
+            for (ConsumedMessage message : messages) {
+                handled.computeIfAbsent(message.key(), k -> new AtomicInteger()).incrementAndGet();
+            }
+        };
+        int sent = 0;
+        for (int i = 0; i < KEYS; i++) {
+            source.send("order", "order-" + i, "payload");
+            sent++;
+            // 约 10% 的消息重复投递，部分紧挨着，部分隔开
+            if (i % 10 == 0) {
+                source.send("order", "order-" + i, "payload");
+                sent++;
+            }
+            if (i % 10 == 5 && i > 100) {
+                source.send("order", "order-" + (i - 100), "payload");
+                sent++;
+            }
+        }
+
+        try (BatchConsumer consumer = new BatchConsumer(source, handler, limit,
+                new InMemoryIdempotencyStore(60_000), 64, 10)) {
+            consumer.start();
+            awaitDrained(source);
+            assertTrue(consumer.getFailedBatchCount() > 0, "no batch failure was injected");
+        }
+
+        assertEquals(KEYS, handled.size());
+        List<String> repeated = handled.entrySet().stream()
+                .filter(entry -> entry.getValue().get() != 1).map(Map.Entry::getKey).toList();
+        assertTrue(repeated.isEmpty(), "handled more than once: " + repeated);
+        assertEquals(sent, source.ackedCount());
+    }
+
+    private static void awaitDrained(InMemoryMessageSource source) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while ((source.pending() > 0 || source.unacked() > 0) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(0, source.pending());
+        assertEquals(0, source.unacked());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.indigo.framework.mq.delay;
+
+import com.indigo.framework.databases.batch.BatchWriterFactory;
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.databases.stream.StreamingQueryTemplate;
+import com.indigo.framework.mq.config.MqProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title DelayedMessageQueueTest
+ * @description 时间轮延迟队列测试：大量定时与取消、失败重试、基于 H2 的停机恢复
+ * @create 2026-10-21 10:00
+ */
+class DelayedMessageQueueTest {
+
+    private static final int TIMERS = 200_000;
+
+    @Test
+    void manyTimersWithHalfCancelledAreEachDeliveredOrCancelledOnce() throws InterruptedException {
+        Set<Long> delivered = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger early = new AtomicInteger();
+        DelayedMessageQueue queue = new DelayedMessageQueue(messages -> {
+            long now = System.currentTimeMillis();
+            for (DelayedMessage message : messages) {
+                if (!delivered.add(message.getId())) {
+                    duplicates.incrementAndGet();
+                }
+                if (message.getDeliverAt() > now) {
+                    early.incrementAndGet();
+                }
+            }
+        }, null, delay());
+        queue.start();
+        try {
+            List<Long> ids = new ArrayList<>(TIMERS);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < TIMERS; i++) {
+                // 1% 的定时超出第一层 512 * 10ms 的范围，落入上层时间轮
+                long delayMs = i % 100 == 0 ? random.nextLong(6_000, 8_000) : random.nextLong(1_000, 3_000);
+                ids.add(queue.schedule("order", null, "payload-" + i, Duration.ofMillis(delayMs)));
+            }
+            Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < TIMERS; i += 2) {
+                if (queue.cancel(ids.get(i))) {
+                    cancelled.add(ids.get(i));
+                }
+            }
+
+            awaitTrue(() -> queue.size() == 0, 30);
+
+            assertEquals(TIMERS, delivered.size() + cancelled.size());
+            assertEquals(TIMERS / 2, cancelled.size());
+            assertFalse(delivered.stream().anyMatch(cancelled::contains), "cancelled message was delivered");
+            assertEquals(0, duplicates.get());
+            assertEquals(0, early.get());
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void failedBatchIsRetriedAfterRetryDelay() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Set<Long> delivered = ConcurrentHashMap.newKeySet();
+        MqProperties.Delay properties = delay();
+        properties.setRetryDelay(Duration.ofMillis(100));
+        DelayedMessageQueue queue = new DelayedMessageQueue(messages -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("broker down");
+            }
+            messages.forEach(message -> delivered.add(message.getId()));
+        }, null, properties);
+        queue.start();
+        try {
+            long id = queue.schedule("order", "order-1", "timeout", Duration.ofMillis(20));
+
+            awaitTrue(() -> delivered.contains(id), 5);
+
+            assertEquals(2, calls.get());
+            assertEquals(0, queue.size());
+        } finally {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void pendingMessagesAreRecoveredFromJdbcStoreAfterRestart() throws InterruptedException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE TABLE indigo_delayed_message (id BIGINT NOT NULL PRIMARY KEY,"
+                + " topic VARCHAR(255) NOT NULL, message_key VARCHAR(255), payload VARCHAR(1000),"
+                + " deliver_at BIGINT NOT NULL)");
+        DatabasesProperties databases = new DatabasesProperties();
+        databases.getBatch().setFlushInterval(Duration.ofMillis(50));
+        BatchWriterFactory batchWriterFactory = new BatchWriterFactory(h2, Dialect.H2, databases.getBatch());
+        StreamingQueryTemplate streamingQueryTemplate = new StreamingQueryTemplate(h2, Dialect.H2,
+                databases.getStreaming());
+        Set<Long> delivered = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        DelayedMessageHandler handler = messages -> messages.forEach(message -> {
+            if (!delivered.add(message.getId())) {
+                duplicates.incrementAndGet();
+            }
+        });
+
+        JdbcDelayStore store = new JdbcDelayStore("indigo_delayed_message", jdbcTemplate, batchWriterFactory,
+                streamingQueryTemplate);
+        DelayedMessageQueue queue = new DelayedMessageQueue(handler, store, delay());
+        queue.start();
+        List<Long> soon = new ArrayList<>();
+        List<Long> later = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            soon.add(queue.schedule("order", null, "soon-" + i, Duration.ofMillis(50)));
+            later.add(queue.schedule("order", null, "later-" + i, Duration.ofSeconds(2)));
+        }
+        // 投递成功后才删除记录，等删除完成再停机，否则这些消息会在重启后再投递一次（至少一次语义）
+        awaitTrue(() -> delivered.containsAll(soon) && count(jdbcTemplate) == later.size(), 5);
+        // 模拟停机：停止投递并把缓冲中的写入落盘
+        queue.stop();
+        store.destroy();
+        assertFalse(later.stream().anyMatch(delivered::contains));
+
+        JdbcDelayStore recovered = new JdbcDelayStore("indigo_delayed_message", jdbcTemplate, batchWriterFactory,
+                streamingQueryTemplate);
+        DelayedMessageQueue restarted = new DelayedMessageQueue(handler, recovered, delay());
+        restarted.start();
+        try {
+            assertEquals(later.size(), restarted.size());
+            awaitTrue(() -> delivered.containsAll(later) && count(jdbcTemplate) == 0, 10);
+            assertEquals(0, duplicates.get());
+        } finally {
+            restarted.stop();
+            recovered.destroy();
+            batchWriterFactory.destroy();
+            jdbcTemplate.execute("SHUTDOWN");
+        }
+    }
+
+    private static MqProperties.Delay delay() {
+        MqProperties.Delay delay = new MqProperties.Delay();
+        delay.setTick(Duration.ofMillis(10));
+        delay.setWheelSize(512);
+        delay.setBatchSize(1000);
+        return delay;
+    }
+
+    private static long count(JdbcTemplate jdbcTemplate) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM indigo_delayed_message", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "condition not met within " + timeoutSeconds + "s");
+    }
+}
@@ -0,0 +1,197 @@
+package com.indigo.framework.mq.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.mq.config.MqProperties;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title OutboxRelayTest
+ * @description 基于 H2 的发件箱投递测试：两个投递节点并发认领分区，投递失败重试，归档清理
+ * @create 2026-10-21 10:00
+ */
+class OutboxRelayTest {
+
+    private static final int KEYS = 20;
+
+    private static final int MESSAGES_PER_KEY = 100;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<OutboxRelay> relays = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(h2));
+        String columns = "id BIGINT NOT NULL PRIMARY KEY, partition_id INT NOT NULL, topic VARCHAR(255) NOT NULL,"
+                + " message_key VARCHAR(255), payload VARCHAR(1000) NOT NULL, created_at TIMESTAMP NOT NULL";
+        jdbcTemplate.execute("CREATE TABLE indigo_outbox (" + columns + ")");
+        jdbcTemplate.execute("CREATE INDEX idx_indigo_outbox_partition ON indigo_outbox (partition_id, id)");
+        jdbcTemplate.execute("CREATE TABLE indigo_outbox_partition (partition_id INT NOT NULL PRIMARY KEY,"
+                + " claimed_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE indigo_outbox_archive (" + columns + ", published_at TIMESTAMP NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        relays.forEach(OutboxRelay::stop);
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void twoRelaysDeliverEveryMessageOnceInKeyOrder() throws InterruptedException {
+        MqProperties.Outbox outbox = outbox();
+        RecordingPublisher publisher = new RecordingPublisher(7);
+        OutboxWriter writer = new OutboxWriter(jdbcTemplate, new ObjectMapper(), outbox.getTable(),
+                outbox.getPartitions());
+        for (int i = 0; i < 2; i++) {
+            OutboxRelay relay = new OutboxRelay(jdbcTemplate, transactionTemplate, publisher, Dialect.H2, outbox);
+            writer.onCommit(relay::wakeUp);
+            relays.add(relay);
+        }
+        relays.forEach(OutboxRelay::start);
+
+        // 写入与投递并发进行，每个事务为每个键各写一条
+        for (int seq = 0; seq < MESSAGES_PER_KEY; seq++) {
+            int current = seq;
+            List<Map.Entry<String, ?>> batch = new ArrayList<>();
+            for (int key = 0; key < KEYS; key++) {
+                batch.add(new AbstractMap.SimpleEntry<>("key-" + key, String.valueOf(current)));
+            }
+            transactionTemplate.executeWithoutResult(status -> writer.appendAll("order", batch));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.append("order", null, "no-key-1");
+            writer.append("order", null, "no-key-2");
+        });
+
+        int total = KEYS * MESSAGES_PER_KEY + 2;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (publisher.delivered() < total && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        relays.forEach(OutboxRelay::stop);
+
+        assertTrue(publisher.failures.get() > 0, "no publish failure was injected");
+        assertEquals(total, publisher.delivered());
+        assertEquals(total, publisher.ids.size(), "some messages were delivered more than once");
+        for (int key = 0; key < KEYS; key++) {
+            List<Integer> sequences = publisher.byKey.get("key-" + key);
+            for (int seq = 0; seq < MESSAGES_PER_KEY; seq++) {
+                assertEquals(seq, sequences.get(seq), "key-" + key + " delivered out of order");
+            }
+        }
+        assertEquals(0, count("indigo_outbox"));
+        assertEquals(total, count("indigo_outbox_archive"));
+        assertEquals(outbox.getPartitions(), count("indigo_outbox_partition"));
+    }
+
+    @Test
+    void failedPublishKeepsMessagesForRetry() {
+        MqProperties.Outbox outbox = outbox();
+        OutboxWriter writer = new OutboxWriter(jdbcTemplate, new ObjectMapper(), outbox.getTable(),
+                outbox.getPartitions());
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, transactionTemplate, messages -> {
+            throw new IllegalStateException("broker down");
+        }, Dialect.H2, outbox);
+        relay.ensurePartitions();
+        transactionTemplate.executeWithoutResult(status -> writer.append("order", "key-1", "payload"));
+
+        for (int i = 0; i < outbox.getPartitions(); i++) {
+            try {
+                relay.relayOnce();
+            } catch (RuntimeException ignored) {
+                // 投递失败，事务回滚
+            }
+        }
+
+        assertEquals(1, count("indigo_outbox"));
+        assertEquals(0, count("indigo_outbox_archive"));
+    }
+
+    private MqProperties.Outbox outbox() {
+        MqProperties.Outbox outbox = new MqProperties.Outbox();
+        outbox.setPartitions(16);
+        outbox.setClaimPartitions(4);
+        outbox.setBatchSize(50);
+        outbox.setWorkers(2);
+        outbox.setPollInterval(Duration.ofMillis(20));
+        outbox.setRetryBackoff(Duration.ofMillis(10));
+        outbox.setCleanup(OutboxCleanup.ARCHIVE);
+        return outbox;
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 记录投递结果，每 failEvery 次调用失败一次
+     */
+    private static final class RecordingPublisher implements OutboxPublisher {
+
+        private final int failEvery;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        private final Map<String, List<Integer>> byKey = new ConcurrentHashMap<>();
+
+        private final AtomicInteger delivered = new AtomicInteger();
+
+        private RecordingPublisher(int failEvery) {
+            this.failEvery = failEvery;
+        }
+
+        @Override
+        public void publish(List<OutboxMessage> messages) {
+            if (calls.incrementAndGet() % failEvery == 0) {
+                failures.incrementAndGet();
+                throw new IllegalStateException("injected publish failure");
+            }
+            for (OutboxMessage message : messages) {
+                ids.add(message.getId());
+                if (message.getKey() != null) {
+                    byKey.computeIfAbsent(message.getKey(), k -> Collections.synchronizedList(new ArrayList<>()))
+                            .add(Integer.valueOf(message.getPayload()));
+                }
+            }
+            delivered.addAndGet(messages.size());
+        }
+
+        int delivered() {
+            return delivered.get();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.indigo.framework.mq.ring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title EventBusTest
+ * @description 多生产者、菱形拓扑下的事件完整性与顺序测试，以及启动后立即停止的测试
+ * @create 2026-10-21 10:00
+ */
+class EventBusTest {
+
+    private static final int PRODUCERS = 2;
+
+    private static final int EVENTS_PER_PRODUCER = 200_000;
+
+    static Stream<WaitStrategy> waitStrategies() {
+        return Stream.of(new SleepingWaitStrategy(), new YieldingWaitStrategy(), new BlockingWaitStrategy());
+    }
+
+    @ParameterizedTest
+    @MethodSource("waitStrategies")
+    void diamondTopologyDeliversEveryEventInOrder(WaitStrategy waitStrategy) throws InterruptedException {
+        EventBus<ValueEvent> bus = new EventBus<>(ValueEvent::new, 1 << 10, waitStrategy, Thread::new);
+        OrderChecker journal = new OrderChecker(event -> event.journaled = true);
+        OrderChecker replicate = new OrderChecker(event -> event.replicated = true);
+        OrderChecker business = new OrderChecker(event -> {
+            if (!event.journaled || !event.replicated) {
+                throw new IllegalStateException("upstream handlers have not processed event");
+            }
+        });
+        bus.after(bus.handleEventsWith(journal), bus.handleEventsWith(replicate)).then(business);
+        bus.start();
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (long value = 0; value < EVENTS_PER_PRODUCER; value++) {
+                    bus.publish((event, sequence, arg) -> event.set(producer, arg), value);
+                }
+            });
+            producers.add(thread);
+            thread.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(bus.shutdown(30, TimeUnit.SECONDS));
+        long[] expected = new long[PRODUCERS];
+        Arrays.fill(expected, EVENTS_PER_PRODUCER);
+        for (OrderChecker checker : List.of(journal, replicate, business)) {
+            assertFalse(checker.failed, checker.failure);
+            assertArrayEquals(expected, checker.next);
+        }
+    }
+
+    @Test
+    void haltBeforeProcessorThreadRunsStopsIt() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        ThreadFactory delayed = runnable -> {
+            Thread thread = new Thread(() -> {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                runnable.run();
+            });
+            thread.setDaemon(true);
+            threads.add(thread);
+            return thread;
+        };
+        EventBus<ValueEvent> bus = new EventBus<>(ValueEvent::new, 16, new BlockingWaitStrategy(), delayed);
+        bus.handleEventsWith((event, sequence, endOfBatch) -> {
+        }).then((event, sequence, endOfBatch) -> {
+        });
+        bus.start();
+
+        // 处理器线程还没进入 run 时就已被停止
+        bus.shutdown(0, TimeUnit.MILLISECONDS);
+        gate.countDown();
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(thread.isAlive(), thread.getName() + " still running after halt");
+        }
+    }
+
+    static final class ValueEvent {
+
+        private int producer;
+
+        private long value;
+
+        private boolean journaled;
+
+        private boolean replicated;
+
+        void set(int producer, long value) {
+            this.producer = producer;
+            this.value = value;
+            this.journaled = false;
+            this.replicated = false;
+        }
+    }
+
+    /**
+     * 检查每个生产者的事件都按发布顺序、不丢不重地到达
+     */
+    static final class OrderChecker implements EventHandler<ValueEvent> {
+
+        private final Consumer<ValueEvent> action;
+
+        private final long[] next = new long[PRODUCERS];
+
+        private boolean failed;
+
+        private String failure;
+
+        OrderChecker(Consumer<ValueEvent> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void onEvent(ValueEvent event, long sequence, boolean endOfBatch) {
+            if (event.value != next[event.producer] && !failed) {
+                failed = true;
+                failure = "producer " + event.producer + " expected " + next[event.producer] + " but got "
+                        + event.value + " at sequence " + sequence;
+            }
+            next[event.producer] = event.value + 1;
+            try {
+                action.accept(event);
+            } catch (RuntimeException e) {
+                if (!failed) {
+                    failed = true;
+                    failure = e.getMessage() + " at sequence " + sequence;
+                }
+            }
+        }
+    }
+}
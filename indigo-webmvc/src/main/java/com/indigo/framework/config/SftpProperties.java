@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -52,6 +53,11 @@ public class SftpProperties {
      */
     public SessionProperties session;
 
+    /**
+     * 文件流最长持有连接与并发许可的时间，流既未读完也未关闭时到期强制断开
+     */
+    private Duration streamTimeout = Duration.ofMinutes(5);
+
     /**
      * 图片压缩配置
      */
@@ -0,0 +1,57 @@
+package com.indigo.framework.config;
+
+import com.indigo.framework.core.utils.VirtualThreadUtil;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title VirtualThreadEnvironmentPostProcessor
+ * @description indigo.webmvc.virtual-threads.enabled=true 时开启 spring.threads.virtual.enabled，
+ * Tomcat 请求线程、@Async 及定时任务改为虚拟线程，应用显式配置的值优先；运行时低于 Java 21 时告警并继续使用平台线程
+ * @create 2026-10-20 23:00
+ */
+public class VirtualThreadEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    static final String ENABLED = "indigo.webmvc.virtual-threads.enabled";
+
+    private static final String DEFAULTS_NAME = "indigoVirtualThreadDefaults";
+
+    private final Log log;
+
+    public VirtualThreadEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(VirtualThreadEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!environment.getProperty(ENABLED, Boolean.class, false)) {
+            return;
+        }
+        if (!VirtualThreadUtil.isSupported()) {
+            log.warn("virtual threads require Java 21+, running on Java " + Runtime.version().feature()
+                    + ", requests stay on platform threads");
+            return;
+        }
+        MutablePropertySources sources = environment.getPropertySources();
+        if (!sources.contains(DEFAULTS_NAME)) {
+            sources.addLast(new MapPropertySource(DEFAULTS_NAME, Map.of("spring.threads.virtual.enabled", true)));
+        }
+    }
+
+    /**
+     * 在配置文件加载之后执行，才能读到 application.yml 中的开关
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
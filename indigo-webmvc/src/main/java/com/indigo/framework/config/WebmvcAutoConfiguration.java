@@ -0,0 +1,112 @@
+package com.indigo.framework.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.auth.config.AuthAutoConfiguration;
+import com.indigo.framework.auth.ratelimit.RateLimiterRegistry;
+import com.indigo.framework.core.concurrent.ResourceLimiter;
+import com.indigo.framework.core.concurrent.ResourceLimiterRegistry;
+import com.indigo.framework.filter.AdaptiveLimiter;
+import com.indigo.framework.filter.ConcurrencyLimitFilter;
+import com.indigo.framework.filter.ConcurrencyLimitRoute;
+import com.indigo.framework.filter.RateLimitFilter;
+import com.indigo.framework.filter.RateLimitPolicy;
+import com.indigo.framework.filter.VegasLimit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title WebmvcAutoConfiguration
+ * @description web 自动配置
+ * @create 2026-10-20 11:00
+ */
+@AutoConfiguration(after = AuthAutoConfiguration.class)
+@EnableConfigurationProperties(WebmvcProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(name = "jakarta.servlet.Filter")
+public class WebmvcAutoConfiguration {
+
+    /**
+     * 阻塞资源的并发隔离，虚拟线程下请求并发不再受线程池限制，需要按资源单独限制
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public ResourceLimiterRegistry resourceLimiterRegistry(WebmvcProperties webmvcProperties) {
+        ResourceLimiterRegistry registry = new ResourceLimiterRegistry();
+        webmvcProperties.getResourceLimits().forEach((name, limit) -> registry.register(new ResourceLimiter(
+                name, limit.getMaxConcurrency(), limit.getAcquireTimeout(), limit.isOffloadPinning())));
+        return registry;
+    }
+
+    /**
+     * 存在 {@link RateLimiterRegistry} 时注册限流过滤器，按配置的请求头取 key，也可以声明 {@link RateLimitPolicy} bean 自定义取值，
+     * 取不到 key 时默认按客户端地址限流
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBean(RateLimiterRegistry.class)
+    static class RateLimitFilterConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiterRegistry rateLimiterRegistry,
+                                                                       WebmvcProperties webmvcProperties,
+                                                                       ObjectProvider<RateLimitPolicy> policies,
+                                                                       ObjectProvider<ObjectMapper> objectMapper) {
+            WebmvcProperties.RateLimit rateLimit = webmvcProperties.getRateLimit();
+            List<RateLimitPolicy> all = new ArrayList<>();
+            rateLimit.getHeaders().forEach((rule, header) -> {
+                if (rateLimiterRegistry.get(rule) != null) {
+                    all.add(new RateLimitPolicy(rule, request -> request.getHeader(header)));
+                }
+            });
+            policies.orderedStream().forEach(all::add);
+            FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                    new RateLimitFilter(rateLimiterRegistry, all, objectMapper.getIfAvailable(ObjectMapper::new),
+                            rateLimit.isRemoteAddressFallback()));
+            registration.setOrder(rateLimit.getOrder());
+            return registration;
+        }
+    }
+
+    /**
+     * indigo.webmvc.concurrency-limit.enabled=true 时注册自适应并发限制过滤器，
+     * 路由在配置中声明，也可以声明 {@link ConcurrencyLimitRoute} bean，配置的路由先匹配
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "indigo.webmvc.concurrency-limit", name = "enabled", havingValue = "true")
+    static class ConcurrencyLimitFilterConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+                WebmvcProperties webmvcProperties, ObjectProvider<ConcurrencyLimitRoute> routes,
+                ObjectProvider<ObjectMapper> objectMapper) {
+            WebmvcProperties.ConcurrencyLimit concurrencyLimit = webmvcProperties.getConcurrencyLimit();
+            List<ConcurrencyLimitRoute> all = new ArrayList<>();
+            concurrencyLimit.getRoutes().forEach((name, route) -> all.add(new ConcurrencyLimitRoute(
+                    name, route.getPatterns(), route.getPriority(), limiter(route.getLimit()))));
+            routes.orderedStream().forEach(all::add);
+            FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                    new ConcurrencyLimitFilter(limiter(concurrencyLimit.getGlobal()), all, concurrencyLimit.getShares(),
+                            concurrencyLimit.getDefaultPriority(), concurrencyLimit.getRetryAfter(),
+                            objectMapper.getIfAvailable(ObjectMapper::new)));
+            registration.setOrder(concurrencyLimit.getOrder());
+            return registration;
+        }
+
+        private static AdaptiveLimiter limiter(WebmvcProperties.Limit limit) {
+            return new AdaptiveLimiter(new VegasLimit(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), limit.getProbeMultiplier()));
+        }
+    }
+}
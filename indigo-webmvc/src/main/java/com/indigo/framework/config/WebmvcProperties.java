@@ -0,0 +1,195 @@
+package com.indigo.framework.config;
+
+import com.indigo.framework.filter.RequestPriority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title WebmvcProperties
+ * @description web 配置
+ * @create 2026-10-20 11:00
+ */
+@Data
+@ConfigurationProperties("indigo.webmvc")
+public class WebmvcProperties {
+
+    /**
+     * 限流过滤器配置
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * 自适应并发限制配置
+     */
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    /**
+     * 虚拟线程配置
+     */
+    private VirtualThreads virtualThreads = new VirtualThreads();
+
+    /**
+     * 阻塞资源名称 -> 并发隔离配置，未配置的资源不限制并发
+     */
+    private Map<String, ResourceLimit> resourceLimits = new LinkedHashMap<>(Map.of(
+            "sftp", new ResourceLimit(8, Duration.ofSeconds(5), true)));
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * 限流规则名称 -> 取 key 的请求头，规则在 indigo.auth.rate-limit.rules 中配置，默认为空。
+         * 请求头由客户端提交，客户端可以随意伪造或省略，只能配置由网关写入并覆盖客户端原值的请求头，如网关校验令牌后写入的 X-User-Id
+         */
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        /**
+         * 请求中取不到 key 时是否按客户端地址限流，关闭后取不到 key 的请求不受该策略限制。
+         * 应用在反向代理之后时需配置 server.forward-headers-strategy，否则取到的是代理的地址
+         */
+        private boolean remoteAddressFallback = true;
+
+        /**
+         * 过滤器顺序
+         */
+        private int order = 0;
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = false;
+
+        /**
+         * 过滤器顺序，在限流之前执行，过载时尽早拒绝
+         */
+        private int order = -1;
+
+        /**
+         * 全局并发上限
+         */
+        private Limit global = new Limit(100, 10, 1000);
+
+        /**
+         * 优先级 -> 可使用的全局上限比例，未配置的优先级为 1
+         */
+        private Map<RequestPriority, Double> shares = new LinkedHashMap<>(Map.of(
+                RequestPriority.CRITICAL, 1.0,
+                RequestPriority.NORMAL, 0.9,
+                RequestPriority.SHEDDABLE, 0.5));
+
+        /**
+         * 未匹配路由的请求优先级
+         */
+        private RequestPriority defaultPriority = RequestPriority.NORMAL;
+
+        /**
+         * 路由名称 -> 路由配置，按配置顺序匹配
+         */
+        private Map<String, Route> routes = new LinkedHashMap<>();
+
+        /**
+         * 拒绝时 Retry-After 的值
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Limit {
+
+        /**
+         * 初始上限
+         */
+        private int initialLimit = 20;
+
+        /**
+         * 最小上限
+         */
+        private int minLimit = 1;
+
+        /**
+         * 最大上限
+         */
+        private int maxLimit = 200;
+
+        /**
+         * 每 probeMultiplier * limit 个请求重置一次无排队耗时基准
+         */
+        private int probeMultiplier = 30;
+
+        public Limit() {
+        }
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    @Data
+    public static class Route {
+
+        /**
+         * 路径模式，如 /order/**
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 优先级
+         */
+        private RequestPriority priority = RequestPriority.NORMAL;
+
+        /**
+         * 路由并发上限
+         */
+        private Limit limit = new Limit();
+    }
+
+    @Data
+    public static class VirtualThreads {
+
+        /**
+         * 是否以虚拟线程处理请求，运行时低于 Java 21 时忽略并继续使用平台线程
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class ResourceLimit {
+
+        /**
+         * 最大并发
+         */
+        private int maxConcurrency = 16;
+
+        /**
+         * 等待许可的超时时间，超时后以 429 失败
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * 虚拟线程上的调用是否转交平台线程执行，客户端内部在 synchronized 中阻塞 I/O 时开启
+         */
+        private boolean offloadPinning = false;
+
+        public ResourceLimit() {
+        }
+
+        public ResourceLimit(int maxConcurrency, Duration acquireTimeout, boolean offloadPinning) {
+            this.maxConcurrency = maxConcurrency;
+            this.acquireTimeout = acquireTimeout;
+            this.offloadPinning = offloadPinning;
+        }
+    }
+}
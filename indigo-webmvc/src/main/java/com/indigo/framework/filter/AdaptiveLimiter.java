@@ -0,0 +1,74 @@
+package com.indigo.framework.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 史偕成
+ * @title AdaptiveLimiter
+ * @description 自适应并发限制，正在处理的请求数达到 {@link VegasLimit} 的上限时直接拒绝，不排队
+ * @create 2026-10-21 09:00
+ */
+public class AdaptiveLimiter {
+
+    private final VegasLimit limit;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    public AdaptiveLimiter(VegasLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 尝试占用一个并发
+     *
+     * @param share 可使用的上限比例，低优先级请求只能使用部分上限
+     * @return 占用凭证，超过上限时返回 null
+     */
+    public Token tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit.getLimit() * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Token(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    /**
+     * 请求结束，归还并发并记录耗时
+     *
+     * @param token   占用凭证
+     * @param dropped 是否失败
+     */
+    public void release(Token token, boolean dropped) {
+        inflight.decrementAndGet();
+        limit.onSample(System.nanoTime() - token.startNanos, token.inflight, dropped);
+    }
+
+    /**
+     * 归还并发，不记录耗时，用于请求在处理前被其他限制拒绝的情况
+     *
+     * @param token 占用凭证
+     */
+    public void cancel(Token token) {
+        inflight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * @param startNanos 开始时间
+     * @param inflight   开始时正在处理的请求数，包括自身
+     */
+    public record Token(long startNanos, int inflight) {
+    }
+}
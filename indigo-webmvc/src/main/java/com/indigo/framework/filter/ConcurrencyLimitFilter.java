@@ -0,0 +1,190 @@
+package com.indigo.framework.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.core.pojo.Result;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.OVERLOADED;
+
+/**
+ * @author 史偕成
+ * @title ConcurrencyLimitFilter
+ * @description 自适应并发限制与降载
+ * 全局与每个路由各有一个根据耗时动态调整的并发上限，超过上限的请求直接返回 503，不在线程池中排队等待超时；
+ * 全局上限按优先级分配可用比例，过载时可丢弃请求先被拒绝，关键请求最后被拒绝。
+ * 响应 503、504 或抛出异常视为失败，上限按比例缩小
+ * @create 2026-10-21 09:00
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveLimiter global;
+
+    private final List<Route> routes = new ArrayList<>();
+
+    private final Map<RequestPriority, Double> shares;
+
+    private final RequestPriority defaultPriority;
+
+    private final String retryAfterSeconds;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param global          全局并发限制
+     * @param routes          路由，按顺序匹配
+     * @param shares          各优先级可使用的全局上限比例，未配置的优先级为 1
+     * @param defaultPriority 未匹配路由的请求优先级
+     * @param retryAfter      拒绝时建议的重试间隔
+     * @param objectMapper    JSON 序列化
+     */
+    public ConcurrencyLimitFilter(AdaptiveLimiter global, List<ConcurrencyLimitRoute> routes,
+                                  Map<RequestPriority, Double> shares, RequestPriority defaultPriority,
+                                  Duration retryAfter, ObjectMapper objectMapper) {
+        this.global = global;
+        for (ConcurrencyLimitRoute route : routes) {
+            List<PathPattern> patterns = route.patterns().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.routes.add(new Route(patterns, route));
+        }
+        this.shares = new EnumMap<>(RequestPriority.class);
+        this.shares.putAll(shares);
+        this.defaultPriority = defaultPriority;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConcurrencyLimitRoute route = match(request);
+        RequestPriority priority = route == null ? defaultPriority : route.priority();
+        AdaptiveLimiter.Token globalToken = global.tryAcquire(shares.getOrDefault(priority, 1.0));
+        if (globalToken == null) {
+            reject(response);
+            return;
+        }
+        AdaptiveLimiter.Token routeToken = null;
+        if (route != null) {
+            routeToken = route.limiter().tryAcquire(1.0);
+            if (routeToken == null) {
+                global.cancel(globalToken);
+                reject(response);
+                return;
+            }
+        }
+        Completion completion = new Completion(route, globalToken, routeToken);
+        boolean dropped = true;
+        try {
+            chain.doFilter(request, response);
+            dropped = false;
+        } finally {
+            if (!dropped && request.isAsyncStarted()) {
+                // 异步请求在异步处理结束时才归还并发
+                request.getAsyncContext().addListener(completion);
+            } else {
+                completion.complete(dropped || isDropped(response));
+            }
+        }
+    }
+
+    private ConcurrencyLimitRoute match(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            for (PathPattern pattern : route.patterns) {
+                if (pattern.matches(path)) {
+                    return route.route;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDropped(HttpServletResponse response) {
+        int status = response.getStatus();
+        return status == HttpServletResponse.SC_SERVICE_UNAVAILABLE || status == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(OVERLOADED.getCode());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), Result.fail(OVERLOADED));
+    }
+
+    private record Route(List<PathPattern> patterns, ConcurrencyLimitRoute route) {
+    }
+
+    /**
+     * 请求结束时归还全局与路由的并发，异步请求由容器回调，只归还一次
+     */
+    private final class Completion implements AsyncListener {
+
+        private final ConcurrencyLimitRoute route;
+
+        private final AdaptiveLimiter.Token globalToken;
+
+        private final AdaptiveLimiter.Token routeToken;
+
+        private boolean completed;
+
+        private Completion(ConcurrencyLimitRoute route, AdaptiveLimiter.Token globalToken,
+                           AdaptiveLimiter.Token routeToken) {
+            this.route = route;
+            this.globalToken = globalToken;
+            this.routeToken = routeToken;
+        }
+
+        synchronized void complete(boolean dropped) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            global.release(globalToken, dropped);
+            if (routeToken != null) {
+                route.limiter().release(routeToken, dropped);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(isDropped((HttpServletResponse) event.getSuppliedResponse()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            complete(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            complete(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 再次开启异步时保持监听
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.indigo.framework.filter;
+
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title ConcurrencyLimitRoute
+ * @description 并发限制路由，按路径模式匹配请求，匹配的请求除全局上限外还受路由自身上限限制，按声明顺序取第一个匹配
+ * <pre>
+ *     new ConcurrencyLimitRoute("export", List.of("/report/**"), RequestPriority.SHEDDABLE,
+ *             new AdaptiveLimiter(new VegasLimit(10, 1, 50, 30)))
+ * </pre>
+ * @create 2026-10-21 09:00
+ */
+public record ConcurrencyLimitRoute(String name, List<String> patterns, RequestPriority priority,
+                                    AdaptiveLimiter limiter) {
+}
@@ -0,0 +1,98 @@
+package com.indigo.framework.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.auth.ratelimit.RateLimiter;
+import com.indigo.framework.auth.ratelimit.RateLimiterRegistry;
+import com.indigo.framework.core.pojo.Result;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.TOO_MANY_REQUESTS;
+
+/**
+ * @author 史偕成
+ * @title RateLimitFilter
+ * @description 按用户、租户等维度限流，任一策略超限即返回 429 并带上 Retry-After；
+ * 请求中取不到 key 时默认退化为按客户端地址限流
+ * @create 2026-10-20 11:00
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * 按地址限流的 key 前缀，与解析出的 key 区分
+     */
+    private static final String ADDRESS_PREFIX = "addr:";
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean remoteAddressFallback;
+
+    private final List<Policy> policies = new ArrayList<>();
+
+    public RateLimitFilter(RateLimiterRegistry registry, List<RateLimitPolicy> policies, ObjectMapper objectMapper) {
+        this(registry, policies, objectMapper, true);
+    }
+
+    /**
+     * @param registry              限流器
+     * @param policies              限流策略
+     * @param objectMapper          写出拒绝响应
+     * @param remoteAddressFallback 取不到 key 时是否按客户端地址限流，关闭时这类请求不受该策略限制
+     */
+    public RateLimitFilter(RateLimiterRegistry registry, List<RateLimitPolicy> policies, ObjectMapper objectMapper,
+                           boolean remoteAddressFallback) {
+        this.objectMapper = objectMapper;
+        this.remoteAddressFallback = remoteAddressFallback;
+        for (RateLimitPolicy policy : policies) {
+            RateLimiter limiter = registry.get(policy.rule());
+            if (limiter == null) {
+                log.warn("rate limit rule {} is not configured, policy ignored", policy.rule());
+            } else {
+                this.policies.add(new Policy(policy.rule() + ':', policy, limiter));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        for (Policy policy : policies) {
+            String key = policy.policy.keyResolver().apply(request);
+            if (key == null || key.isEmpty()) {
+                // 省略请求头不能绕过限流
+                if (!remoteAddressFallback) {
+                    continue;
+                }
+                key = ADDRESS_PREFIX + request.getRemoteAddr();
+            }
+            long waitMs = policy.limiter.acquire(policy.prefix + key, 1);
+            if (waitMs > 0) {
+                reject(response, waitMs);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, long waitMs) throws IOException {
+        response.setStatus(TOO_MANY_REQUESTS.getCode());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMs + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), Result.fail(TOO_MANY_REQUESTS));
+    }
+
+    private record Policy(String prefix, RateLimitPolicy policy, RateLimiter limiter) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.indigo.framework.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.function.Function;
+
+/**
+ * @author 史偕成
+ * @title RateLimitPolicy
+ * @description 限流策略，从请求中解析限流 key，解析结果为空时按客户端地址限流或不生效，见 {@link RateLimitFilter}
+ * <pre>
+ *     new RateLimitPolicy("tenant", request -&gt; request.getHeader("X-Tenant-Id"))
+ * </pre>
+ * @create 2026-10-20 11:00
+ */
+public record RateLimitPolicy(String rule, Function<HttpServletRequest, String> keyResolver) {
+}
@@ -0,0 +1,25 @@
+package com.indigo.framework.filter;
+
+/**
+ * @author 史偕成
+ * @title RequestPriority
+ * @description 请求优先级，过载时按优先级从低到高丢弃，每个优先级最多占用全局并发上限的一定比例
+ * @create 2026-10-21 09:00
+ */
+public enum RequestPriority {
+
+    /**
+     * 关键请求，如下单、支付，最后丢弃
+     */
+    CRITICAL,
+
+    /**
+     * 普通请求
+     */
+    NORMAL,
+
+    /**
+     * 可丢弃请求，如报表、导出，最先丢弃
+     */
+    SHEDDABLE
+}
@@ -0,0 +1,95 @@
+package com.indigo.framework.filter;
+
+/**
+ * @author 史偕成
+ * @title VegasLimit
+ * @description Vegas 算法：以观测到的最小耗时为无排队基准，按 limit * (1 - 基准 / 当前耗时) 估算排队的请求数，
+ * 排队少于 alpha 时增大上限，多于 beta 时减小上限，请求失败时按比例缩小，失败样本不参与基准；每隔若干个成功样本重置基准，
+ * 避免基准停留在历史低值上导致上限持续收缩
+ * @create 2026-10-21 09:00
+ */
+public class VegasLimit {
+
+    private static final double ALPHA = 3;
+
+    private static final double BETA = 6;
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final int probeMultiplier;
+
+    private volatile double limit;
+
+    private long rttNoLoad;
+
+    private long probeCountdown;
+
+    /**
+     * @param initialLimit    初始上限
+     * @param minLimit        最小上限
+     * @param maxLimit        最大上限
+     * @param probeMultiplier 每 probeMultiplier * limit 个成功样本重置一次无排队基准
+     */
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int probeMultiplier) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeMultiplier = probeMultiplier;
+        this.probeCountdown = nextProbeCountdown();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * 记录一次请求结果
+     *
+     * @param rttNanos 请求耗时（纳秒）
+     * @param inflight 开始处理时正在处理的请求数
+     * @param dropped  是否失败
+     */
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            // 失败请求的耗时可能是快速失败或超时，不参与基准的重置与更新
+            limit = Math.max(minLimit, Math.min(maxLimit, limit * BACKOFF_RATIO));
+            return;
+        }
+        if (--probeCountdown <= 0) {
+            probeCountdown = nextProbeCountdown();
+            rttNoLoad = rttNanos;
+            return;
+        }
+        if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+            rttNoLoad = rttNanos;
+            return;
+        }
+        double current = limit;
+        double log = Math.max(1, Math.log10(current));
+        if (inflight * 2 < current) {
+            // 并发没有用满时耗时不反映容量，不调整
+            return;
+        }
+        double queue = Math.ceil(current * (1 - (double) rttNoLoad / rttNanos));
+        double newLimit;
+        if (queue <= log) {
+            newLimit = current + BETA * log;
+        } else if (queue < ALPHA * log) {
+            newLimit = current + log;
+        } else if (queue > BETA * log) {
+            newLimit = current - log;
+        } else {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    private long nextProbeCountdown() {
+        // 抖动避免各路由同时重置基准
+        return (long) (probeMultiplier * Math.max(limit, 1) * (0.5 + Math.random() * 0.5)) + 1;
+    }
+}
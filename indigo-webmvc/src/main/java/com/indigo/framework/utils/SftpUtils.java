@@ -1,18 +1,30 @@
 package com.indigo.framework.utils;
 
+import cn.hutool.core.thread.ThreadUtil;
 import cn.hutool.core.util.StrUtil;
 import com.indigo.framework.config.SftpProperties;
+import com.indigo.framework.core.concurrent.ResourceLimiter;
+import com.indigo.framework.core.concurrent.ResourceLimiterRegistry;
+import com.indigo.framework.core.exception.BaseUnCheckException;
 import com.jcraft.jsch.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.indigo.framework.utils.PicUtils.imageCheck;
 
@@ -25,10 +37,32 @@ import static com.indigo.framework.utils.PicUtils.imageCheck;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class SftpUtils {
+public class SftpUtils implements DisposableBean {
+
+    /**
+     * 并发隔离的资源名，在 indigo.webmvc.resource-limits.sftp 中配置
+     */
+    private static final String RESOURCE = "sftp";
+
+    private static final ResourceLimiter UNLIMITED = ResourceLimiter.unlimited(RESOURCE);
 
     private final SftpProperties sftpProperties;
 
+    private final ObjectProvider<ResourceLimiterRegistry> limiterRegistry;
+
+    /**
+     * 收回超时未关闭的文件流
+     */
+    private final ScheduledExecutorService streamReaper = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("indigo-sftp-stream-", true));
+
+    /**
+     * JSch 在 synchronized 中阻塞读写 socket，虚拟线程下需要限制并发并转交平台线程执行
+     */
+    private ResourceLimiter limiter() {
+        ResourceLimiterRegistry registry = limiterRegistry.getIfAvailable();
+        return registry == null ? UNLIMITED : registry.get(RESOURCE);
+    }
 
     private ChannelSftp createSftp()  {
         JSch jsch = new JSch();
@@ -98,7 +132,6 @@ public class SftpUtils {
      * @return 文件存放路径
      */
     public String uploadInputStream(InputStream inputStream, String path, String fileName) {
-        ChannelSftp sftp = null;
         try {
             // 1. 判断文件类型
             // 如果是图片进行压缩，并返回压缩输出流
@@ -109,6 +142,22 @@ public class SftpUtils {
             if (inputStream == null) {
                 throw new RuntimeException("inputStream is null");
             }
+            InputStream content = inputStream;
+            return limiter().call(() -> put(content, path, fileName));
+        } catch (SftpException | IOException e) {
+            log.error("upload failed", e);
+            return "";
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("upload failed", e);
+            return "";
+        }
+    }
+
+    private String put(InputStream inputStream, String path, String fileName) throws SftpException {
+        ChannelSftp sftp = null;
+        try {
             sftp = createSftp();
             if (sftp == null) {
                 // 如果创建sftp 通道失败 抛出异常
@@ -135,9 +184,6 @@ public class SftpUtils {
             sftp.put(inputStream, currentPath.append("/").append(fileName).toString());
             // 5.返回文件相对路径
             return path +dateDir+"/" + fileName;
-        }catch (SftpException | IOException e) {
-            log.error("upload failed", e);
-            return "";
         } finally {
             // final: Close the SFTP channel and session
             disconnect(sftp);
@@ -164,31 +210,87 @@ public class SftpUtils {
 
 
     /**
-     * 根据地址获取目标地址下的文件流
+     * 根据地址读取目标文件的全部内容，读取完成即断开连接并归还并发许可
      *
-     * @param filePath
-     * @return
+     * @param filePath 文件子路径
+     * @return 文件内容，读取失败返回 null
+     */
+    public byte[] getFileBytesByPath(String filePath) {
+        if (StrUtil.isEmpty(filePath)) {
+            log.error("read file path is empty. filePath:{}", filePath);
+            return null;
+        }
+        String path = sftpProperties.getBasePath() + filePath;
+        try {
+            return limiter().call(() -> {
+                ChannelSftp sftpChannel = null;
+                try {
+                    sftpChannel = createSftp();
+                    if (sftpChannel == null) {
+                        return null;
+                    }
+                    try (InputStream in = sftpChannel.get(path)) {
+                        return in.readAllBytes();
+                    }
+                } finally {
+                    disconnect(sftpChannel);
+                }
+            });
+        } catch (BaseUnCheckException e) {
+            // 并发已满，交由调用方快速失败
+            throw e;
+        } catch (Exception exception) {
+            log.error("read file error", exception);
+            return null;
+        }
+    }
+
+    /**
+     * 根据地址获取目标地址下的文件流。
+     * <p>
+     * <b>调用方必须在 try-with-resources 中关闭返回的流。</b>流持有一个 sftp 连接和一个并发许可，读到末尾或关闭时断开连接并归还许可；
+     * 既不读完也不关闭的流会一直占用 sftp 并发额度，直到 mom.sftp.stream-timeout 到期被强制断开，之后的读取会失败。
+     * <p>
+     * 建立连接与打开文件按 offloadPinning 转交平台线程，之后的 read 仍在调用方线程上执行，JSch 在 synchronized 中阻塞读取 socket，
+     * 虚拟线程读取期间会钉住载体线程；虚拟线程上或只需要完整内容时使用 {@link #getFileBytesByPath(String)}，整个读取都会转交
+     *
+     * @param filePath 文件子路径
+     * @return 文件流，读取失败返回 null
      */
     public InputStream getFileInputStreamByPath(String filePath) {
-        InputStream inputStream = null;
         // 参数校验
         if (StrUtil.isEmpty(filePath)) {
             log.error("uploadFile data is empty. filePath:{}", filePath);
             return null;
         }
         String path = sftpProperties.getBasePath() + filePath;
-        System.out.println("读取文件===>" + path);
+        log.debug("read sftp file {}", path);
+        ResourceLimiter limiter = limiter();
+        ResourceLimiter.Permit permit = limiter.acquire();
         try {
-            ChannelSftp sftpChannel = createSftp();
-            if (sftpChannel == null) {
-                return null;
+            InputStream in = limiter.callWith(permit, () -> open(path, permit));
+            if (in == null) {
+                permit.close();
             }
-            inputStream = sftpChannel.get(path);
+            return in;
         } catch (Exception exception) {
-            log.error("", exception);
+            log.error("open sftp file {} failed", path, exception);
+            permit.close();
             return null;
         }
-        return inputStream;
+    }
+
+    private InputStream open(String path, ResourceLimiter.Permit permit) throws SftpException {
+        ChannelSftp sftpChannel = createSftp();
+        if (sftpChannel == null) {
+            return null;
+        }
+        try {
+            return new ChannelInputStream(sftpChannel.get(path), sftpChannel, permit);
+        } catch (SftpException | RuntimeException e) {
+            disconnect(sftpChannel);
+            throw e;
+        }
     }
 
     /**
@@ -197,19 +299,105 @@ public class SftpUtils {
      * @return
      */
     public boolean delFile(String path) {
-        ChannelSftp sftpChannel=null;
         try {
-             sftpChannel = createSftp();
-            if (sftpChannel == null) {
-                return false;
-            }
-            sftpChannel.rm(sftpProperties.getBasePath()+path);
+            return limiter().call(() -> {
+                ChannelSftp sftpChannel = null;
+                try {
+                    sftpChannel = createSftp();
+                    if (sftpChannel == null) {
+                        return false;
+                    }
+                    sftpChannel.rm(sftpProperties.getBasePath() + path);
+                    return true;
+                } finally {
+                    disconnect(sftpChannel);
+                }
+            });
+        } catch (BaseUnCheckException e) {
+            // 并发已满，交由调用方快速失败
+            throw e;
         } catch (Exception exception) {
             log.error("rm file error", exception);
             return false;
-        } finally {
-            disconnect(sftpChannel);
         }
-        return true;
+    }
+
+    @Override
+    public void destroy() {
+        streamReaper.shutdownNow();
+    }
+
+    /**
+     * 读到末尾、关闭或超时三者先到的一方断开 sftp 连接并归还许可
+     */
+    private class ChannelInputStream extends FilterInputStream {
+
+        private final ChannelSftp channel;
+
+        private final ResourceLimiter.Permit permit;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private final ScheduledFuture<?> timeout;
+
+        ChannelInputStream(InputStream in, ChannelSftp channel, ResourceLimiter.Permit permit) {
+            super(in);
+            this.channel = channel;
+            this.permit = permit;
+            this.timeout = streamReaper.schedule(this::expire, sftpProperties.getStreamTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                release();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n < 0) {
+                release();
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            release();
+        }
+
+        private void expire() {
+            if (released.get()) {
+                return;
+            }
+            log.warn("sftp stream not closed within {}, disconnect and release permit", sftpProperties.getStreamTimeout());
+            try {
+                release();
+            } catch (IOException e) {
+                log.debug("close expired sftp stream failed", e);
+            }
+        }
+
+        private void release() throws IOException {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            // 超时时间很短时定时任务可能先于赋值执行
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            try {
+                super.close();
+            } finally {
+                disconnect(channel);
+                permit.close();
+            }
+        }
     }
 }
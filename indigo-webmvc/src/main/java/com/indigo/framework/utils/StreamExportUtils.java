@@ -0,0 +1,157 @@
+package com.indigo.framework.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * @author 史偕成
+ * @title StreamExportUtils
+ * @description 流式导出工具类
+ * 将惰性 Stream（如 indigo-databases 的流式查询结果）逐行写入分块响应，每写入一定行数刷新一次。
+ * Stream 在写出响应的线程上打开，写完、出错或客户端断开时在同一线程关闭，数据库游标与连接随之释放；
+ * 响应未开始写出（异步超时、提前出错）时不会执行查询，也就不会占用连接。
+ * 查询不在请求线程上执行，因此不参与请求线程的事务。
+ * <pre class="code">
+ * &#64;GetMapping("/orders/export")
+ * public ResponseEntity&lt;StreamingResponseBody&gt; export() {
+ *     return ResponseEntity.ok()
+ *             .contentType(MediaType.parseMediaType("text/csv"))
+ *             .body(StreamExportUtils.csv(() -&gt; template.stream(sql, mapper), HEADER, Order::toColumns));
+ * }
+ * </pre>
+ * @create 2026-10-19 14:00
+ */
+@Slf4j
+public class StreamExportUtils {
+
+    /**
+     * 每写入多少行刷新一次响应
+     */
+    private static final int FLUSH_ROWS = 500;
+
+    private static final char CSV_SEPARATOR = ',';
+
+    private static final String LINE_SEPARATOR = "\n";
+
+    /**
+     * 按 JSON Lines 格式导出，每行一个 JSON 对象
+     *
+     * @param rows   打开数据 Stream，在写出响应时调用
+     * @param mapper Jackson ObjectMapper
+     * @param <T>    行类型
+     * @return 分块响应体
+     */
+    public static <T> StreamingResponseBody jsonLines(Supplier<Stream<T>> rows, ObjectMapper mapper) {
+        return of(rows, (row, out) -> {
+            out.write(mapper.writeValueAsString(row));
+            out.write(LINE_SEPARATOR);
+        });
+    }
+
+    /**
+     * 按 CSV 格式导出
+     *
+     * @param rows    打开数据 Stream，在写出响应时调用
+     * @param header  表头，为 null 时不输出
+     * @param columns 行 -> 列值
+     * @param <T>     行类型
+     * @return 分块响应体
+     */
+    public static <T> StreamingResponseBody csv(Supplier<Stream<T>> rows, String[] header,
+                                                Function<T, Object[]> columns) {
+        return out -> {
+            try (Stream<T> source = rows.get()) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (header != null) {
+                    writeCsvLine(writer, header);
+                }
+                write(source, (row, w) -> writeCsvLine(w, columns.apply(row)), writer);
+            }
+        };
+    }
+
+    /**
+     * 自定义行格式导出
+     *
+     * @param rows      打开数据 Stream，在写出响应时调用
+     * @param rowWriter 行写出
+     * @param <T>       行类型
+     * @return 分块响应体
+     */
+    public static <T> StreamingResponseBody of(Supplier<Stream<T>> rows, RowWriter<T> rowWriter) {
+        return out -> {
+            try (Stream<T> source = rows.get()) {
+                write(source, rowWriter, new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            }
+        };
+    }
+
+    private static <T> void write(Stream<T> rows, RowWriter<T> rowWriter, Writer writer) throws IOException {
+        int count = 0;
+        Iterator<T> iterator = rows.iterator();
+        try {
+            while (iterator.hasNext()) {
+                rowWriter.write(iterator.next(), writer);
+                if (++count % FLUSH_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // 客户端断开连接，调用方的 try-with-resources 会关闭数据源
+            log.warn("stream export aborted after {} rows: {}", count, e.getMessage());
+            throw e;
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(CSV_SEPARATOR);
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(CSV_SEPARATOR) >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                    || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    /**
+     * 行写出
+     *
+     * @param <T> 行类型
+     */
+    @FunctionalInterface
+    public interface RowWriter<T> {
+
+        /**
+         * 写出一行
+         *
+         * @param row    行数据
+         * @param writer 输出
+         * @throws IOException 写出失败（通常是客户端断开）
+         */
+        void write(T row, Writer writer) throws IOException;
+    }
+}
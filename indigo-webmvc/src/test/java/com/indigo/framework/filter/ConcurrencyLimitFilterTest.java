@@ -0,0 +1,154 @@
+package com.indigo.framework.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author 史偕成
+ * @title ConcurrencyLimitFilterTest
+ * @description 并发限制过滤器测试：过载时按优先级先拒绝可丢弃请求、最后拒绝关键请求，路由上限独立生效，请求结束后归还并发
+ * @create 2026-10-21 10:00
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final int PASSED = 200;
+
+    private static final int REJECTED = 503;
+
+    /**
+     * 上限固定为 10
+     */
+    private final AdaptiveLimiter global = new AdaptiveLimiter(new VegasLimit(10, 10, 10, 100));
+
+    private final AdaptiveLimiter export = new AdaptiveLimiter(new VegasLimit(1, 1, 1, 100));
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(global, List.of(
+            new ConcurrencyLimitRoute("order", List.of("/order/**"), RequestPriority.CRITICAL,
+                    new AdaptiveLimiter(new VegasLimit(100, 100, 100, 100))),
+            new ConcurrencyLimitRoute("export", List.of("/report/**"), RequestPriority.SHEDDABLE, export)),
+            Map.of(RequestPriority.SHEDDABLE, 0.5, RequestPriority.NORMAL, 0.8),
+            RequestPriority.NORMAL, Duration.ofSeconds(2), new ObjectMapper());
+
+    private final List<AdaptiveLimiter.Token> held = new ArrayList<>();
+
+    @Test
+    void shedsLowerPrioritiesFirst() throws Exception {
+        hold(5);
+        assertEquals(REJECTED, send("/report/daily", (request, response) -> {
+        }));
+        assertEquals(PASSED, send("/user/1", (request, response) -> {
+        }));
+        assertEquals(PASSED, send("/order/1", (request, response) -> {
+        }));
+
+        hold(3);
+        assertEquals(REJECTED, send("/user/1", (request, response) -> {
+        }));
+        assertEquals(PASSED, send("/order/1", (request, response) -> {
+        }));
+
+        hold(2);
+        assertEquals(REJECTED, send("/order/1", (request, response) -> {
+        }));
+        assertEquals(10, global.getInflight());
+    }
+
+    @Test
+    void routeLimitRejectsAndReturnsGlobalPermit() throws Exception {
+        AdaptiveLimiter.Token running = export.tryAcquire(1.0);
+        assertNotNull(running);
+
+        assertEquals(REJECTED, send("/report/daily", (request, response) -> {
+        }));
+        assertEquals(0, global.getInflight());
+
+        export.cancel(running);
+        assertEquals(PASSED, send("/report/daily", (request, response) -> {
+        }));
+        assertEquals(0, export.getInflight());
+    }
+
+    @Test
+    void failedRequestReleasesPermitsAndShrinksLimit() {
+        AdaptiveLimiter adaptive = new AdaptiveLimiter(new VegasLimit(10, 1, 10, 100));
+        ConcurrencyLimitFilter shrinking = new ConcurrencyLimitFilter(adaptive, List.of(), Map.of(),
+                RequestPriority.NORMAL, Duration.ofSeconds(1), new ObjectMapper());
+
+        assertThrows(IllegalStateException.class, () -> send(shrinking, "/user/1", (request, response) -> {
+            throw new IllegalStateException("handler failed");
+        }));
+
+        assertEquals(0, adaptive.getInflight());
+        assertEquals(9, adaptive.getLimit());
+    }
+
+    private void hold(int count) {
+        for (int i = 0; i < count; i++) {
+            AdaptiveLimiter.Token token = global.tryAcquire(1.0);
+            assertNotNull(token);
+            held.add(token);
+        }
+    }
+
+    private int send(String uri, FilterChain chain) throws Exception {
+        return send(filter, uri, chain);
+    }
+
+    private int send(ConcurrencyLimitFilter target, String uri, FilterChain chain) throws Exception {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getRequestURI" -> uri;
+                    case "getContextPath" -> "";
+                    case "isAsyncStarted" -> false;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] status = {PASSED};
+        ServletOutputStream body = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+        };
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setStatus" -> status[0] = (int) args[0];
+                        case "getStatus" -> {
+                            return status[0];
+                        }
+                        case "getOutputStream" -> {
+                            return body;
+                        }
+                        case "setHeader", "setContentType", "setCharacterEncoding" -> {
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }
+                    return null;
+                });
+        target.doFilterInternal(request, response, chain);
+        return status[0];
+    }
+}
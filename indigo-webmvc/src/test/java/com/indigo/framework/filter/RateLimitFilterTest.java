@@ -0,0 +1,119 @@
+package com.indigo.framework.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.auth.ratelimit.GcraRateLimiter;
+import com.indigo.framework.auth.ratelimit.RateLimitRule;
+import com.indigo.framework.auth.ratelimit.RateLimiterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author 史偕成
+ * @title RateLimitFilterTest
+ * @description 限流过滤器测试：按请求头取 key，取不到时按客户端地址限流
+ * @create 2026-10-21 10:00
+ */
+class RateLimitFilterTest {
+
+    private static final int PASSED = 200;
+
+    private static final int REJECTED = 429;
+
+    private final AtomicInteger passed = new AtomicInteger();
+
+    private final FilterChain chain = (request, response) -> passed.incrementAndGet();
+
+    @Test
+    void requestWithoutHeaderIsLimitedByRemoteAddress() throws Exception {
+        RateLimitFilter filter = filter(true);
+
+        assertEquals(PASSED, send(filter, "10.0.0.1", null));
+        assertEquals(REJECTED, send(filter, "10.0.0.1", null));
+        assertEquals(PASSED, send(filter, "10.0.0.2", null));
+        assertEquals(2, passed.get());
+    }
+
+    @Test
+    void headerKeyIsLimitedIndependentlyOfAddress() throws Exception {
+        RateLimitFilter filter = filter(true);
+
+        assertEquals(PASSED, send(filter, "10.0.0.1", "u1"));
+        assertEquals(PASSED, send(filter, "10.0.0.1", "u2"));
+        assertEquals(PASSED, send(filter, "10.0.0.1", null));
+        assertEquals(REJECTED, send(filter, "10.0.0.2", "u1"));
+    }
+
+    @Test
+    void requestWithoutHeaderPassesWhenFallbackIsDisabled() throws Exception {
+        RateLimitFilter filter = filter(false);
+
+        assertEquals(PASSED, send(filter, "10.0.0.1", null));
+        assertEquals(PASSED, send(filter, "10.0.0.1", null));
+        assertEquals(PASSED, send(filter, "10.0.0.1", "u1"));
+        assertEquals(REJECTED, send(filter, "10.0.0.1", "u1"));
+    }
+
+    private RateLimitFilter filter(boolean remoteAddressFallback) {
+        // 每 100 秒一个许可，测试期间不会恢复
+        RateLimiterRegistry registry = new RateLimiterRegistry(Map.of(
+                "user", new GcraRateLimiter(new RateLimitRule(0.01, 1), 100)));
+        return new RateLimitFilter(registry,
+                List.of(new RateLimitPolicy("user", request -> request.getHeader("X-User-Id"))),
+                new ObjectMapper(), remoteAddressFallback);
+    }
+
+    private int send(RateLimitFilter filter, String remoteAddress, String userId) throws Exception {
+        Map<String, String> headers = new HashMap<>();
+        if (userId != null) {
+            headers.put("X-User-Id", userId);
+        }
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getHeader" -> headers.get((String) args[0]);
+                    case "getRemoteAddr" -> remoteAddress;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] status = {PASSED};
+        ServletOutputStream body = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+        };
+        HttpServletResponse response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "setStatus" -> status[0] = (int) args[0];
+                        case "getOutputStream" -> {
+                            return body;
+                        }
+                        case "setHeader", "setContentType", "setCharacterEncoding" -> {
+                        }
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    }
+                    return null;
+                });
+        filter.doFilterInternal(request, response, chain);
+        return status[0];
+    }
+}
@@ -0,0 +1,107 @@
+package com.indigo.framework.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title VegasLimitTest
+ * @description Vegas 上限测试：无排队时增长、排队时收缩、失败时按比例缩小、未用满时不调整，
+ * 在固定容量的模拟服务上收敛到容量附近，无排队耗时整体变慢后通过重置基准恢复
+ * @create 2026-10-21 10:00
+ */
+class VegasLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    /**
+     * 不重置基准，结果可重复
+     */
+    private static final int NO_PROBE = 1_000_000;
+
+    @Test
+    void growsWhileLatencyStaysAtBaseline() {
+        VegasLimit limit = new VegasLimit(10, 1, 200, NO_PROBE);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertEquals(200, limit.getLimit());
+    }
+
+    @Test
+    void shrinksWhenRequestsQueue() {
+        VegasLimit limit = new VegasLimit(100, 5, 200, NO_PROBE);
+        limit.onSample(10 * MILLIS, 100, false);
+
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(50 * MILLIS, limit.getLimit(), false);
+        }
+
+        // 耗时是基准的 5 倍，排队估算为上限的 80%，上限小到排队落在 alpha 与 beta 之间时停止收缩
+        assertTrue(limit.getLimit() <= 8, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void backsOffOnFailureAndIgnoresIdleSamples() {
+        VegasLimit limit = new VegasLimit(100, 20, 200, NO_PROBE);
+        limit.onSample(10 * MILLIS, 100, false);
+
+        limit.onSample(1, 100, true);
+        assertEquals(90, limit.getLimit());
+
+        // 并发未用满一半时耗时不反映容量
+        limit.onSample(500 * MILLIS, 10, false);
+        assertEquals(90, limit.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(1, 100, true);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void convergesToServerCapacity() {
+        VegasLimit limit = new VegasLimit(10, 1, 1000, NO_PROBE);
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < 2000; i++) {
+            int current = limit.getLimit();
+            limit.onSample(serve(100, 10, current), current, false);
+            if (i >= 1000) {
+                min = Math.min(min, limit.getLimit());
+                max = Math.max(max, limit.getLimit());
+            }
+        }
+
+        assertTrue(min >= 90 && max <= 130, "limit oscillates between " + min + " and " + max);
+    }
+
+    @Test
+    void recoversAfterBaselineLatencyIncreases() {
+        VegasLimit limit = new VegasLimit(10, 1, 1000, 2);
+        for (int i = 0; i < 2000; i++) {
+            int current = limit.getLimit();
+            limit.onSample(serve(100, 10, current), current, false);
+        }
+
+        // 依赖整体变慢，无排队耗时翻倍，容量不变
+        for (int i = 0; i < 5000; i++) {
+            int current = limit.getLimit();
+            limit.onSample(serve(100, 20, current), current, false);
+        }
+
+        assertTrue(limit.getLimit() >= 50, "limit stuck at " + limit.getLimit());
+    }
+
+    /**
+     * 容量固定的服务：并发不超过容量时耗时为基准，超过后按排队比例增长
+     */
+    private static long serve(int capacity, long baseMillis, int inflight) {
+        return baseMillis * MILLIS * Math.max(capacity, inflight) / capacity;
+    }
+}
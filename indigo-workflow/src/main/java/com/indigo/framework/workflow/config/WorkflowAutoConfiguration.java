@@ -0,0 +1,71 @@
+package com.indigo.framework.workflow.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.databases.batch.BatchWriterFactory;
+import com.indigo.framework.databases.config.DatabasesAutoConfiguration;
+import com.indigo.framework.databases.stream.StreamingQueryTemplate;
+import com.indigo.framework.workflow.engine.FlowDefinition;
+import com.indigo.framework.workflow.engine.FlowEngine;
+import com.indigo.framework.workflow.engine.FlowListener;
+import com.indigo.framework.workflow.state.FlowRecovery;
+import com.indigo.framework.workflow.state.JdbcFlowStateStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * @author 史偕成
+ * @title WorkflowAutoConfiguration
+ * @description 流程引擎自动配置
+ * @create 2026-10-19 22:00
+ */
+@AutoConfiguration(after = DatabasesAutoConfiguration.class)
+@EnableConfigurationProperties(WorkflowProperties.class)
+public class WorkflowAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FlowEngine flowEngine(WorkflowProperties workflowProperties, ObjectProvider<FlowListener> listeners) {
+        FlowEngine flowEngine = new FlowEngine(workflowProperties);
+        listeners.orderedStream().forEach(flowEngine::addListener);
+        return flowEngine;
+    }
+
+    /**
+     * indigo.workflow.state.enabled=true 时以事件日志加快照持久化实例状态，需同时配置 indigo.workflow.state.owner
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "indigo.workflow.state", name = "enabled", havingValue = "true")
+    @ConditionalOnBean({JdbcTemplate.class, BatchWriterFactory.class, StreamingQueryTemplate.class})
+    static class FlowStateConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public JdbcFlowStateStore jdbcFlowStateStore(JdbcTemplate jdbcTemplate,
+                                                     StreamingQueryTemplate streamingQueryTemplate,
+                                                     BatchWriterFactory batchWriterFactory,
+                                                     ObjectProvider<ObjectMapper> objectMapper,
+                                                     WorkflowProperties workflowProperties) {
+            WorkflowProperties.State state = workflowProperties.getState();
+            // 主机名在容器重启后会变化，旧实例将无人恢复，因此要求显式配置
+            AssertUtil.nonStr(state.getOwner(), "indigo.workflow.state.owner must be set when flow state is enabled");
+            return new JdbcFlowStateStore(jdbcTemplate, streamingQueryTemplate, batchWriterFactory,
+                    objectMapper.getIfAvailable(ObjectMapper::new), state, state.getOwner());
+        }
+
+        @Bean
+        @ConditionalOnProperty(prefix = "indigo.workflow.state", name = "recover-on-startup", havingValue = "true",
+                matchIfMissing = true)
+        public FlowRecovery flowRecovery(JdbcFlowStateStore jdbcFlowStateStore, FlowEngine flowEngine,
+                                         ObjectProvider<FlowDefinition> definitions) {
+            return new FlowRecovery(jdbcFlowStateStore, flowEngine, definitions.orderedStream().toList());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.indigo.framework.workflow.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @author 史偕成
+ * @title WorkflowProperties
+ * @description 流程引擎配置
+ * @create 2026-10-19 22:00
+ */
+@Data
+@ConfigurationProperties("indigo.workflow")
+public class WorkflowProperties {
+
+    /**
+     * 节点单次执行的默认超时，0 表示不限制
+     */
+    private Duration defaultTimeout = Duration.ZERO;
+
+    /**
+     * 节点失败后的默认重试次数
+     */
+    private int defaultRetries = 0;
+
+    /**
+     * 默认重试间隔
+     */
+    private Duration retryDelay = Duration.ofMillis(100);
+
+    /**
+     * 节点执行线程名前缀
+     */
+    private String threadPrefix = "indigo-flow-";
+
+    /**
+     * 实例状态持久化配置
+     */
+    private State state = new State();
+
+    @Data
+    public static class State {
+
+        /**
+         * 是否持久化实例状态
+         */
+        private boolean enabled = false;
+
+        /**
+         * 事件表
+         */
+        private String eventTable = "indigo_flow_event";
+
+        /**
+         * 快照表
+         */
+        private String snapshotTable = "indigo_flow_snapshot";
+
+        /**
+         * 每追加多少个事件生成一次快照，恢复时最多重放这么多事件
+         */
+        private int snapshotInterval = 32;
+
+        /**
+         * 清理已被快照覆盖的事件的间隔
+         */
+        private Duration compactInterval = Duration.ofMinutes(1);
+
+        /**
+         * 已结束实例快照的保留时间
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * 实例归属的节点标识，启动时只恢复归属本节点的实例，启用持久化时必须配置；
+         * 应在重启后保持不变，例如 StatefulSet 的 Pod 名称，不能使用每次重启都会变化的容器主机名
+         */
+        private String owner;
+
+        /**
+         * 启动时是否恢复未完成的实例
+         */
+        private boolean recoverOnStartup = true;
+    }
+}
@@ -0,0 +1,75 @@
+package com.indigo.framework.workflow.engine;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 史偕成
+ * @title FlowContext
+ * @description 流程实例上下文：不可变的输入，以及各节点的结果；并行节点可以同时写入，读取上游结果时上游一定已经完成
+ * @create 2026-10-19 22:00
+ */
+public class FlowContext {
+
+    /**
+     * ConcurrentHashMap 不允许 null 值
+     */
+    private static final Object NULL = new Object();
+
+    private final long instanceId;
+
+    private final Map<String, Object> input;
+
+    private final Map<String, Object> results = new ConcurrentHashMap<>();
+
+    public FlowContext(long instanceId, Map<String, Object> input) {
+        this.instanceId = instanceId;
+        this.input = input == null ? Map.of() : Collections.unmodifiableMap(new HashMap<>(input));
+    }
+
+    public long getInstanceId() {
+        return instanceId;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T input(String name) {
+        return (T) input.get(name);
+    }
+
+    public Map<String, Object> getInput() {
+        return input;
+    }
+
+    /**
+     * 节点结果
+     *
+     * @param nodeId 节点 ID
+     * @return 结果，节点未完成或结果为 null 时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T result(String nodeId) {
+        Object result = results.get(nodeId);
+        return result == NULL ? null : (T) result;
+    }
+
+    public boolean hasResult(String nodeId) {
+        return results.containsKey(nodeId);
+    }
+
+    /**
+     * 全部节点结果的副本
+     *
+     * @return 节点 ID -> 结果
+     */
+    public Map<String, Object> results() {
+        Map<String, Object> copy = new HashMap<>(results.size() * 2);
+        results.forEach((nodeId, result) -> copy.put(nodeId, result == NULL ? null : result));
+        return copy;
+    }
+
+    void putResult(String nodeId, Object result) {
+        results.put(nodeId, result == null ? NULL : result);
+    }
+}
@@ -0,0 +1,167 @@
+package com.indigo.framework.workflow.engine;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.core.utils.IdUtil;
+import com.indigo.framework.core.utils.VirtualThreadUtil;
+import com.indigo.framework.workflow.config.WorkflowProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 史偕成
+ * @title FlowEngine
+ * @description 并行流程引擎
+ * 节点在每任务一个虚拟线程的执行器上运行（运行时不支持时退化为平台线程池），无依赖关系的节点并行执行；
+ * 超时与重试由单个平台调度线程驱动，不为等待占用执行线程。
+ * <pre>
+ *     FlowResult result = flowEngine.run(definition, Map.of("orderId", orderId));
+ * </pre>
+ * @create 2026-10-19 22:00
+ */
+@Slf4j
+public class FlowEngine implements DisposableBean {
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final List<FlowListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Map<Long, FlowInstance> instances = new ConcurrentHashMap<>();
+
+    private final long defaultTimeoutMs;
+
+    private final int defaultRetries;
+
+    private final long defaultRetryDelayMs;
+
+    public FlowEngine(WorkflowProperties properties) {
+        this.executor = VirtualThreadUtil.newThreadPerTaskExecutor(properties.getThreadPrefix());
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, properties.getThreadPrefix() + "timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        this.scheduler = timer;
+        this.defaultTimeoutMs = properties.getDefaultTimeout().toMillis();
+        this.defaultRetries = properties.getDefaultRetries();
+        this.defaultRetryDelayMs = properties.getRetryDelay().toMillis();
+    }
+
+    public void addListener(FlowListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 启动流程，立即返回
+     *
+     * @param definition 流程定义
+     * @param input      输入参数
+     * @return 流程实例
+     */
+    public FlowInstance start(FlowDefinition definition, Map<String, Object> input) {
+        AssertUtil.nonNull(definition, "flow definition must not be null");
+        FlowInstance instance = new FlowInstance(this, definition, new FlowContext(IdUtil.nextId(), input));
+        instances.put(instance.getId(), instance);
+        instance.start();
+        return instance;
+    }
+
+    /**
+     * 恢复中断的流程实例，沿用原实例 ID
+     *
+     * @param definition 流程定义
+     * @param instanceId 实例 ID
+     * @param input      输入参数
+     * @param results    已成功节点的结果
+     * @param failed     已失败的节点
+     * @return 流程实例
+     */
+    public FlowInstance resume(FlowDefinition definition, long instanceId, Map<String, Object> input,
+                               Map<String, Object> results, Set<String> failed) {
+        AssertUtil.nonNull(definition, "flow definition must not be null");
+        FlowInstance instance = new FlowInstance(this, definition, new FlowContext(instanceId, input));
+        AssertUtil.isTrue(instances.putIfAbsent(instanceId, instance) == null, "flow instance {} is already running",
+                instanceId);
+        instance.resume(results, failed);
+        return instance;
+    }
+
+    /**
+     * 启动流程并等待完成
+     *
+     * @param definition 流程定义
+     * @param input      输入参数
+     * @return 流程结果
+     */
+    public FlowResult run(FlowDefinition definition, Map<String, Object> input) {
+        return start(definition, input).future().join();
+    }
+
+    /**
+     * 在途实例
+     *
+     * @param instanceId 实例 ID
+     * @return 实例，已完成时返回 null
+     */
+    public FlowInstance getInstance(long instanceId) {
+        return instances.get(instanceId);
+    }
+
+    public int inflight() {
+        return instances.size();
+    }
+
+    ExecutorService executor() {
+        return executor;
+    }
+
+    ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    List<FlowListener> listeners() {
+        return listeners;
+    }
+
+    long timeoutOf(NodeDefinition node) {
+        Duration timeout = node.getTimeout();
+        return timeout == null ? defaultTimeoutMs : timeout.toMillis();
+    }
+
+    int retriesOf(NodeDefinition node) {
+        return node.getRetries() < 0 ? defaultRetries : node.getRetries();
+    }
+
+    long retryDelayOf(NodeDefinition node) {
+        Duration retryDelay = node.getRetryDelay();
+        return retryDelay == null ? defaultRetryDelayMs : retryDelay.toMillis();
+    }
+
+    void onCompleted(FlowInstance instance) {
+        instances.remove(instance.getId());
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        instances.values().forEach(FlowInstance::cancel);
+        scheduler.shutdownNow();
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("flow engine shutdown timed out, {} instance(s) still running", instances.size());
+            executor.shutdownNow();
+        }
+    }
+}
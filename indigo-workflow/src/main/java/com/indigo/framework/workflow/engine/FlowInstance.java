@@ -0,0 +1,360 @@
+package com.indigo.framework.workflow.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * @author 史偕成
+ * @title FlowInstance
+ * @description 流程实例
+ * 每个节点的剩余汇聚计数归零时提交执行，节点完成后先释放后继再结束自身，保证运行中的节点数不会在流程未完成时短暂归零。
+ * 非可选节点最终失败或流程被取消时，中断正在执行的节点，未开始的节点标记为跳过，运行中的节点全部结束后流程完成。
+ * 实例只持有数组与计数器，阻塞在 I/O 上的节点由虚拟线程承载，大量实例同时在途时不占用平台线程。
+ * @create 2026-10-19 22:00
+ */
+@Slf4j
+public class FlowInstance {
+
+    private final FlowEngine engine;
+
+    private final FlowDefinition definition;
+
+    private final FlowContext context;
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicReferenceArray<NodeStatus> statuses;
+
+    /**
+     * 各节点开始执行前还需要完成的上游数
+     */
+    private final AtomicIntegerArray remaining;
+
+    private final AtomicReferenceArray<Attempt> attempts;
+
+    /**
+     * 尚未结束的节点数
+     */
+    private final AtomicInteger unfinished;
+
+    /**
+     * 正在执行或等待重试的节点数
+     */
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicBoolean aborted = new AtomicBoolean();
+
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private final CompletableFuture<FlowResult> completion = new CompletableFuture<>();
+
+    private volatile FlowStatus abortStatus;
+
+    private volatile Throwable failure;
+
+    FlowInstance(FlowEngine engine, FlowDefinition definition, FlowContext context) {
+        this.engine = engine;
+        this.definition = definition;
+        this.context = context;
+        int size = definition.size();
+        this.statuses = new AtomicReferenceArray<>(size);
+        this.remaining = new AtomicIntegerArray(size);
+        this.attempts = new AtomicReferenceArray<>(size);
+        this.unfinished = new AtomicInteger(size);
+        for (int i = 0; i < size; i++) {
+            statuses.set(i, NodeStatus.PENDING);
+            remaining.set(i, definition.joinCount(i));
+        }
+    }
+
+    void start() {
+        notifyListeners(listener -> listener.onFlowStarted(this));
+        for (int root : definition.roots()) {
+            schedule(root);
+        }
+    }
+
+    /**
+     * 从已恢复的状态继续执行，已成功的节点与已失败的可选节点不再执行，其余节点在上游满足后执行
+     *
+     * @param results 已成功节点的结果
+     * @param failed  已失败的节点，非可选节点会重新执行
+     */
+    void resume(Map<String, Object> results, Set<String> failed) {
+        notifyListeners(listener -> listener.onFlowStarted(this));
+        int restored = 0;
+        for (int i = 0; i < definition.size(); i++) {
+            NodeDefinition node = definition.node(i);
+            if (results.containsKey(node.getId())) {
+                context.putResult(node.getId(), results.get(node.getId()));
+                statuses.set(i, NodeStatus.SUCCEEDED);
+            } else if (node.isOptional() && failed.contains(node.getId())) {
+                statuses.set(i, NodeStatus.FAILED);
+            } else {
+                continue;
+            }
+            restored++;
+            for (int successor : definition.successors(i)) {
+                remaining.decrementAndGet(successor);
+            }
+        }
+        if (unfinished.addAndGet(-restored) == 0) {
+            complete();
+            return;
+        }
+        for (int i = 0; i < definition.size(); i++) {
+            // ANY 汇聚的多个上游都已恢复时计数会小于 0
+            if (statuses.get(i) == NodeStatus.PENDING && remaining.get(i) <= 0) {
+                schedule(i);
+            }
+        }
+    }
+
+    public long getId() {
+        return context.getInstanceId();
+    }
+
+    public FlowDefinition getDefinition() {
+        return definition;
+    }
+
+    public FlowContext getContext() {
+        return context;
+    }
+
+    public NodeStatus status(String nodeId) {
+        int index = definition.indexOf(nodeId);
+        return index < 0 ? null : statuses.get(index);
+    }
+
+    /**
+     * 流程完成时完成的 Future
+     *
+     * @return 结果
+     */
+    public CompletableFuture<FlowResult> future() {
+        return completion;
+    }
+
+    /**
+     * 取消流程，中断正在执行的节点
+     */
+    public void cancel() {
+        abort(FlowStatus.CANCELLED, new CancellationException("flow cancelled"));
+        if (active.get() == 0) {
+            complete();
+        }
+    }
+
+    private void schedule(int node) {
+        // 恢复时的扫描与上游完成后的释放可能同时提交同一个节点，只有抢到状态的一方执行
+        if (!statuses.compareAndSet(node, NodeStatus.PENDING, NodeStatus.RUNNING)) {
+            return;
+        }
+        // 先计数再检查，避免检查通过后流程恰好在计数为零时完成
+        active.incrementAndGet();
+        if (aborted.get()) {
+            if (active.decrementAndGet() == 0) {
+                complete();
+            }
+            return;
+        }
+        submit(node, 1);
+    }
+
+    private void submit(int node, int number) {
+        Attempt attempt = new Attempt(node, number);
+        attempts.set(node, attempt);
+        if (aborted.get()) {
+            attempt.fail(new CancellationException("flow aborted"));
+            return;
+        }
+        try {
+            attempt.future = engine.executor().submit(attempt);
+            long timeoutMs = engine.timeoutOf(definition.node(node));
+            if (timeoutMs > 0) {
+                attempt.timeout = engine.scheduler().schedule(attempt::onTimeout, timeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            attempt.fail(e);
+        }
+    }
+
+    private void onSuccess(Attempt attempt, Object result) {
+        NodeDefinition node = definition.node(attempt.node);
+        context.putResult(node.getId(), result);
+        statuses.set(attempt.node, NodeStatus.SUCCEEDED);
+        notifyListeners(listener -> listener.onNodeSucceeded(this, node.getId(), result, attempt.number));
+        release(attempt.node);
+        finish();
+    }
+
+    private void onFailure(Attempt attempt, Throwable error) {
+        NodeDefinition node = definition.node(attempt.node);
+        boolean retry = !aborted.get() && attempt.number <= engine.retriesOf(node);
+        if (!retry) {
+            // 与成功时一样先更新状态再通知，监听器在回调中生成的快照才包含本次失败
+            statuses.set(attempt.node, NodeStatus.FAILED);
+        }
+        notifyListeners(listener -> listener.onNodeFailed(this, node.getId(), error, attempt.number, retry));
+        if (retry) {
+            long delayMs = engine.retryDelayOf(node);
+            try {
+                engine.scheduler().schedule(() -> submit(attempt.node, attempt.number + 1), delayMs,
+                        TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                // 引擎已关闭，按失败处理
+            }
+        }
+        statuses.set(attempt.node, NodeStatus.FAILED);
+        if (node.isOptional()) {
+            release(attempt.node);
+        } else {
+            abort(FlowStatus.FAILED, error);
+        }
+        finish();
+    }
+
+    private void release(int node) {
+        for (int successor : definition.successors(node)) {
+            if (remaining.decrementAndGet(successor) == 0) {
+                schedule(successor);
+            }
+        }
+    }
+
+    private void finish() {
+        int left = unfinished.decrementAndGet();
+        int running = active.decrementAndGet();
+        if (left == 0 || (running == 0 && aborted.get())) {
+            complete();
+        }
+    }
+
+    private void abort(FlowStatus status, Throwable error) {
+        if (!aborted.compareAndSet(false, true)) {
+            return;
+        }
+        abortStatus = status;
+        failure = error;
+        for (int i = 0; i < attempts.length(); i++) {
+            Attempt attempt = attempts.get(i);
+            if (attempt != null) {
+                attempt.cancel();
+            }
+        }
+    }
+
+    private void complete() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, NodeStatus> nodeStatuses = new LinkedHashMap<>(definition.size() * 2);
+        for (int i = 0; i < definition.size(); i++) {
+            NodeStatus status = statuses.get(i);
+            nodeStatuses.put(definition.node(i).getId(),
+                    status == NodeStatus.PENDING || status == NodeStatus.RUNNING ? NodeStatus.SKIPPED : status);
+        }
+        FlowResult result = new FlowResult(getId(), definition.getName(),
+                aborted.get() ? abortStatus : FlowStatus.SUCCEEDED, nodeStatuses, context.results(), failure,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        notifyListeners(listener -> listener.onFlowCompleted(this, result));
+        engine.onCompleted(this);
+        completion.complete(result);
+    }
+
+    private void notifyListeners(Consumer<FlowListener> action) {
+        for (FlowListener listener : engine.listeners()) {
+            try {
+                action.accept(listener);
+            } catch (Exception e) {
+                log.warn("flow listener failed, flow: {}, instance: {}", definition.getName(), getId(), e);
+            }
+        }
+    }
+
+    /**
+     * 节点的一次执行，执行完成、超时、取消三者竞争 done，只有一方生效
+     */
+    private final class Attempt implements Runnable {
+
+        private final int node;
+
+        private final int number;
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private volatile Future<?> future;
+
+        private volatile ScheduledFuture<?> timeout;
+
+        private Attempt(int node, int number) {
+            this.node = node;
+            this.number = number;
+        }
+
+        @Override
+        public void run() {
+            if (done.get()) {
+                return;
+            }
+            notifyListeners(listener -> listener.onNodeStarted(FlowInstance.this, definition.node(node).getId(), number));
+            Object result;
+            try {
+                result = definition.node(node).getTask().execute(context);
+            } catch (Throwable e) {
+                if (done.compareAndSet(false, true)) {
+                    cancelTimeout();
+                    onFailure(this, e);
+                }
+                return;
+            }
+            if (done.compareAndSet(false, true)) {
+                cancelTimeout();
+                onSuccess(this, result);
+            }
+        }
+
+        void onTimeout() {
+            fail(new TimeoutException("node [" + definition.node(node).getId() + "] timed out"));
+        }
+
+        void cancel() {
+            fail(new CancellationException("flow aborted"));
+        }
+
+        void fail(Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                cancelTimeout();
+                Future<?> running = future;
+                if (running != null) {
+                    running.cancel(true);
+                }
+                onFailure(this, error);
+            }
+        }
+
+        private void cancelTimeout() {
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
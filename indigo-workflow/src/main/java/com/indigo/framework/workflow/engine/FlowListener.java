@@ -0,0 +1,41 @@
+package com.indigo.framework.workflow.engine;
+
+/**
+ * @author 史偕成
+ * @title FlowListener
+ * @description 流程执行监听，回调在节点执行线程上同步调用，实现应避免耗时操作
+ * @create 2026-10-19 22:00
+ */
+public interface FlowListener {
+
+    default void onFlowStarted(FlowInstance instance) {
+    }
+
+    /**
+     * 节点开始一次执行
+     *
+     * @param instance 流程实例
+     * @param nodeId   节点 ID
+     * @param attempt  第几次执行，从 1 开始
+     */
+    default void onNodeStarted(FlowInstance instance, String nodeId, int attempt) {
+    }
+
+    default void onNodeSucceeded(FlowInstance instance, String nodeId, Object result, int attempt) {
+    }
+
+    /**
+     * 节点一次执行失败
+     *
+     * @param instance  流程实例
+     * @param nodeId    节点 ID
+     * @param error     异常，超时时为 {@link java.util.concurrent.TimeoutException}
+     * @param attempt   第几次执行
+     * @param willRetry 是否还会重试
+     */
+    default void onNodeFailed(FlowInstance instance, String nodeId, Throwable error, int attempt, boolean willRetry) {
+    }
+
+    default void onFlowCompleted(FlowInstance instance, FlowResult result) {
+    }
+}
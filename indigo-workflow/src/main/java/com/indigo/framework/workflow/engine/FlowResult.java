@@ -0,0 +1,29 @@
+package com.indigo.framework.workflow.engine;
+
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title FlowResult
+ * @description 流程执行结果
+ * @param instanceId    实例 ID
+ * @param flowName      流程名
+ * @param status        流程状态
+ * @param nodeStatuses  各节点最终状态
+ * @param results       各节点结果
+ * @param failure       导致流程失败的异常，成功时为 null
+ * @param elapsedMillis 耗时
+ * @create 2026-10-19 22:00
+ */
+public record FlowResult(long instanceId, String flowName, FlowStatus status, Map<String, NodeStatus> nodeStatuses,
+                         Map<String, Object> results, Throwable failure, long elapsedMillis) {
+
+    public boolean isSuccess() {
+        return status == FlowStatus.SUCCEEDED;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T result(String nodeId) {
+        return (T) results.get(nodeId);
+    }
+}
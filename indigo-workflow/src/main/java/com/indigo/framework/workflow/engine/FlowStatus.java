@@ -0,0 +1,18 @@
+package com.indigo.framework.workflow.engine;
+
+/**
+ * @author 史偕成
+ * @title FlowStatus
+ * @description 流程状态
+ * @create 2026-10-19 22:00
+ */
+public enum FlowStatus {
+
+    RUNNING,
+
+    SUCCEEDED,
+
+    FAILED,
+
+    CANCELLED
+}
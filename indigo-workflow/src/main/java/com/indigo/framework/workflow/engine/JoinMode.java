@@ -0,0 +1,20 @@
+package com.indigo.framework.workflow.engine;
+
+/**
+ * @author 史偕成
+ * @title JoinMode
+ * @description 汇聚方式，决定有多个上游的节点何时可以执行
+ * @create 2026-10-19 22:00
+ */
+public enum JoinMode {
+
+    /**
+     * 全部上游完成后执行
+     */
+    ALL,
+
+    /**
+     * 任一上游完成后执行，其余上游的完成不再触发
+     */
+    ANY
+}
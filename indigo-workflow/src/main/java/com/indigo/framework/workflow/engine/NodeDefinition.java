@@ -0,0 +1,91 @@
+package com.indigo.framework.workflow.engine;
+
+import com.indigo.framework.core.utils.AssertUtil;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @author 史偕成
+ * @title NodeDefinition
+ * @description 节点定义
+ * <pre>
+ *     NodeDefinition.of("riskCheck", ctx -&gt; riskService.check(ctx.input("orderId")))
+ *             .after("loadOrder")
+ *             .timeout(Duration.ofSeconds(2))
+ *             .retries(2, Duration.ofMillis(200));
+ * </pre>
+ * @create 2026-10-19 22:00
+ */
+@Getter
+public class NodeDefinition {
+
+    private final String id;
+
+    private final NodeTask task;
+
+    private List<String> dependencies = List.of();
+
+    private JoinMode joinMode = JoinMode.ALL;
+
+    /**
+     * 单次执行超时，null 时使用引擎默认值
+     */
+    private Duration timeout;
+
+    /**
+     * 失败后的重试次数，-1 时使用引擎默认值
+     */
+    private int retries = -1;
+
+    private Duration retryDelay;
+
+    /**
+     * 可选节点失败后不影响流程，下游照常执行
+     */
+    private boolean optional;
+
+    private NodeDefinition(String id, NodeTask task) {
+        this.id = id;
+        this.task = task;
+    }
+
+    public static NodeDefinition of(String id, NodeTask task) {
+        AssertUtil.nonStr(id, "node id must not be blank");
+        AssertUtil.nonNull(task, "node task must not be null");
+        return new NodeDefinition(id, task);
+    }
+
+    /**
+     * 声明上游节点
+     *
+     * @param dependencies 上游节点 ID
+     * @return this
+     */
+    public NodeDefinition after(String... dependencies) {
+        this.dependencies = List.of(dependencies);
+        return this;
+    }
+
+    public NodeDefinition join(JoinMode joinMode) {
+        this.joinMode = joinMode;
+        return this;
+    }
+
+    public NodeDefinition timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public NodeDefinition retries(int retries, Duration retryDelay) {
+        this.retries = retries;
+        this.retryDelay = retryDelay;
+        return this;
+    }
+
+    public NodeDefinition optional() {
+        this.optional = true;
+        return this;
+    }
+}
@@ -0,0 +1,23 @@
+package com.indigo.framework.workflow.engine;
+
+/**
+ * @author 史偕成
+ * @title NodeStatus
+ * @description 节点状态
+ * @create 2026-10-19 22:00
+ */
+public enum NodeStatus {
+
+    PENDING,
+
+    RUNNING,
+
+    SUCCEEDED,
+
+    FAILED,
+
+    /**
+     * 流程失败或取消时尚未执行的节点
+     */
+    SKIPPED
+}
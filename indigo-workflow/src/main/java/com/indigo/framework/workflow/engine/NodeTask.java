@@ -0,0 +1,21 @@
+package com.indigo.framework.workflow.engine;
+
+/**
+ * @author 史偕成
+ * @title NodeTask
+ * @description 流程节点的执行逻辑，运行在独立的（虚拟）线程上，可以直接进行阻塞 I/O；
+ * 超时或流程取消时线程会被中断
+ * @create 2026-10-19 22:00
+ */
+@FunctionalInterface
+public interface NodeTask {
+
+    /**
+     * 执行节点
+     *
+     * @param context 流程上下文，可以读取输入与上游节点的结果
+     * @return 节点结果，供下游节点通过 {@link FlowContext#result(String)} 读取
+     * @throws Exception 执行失败，按节点配置重试
+     */
+    Object execute(FlowContext context) throws Exception;
+}
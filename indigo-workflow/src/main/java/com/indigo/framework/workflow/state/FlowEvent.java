@@ -0,0 +1,11 @@
+package com.indigo.framework.workflow.state;
+
+/**
+ * @author 史偕成
+ * @title FlowEvent
+ * @description 流程事件，每个节点结束时追加一条，大小与实例已执行的节点数无关
+ * @create 2026-10-19 23:00
+ */
+public record FlowEvent(long instanceId, long sequence, FlowEventType type, String nodeId, String payload,
+                        long createdAt) {
+}
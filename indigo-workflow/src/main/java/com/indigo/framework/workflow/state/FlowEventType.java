@@ -0,0 +1,20 @@
+package com.indigo.framework.workflow.state;
+
+/**
+ * @author 史偕成
+ * @title FlowEventType
+ * @description 流程事件类型
+ * @create 2026-10-19 23:00
+ */
+public enum FlowEventType {
+
+    /**
+     * 节点执行成功，payload 为结果的 JSON
+     */
+    NODE_SUCCEEDED,
+
+    /**
+     * 节点重试耗尽后失败，payload 为异常信息
+     */
+    NODE_FAILED
+}
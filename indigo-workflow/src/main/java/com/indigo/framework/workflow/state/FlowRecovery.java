@@ -0,0 +1,53 @@
+package com.indigo.framework.workflow.state;
+
+import com.indigo.framework.workflow.engine.FlowDefinition;
+import com.indigo.framework.workflow.engine.FlowEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 史偕成
+ * @title FlowRecovery
+ * @description 启动时恢复归属本节点的未完成实例，流程定义按名称匹配
+ * @create 2026-10-19 23:00
+ */
+@Slf4j
+public class FlowRecovery implements SmartLifecycle {
+
+    private final JdbcFlowStateStore store;
+
+    private final FlowEngine engine;
+
+    private final Map<String, FlowDefinition> definitions = new HashMap<>();
+
+    private volatile boolean running;
+
+    public FlowRecovery(JdbcFlowStateStore store, FlowEngine engine, List<FlowDefinition> definitions) {
+        this.store = store;
+        this.engine = engine;
+        definitions.forEach(definition -> this.definitions.put(definition.getName(), definition));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        int recovered = store.recover(engine, definitions);
+        if (recovered > 0) {
+            log.info("recovered {} unfinished flow instance(s)", recovered);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,58 @@
+package com.indigo.framework.workflow.state;
+
+import com.indigo.framework.workflow.engine.FlowStatus;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author 史偕成
+ * @title FlowState
+ * @description 由快照与其后的事件重建的实例状态
+ * @create 2026-10-19 23:00
+ */
+@Getter
+public class FlowState {
+
+    private final long instanceId;
+
+    private final String flowName;
+
+    private final FlowStatus status;
+
+    private final Map<String, Object> input;
+
+    private final Map<String, Object> results;
+
+    private final Set<String> failed;
+
+    /**
+     * 已应用的最大事件序号
+     */
+    private long version;
+
+    FlowState(long instanceId, String flowName, FlowStatus status, long version, Map<String, Object> input,
+              Map<String, Object> results, Set<String> failed) {
+        this.instanceId = instanceId;
+        this.flowName = flowName;
+        this.status = status;
+        this.version = version;
+        this.input = input;
+        this.results = new HashMap<>(results);
+        this.failed = new HashSet<>(failed);
+    }
+
+    void apply(long sequence, FlowEventType type, String nodeId, Object result) {
+        switch (type) {
+            case NODE_SUCCEEDED -> {
+                results.put(nodeId, result);
+                failed.remove(nodeId);
+            }
+            case NODE_FAILED -> failed.add(nodeId);
+        }
+        version = Math.max(version, sequence);
+    }
+}
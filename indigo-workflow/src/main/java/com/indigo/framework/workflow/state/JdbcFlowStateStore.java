@@ -0,0 +1,366 @@
+package com.indigo.framework.workflow.state;
+
+import cn.hutool.core.thread.ThreadUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.core.exception.BaseUnCheckException;
+import com.indigo.framework.core.utils.AssertUtil;
+import com.indigo.framework.databases.batch.BatchTable;
+import com.indigo.framework.databases.batch.BatchWriterFactory;
+import com.indigo.framework.databases.batch.BufferedBatchWriter;
+import com.indigo.framework.databases.batch.RowBinder;
+import com.indigo.framework.databases.batch.WriteMode;
+import com.indigo.framework.databases.stream.StreamingQueryTemplate;
+import com.indigo.framework.workflow.config.WorkflowProperties;
+import com.indigo.framework.workflow.engine.FlowDefinition;
+import com.indigo.framework.workflow.engine.FlowEngine;
+import com.indigo.framework.workflow.engine.FlowInstance;
+import com.indigo.framework.workflow.engine.FlowListener;
+import com.indigo.framework.workflow.engine.FlowResult;
+import com.indigo.framework.workflow.engine.FlowStatus;
+import com.indigo.framework.workflow.engine.NodeStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static com.indigo.framework.core.enums.GlobalStatusEnums.ERROR;
+
+/**
+ * @author 史偕成
+ * @title JdbcFlowStateStore
+ * @description 以事件日志加快照的方式持久化流程实例状态
+ * 节点结束时通过 {@link BufferedBatchWriter} 攒批追加一条事件，每步写入量固定，不更新热点行；
+ * 每追加 snapshotInterval 个事件把实例当前状态写入快照行，快照行用版本号做条件更新，乱序到达的旧快照不会覆盖新快照；
+ * 恢复时读取快照并只重放快照之后的事件，已被快照覆盖的事件由定时任务清理。
+ * 事件缓冲中尚未落盘的节点在宕机恢复后会重新执行，节点应当幂等；节点结果与流程输入需可序列化为 JSON，恢复后为 Jackson 的通用类型。
+ * <pre>
+ * CREATE TABLE indigo_flow_event (
+ *     instance_id BIGINT       NOT NULL,
+ *     seq         BIGINT       NOT NULL,
+ *     event_type  VARCHAR(32)  NOT NULL,
+ *     node_id     VARCHAR(128) NOT NULL,
+ *     payload     TEXT,
+ *     created_at  BIGINT       NOT NULL,
+ *     PRIMARY KEY (instance_id, seq)
+ * );
+ * CREATE TABLE indigo_flow_snapshot (
+ *     instance_id BIGINT       NOT NULL PRIMARY KEY,
+ *     flow_name   VARCHAR(128) NOT NULL,
+ *     owner       VARCHAR(128) NOT NULL,
+ *     status      VARCHAR(16)  NOT NULL,
+ *     version     BIGINT       NOT NULL,
+ *     state       TEXT         NOT NULL,
+ *     updated_at  BIGINT       NOT NULL
+ * );
+ * CREATE INDEX idx_flow_snapshot_owner ON indigo_flow_snapshot (owner, status);
+ * </pre>
+ * @create 2026-10-19 23:00
+ */
+@Slf4j
+public class JdbcFlowStateStore implements FlowListener, DisposableBean {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StreamingQueryTemplate streamingQueryTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final WorkflowProperties.State properties;
+
+    private final String owner;
+
+    private final BufferedBatchWriter<FlowEvent> eventWriter;
+
+    private final Map<Long, InstanceLog> logs = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor(
+            ThreadUtil.newNamedThreadFactory("indigo-flow-compact-", true));
+
+    public JdbcFlowStateStore(JdbcTemplate jdbcTemplate, StreamingQueryTemplate streamingQueryTemplate,
+                              BatchWriterFactory batchWriterFactory, ObjectMapper objectMapper,
+                              WorkflowProperties.State properties, String owner) {
+        AssertUtil.isTrue(properties.getSnapshotInterval() > 0, "snapshot interval must be positive");
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingQueryTemplate = streamingQueryTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.owner = owner;
+        this.eventWriter = batchWriterFactory.bufferedWriter(
+                BatchTable.of(properties.getEventTable(), "instance_id", "seq", "event_type", "node_id", "payload",
+                        "created_at"),
+                WriteMode.INSERT,
+                RowBinder.ofValues(event -> new Object[]{event.instanceId(), event.sequence(), event.type().name(),
+                        event.nodeId(), event.payload(), event.createdAt()}),
+                result -> result.failures().forEach(failure -> log.error("append flow event failed, instance: {}, seq: {}",
+                        failure.row().instanceId(), failure.row().sequence(), failure.cause())));
+        long interval = properties.getCompactInterval().toMillis();
+        compactor.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onFlowStarted(FlowInstance instance) {
+        if (logs.putIfAbsent(instance.getId(), new InstanceLog(0)) != null) {
+            // 恢复的实例已有快照行
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO " + properties.getSnapshotTable()
+                        + " (instance_id, flow_name, owner, status, version, state, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                instance.getId(), instance.getDefinition().getName(), owner, FlowStatus.RUNNING.name(), 0L,
+                stateOf(instance), System.currentTimeMillis());
+    }
+
+    @Override
+    public void onNodeSucceeded(FlowInstance instance, String nodeId, Object result, int attempt) {
+        append(instance, FlowEventType.NODE_SUCCEEDED, nodeId, toJson(result));
+    }
+
+    @Override
+    public void onNodeFailed(FlowInstance instance, String nodeId, Throwable error, int attempt, boolean willRetry) {
+        if (!willRetry) {
+            append(instance, FlowEventType.NODE_FAILED, nodeId, String.valueOf(error));
+        }
+    }
+
+    @Override
+    public void onFlowCompleted(FlowInstance instance, FlowResult result) {
+        InstanceLog instanceLog = logs.remove(instance.getId());
+        if (instanceLog != null) {
+            snapshot(instance, instanceLog, result.status());
+        }
+    }
+
+    /**
+     * 读取实例状态
+     *
+     * @param instanceId 实例 ID
+     * @return 状态，不存在时返回 null
+     */
+    public FlowState load(long instanceId) {
+        List<FlowState> snapshots = jdbcTemplate.query("SELECT flow_name, status, version, state FROM "
+                        + properties.getSnapshotTable() + " WHERE instance_id = ?",
+                (rs, rowNum) -> {
+                    Map<String, Object> state = fromJson(rs.getString("state"), MAP_TYPE);
+                    return new FlowState(instanceId, rs.getString("flow_name"),
+                            FlowStatus.valueOf(rs.getString("status")), rs.getLong("version"),
+                            asMap(state.get("input")), asMap(state.get("results")), asSet(state.get("failed")));
+                }, instanceId);
+        if (snapshots.isEmpty()) {
+            return null;
+        }
+        FlowState state = snapshots.get(0);
+        // 只重放快照之后的事件
+        eventWriter.flush();
+        jdbcTemplate.query("SELECT seq, event_type, node_id, payload FROM " + properties.getEventTable()
+                        + " WHERE instance_id = ? AND seq > ? ORDER BY seq",
+                rs -> {
+                    FlowEventType type = FlowEventType.valueOf(rs.getString("event_type"));
+                    Object result = type == FlowEventType.NODE_SUCCEEDED
+                            ? fromJson(rs.getString("payload"), Object.class) : null;
+                    state.apply(rs.getLong("seq"), type, rs.getString("node_id"), result);
+                }, instanceId, state.getVersion());
+        return state;
+    }
+
+    /**
+     * 从持久化状态恢复实例，已完成的节点不再执行
+     *
+     * @param engine     流程引擎
+     * @param definition 流程定义
+     * @param instanceId 实例 ID
+     * @return 流程实例
+     */
+    public FlowInstance resume(FlowEngine engine, FlowDefinition definition, long instanceId) {
+        FlowState state = load(instanceId);
+        AssertUtil.nonNull(state, "flow instance {} not found", instanceId);
+        AssertUtil.isTrue(state.getStatus() == FlowStatus.RUNNING, "flow instance {} is already {}", instanceId,
+                state.getStatus());
+        AssertUtil.isTrue(definition.getName().equals(state.getFlowName()), "flow instance {} belongs to flow {}",
+                instanceId, state.getFlowName());
+        // 实例仍在本节点运行时不能覆盖它的事件序号，否则新旧两份序号会写出重复的事件
+        InstanceLog instanceLog = new InstanceLog(state.getVersion());
+        AssertUtil.isTrue(logs.putIfAbsent(instanceId, instanceLog) == null, "flow instance {} is already running",
+                instanceId);
+        try {
+            return engine.resume(definition, instanceId, state.getInput(), state.getResults(), state.getFailed());
+        } catch (RuntimeException e) {
+            logs.remove(instanceId, instanceLog);
+            throw e;
+        }
+    }
+
+    /**
+     * 恢复归属本节点的全部未完成实例
+     *
+     * @param engine      流程引擎
+     * @param definitions 流程名称 -> 流程定义
+     * @return 恢复的实例数
+     */
+    public int recover(FlowEngine engine, Map<String, FlowDefinition> definitions) {
+        List<Map.Entry<Long, String>> unfinished = new ArrayList<>();
+        try (Stream<Map.Entry<Long, String>> rows = streamingQueryTemplate.stream("SELECT instance_id, flow_name FROM "
+                        + properties.getSnapshotTable() + " WHERE owner = ? AND status = ?",
+                (rs, rowNum) -> Map.entry(rs.getLong("instance_id"), rs.getString("flow_name")),
+                owner, FlowStatus.RUNNING.name())) {
+            rows.forEach(unfinished::add);
+        }
+        int recovered = 0;
+        for (Map.Entry<Long, String> entry : unfinished) {
+            FlowDefinition definition = definitions.get(entry.getValue());
+            if (definition == null) {
+                log.warn("skip recovering flow instance {}, definition {} not found", entry.getKey(), entry.getValue());
+                continue;
+            }
+            try {
+                resume(engine, definition, entry.getKey());
+                recovered++;
+            } catch (RuntimeException e) {
+                log.error("recover flow instance {} failed", entry.getKey(), e);
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * 删除已被快照覆盖的事件与超过保留期的已结束实例
+     */
+    public void compact() {
+        String events = properties.getEventTable();
+        String snapshots = properties.getSnapshotTable();
+        jdbcTemplate.update("DELETE FROM " + events + " WHERE EXISTS (SELECT 1 FROM " + snapshots
+                + " s WHERE s.instance_id = " + events + ".instance_id AND " + events + ".seq <= s.version)");
+        jdbcTemplate.update("DELETE FROM " + snapshots + " WHERE status <> ? AND updated_at < ?",
+                FlowStatus.RUNNING.name(), System.currentTimeMillis() - properties.getRetention().toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        compactor.shutdown();
+        eventWriter.close();
+    }
+
+    private void append(FlowInstance instance, FlowEventType type, String nodeId, String payload) {
+        InstanceLog instanceLog = logs.get(instance.getId());
+        if (instanceLog == null) {
+            return;
+        }
+        long sequence = instanceLog.sequence.incrementAndGet();
+        eventWriter.add(new FlowEvent(instance.getId(), sequence, type, nodeId, payload, System.currentTimeMillis()));
+        if (sequence - instanceLog.snapshotVersion >= properties.getSnapshotInterval()) {
+            snapshot(instance, instanceLog, FlowStatus.RUNNING);
+        }
+    }
+
+    /**
+     * 先取版本再读状态，序号在节点结果写入上下文之后分配，因此版本之前的事件都已包含在状态中
+     */
+    private void snapshot(FlowInstance instance, InstanceLog instanceLog, FlowStatus status) {
+        // 持锁期间执行 JDBC 更新，用 ReentrantLock 而不是 synchronized，虚拟线程等待时不占用载体线程
+        instanceLog.lock.lock();
+        try {
+            long version = instanceLog.sequence.get();
+            if (status == FlowStatus.RUNNING && version <= instanceLog.snapshotVersion) {
+                return;
+            }
+            jdbcTemplate.update("UPDATE " + properties.getSnapshotTable()
+                            + " SET status = ?, version = ?, state = ?, updated_at = ? WHERE instance_id = ? AND version <= ?",
+                    status.name(), version, stateOf(instance), System.currentTimeMillis(), instance.getId(), version);
+            instanceLog.snapshotVersion = version;
+        } finally {
+            instanceLog.lock.unlock();
+        }
+    }
+
+    private String stateOf(FlowInstance instance) {
+        FlowDefinition definition = instance.getDefinition();
+        Set<String> failed = new LinkedHashSet<>();
+        for (int i = 0; i < definition.size(); i++) {
+            String nodeId = definition.node(i).getId();
+            if (instance.status(nodeId) == NodeStatus.FAILED) {
+                failed.add(nodeId);
+            }
+        }
+        Map<String, Object> state = new HashMap<>(8);
+        state.put("input", instance.getContext().getInput());
+        state.put("results", instance.getContext().results());
+        state.put("failed", failed);
+        return toJson(state);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new BaseUnCheckException("serialize flow state failed", ERROR.getCode(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return json == null ? null : objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new BaseUnCheckException("deserialize flow state failed", ERROR.getCode(), e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new BaseUnCheckException("deserialize flow state failed", ERROR.getCode(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value == null ? new HashMap<>() : (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> asSet(Object value) {
+        return value == null ? Set.of() : new LinkedHashSet<>((Collection<String>) value);
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("compact flow events failed", e);
+        }
+    }
+
+    private static final class InstanceLog {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final AtomicLong sequence;
+
+        /**
+         * 最近一次快照的版本，只在持有实例锁时修改
+         */
+        private volatile long snapshotVersion;
+
+        private InstanceLog(long version) {
+            this.sequence = new AtomicLong(version);
+            this.snapshotVersion = version;
+        }
+    }
+}
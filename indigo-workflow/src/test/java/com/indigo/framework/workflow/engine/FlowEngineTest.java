@@ -0,0 +1,268 @@
+package com.indigo.framework.workflow.engine;
+
+import com.indigo.framework.workflow.config.WorkflowProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title FlowEngineTest
+ * @description 流程引擎测试：汇聚、重试、超时、失败中止、取消与恢复
+ * @create 2026-10-21 10:00
+ */
+class FlowEngineTest {
+
+    private final FlowEngine engine = new FlowEngine(new WorkflowProperties());
+
+    private final List<String> attempts = new CopyOnWriteArrayList<>();
+
+    FlowEngineTest() {
+        engine.addListener(new FlowListener() {
+            @Override
+            public void onNodeStarted(FlowInstance instance, String nodeId, int attempt) {
+                attempts.add(nodeId + "#" + attempt);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.destroy();
+    }
+
+    @Test
+    void allJoinWaitsForEveryUpstream() {
+        FlowDefinition flow = FlowDefinition.builder("join-all")
+                .node(NodeDefinition.of("load", ctx -> ctx.<Integer>input("orderId")))
+                .node(NodeDefinition.of("risk", ctx -> {
+                    Thread.sleep(50);
+                    return ctx.<Integer>result("load") * 2;
+                }).after("load"))
+                .node(NodeDefinition.of("credit", ctx -> ctx.<Integer>result("load") + 1).after("load"))
+                .node(NodeDefinition.of("decide", ctx -> ctx.<Integer>result("risk") + ctx.<Integer>result("credit"))
+                        .after("risk", "credit"))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of("orderId", 10));
+
+        assertTrue(result.isSuccess());
+        assertEquals(31, result.<Integer>result("decide"));
+        assertEquals(4, attempts.size());
+        assertEquals(0, engine.inflight());
+    }
+
+    @Test
+    void anyJoinRunsOnceAfterTheFirstUpstream() {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        FlowDefinition flow = FlowDefinition.builder("join-any")
+                .node(NodeDefinition.of("fast", ctx -> "fast"))
+                .node(NodeDefinition.of("slow", ctx -> {
+                    slowStarted.countDown();
+                    Thread.sleep(100);
+                    return "slow";
+                }))
+                .node(NodeDefinition.of("first", ctx -> ctx.hasResult("slow") ? "slow" : "fast")
+                        .after("fast", "slow").join(JoinMode.ANY))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of());
+
+        assertTrue(result.isSuccess());
+        assertEquals("fast", result.result("first"));
+        assertEquals(1, attempts.stream().filter(attempt -> attempt.startsWith("first#")).count());
+    }
+
+    @Test
+    void failedNodeIsRetriedUntilItSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+        FlowDefinition flow = FlowDefinition.builder("retry")
+                .node(NodeDefinition.of("flaky", ctx -> {
+                    if (calls.incrementAndGet() < 3) {
+                        throw new IllegalStateException("unavailable");
+                    }
+                    return "ok";
+                }).retries(2, Duration.ofMillis(10)))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of());
+
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("flaky#1", "flaky#2", "flaky#3"), attempts);
+        assertNull(result.failure());
+    }
+
+    @Test
+    void exhaustedRetriesFailTheFlow() {
+        FlowDefinition flow = FlowDefinition.builder("retry-exhausted")
+                .node(NodeDefinition.of("broken", ctx -> {
+                    throw new IllegalStateException("broken");
+                }).retries(1, Duration.ofMillis(10)))
+                .node(NodeDefinition.of("next", ctx -> "next").after("broken"))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of());
+
+        assertEquals(FlowStatus.FAILED, result.status());
+        assertEquals(NodeStatus.FAILED, result.nodeStatuses().get("broken"));
+        assertEquals(NodeStatus.SKIPPED, result.nodeStatuses().get("next"));
+        assertEquals(List.of("broken#1", "broken#2"), attempts);
+    }
+
+    @Test
+    void timedOutNodeIsInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FlowDefinition flow = FlowDefinition.builder("timeout")
+                .node(NodeDefinition.of("slow", ctx -> {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return "slow";
+                }).timeout(Duration.ofMillis(50)).retries(0, null))
+                .node(NodeDefinition.of("next", ctx -> "next").after("slow"))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of());
+
+        assertEquals(FlowStatus.FAILED, result.status());
+        assertInstanceOf(TimeoutException.class, result.failure());
+        assertEquals(NodeStatus.SKIPPED, result.nodeStatuses().get("next"));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void optionalFailureDoesNotStopDownstream() {
+        FlowDefinition flow = FlowDefinition.builder("optional")
+                .node(NodeDefinition.of("enrich", ctx -> {
+                    throw new IllegalStateException("no data");
+                }).optional())
+                .node(NodeDefinition.of("save", ctx -> ctx.hasResult("enrich")).after("enrich"))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of());
+
+        assertTrue(result.isSuccess());
+        assertEquals(NodeStatus.FAILED, result.nodeStatuses().get("enrich"));
+        assertEquals(Boolean.FALSE, result.result("save"));
+    }
+
+    @Test
+    void requiredFailureAbortsRunningNodes() throws InterruptedException {
+        CountDownLatch parallelStarted = new CountDownLatch(1);
+        CountDownLatch parallelInterrupted = new CountDownLatch(1);
+        FlowDefinition flow = FlowDefinition.builder("abort")
+                .node(NodeDefinition.of("parallel", ctx -> {
+                    parallelStarted.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        parallelInterrupted.countDown();
+                        throw e;
+                    }
+                    return "parallel";
+                }))
+                .node(NodeDefinition.of("broken", ctx -> {
+                    parallelStarted.await();
+                    throw new IllegalArgumentException("bad order");
+                }))
+                .node(NodeDefinition.of("decide", ctx -> "decide").after("parallel", "broken"))
+                .build();
+
+        FlowResult result = engine.run(flow, Map.of());
+
+        assertEquals(FlowStatus.FAILED, result.status());
+        assertInstanceOf(IllegalArgumentException.class, result.failure());
+        assertEquals(NodeStatus.FAILED, result.nodeStatuses().get("parallel"));
+        assertEquals(NodeStatus.SKIPPED, result.nodeStatuses().get("decide"));
+        assertTrue(parallelInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledFlowSkipsPendingNodes() {
+        CountDownLatch started = new CountDownLatch(1);
+        FlowDefinition flow = FlowDefinition.builder("cancel")
+                .node(NodeDefinition.of("wait", ctx -> {
+                    started.countDown();
+                    Thread.sleep(10_000);
+                    return "wait";
+                }))
+                .node(NodeDefinition.of("next", ctx -> "next").after("wait"))
+                .build();
+
+        FlowInstance instance = engine.start(flow, Map.of());
+        assertTrue(awaitQuietly(started));
+        instance.cancel();
+        FlowResult result = instance.future().join();
+
+        assertEquals(FlowStatus.CANCELLED, result.status());
+        assertInstanceOf(CancellationException.class, result.failure());
+        assertEquals(NodeStatus.SKIPPED, result.nodeStatuses().get("next"));
+    }
+
+    @Test
+    void resumeSkipsRestoredNodes() {
+        FlowDefinition flow = FlowDefinition.builder("resume")
+                .node(NodeDefinition.of("load", ctx -> "reloaded"))
+                .node(NodeDefinition.of("enrich", ctx -> {
+                    throw new IllegalStateException("no data");
+                }).optional())
+                .node(NodeDefinition.of("save", ctx -> ctx.<String>result("load") + "-saved").after("load", "enrich"))
+                .build();
+
+        FlowResult result = engine.resume(flow, 42L, Map.of(), Map.of("load", "loaded"), Set.of("enrich"))
+                .future().join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(42L, result.instanceId());
+        assertEquals("loaded-saved", result.result("save"));
+        assertEquals(NodeStatus.FAILED, result.nodeStatuses().get("enrich"));
+        assertEquals(List.of("save#1"), attempts);
+    }
+
+    @Test
+    void resumeRejectsRunningInstance() {
+        CountDownLatch release = new CountDownLatch(1);
+        FlowDefinition flow = FlowDefinition.builder("resume-running")
+                .node(NodeDefinition.of("wait", ctx -> {
+                    release.await();
+                    return "wait";
+                }))
+                .build();
+        FlowInstance running = engine.resume(flow, 7L, Map.of(), Map.of(), Set.of());
+
+        assertThrows(RuntimeException.class, () -> engine.resume(flow, 7L, Map.of(), Map.of(), Set.of()));
+        assertFalse(running.future().isDone());
+
+        release.countDown();
+        assertTrue(running.future().join().isSuccess());
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
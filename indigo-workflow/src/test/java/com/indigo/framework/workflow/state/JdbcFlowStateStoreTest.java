@@ -0,0 +1,204 @@
+package com.indigo.framework.workflow.state;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.indigo.framework.databases.batch.BatchWriterFactory;
+import com.indigo.framework.databases.config.DatabasesProperties;
+import com.indigo.framework.databases.dialect.Dialect;
+import com.indigo.framework.databases.stream.StreamingQueryTemplate;
+import com.indigo.framework.workflow.config.WorkflowProperties;
+import com.indigo.framework.workflow.engine.FlowDefinition;
+import com.indigo.framework.workflow.engine.FlowEngine;
+import com.indigo.framework.workflow.engine.FlowInstance;
+import com.indigo.framework.workflow.engine.FlowResult;
+import com.indigo.framework.workflow.engine.FlowStatus;
+import com.indigo.framework.workflow.engine.NodeDefinition;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author 史偕成
+ * @title JdbcFlowStateStoreTest
+ * @description 基于 H2 内存库的流程状态持久化测试：快照后的事件重放、按归属恢复与重复恢复
+ * @create 2026-10-21 10:00
+ */
+class JdbcFlowStateStoreTest {
+
+    private final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    private final CountDownLatch blocked = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicBoolean blockOnce = new AtomicBoolean(true);
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    private JdbcDataSource h2;
+
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * load 与 noData（可选，失败）之后 check 成功，ship 第一次执行时阻塞，模拟进程在此宕机
+     */
+    private final FlowDefinition flow = FlowDefinition.builder("order")
+            .node(NodeDefinition.of("load", ctx -> {
+                executed("load");
+                return ctx.<Integer>input("orderId") * 10;
+            }))
+            .node(NodeDefinition.of("noData", ctx -> {
+                executed("noData");
+                throw new IllegalStateException("no data");
+            }).after("load").optional())
+            .node(NodeDefinition.of("check", ctx -> {
+                executed("check");
+                return "checked-" + ctx.result("load");
+            }).after("noData"))
+            .node(NodeDefinition.of("ship", ctx -> {
+                executed("ship");
+                if (blockOnce.compareAndSet(true, false)) {
+                    blocked.countDown();
+                    release.await();
+                }
+                return "shipped";
+            }).after("check"))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE TABLE indigo_flow_event (instance_id BIGINT NOT NULL, seq BIGINT NOT NULL, "
+                + "event_type VARCHAR(32) NOT NULL, node_id VARCHAR(128) NOT NULL, payload TEXT, "
+                + "created_at BIGINT NOT NULL, PRIMARY KEY (instance_id, seq))");
+        jdbcTemplate.execute("CREATE TABLE indigo_flow_snapshot (instance_id BIGINT NOT NULL PRIMARY KEY, "
+                + "flow_name VARCHAR(128) NOT NULL, owner VARCHAR(128) NOT NULL, status VARCHAR(16) NOT NULL, "
+                + "version BIGINT NOT NULL, state TEXT NOT NULL, updated_at BIGINT NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            resources.get(i).close();
+        }
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void loadReplaysEventsAfterSnapshot() throws InterruptedException {
+        JdbcFlowStateStore store = store("node-1");
+        FlowEngine engine = engine(store);
+
+        FlowInstance instance = engine.start(flow, Map.of("orderId", 7));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        FlowState state = store.load(instance.getId());
+
+        // 第 2 个事件触发快照，第 3 个事件只在事件表中
+        assertEquals(2L, snapshotVersion(instance.getId()));
+        assertEquals(3L, state.getVersion());
+        assertEquals(FlowStatus.RUNNING, state.getStatus());
+        assertEquals(Map.of("load", 70, "check", "checked-70"), state.getResults());
+        assertEquals(Set.of("noData"), state.getFailed());
+        assertEquals(7, state.getInput().get("orderId"));
+    }
+
+    @Test
+    void recoverSkipsFinishedNodesAndCompletesTheInstance() throws InterruptedException {
+        JdbcFlowStateStore crashed = store("node-1");
+        FlowInstance instance = engine(crashed).start(flow, Map.of("orderId", 7));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        // 让缓冲中的事件落盘，相当于宕机前已写入的部分
+        crashed.load(instance.getId());
+
+        JdbcFlowStateStore restarted = store("node-1");
+        FlowEngine engine = engine(restarted);
+        assertEquals(0, store("node-2").recover(engine(store("node-2")), Map.of("order", flow)));
+        assertEquals(1, restarted.recover(engine, Map.of("order", flow)));
+
+        FlowResult result = engine.getInstance(instance.getId()).future().join();
+        assertTrue(result.isSuccess());
+        assertEquals(1, executions.get("load").get());
+        assertEquals(1, executions.get("noData").get());
+        assertEquals(1, executions.get("check").get());
+        assertEquals(2, executions.get("ship").get());
+
+        FlowState state = restarted.load(instance.getId());
+        assertEquals(FlowStatus.SUCCEEDED, state.getStatus());
+        assertEquals("shipped", state.getResults().get("ship"));
+        assertEquals(4L, snapshotVersion(instance.getId()));
+
+        restarted.compact();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM indigo_flow_event", Integer.class));
+    }
+
+    @Test
+    void resumeRejectsInstanceStillRunningOnThisStore() throws InterruptedException {
+        JdbcFlowStateStore store = store("node-1");
+        FlowInstance instance = engine(store).start(flow, Map.of("orderId", 7));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        FlowEngine other = engine(store);
+        assertThrows(RuntimeException.class, () -> store.resume(other, flow, instance.getId()));
+        assertEquals(0, other.inflight());
+
+        release.countDown();
+        assertTrue(instance.future().join().isSuccess());
+        assertEquals(1, executions.get("load").get());
+        FlowState state = store.load(instance.getId());
+        assertEquals(FlowStatus.SUCCEEDED, state.getStatus());
+        assertEquals(4L, state.getVersion());
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM indigo_flow_event WHERE instance_id = ?",
+                Integer.class, instance.getId()));
+    }
+
+    private void executed(String nodeId) {
+        executions.computeIfAbsent(nodeId, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private long snapshotVersion(long instanceId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM indigo_flow_snapshot WHERE instance_id = ?",
+                Long.class, instanceId);
+    }
+
+    private JdbcFlowStateStore store(String owner) {
+        WorkflowProperties.State properties = new WorkflowProperties.State();
+        properties.setSnapshotInterval(2);
+        properties.setCompactInterval(Duration.ofHours(1));
+        BatchWriterFactory batchWriterFactory = new BatchWriterFactory(h2, Dialect.H2, new DatabasesProperties.Batch());
+        JdbcFlowStateStore store = new JdbcFlowStateStore(jdbcTemplate,
+                new StreamingQueryTemplate(h2, Dialect.H2, new DatabasesProperties.Streaming()), batchWriterFactory,
+                new ObjectMapper(), properties, owner);
+        resources.add(batchWriterFactory::destroy);
+        resources.add(store::destroy);
+        return store;
+    }
+
+    private FlowEngine engine(JdbcFlowStateStore store) {
+        FlowEngine engine = new FlowEngine(new WorkflowProperties());
+        engine.addListener(store);
+        resources.add(engine::destroy);
+        return engine;
+    }
+}